@@ -0,0 +1,12 @@
+package com.example.leave_approval_system.audit;
+
+/**
+ * 审计事件 (不可变)
+ * @param timestamp 事件发生时间 (毫秒时间戳)
+ * @param type 事件类型
+ * @param principal 相关用户名 (可能为 null)
+ * @param remoteAddress 客户端地址 (可能为 null)
+ * @param detail 补充说明，例如失败原因或请求路径 (可能为 null)
+ */
+public record AuditEvent(long timestamp, AuditEventType type, String principal, String remoteAddress, String detail) {
+}
@@ -0,0 +1,105 @@
+package com.example.leave_approval_system.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * 审计事件二进制编解码
+ * 帧格式: [int 负载长度][int CRC32C][负载]，负载长度为 0 表示段内没有更多数据。
+ * 负载格式: [long timestamp][byte type][字符串 principal][字符串 remoteAddress][字符串 detail]，
+ * 字符串为 [short 字节数 (-1 表示 null)][UTF-8 字节]。
+ */
+final class AuditEventCodec {
+
+    static final int FRAME_HEADER_BYTES = Integer.BYTES * 2;
+    // 单个字符串最多保留的字节数，保证单帧大小有上界
+    static final int MAX_STRING_BYTES = 1024;
+    static final int MAX_PAYLOAD_BYTES = Long.BYTES + 1 + 3 * (Short.BYTES + MAX_STRING_BYTES);
+    static final int MAX_FRAME_BYTES = FRAME_HEADER_BYTES + MAX_PAYLOAD_BYTES;
+
+    private AuditEventCodec() {
+    }
+
+    /**
+     * 把事件编码为一帧写入目标缓冲区
+     * @param event 审计事件
+     * @param payload 复用的临时负载缓冲区 (容量至少 MAX_PAYLOAD_BYTES)
+     * @param target 目标缓冲区 (剩余空间至少 MAX_FRAME_BYTES)
+     * @param crc 复用的校验和计算器
+     */
+    static void writeFrame(AuditEvent event, ByteBuffer payload, ByteBuffer target, CRC32C crc) {
+        payload.clear();
+        payload.putLong(event.timestamp());
+        payload.put((byte) event.type().ordinal());
+        putString(payload, event.principal());
+        putString(payload, event.remoteAddress());
+        putString(payload, event.detail());
+        payload.flip();
+
+        crc.reset();
+        crc.update(payload.duplicate());
+
+        int lengthPosition = target.position();
+        target.position(lengthPosition + Integer.BYTES);
+        target.putInt((int) crc.getValue());
+        target.put(payload);
+        // 最后写入长度：崩溃时长度之后的数据不完整会被 CRC 校验发现
+        target.putInt(lengthPosition, payload.limit());
+    }
+
+    /**
+     * 从源缓冲区当前位置读取一帧
+     * @param source 源缓冲区
+     * @param crc 复用的校验和计算器
+     * @return 解码后的事件；到达段末尾或帧损坏时返回 null (position 不前进)
+     */
+    static AuditEvent readFrame(ByteBuffer source, CRC32C crc) {
+        int start = source.position();
+        if (source.remaining() < FRAME_HEADER_BYTES) {
+            return null;
+        }
+        int length = source.getInt(start);
+        if (length <= 0 || length > MAX_PAYLOAD_BYTES || length > source.remaining() - FRAME_HEADER_BYTES) {
+            return null;
+        }
+        int expectedCrc = source.getInt(start + Integer.BYTES);
+        ByteBuffer payload = source.slice(start + FRAME_HEADER_BYTES, length);
+        crc.reset();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != expectedCrc) {
+            return null;
+        }
+        long timestamp = payload.getLong();
+        int typeOrdinal = payload.get();
+        AuditEventType[] types = AuditEventType.values();
+        if (typeOrdinal < 0 || typeOrdinal >= types.length) {
+            return null;
+        }
+        AuditEvent event = new AuditEvent(timestamp, types[typeOrdinal],
+                getString(payload), getString(payload), getString(payload));
+        source.position(start + FRAME_HEADER_BYTES + length);
+        return event;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_STRING_BYTES);
+        buffer.putShort((short) length);
+        buffer.put(bytes, 0, length);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
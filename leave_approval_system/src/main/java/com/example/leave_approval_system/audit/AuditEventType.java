@@ -0,0 +1,20 @@
+package com.example.leave_approval_system.audit;
+
+/**
+ * 审计事件类型
+ * 序号 (ordinal) 会写入审计日志文件，新增类型只能追加在末尾
+ */
+public enum AuditEventType {
+    /** 登录成功 */
+    LOGIN_SUCCESS,
+    /** 登录失败 (用户名或密码错误) */
+    LOGIN_FAILURE,
+    /** 用户注册 */
+    REGISTER,
+    /** JWT Token 被拒绝 (过期、签名无效、格式错误等) */
+    TOKEN_REJECTED,
+    /** 未认证访问受保护资源 */
+    UNAUTHORIZED_ACCESS,
+    /** 用户注销 Token */
+    LOGOUT
+}
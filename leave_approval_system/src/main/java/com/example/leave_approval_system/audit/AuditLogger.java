@@ -0,0 +1,139 @@
+package com.example.leave_approval_system.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 认证审计日志入口
+ * 请求线程只把事件放入无锁环形缓冲区 (满时丢弃并计数，不阻塞请求)，
+ * 由后台写出线程批量取出，追加到内存映射的段文件后每批 force 一次 (组提交)。
+ */
+@Component
+@Slf4j
+public class AuditLogger {
+
+    private final boolean enabled;
+    private final String directory;
+    private final int segmentBytes;
+    private final int batchSize;
+    private final AuditRingBuffer ringBuffer;
+    private final LongAdder dropped = new LongAdder();
+
+    private AuditSegmentWriter segmentWriter;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    public AuditLogger(@Value("${app.audit.enabled:true}") boolean enabled,
+                       @Value("${app.audit.dir:./data/audit}") String directory,
+                       @Value("${app.audit.segment-bytes:67108864}") int segmentBytes,
+                       @Value("${app.audit.buffer-capacity:65536}") int bufferCapacity,
+                       @Value("${app.audit.batch-size:512}") int batchSize) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.batchSize = batchSize;
+        this.ringBuffer = new AuditRingBuffer(bufferCapacity);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            log.info("审计日志已禁用 (app.audit.enabled=false)");
+            return;
+        }
+        segmentWriter = new AuditSegmentWriter(Paths.get(directory), segmentBytes);
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        segmentWriter.close();
+        if (dropped.sum() > 0) {
+            log.warn("审计缓冲区曾满，共丢弃 {} 条审计事件", dropped.sum());
+        }
+    }
+
+    /**
+     * 记录审计事件
+     * @param type 事件类型
+     * @param principal 相关用户名 (可为 null)
+     * @param remoteAddress 客户端地址 (可为 null)
+     * @param detail 补充说明 (可为 null)
+     */
+    public void record(AuditEventType type, String principal, String remoteAddress, String detail) {
+        if (!running) {
+            return;
+        }
+        if (!ringBuffer.offer(new AuditEvent(System.currentTimeMillis(), type, principal, remoteAddress, detail))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * 记录审计事件，客户端地址从当前请求上下文中获取 (供 Service 层调用)
+     * @param type 事件类型
+     * @param principal 相关用户名 (可为 null)
+     * @param detail 补充说明 (可为 null)
+     */
+    public void record(AuditEventType type, String principal, String detail) {
+        record(type, principal, currentRemoteAddress(), detail);
+    }
+
+    /**
+     * 因缓冲区已满而丢弃的事件数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !ringBuffer.isEmpty()) {
+            batch.clear();
+            if (ringBuffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                continue;
+            }
+            try {
+                segmentWriter.append(batch);
+                segmentWriter.flush();
+            } catch (IOException | RuntimeException e) {
+                log.error("写入审计日志失败，丢弃 {} 条事件: {}", batch.size(), e.getMessage(), e);
+                dropped.add(batch.size());
+            }
+        }
+    }
+
+    private static String currentRemoteAddress() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            return request.getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.leave_approval_system.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 无锁有界环形缓冲区 (多生产者、单消费者)
+ * 基于每个槽位的序号实现 (Dmitry Vyukov 的有界队列算法)：生产者只做一次 CAS 抢占位置，
+ * 缓冲区满时 offer 立即返回 false，绝不阻塞请求线程。
+ */
+final class AuditRingBuffer {
+
+    private final int mask;
+    private final AtomicReferenceArray<AuditEvent> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // 只有写出线程访问
+    private long head;
+
+    /**
+     * @param capacity 容量，必须是 2 的幂
+     */
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("审计缓冲区容量必须是 2 的幂: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 放入一个事件 (任意线程调用)
+     * @param event 审计事件
+     * @return 成功返回 true；缓冲区已满返回 false
+     */
+    boolean offer(AuditEvent event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    sequences.set(index, position + 1); // 发布给消费者
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // 消费者还没有腾出这个槽位，缓冲区已满
+            } else {
+                position = tail.get(); // 被其他生产者抢先，重试
+            }
+        }
+    }
+
+    /**
+     * 批量取出事件 (仅写出线程调用)
+     * @param sink 接收事件的列表
+     * @param max 最多取出的数量
+     * @return 实际取出的数量
+     */
+    int drainTo(List<AuditEvent> sink, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break; // 该槽位尚未发布
+            }
+            sink.add(slots.get(index));
+            slots.set(index, null);
+            sequences.set(index, head + mask + 1); // 槽位交还给下一轮生产者
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * 缓冲区是否为空 (仅写出线程调用)
+     */
+    boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.leave_approval_system.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * 审计日志段写入器 (仅由写出线程使用，非线程安全)
+ * 每个段是一个固定大小的内存映射文件，事件按帧顺序追加；剩余空间不足一帧时切换到新段。
+ * 启动时打开最新的段，通过 CRC 扫描找到最后一个完整帧之后的位置继续追加，
+ * 崩溃留下的半帧会在该位置被后续写入覆盖。
+ */
+@Slf4j
+final class AuditSegmentWriter implements Closeable {
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ByteBuffer payload = ByteBuffer.allocate(AuditEventCodec.MAX_PAYLOAD_BYTES);
+    private final CRC32C crc = new CRC32C();
+
+    private long segmentSequence;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private boolean dirty;
+
+    AuditSegmentWriter(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes < AuditEventCodec.MAX_FRAME_BYTES * 2) {
+            throw new IllegalArgumentException("审计日志段太小: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+
+        List<Path> existing = AuditLogReader.listSegments(directory);
+        if (existing.isEmpty()) {
+            open(1);
+        } else {
+            Path latest = existing.get(existing.size() - 1);
+            open(AuditLogReader.sequenceOf(latest));
+            recoverPosition();
+        }
+    }
+
+    /**
+     * 追加一批事件 (调用 flush 之前不保证落盘)
+     * @param events 审计事件
+     * @throws IOException 切换段失败时抛出
+     */
+    void append(List<AuditEvent> events) throws IOException {
+        for (AuditEvent event : events) {
+            if (mapped.remaining() < AuditEventCodec.MAX_FRAME_BYTES) {
+                rotate();
+            }
+            AuditEventCodec.writeFrame(event, payload, mapped, crc);
+            dirty = true;
+        }
+    }
+
+    /**
+     * 把当前段中已写入的数据刷到磁盘 (每批调用一次，即组提交)
+     */
+    void flush() {
+        if (dirty) {
+            mapped.force();
+            dirty = false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void rotate() throws IOException {
+        flush();
+        channel.close();
+        open(segmentSequence + 1);
+        log.info("审计日志切换到新段: {}", AuditLogReader.segmentName(segmentSequence));
+    }
+
+    private void open(long sequence) throws IOException {
+        Path path = directory.resolve(AuditLogReader.segmentName(sequence));
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        this.segmentSequence = sequence;
+    }
+
+    private void recoverPosition() {
+        CRC32C scanCrc = new CRC32C();
+        int events = 0;
+        while (AuditEventCodec.readFrame(mapped, scanCrc) != null) {
+            events++;
+        }
+        // 清除可能残留的半帧，避免新写入的短帧后面紧跟旧的残缺数据
+        int end = Math.min(mapped.limit(), mapped.position() + AuditEventCodec.MAX_FRAME_BYTES);
+        for (int i = mapped.position(); i < end; i++) {
+            mapped.put(i, (byte) 0);
+        }
+        log.info("审计日志从 {} 的偏移 {} 继续写入 (已有 {} 条事件)",
+                AuditLogReader.segmentName(segmentSequence), mapped.position(), events);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.leave_approval_system.config;
+
+import com.example.leave_approval_system.dto.ApiResponse;
+import com.example.leave_approval_system.dto.AuthResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * ApiResponse JSON 写出器
+ * 持有基于全局 ObjectMapper 预先创建的 ObjectWriter，供过滤器、认证入口点等不经过
+ * Spring MVC 消息转换器的地方直接写出统一响应，并在启动完成后预热常用类型的序列化器缓存，
+ * 避免首批请求承担序列化器解析的开销。
+ */
+@Component
+@Slf4j
+public class ApiResponseJsonWriter {
+
+    private final ObjectWriter apiResponseWriter;
+
+    public ApiResponseJsonWriter(ObjectMapper objectMapper) {
+        this.apiResponseWriter = objectMapper.writerFor(ApiResponse.class);
+    }
+
+    /**
+     * 将 ApiResponse 以 JSON 格式写入输出流
+     * @param out 输出流 (通常是 response.getOutputStream())
+     * @param apiResponse 统一响应对象
+     * @throws IOException 写出失败时抛出
+     */
+    public void write(OutputStream out, ApiResponse<?> apiResponse) throws IOException {
+        apiResponseWriter.writeValue(out, apiResponse);
+    }
+
+    /**
+     * 将 ApiResponse 序列化为字节数组 (用于缓存或重放响应)
+     * @param apiResponse 统一响应对象
+     * @return JSON 字节数组
+     * @throws IOException 序列化失败时抛出
+     */
+    public byte[] writeAsBytes(ApiResponse<?> apiResponse) throws IOException {
+        return apiResponseWriter.writeValueAsBytes(apiResponse);
+    }
+
+    /**
+     * 预热 ApiResponse、AuthResponse、错误信息 Map 的序列化器
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            writeAsBytes(new ApiResponse<>(200, "warm-up", new AuthResponse("token", "user", "Bearer"), now));
+            writeAsBytes(new ApiResponse<>(400, "warm-up", Map.of("field", "message"), now));
+            writeAsBytes(new ApiResponse<>(500, "warm-up", null, now));
+            log.debug("ApiResponse 序列化器预热完成");
+        } catch (IOException e) {
+            log.warn("ApiResponse 序列化器预热失败: {}", e.getMessage());
+        }
+    }
+}
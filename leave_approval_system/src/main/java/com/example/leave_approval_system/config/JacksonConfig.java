@@ -0,0 +1,61 @@
+package com.example.leave_approval_system.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Jackson 序列化配置类
+ * 对 Spring Boot 自动配置的 ObjectMapper 进行调优，所有响应 (包括安全处理器写出的错误响应) 共用同一个实例
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * 注册 Blackbird 模块
+     * Spring Boot 会自动把容器中的 Module Bean 注册到 ObjectMapper，
+     * Blackbird 通过 LambdaMetafactory 生成 getter 调用代码，替代反射访问属性
+     * @return BlackbirdModule 实例
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * 可选：将 LocalDateTime 序列化为毫秒时间戳，省去 ISO-8601 字符串格式化
+     * 通过 app.json.epoch-millis-timestamps=true 开启 (前端需按数字解析 timestamp)
+     * @return ObjectMapper 构建器定制器
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.json.epoch-millis-timestamps", havingValue = "true")
+    public Jackson2ObjectMapperBuilderCustomizer epochMillisTimestampCustomizer() {
+        return builder -> builder.serializerByType(LocalDateTime.class, new EpochMillisLocalDateTimeSerializer());
+    }
+
+    /**
+     * 以系统时区把 LocalDateTime 输出为毫秒时间戳的序列化器
+     */
+    public static class EpochMillisLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+        private final ZoneId zoneId = ZoneId.systemDefault();
+
+        public EpochMillisLocalDateTimeSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.atZone(zoneId).toInstant().toEpochMilli());
+        }
+    }
+}
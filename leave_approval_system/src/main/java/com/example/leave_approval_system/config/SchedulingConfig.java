@@ -0,0 +1,12 @@
+package com.example.leave_approval_system.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 启用定时任务 (假期发放、余额对账等后台批处理)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,112 @@
+package com.example.leave_approval_system.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 启动时校验查询依赖的索引 (Flyway 迁移执行之后)
+ * 缺少索引或列顺序不一致时抛出异常阻止启动：这类问题不会导致功能错误，只会在数据量上来后表现为全表扫描，
+ * 提前失败比上线后慢查询更容易定位。索引定义见 src/main/resources/db/migration。
+ */
+@Component
+@DependsOnDatabaseInitialization // 在 Flyway 迁移 (及其他数据库初始化) 完成之后创建
+@ConditionalOnProperty(name = "app.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SchemaIndexVerifier {
+
+    // 表 -> 索引名 -> 按顺序的列
+    private static final Map<String, Map<String, List<String>>> REQUIRED_INDEXES = Map.of(
+            "users", Map.of(
+                    "uk_username", List.of("username"),
+                    "uk_email", List.of("email"),
+                    "uk_email_normalized", List.of("email_normalized"),
+                    "uk_phone_e164", List.of("phone_e164"),
+                    "idx_users_auth", List.of("username", "password_hash", "role_mask", "updated_at", "nationality")),
+            "leave_requests", Map.of(
+                    "idx_leave_approver_status_created", List.of("approver_id", "status", "created_at"),
+                    "idx_leave_applicant_created", List.of("applicant_id", "created_at")),
+            "leave_ledger_entries", Map.of(
+                    "idx_ledger_user_type", List.of("user_id", "leave_type"),
+                    "uk_ledger_accrual_period", List.of("user_id", "leave_type", "accrual_period"),
+                    "uk_ledger_leave_request", List.of("leave_request_id")),
+            "leave_balances", Map.of(
+                    "uk_balance_user_type", List.of("user_id", "leave_type")),
+            "notification_outbox", Map.of(
+                    "idx_outbox_status_next_attempt", List.of("status", "next_attempt_at"),
+                    "uk_outbox_dedup_key", List.of("dedup_key")),
+            "absence_day_counters", Map.of(
+                    "uk_absence_counter_team_day_type", List.of("approver_id", "absence_date", "leave_type")),
+            "idempotency_records", Map.of(
+                    "idx_idempotency_expires", List.of("expires_at")),
+            "cache_changes", Map.of(
+                    "idx_cache_changes_created", List.of("created_at")),
+            "revoked_tokens", Map.of(
+                    "idx_revoked_tokens_expires", List.of("expires_at")));
+
+    private final DataSource dataSource;
+
+    public SchemaIndexVerifier(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void verify() throws SQLException {
+        List<String> problems = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, Map<String, List<String>>> table : new TreeMap<>(REQUIRED_INDEXES).entrySet()) {
+                Map<String, List<String>> actual = readIndexes(metaData, connection.getCatalog(), table.getKey());
+                table.getValue().forEach((name, columns) -> {
+                    List<String> found = actual.get(name);
+                    if (found == null) {
+                        problems.add(table.getKey() + "." + name + " 不存在");
+                    } else if (!found.equals(columns)) {
+                        problems.add(table.getKey() + "." + name + " 列为 " + found + "，应为 " + columns);
+                    }
+                });
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("数据库缺少必需的索引 (请检查 Flyway 迁移是否完整执行): " + problems);
+        }
+        log.info("索引校验通过: {} 张表", REQUIRED_INDEXES.size());
+    }
+
+    /**
+     * 读取一张表的全部索引
+     * @return 小写索引名 -> 按 ORDINAL_POSITION 排列的小写列名
+     */
+    private static Map<String, List<String>> readIndexes(DatabaseMetaData metaData, String catalog, String table)
+            throws SQLException {
+        Map<String, TreeMap<Short, String>> indexes = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(catalog, null, table, false, true)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (name == null || column == null) {
+                    continue; // 表统计信息行
+                }
+                indexes.computeIfAbsent(name.toLowerCase(Locale.ROOT), k -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+        Map<String, List<String>> result = new HashMap<>();
+        indexes.forEach((name, columns) -> result.put(name, List.copyOf(columns.values())));
+        return result;
+    }
+}
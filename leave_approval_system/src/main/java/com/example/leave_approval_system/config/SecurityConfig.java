@@ -1,18 +1,28 @@
 package com.example.leave_approval_system.config;
 
 
+import com.example.leave_approval_system.idempotency.IdempotencyFilter;
+import com.example.leave_approval_system.security.CachingPreAuthorizeAuthorizationManager;
 import com.example.leave_approval_system.security.JwtAccessDeniedHandler;
 import com.example.leave_approval_system.security.JwtAuthenticationEntryPoint;
 import com.example.leave_approval_system.security.JwtRequestFilter;
+import com.example.leave_approval_system.security.RouteClassifier;
+import com.example.leave_approval_system.constant.SecurityConstants;
 import com.example.leave_approval_system.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.annotation.Value; // 引入 Value
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity; // 启用方法级安全注解
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -25,14 +35,14 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
-import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 import java.util.List;
 
 @Configuration // 标记为配置类
 @EnableWebSecurity // 启用 Spring Security 的 Web 安全支持
-@EnableMethodSecurity(prePostEnabled = true, securedEnabled = true, jsr250Enabled = true) // 启用方法级安全注解 (可选)
+// 启用方法级安全注解；@PreAuthorize 由下方带决策缓存的拦截器处理，因此关闭默认的 pre/post 拦截器
+@EnableMethodSecurity(prePostEnabled = false, securedEnabled = true, jsr250Enabled = true)
 @RequiredArgsConstructor // Lombok: 自动生成构造函数注入 final 字段
 public class SecurityConfig {
 
@@ -40,6 +50,7 @@ public class SecurityConfig {
     private final JwtRequestFilter jwtRequestFilter;         // 注入 JWT 过滤器
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint; // 注入认证失败处理器
     private final JwtAccessDeniedHandler jwtAccessDeniedHandler; // 注入访问拒绝处理器
+    private final RouteClassifier routeClassifier;           // 注入路由分类器
 
     // 从配置文件读取允许的跨域来源，如果需要的话
     // @Value("${app.cors.allowed-origins}")
@@ -61,11 +72,27 @@ public class SecurityConfig {
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService); // 设置 UserDetailsService
+        // 登录时按用户名、邮箱或手机号加载用户 (先分类，再做一次索引等值查找)
+        authProvider.setUserDetailsService(userDetailsService::loadUserByLoginIdentifier);
         authProvider.setPasswordEncoder(passwordEncoder());     // 设置密码编码器
         return authProvider;
     }
 
+    /**
+     * 配置 @PreAuthorize 方法拦截器 Bean
+     * 只引用权限的表达式按 (方法, 角色组合) 缓存授权决策，其余表达式照常逐次求值
+     * @param applicationContext 应用上下文 (供表达式中引用 Bean)
+     * @return 方法拦截 Advisor
+     */
+    @Bean
+    @org.springframework.context.annotation.Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeMethodInterceptor(ApplicationContext applicationContext) {
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setApplicationContext(applicationContext);
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(
+                new CachingPreAuthorizeAuthorizationManager(expressionHandler));
+    }
+
     /**
      * 配置认证管理器 Bean
      * @param authConfig 认证配置对象
@@ -78,27 +105,46 @@ public class SecurityConfig {
     }
 
     /**
-     * 配置 CORS (跨域资源共享) Bean
-     * @return CorsConfigurationSource 实例
+     * 配置 /api/** 使用的 CORS 规则 Bean
+     * 同时供 CorsConfigurationSource 与 CorsPreflightFilter 使用，保证两者规则一致
+     * @return CorsConfiguration 实例
      */
     @Bean
-    public CorsConfigurationSource corsConfigurationSource() {
+    public CorsConfiguration apiCorsConfiguration() {
+        return defaultApiCorsConfiguration();
+    }
+
+    /**
+     * 创建 /api/** 的 CORS 规则 (响应式部署 ReactiveAuthApplication 也使用同一份规则)
+     * @return 新的 CorsConfiguration 实例
+     */
+    public static CorsConfiguration defaultApiCorsConfiguration() {
         CorsConfiguration configuration = new CorsConfiguration();
         // 设置允许的来源 (例如 Vue 开发服务器地址，生产环境应替换为实际域名)
         configuration.setAllowedOrigins(List.of("http://localhost:5173", "http://127.0.0.1:5173")); // 允许多个源
         // 设置允许的 HTTP 方法
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD", "PATCH"));
         // 设置允许的请求头 (允许所有常用头)
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Requested-With", "accept", "Origin", "Access-Control-Request-Method", "Access-Control-Request-Headers"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Requested-With", "accept", "Origin", "Access-Control-Request-Method", "Access-Control-Request-Headers", IdempotencyFilter.HEADER));
+        // 允许前端读取幂等重放标记
+        configuration.setExposedHeaders(List.of(IdempotencyFilter.REPLAYED_HEADER));
         // 是否允许发送 Cookie 等凭证信息
         configuration.setAllowCredentials(true);
         // 设置预检请求 (OPTIONS) 的缓存时间 (秒)
         configuration.setMaxAge(3600L); // 1 小时
+        return configuration;
+    }
 
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+    /**
+     * 配置 CORS (跨域资源共享) Bean
+     * 使用 RouteClassifier 的前缀判断代替 UrlBasedCorsConfigurationSource 的逐请求路径模式匹配
+     * @return CorsConfigurationSource 实例
+     */
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = apiCorsConfiguration();
         // 对所有 /api/** 路径应用此 CORS 配置
-        source.registerCorsConfiguration("/api/**", configuration);
-        return source;
+        return request -> routeClassifier.isApiPath(request) ? configuration : null;
     }
 
     /**
@@ -119,10 +165,20 @@ public class SecurityConfig {
                 // 3. 配置请求授权规则
                 .authorizeHttpRequests(auth -> auth
                         // 允许匿名访问登录和注册接口
-                        .requestMatchers("/api/auth/register", "/api/auth/login").permitAll()
+                        .requestMatchers(SecurityConstants.REGISTER_PATH, SecurityConstants.LOGIN_PATH).permitAll()
+                        // 允许匿名访问 Swagger 文档 (与 RouteClassifier 的公开路径保持一致)
+                        .requestMatchers(SecurityConstants.SWAGGER_UI_PAGE,
+                                SecurityConstants.SWAGGER_UI_PREFIX + "/**",
+                                SecurityConstants.API_DOCS_PREFIX + "/**").permitAll()
                         // 允许匿名访问 OPTIONS 预检请求 (对于所有路径)
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                       
+                        // SSE 等异步请求的后续分派不再重复鉴权 (首次 REQUEST 分派已通过 JWT 认证)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // 负载均衡器健康组允许匿名访问 (只含 ping 和 authCircuit，数据库故障时仍返回 200)
+                        .requestMatchers(SecurityConstants.HEALTH_PATH).permitAll()
+                        // 运维指标端点 (缓存同步延迟等) 仅管理员可访问
+                        .requestMatchers(SecurityConstants.ACTUATOR_PATH).hasAuthority(SecurityConstants.ROLE_ADMIN)
+                       
                         // 其他所有请求都需要认证
                         .anyRequest().authenticated()
                 )
@@ -18,11 +18,25 @@ public class SecurityConstants {
     public static final String AUTH_PATH = "/api/auth/**";
     public static final String LOGIN_PATH = "/api/auth/login";
     public static final String REGISTER_PATH = "/api/auth/register";
+    public static final String LOGOUT_PATH = "/api/auth/logout";
+    public static final String INTROSPECT_PATH = "/api/auth/introspect";
+    public static final String PROFILE_PATH = "/api/auth/profile";
+    public static final String API_PATH_PREFIX = "/api/";
+    
+    /**
+     * Swagger 文档相关路径前缀 (匿名可访问)
+     */
+    public static final String SWAGGER_UI_PREFIX = "/swagger-ui";
+    public static final String SWAGGER_UI_PAGE = "/swagger-ui.html";
+    public static final String API_DOCS_PREFIX = "/v3/api-docs";
+    public static final String ACTUATOR_PATH = "/actuator/**"; // 运维指标端点，仅管理员可访问
+    public static final String HEALTH_PATH = "/actuator/health/lb"; // 负载均衡器健康组 (不含 db)，供匿名访问
     
     /**
      * 角色常量
      */
     public static final String ROLE_USER = "ROLE_USER";
+    public static final String ROLE_APPROVER = "ROLE_APPROVER";
     public static final String ROLE_ADMIN = "ROLE_ADMIN";
     
     /**
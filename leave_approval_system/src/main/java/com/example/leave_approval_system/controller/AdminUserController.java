@@ -0,0 +1,41 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.dto.ApiResponse;
+import com.example.leave_approval_system.dto.UserRolesRequest;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.service.UserRoleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController // 标记为 REST 控制器
+@RequestMapping("/api/admin/users") // 设置基础路径为 /api/admin/users
+@RequiredArgsConstructor // Lombok 注入 final 字段
+@Slf4j // Lombok 日志
+@PreAuthorize("hasAuthority('user:roles')") // 仅限可管理角色的管理员
+public class AdminUserController implements AdminUserControllerDoc {
+
+    private final UserRoleService userRoleService; // 注入用户角色服务
+
+    /**
+     * 设置用户角色
+     * @param user 当前登录用户 (管理员)
+     * @param id 目标用户 ID
+     * @param request 新角色
+     * @return ResponseEntity 包含设置后的角色
+     */
+    @PutMapping("/{id}/roles")
+    public ResponseEntity<ApiResponse<?>> updateRoles(@AuthenticationPrincipal User user,
+                                                      @PathVariable Long id,
+                                                      @Valid @RequestBody UserRolesRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("角色已更新", Map.of(
+                "userId", id,
+                "roles", userRoleService.assignRoles(id, request.getRoles(), user))));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.dto.UserRolesRequest;
+import com.example.leave_approval_system.model.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 用户管理控制器接口文档
+ * 用于定义 Swagger 文档注解
+ */
+@Tag(name = "用户管理", description = "管理员维护用户角色")
+public interface AdminUserControllerDoc {
+
+    @Operation(summary = "设置用户角色", description = "覆盖用户的角色 (USER / APPROVER / ADMIN)，USER 总是保留；仅限管理员")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "角色已更新"),
+            @ApiResponse(responseCode = "400", description = "角色为空、非法或试图移除自己的管理员角色"),
+            @ApiResponse(responseCode = "403", description = "不是管理员"),
+            @ApiResponse(responseCode = "404", description = "用户不存在")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> updateRoles(
+            @Parameter(hidden = true) User user,
+            @Parameter(description = "用户 ID", required = true) Long id,
+            @Parameter(description = "新角色", required = true) UserRolesRequest request);
+}
@@ -1,15 +1,25 @@
 package com.example.leave_approval_system.controller;
 
+import com.example.leave_approval_system.constant.SecurityConstants;
 import com.example.leave_approval_system.dto.ApiResponse;
 import com.example.leave_approval_system.dto.AuthResponse;
 import com.example.leave_approval_system.dto.LoginRequest;
 import com.example.leave_approval_system.dto.RegisterRequest;
+import com.example.leave_approval_system.dto.TokenIntrospectionRequest;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.security.AuthenticationUnavailableException;
 import com.example.leave_approval_system.service.AuthService;
+import com.example.leave_approval_system.service.TokenIntrospectionService;
+import com.example.leave_approval_system.service.UserVersionCache;
 import jakarta.validation.Valid; // 引入 @Valid 注解
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.BadCredentialsException; // 引入异常
 import org.springframework.security.core.Authentication; // 引入 Authentication
 import org.springframework.security.core.context.SecurityContextHolder; // 引入 SecurityContextHolder
@@ -18,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map; // 用于构建简单的响应体
+import java.util.Optional;
 
 @RestController // 标记为 REST 控制器
 @RequestMapping("/api/auth") // 设置基础路径为 /api/auth
@@ -27,6 +38,11 @@ import java.util.Map; // 用于构建简单的响应体
 public class AuthController implements AuthControllerDoc {
 
     private final AuthService authService; // 注入认证服务
+    private final UserVersionCache userVersionCache; // 注入用户版本缓存
+    private final TokenIntrospectionService tokenIntrospectionService; // 注入 Token 批量校验服务
+
+    // 个人资料只允许客户端私有缓存，且每次使用前必须用 ETag 重新验证
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
 
     /**
      * 处理用户注册请求
@@ -74,6 +90,10 @@ public class AuthController implements AuthControllerDoc {
             // 返回 401 Unauthorized 状态码和错误消息
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error(401, "用户名或密码错误"));
+        } catch (AuthenticationUnavailableException e) {
+            // 数据库不可用 (熔断器打开)，快速返回 503，客户端稍后重试
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(503, "认证服务暂时不可用，请稍后重试"));
         } catch (Exception e) {
             // 捕获其他意外错误
             if(false){log.error("登录过程中发生未知错误: {}", e.getMessage(), e)}
@@ -83,13 +103,45 @@ public class AuthController implements AuthControllerDoc {
         }
     }
 
+    /**
+     * 注销当前请求使用的 Token (需要有效 JWT)
+     * 所有节点在一个缓存变更轮询周期内开始拒绝该 Token
+     * @param authorization Authorization 请求头 (Bearer Token)
+     * @return ResponseEntity 包含成功信息
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<?>> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        authService.logout(authorization.substring(SecurityConstants.TOKEN_PREFIX.length()));
+        return ResponseEntity.ok(ApiResponse.success("已注销", null));
+    }
+
+    /**
+     * 批量校验 Token (内部网关、批处理任务使用，需要 token:introspect 权限)
+     * 一次请求校验多个 Token，代替逐个调用 /profile
+     * @param request 待校验的 Token 列表
+     * @return ResponseEntity 包含与请求顺序一致的校验结果
+     */
+    @PostMapping("/introspect")
+    @PreAuthorize("hasAuthority('token:introspect')")
+    public ResponseEntity<ApiResponse<?>> introspect(@Valid @RequestBody TokenIntrospectionRequest request) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("校验完成", tokenIntrospectionService.introspect(request.getTokens())));
+        } catch (AuthenticationUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(503, "认证服务暂时不可用，请稍后重试"));
+        }
+    }
+
     /**
      * 受保护的示例端点，需要有效 JWT 才能访问
+     * 支持基于 ETag 的条件 GET：If-None-Match 命中时直接返回 304，不构建响应体
+     * @param ifNoneMatch If-None-Match 请求头 (可选)
      * @return ResponseEntity 包含当前登录用户的信息
      */
     @GetMapping("/profile")
     // @PreAuthorize("hasRole('USER')") // 示例：如果需要基于角色的访问控制，可以启用方法级安全注解
-    public ResponseEntity<ApiResponse<?>> getUserProfile() {
+    public ResponseEntity<ApiResponse<?>> getUserProfile(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         // 从 SecurityContext 获取当前已认证的用户信息
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -109,13 +161,45 @@ public class AuthController implements AuthControllerDoc {
             username = principal.toString(); // 如果不是 UserDetails，尝试转为字符串
         }
 
+        // 先用版本缓存计算 ETag，命中时直接返回 304
+        String etag = resolveETag(principal, username);
+        if (etag != null && UserVersionCache.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(PROFILE_CACHE_CONTROL)
+                    .build();
+        }
+
         if(false){log.info("用户 '{}' 访问了受保护的 /profile 接口", username);
         // 返回一些简单的用户信息 (避免直接返回 User 实体，以免泄露敏感信息如密码哈希)
         Map<String, Object> userInfo = new HashMap<>();
         userInfo.put("username", username);
+        if (principal instanceof User user) {
+            userInfo.put("roles", Role.fromMask(user.getRoleMask()));
+        }
         // 可以根据需要添加其他从 UserDetails 获取的安全信息
         // userInfo.put("authorities", authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()));
         
-        return ResponseEntity.ok(ApiResponse.success("成功访问受保护的资源", userInfo));
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(PROFILE_CACHE_CONTROL);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(ApiResponse.success("成功访问受保护的资源", userInfo));
+    }
+
+    /**
+     * 计算当前用户资源的 ETag
+     * 优先读取版本缓存；缓存未命中且 Principal 为 User 实体时，根据实体记录版本
+     * @param principal 当前认证主体
+     * @param username 用户名
+     * @return ETag 字符串，无法确定版本时返回 null
+     */
+    private String resolveETag(Object principal, String username) {
+        return userVersionCache.get(username)
+                .or(() -> principal instanceof User user
+                        ? Optional.of(userVersionCache.record(user))
+                        : Optional.empty())
+                .map(UserVersionCache.UserVersion::etag)
+                .orElse(null);
     }
     }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example.leave_approval_system.controller;
 import com.example.leave_approval_system.dto.AuthResponse;
 import com.example.leave_approval_system.dto.LoginRequest;
 import com.example.leave_approval_system.dto.RegisterRequest;
+import com.example.leave_approval_system.dto.TokenIntrospectionRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,26 +23,50 @@ public interface AuthControllerDoc {
     @Operation(summary = "用户注册", description = "注册新用户账号")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "用户注册成功"),
-            @ApiResponse(responseCode = "400", description = "请求参数无效或用户名/邮箱已存在"),
+            @ApiResponse(responseCode = "400", description = "请求参数无效、用户名/邮箱已存在、用户名为邮箱或手机号格式、手机号格式无效、密码出现在泄露密码库中"),
             @ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
     ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> registerUser(
             @Parameter(description = "用户注册信息", required = true) RegisterRequest registerRequest);
 
-    @Operation(summary = "用户登录", description = "使用用户名和密码登录系统，获取JWT令牌")
+    @Operation(summary = "用户登录", description = "使用用户名、邮箱或手机号加密码登录系统，获取JWT令牌。邮箱不区分大小写，手机号未带国家码时按默认国家码处理")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "登录成功", 
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))),
             @ApiResponse(responseCode = "401", description = "用户名或密码错误"),
+            @ApiResponse(responseCode = "503", description = "数据库不可用，认证服务暂时不可用"),
             @ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
     ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> authenticateUser(
             @Parameter(description = "用户登录信息", required = true) LoginRequest loginRequest);
 
-    @Operation(summary = "获取用户资料", description = "获取当前登录用户的基本信息，需要JWT认证")
+    @Operation(summary = "注销", description = "注销当前请求使用的 JWT，需要JWT认证。注销后所有节点在一个缓存同步周期内拒绝该令牌")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "已注销"),
+            @ApiResponse(responseCode = "400", description = "令牌不支持注销 (注销功能上线前签发)"),
+            @ApiResponse(responseCode = "401", description = "未认证或认证已过期")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> logout(
+            @Parameter(hidden = true) String authorization);
+
+    @Operation(summary = "批量校验令牌", description = "一次校验最多 1000 个 JWT，按请求顺序返回每个令牌是否有效、用户名、用户 ID、当前角色和过期时间；"
+            + "供内部网关和批处理任务使用，需要 token:introspect 权限 (管理员)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "校验完成 (无效令牌在结果中标明原因，不影响状态码)"),
+            @ApiResponse(responseCode = "400", description = "令牌列表为空或超过 1000 个"),
+            @ApiResponse(responseCode = "401", description = "未认证或认证已过期"),
+            @ApiResponse(responseCode = "403", description = "没有 token:introspect 权限"),
+            @ApiResponse(responseCode = "503", description = "数据库不可用，无法确认用户状态")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> introspect(
+            @Parameter(description = "待校验的令牌", required = true) TokenIntrospectionRequest request);
+
+    @Operation(summary = "获取用户资料", description = "获取当前登录用户的基本信息，需要JWT认证。支持 If-None-Match 条件请求")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "成功获取用户资料"),
+            @ApiResponse(responseCode = "304", description = "资料未变化 (ETag 匹配)"),
             @ApiResponse(responseCode = "401", description = "未认证或认证已过期")
     })
-    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> getUserProfile();
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> getUserProfile(
+            @Parameter(description = "上次响应中的 ETag", required = false) String ifNoneMatch);
 }
\ No newline at end of file
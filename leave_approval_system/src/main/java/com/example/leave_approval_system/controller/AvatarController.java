@@ -0,0 +1,65 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.dto.ApiResponse;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.service.AvatarStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+@RestController // 标记为 REST 控制器
+@RequestMapping("/api/avatars") // 设置基础路径为 /api/avatars
+@RequiredArgsConstructor // Lombok 注入 final 字段
+@Slf4j // Lombok 日志
+public class AvatarController implements AvatarControllerDoc {
+
+    // 头像地址不变但内容可能更新，允许客户端缓存 1 小时，过期后用 ETag 重新验证
+    private static final CacheControl AVATAR_CACHE_CONTROL = CacheControl.maxAge(Duration.ofHours(1)).cachePrivate();
+
+    private final AvatarStorageService avatarStorageService; // 注入头像存储服务
+    private final FileDownloadSupport fileDownloadSupport;   // 注入文件下载支持
+
+    /**
+     * 上传当前用户的头像
+     * 请求体为图片原始字节 (Content-Type: image/png、image/jpeg 或 image/gif)，服务端流式写入磁盘
+     * @param user 当前登录用户
+     * @param request HTTP 请求对象 (读取请求体)
+     * @return ResponseEntity 包含新的头像地址
+     * @throws IOException 写入失败时抛出
+     */
+    @PutMapping(value = "/me", consumes = {MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_GIF_VALUE})
+    public ResponseEntity<ApiResponse<?>> uploadAvatar(@AuthenticationPrincipal User user,
+                                                       HttpServletRequest request) throws IOException {
+        String avatarUrl = avatarStorageService.store(user, request.getContentType(), request.getInputStream());
+        return ResponseEntity.ok(ApiResponse.success("头像上传成功", Map.of("avatarUrl", avatarUrl)));
+    }
+
+    /**
+     * 下载用户头像 (原图或指定尺寸的缩略图)
+     * @param userId 用户 ID
+     * @param size 缩略图边长 (可选，64/128/256)，不传返回原图
+     * @param request HTTP 请求对象
+     * @param response HTTP 响应对象 (直接写出文件)
+     * @throws IOException 读取或写出失败时抛出
+     */
+    @GetMapping("/{userId}")
+    public void downloadAvatar(@PathVariable Long userId,
+                               @RequestParam(required = false) Integer size,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        AvatarStorageService.StoredFile file = size == null
+                ? avatarStorageService.findOriginal(userId)
+                : avatarStorageService.findThumbnail(userId, size);
+        fileDownloadSupport.send(request, response, file.path(), file.contentType(), AVATAR_CACHE_CONTROL);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.model.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+
+/**
+ * 头像控制器接口文档
+ * 用于定义 Swagger 文档注解
+ */
+@Tag(name = "头像管理", description = "头像上传、原图与缩略图下载")
+public interface AvatarControllerDoc {
+
+    @Operation(summary = "上传头像", description = "请求体为图片原始字节，支持 PNG、JPEG、GIF，需要JWT认证")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "头像上传成功"),
+            @ApiResponse(responseCode = "400", description = "格式不支持、文件为空或过大"),
+            @ApiResponse(responseCode = "401", description = "未认证或认证已过期")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> uploadAvatar(
+            @Parameter(hidden = true) User user,
+            @Parameter(hidden = true) HttpServletRequest request) throws IOException;
+
+    @Operation(summary = "下载头像", description = "返回原图或 64/128/256 像素缩略图，支持 ETag 与 Range 请求")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "返回完整文件"),
+            @ApiResponse(responseCode = "206", description = "返回部分内容 (Range)"),
+            @ApiResponse(responseCode = "304", description = "文件未变化 (ETag 匹配)"),
+            @ApiResponse(responseCode = "404", description = "用户未上传头像"),
+            @ApiResponse(responseCode = "416", description = "Range 范围无法满足")
+    })
+    void downloadAvatar(
+            @Parameter(description = "用户 ID", required = true) Long userId,
+            @Parameter(description = "缩略图边长 (64/128/256)，不传返回原图") Integer size,
+            @Parameter(hidden = true) HttpServletRequest request,
+            @Parameter(hidden = true) HttpServletResponse response) throws IOException;
+}
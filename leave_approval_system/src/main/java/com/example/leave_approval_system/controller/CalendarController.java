@@ -0,0 +1,42 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.dto.ApiResponse;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.service.WorkingDayCalendar;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController // 标记为 REST 控制器
+@RequestMapping("/api/calendar") // 设置基础路径为 /api/calendar
+@RequiredArgsConstructor // Lombok 注入 final 字段
+@Slf4j // Lombok 日志
+public class CalendarController implements CalendarControllerDoc {
+
+    private final WorkingDayCalendar workingDayCalendar; // 注入工作日日历
+
+    /**
+     * 按当前用户所在地区的日历计算日期范围内的工作日天数 (填写请假单时预估请假天数)
+     * @param user 当前登录用户
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return ResponseEntity 包含工作日天数
+     */
+    @GetMapping("/working-days")
+    public ResponseEntity<ApiResponse<?>> workingDays(@AuthenticationPrincipal User user,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        WorkingDayCalendar.checkRange(startDate, endDate);
+        int days = workingDayCalendar.workingDays(user.getNationality(), startDate, endDate);
+        return ResponseEntity.ok(ApiResponse.success(Map.of(
+                "startDate", startDate,
+                "endDate", endDate,
+                "workingDays", days)));
+    }
+}
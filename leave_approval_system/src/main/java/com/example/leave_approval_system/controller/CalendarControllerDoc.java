@@ -0,0 +1,29 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.model.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+
+/**
+ * 工作日日历控制器接口文档
+ * 用于定义 Swagger 文档注解
+ */
+@Tag(name = "工作日日历", description = "按用户所在地区的节假日计算工作日")
+public interface CalendarControllerDoc {
+
+    @Operation(summary = "计算工作日天数", description = "按当前用户国籍/地区的节假日日历，计算日期范围内 (含首尾) 的工作日天数")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "返回工作日天数"),
+            @ApiResponse(responseCode = "400", description = "日期格式错误、结束日期早于开始日期或区间超过 366 天")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> workingDays(
+            @Parameter(hidden = true) User user,
+            @Parameter(description = "开始日期 (yyyy-MM-dd)", required = true) LocalDate startDate,
+            @Parameter(description = "结束日期 (yyyy-MM-dd)", required = true) LocalDate endDate);
+}
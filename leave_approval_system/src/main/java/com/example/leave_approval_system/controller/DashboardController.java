@@ -0,0 +1,43 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.dto.ApiResponse;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.service.AbsenceCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController // 标记为 REST 控制器
+@RequestMapping("/api/dashboard") // 设置基础路径为 /api/dashboard
+@RequiredArgsConstructor // Lombok 注入 final 字段
+@Slf4j // Lombok 日志
+@PreAuthorize("hasAuthority('team:dashboard')") // 仅限审批人
+public class DashboardController implements DashboardControllerDoc {
+
+    private static final int DEFAULT_RANGE_DAYS = 90;
+
+    private final AbsenceCounterService absenceCounterService; // 注入团队每日缺勤计数
+
+    /**
+     * 当前用户所管理团队 (以其为审批人的员工) 每天的请假人数
+     * @param user 当前登录用户 (审批人)
+     * @param from 开始日期 (默认今天)
+     * @param to 结束日期 (默认开始日期后 90 天)
+     * @return ResponseEntity 包含按天排列的计数数组
+     */
+    @GetMapping("/absences")
+    public ResponseEntity<ApiResponse<?>> absences(@AuthenticationPrincipal User user,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate effectiveFrom = from != null ? from : LocalDate.now();
+        LocalDate effectiveTo = to != null ? to : effectiveFrom.plusDays(DEFAULT_RANGE_DAYS - 1);
+        return ResponseEntity.ok(ApiResponse.success(
+                absenceCounterService.counts(user.getId(), effectiveFrom, effectiveTo)));
+    }
+}
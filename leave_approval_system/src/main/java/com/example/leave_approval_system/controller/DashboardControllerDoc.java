@@ -0,0 +1,31 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.model.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+
+/**
+ * 看板控制器接口文档
+ * 用于定义 Swagger 文档注解
+ */
+@Tag(name = "经理看板", description = "团队每日缺勤统计")
+public interface DashboardControllerDoc {
+
+    @Operation(summary = "团队每日缺勤人数",
+            description = "返回当前用户作为审批人的团队在日期范围内每天已批准、待审批的请假人数 (合计及按假期类型)，" +
+                    "数组下标 i 对应 from + i 天，范围最长 366 天")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "返回每日计数数组"),
+            @ApiResponse(responseCode = "400", description = "日期格式错误、结束日期早于开始日期或范围过长")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> absences(
+            @Parameter(hidden = true) User user,
+            @Parameter(description = "开始日期 (yyyy-MM-dd，默认今天)") LocalDate from,
+            @Parameter(description = "结束日期 (yyyy-MM-dd，默认开始日期后 90 天)") LocalDate to);
+}
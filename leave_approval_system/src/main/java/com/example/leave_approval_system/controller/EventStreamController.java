@@ -0,0 +1,34 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.push.SseConnectionRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController // 标记为 REST 控制器
+@RequestMapping("/api/events") // 设置基础路径为 /api/events
+@RequiredArgsConstructor // Lombok 注入 final 字段
+@Slf4j // Lombok 日志
+public class EventStreamController implements EventStreamControllerDoc {
+
+    private final SseConnectionRegistry sseConnectionRegistry; // 注入 SSE 连接注册表
+
+    /**
+     * 订阅当前用户的请假事件流 (Server-Sent Events)
+     * 仅在建立连接时经过一次 JWT 认证，之后服务端通过该连接主动推送，前端无需轮询
+     * @param user 当前登录用户
+     * @param response HTTP 响应 (用于关闭反向代理缓冲)
+     * @return SseEmitter 事件流
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal User user, HttpServletResponse response) {
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no"); // 禁止 Nginx 缓冲事件流
+        return sseConnectionRegistry.register(user.getId());
+    }
+}
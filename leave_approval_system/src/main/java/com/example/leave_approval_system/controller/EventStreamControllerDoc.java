@@ -0,0 +1,27 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.model.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 事件推送控制器接口文档
+ * 用于定义 Swagger 文档注解
+ */
+@Tag(name = "事件推送", description = "请假状态变化与收件箱新增的服务端推送 (SSE)")
+public interface EventStreamControllerDoc {
+
+    @Operation(summary = "订阅事件流",
+            description = "建立 text/event-stream 长连接，需要JWT认证。事件名为 INBOX_ITEM_ADDED 或 STATUS_CHANGED，"
+                    + "数据为请假事件 JSON；服务端定期发送注释行作为心跳。连接断开后客户端应重连并重新拉取列表")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "事件流已建立"),
+            @ApiResponse(responseCode = "401", description = "未认证或认证已过期")
+    })
+    SseEmitter stream(@Parameter(hidden = true) User user, @Parameter(hidden = true) HttpServletResponse response);
+}
@@ -0,0 +1,88 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.export.DataExportService;
+import com.example.leave_approval_system.export.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+@RestController // 标记为 REST 控制器
+@RequestMapping("/api/exports") // 设置基础路径为 /api/exports
+@RequiredArgsConstructor // Lombok 注入 final 字段
+@Slf4j // Lombok 日志
+@PreAuthorize("hasAuthority('data:export')") // 全量导出仅限管理员 (HR)
+public class ExportController implements ExportControllerDoc {
+
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
+    private final DataExportService dataExportService; // 注入数据导出服务
+
+    /**
+     * 流式导出全部用户 (不含密码哈希)
+     * @param format 导出格式 csv / jsonl (默认 csv)
+     * @param gzip 是否 gzip 压缩
+     * @param response HTTP 响应对象
+     * @throws IOException 写出失败时抛出
+     */
+    @GetMapping("/users")
+    public void exportUsers(@RequestParam(required = false) String format,
+                            @RequestParam(defaultValue = "false") boolean gzip,
+                            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        try (OutputStream out = open(response, "users", exportFormat, gzip)) {
+            dataExportService.exportUsers(exportFormat, out);
+        }
+    }
+
+    /**
+     * 流式导出请假记录 (按创建日期过滤，典型用法为按月导出)
+     * @param format 导出格式 csv / jsonl (默认 csv)
+     * @param from 开始日期 (含，默认不限)
+     * @param to 结束日期 (不含，默认不限)
+     * @param gzip 是否 gzip 压缩
+     * @param response HTTP 响应对象
+     * @throws IOException 写出失败时抛出
+     */
+    @GetMapping("/leave-requests")
+    public void exportLeaveRequests(@RequestParam(required = false) String format,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                    @RequestParam(defaultValue = "false") boolean gzip,
+                                    HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        LocalDate effectiveFrom = from != null ? from : LocalDate.of(1970, 1, 1);
+        LocalDate effectiveTo = to != null ? to : LocalDate.now().plusDays(1);
+        if (!effectiveTo.isAfter(effectiveFrom)) {
+            throw new IllegalArgumentException("结束日期必须晚于开始日期");
+        }
+        try (OutputStream out = open(response, "leave-requests", exportFormat, gzip)) {
+            dataExportService.exportLeaveRequests(exportFormat, effectiveFrom, effectiveTo, out);
+        }
+    }
+
+    /**
+     * 设置下载响应头并返回 (可选 gzip 包装的) 响应输出流
+     * 数据边查询边写出，不设置 Content-Length，使用分块传输
+     */
+    private static OutputStream open(HttpServletResponse response, String name,
+                                     ExportFormat format, boolean gzip) throws IOException {
+        String fileName = name + "-" + LocalDate.now() + "." + format.extension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.contentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        OutputStream out = response.getOutputStream();
+        return gzip ? new GZIPOutputStream(out, GZIP_BUFFER_BYTES) : out;
+    }
+}
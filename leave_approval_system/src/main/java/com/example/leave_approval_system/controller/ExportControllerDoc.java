@@ -0,0 +1,41 @@
+package com.example.leave_approval_system.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * 数据导出控制器接口文档
+ * 用于定义 Swagger 文档注解
+ */
+@Tag(name = "数据导出", description = "用户与请假记录的流式导出 (CSV / JSON Lines)，仅管理员")
+public interface ExportControllerDoc {
+
+    @Operation(summary = "导出用户", description = "流式导出全部用户 (不含密码)，支持 csv、jsonl 格式及可选 gzip 压缩")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "导出文件 (分块传输)"),
+            @ApiResponse(responseCode = "400", description = "不支持的导出格式"),
+            @ApiResponse(responseCode = "403", description = "不是管理员")
+    })
+    void exportUsers(@Parameter(description = "导出格式: csv (默认) 或 jsonl") String format,
+                     @Parameter(description = "是否 gzip 压缩 (默认 false)") boolean gzip,
+                     @Parameter(hidden = true) HttpServletResponse response) throws IOException;
+
+    @Operation(summary = "导出请假记录", description = "按创建日期范围流式导出请假记录，支持 csv、jsonl 格式及可选 gzip 压缩")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "导出文件 (分块传输)"),
+            @ApiResponse(responseCode = "400", description = "不支持的导出格式或日期范围非法"),
+            @ApiResponse(responseCode = "403", description = "不是管理员")
+    })
+    void exportLeaveRequests(@Parameter(description = "导出格式: csv (默认) 或 jsonl") String format,
+                             @Parameter(description = "开始日期 (含，yyyy-MM-dd)") LocalDate from,
+                             @Parameter(description = "结束日期 (不含，yyyy-MM-dd)") LocalDate to,
+                             @Parameter(description = "是否 gzip 压缩 (默认 false)") boolean gzip,
+                             @Parameter(hidden = true) HttpServletResponse response) throws IOException;
+}
@@ -0,0 +1,29 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.dto.ApiResponse;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.service.LeaveBalanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController // 标记为 REST 控制器
+@RequestMapping("/api/leave-balances") // 设置基础路径为 /api/leave-balances
+@RequiredArgsConstructor // Lombok 注入 final 字段
+@Slf4j // Lombok 日志
+public class LeaveBalanceController implements LeaveBalanceControllerDoc {
+
+    private final LeaveBalanceService leaveBalanceService; // 注入假期余额服务
+
+    /**
+     * 查询当前用户的假期余额
+     * @param user 当前登录用户
+     * @return ResponseEntity 包含每种假期类型的余额
+     */
+    @GetMapping("/me")
+    public ResponseEntity<ApiResponse<?>> myBalances(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(ApiResponse.success(leaveBalanceService.balancesOf(user)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.model.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 假期余额控制器接口文档
+ * 用于定义 Swagger 文档注解
+ */
+@Tag(name = "假期余额", description = "按假期类型查询剩余天数")
+public interface LeaveBalanceControllerDoc {
+
+    @Operation(summary = "我的假期余额", description = "返回当前用户每种假期类型的剩余天数，需要JWT认证")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "返回余额列表 (从未发放或使用过的类型不出现)"),
+            @ApiResponse(responseCode = "401", description = "未认证或认证已过期")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> myBalances(
+            @Parameter(hidden = true) User user);
+}
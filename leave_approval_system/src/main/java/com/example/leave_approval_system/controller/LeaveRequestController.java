@@ -0,0 +1,153 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.dto.ApiResponse;
+import com.example.leave_approval_system.dto.LeaveBatchDecisionRequest;
+import com.example.leave_approval_system.dto.LeaveDecisionRequest;
+import com.example.leave_approval_system.dto.LeaveRequestCreateRequest;
+import com.example.leave_approval_system.dto.LeaveRequestResponse;
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.service.AbsenceConflictService;
+import com.example.leave_approval_system.service.LeaveRequestService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController // 标记为 REST 控制器
+@RequestMapping("/api/leave-requests") // 设置基础路径为 /api/leave-requests
+@RequiredArgsConstructor // Lombok 注入 final 字段
+@Slf4j // Lombok 日志
+public class LeaveRequestController implements LeaveRequestControllerDoc {
+
+    private final LeaveRequestService leaveRequestService;       // 注入请假单服务
+    private final AbsenceConflictService absenceConflictService; // 注入团队请假冲突检测
+
+    /**
+     * 提交请假申请
+     * @param user 当前登录用户
+     * @param request 请假申请信息 (使用 @Valid 进行校验)
+     * @return ResponseEntity 包含创建的请假单
+     */
+    @PreAuthorize("hasAuthority('leave:submit')")
+    @PostMapping
+    public ResponseEntity<ApiResponse<?>> submit(@AuthenticationPrincipal User user,
+                                                 @Valid @RequestBody LeaveRequestCreateRequest request) {
+        LeaveRequestResponse created = leaveRequestService.submit(user, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("请假申请已提交", created));
+    }
+
+    /**
+     * 批量审批请假单 (仅指定审批人)
+     * 每个请假单单独给出处理结果，部分失败不影响其余请假单
+     * @param user 当前登录用户
+     * @param request 请假单 ID 列表、审批结果与意见
+     * @return ResponseEntity 包含每个请假单的处理结果
+     */
+    @PreAuthorize("hasAuthority('leave:decide')")
+    @PostMapping("/batch-decision")
+    public ResponseEntity<ApiResponse<?>> decideBatch(@AuthenticationPrincipal User user,
+                                                      @Valid @RequestBody LeaveBatchDecisionRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("批量审批完成", leaveRequestService.decideBatch(user, request)));
+    }
+
+    /**
+     * 查询拟请假日期内同一团队 (同一审批人) 已请假或待审批的同事
+     * @param user 当前登录用户 (结果中不包含本人)
+     * @param approverId 审批人 ID (必须是当前用户本人，管理员可查询任意团队)
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return ResponseEntity 包含重叠的请假列表
+     */
+    @PreAuthorize("hasAnyRole('APPROVER', 'ADMIN')")
+    @GetMapping("/conflicts")
+    public ResponseEntity<ApiResponse<?>> conflicts(@AuthenticationPrincipal User user,
+                                                    @RequestParam Long approverId,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (!approverId.equals(user.getId()) && !user.hasRole(Role.ADMIN)) {
+            throw new AccessDeniedException("只能查询自己团队的请假冲突");
+        }
+        return ResponseEntity.ok(ApiResponse.success(
+                absenceConflictService.conflicts(approverId, startDate, endDate, user.getId())));
+    }
+
+    /**
+     * 查询请假单详情
+     * @param user 当前登录用户
+     * @param id 请假单 ID
+     * @return ResponseEntity 包含请假单详情
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<?>> get(@AuthenticationPrincipal User user, @PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(leaveRequestService.get(id, user)));
+    }
+
+    /**
+     * 我的请假列表 (键集分页)
+     * @param user 当前登录用户
+     * @param cursor 上一页返回的 nextCursor
+     * @param size 页大小
+     * @return ResponseEntity 包含一页列表项
+     */
+    @GetMapping("/mine")
+    public ResponseEntity<ApiResponse<?>> mine(@AuthenticationPrincipal User user,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(leaveRequestService.mine(user, cursor, size)));
+    }
+
+    /**
+     * 审批人收件箱 (键集分页)
+     * @param user 当前登录用户
+     * @param status 请假单状态 (默认 PENDING)
+     * @param cursor 上一页返回的 nextCursor
+     * @param size 页大小
+     * @return ResponseEntity 包含一页列表项
+     */
+    @PreAuthorize("hasAuthority('leave:decide')")
+    @GetMapping("/inbox")
+    public ResponseEntity<ApiResponse<?>> inbox(@AuthenticationPrincipal User user,
+                                                @RequestParam(required = false) LeaveStatus status,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(leaveRequestService.inbox(user, status, cursor, size)));
+    }
+
+    /**
+     * 撤销请假单 (仅申请人，且仅限待审批状态)
+     * @param user 当前登录用户
+     * @param id 请假单 ID
+     * @return ResponseEntity 包含撤销后的请假单
+     */
+    @PreAuthorize("hasAuthority('leave:submit')")
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ApiResponse<?>> cancel(@AuthenticationPrincipal User user, @PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success("请假单已撤销", leaveRequestService.cancel(id, user)));
+    }
+
+    /**
+     * 审批请假单 (仅指定审批人)
+     * @param user 当前登录用户
+     * @param id 请假单 ID
+     * @param request 审批结果与意见
+     * @return ResponseEntity 包含审批后的请假单
+     */
+    @PreAuthorize("hasAuthority('leave:decide')")
+    @PostMapping("/{id}/decision")
+    public ResponseEntity<ApiResponse<?>> decide(@AuthenticationPrincipal User user,
+                                                 @PathVariable Long id,
+                                                 @Valid @RequestBody LeaveDecisionRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("审批完成", leaveRequestService.decide(id, user, request)));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.dto.LeaveBatchDecisionRequest;
+import com.example.leave_approval_system.dto.LeaveDecisionRequest;
+import com.example.leave_approval_system.dto.LeaveRequestCreateRequest;
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.model.User;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+
+/**
+ * 请假单控制器接口文档
+ * 用于定义 Swagger 文档注解
+ */
+@Tag(name = "请假管理", description = "请假申请、审批人收件箱、撤销与审批")
+public interface LeaveRequestControllerDoc {
+
+    @Operation(summary = "提交请假申请", description = "为当前用户创建待审批的请假单，需要JWT认证")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "请假申请已提交"),
+            @ApiResponse(responseCode = "400", description = "请求参数无效、日期区间非法 (超过 366 天) 或审批人无效")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> submit(
+            @Parameter(hidden = true) User user,
+            @Parameter(description = "请假申请信息", required = true) LeaveRequestCreateRequest request);
+
+    @Operation(summary = "批量审批请假单",
+            description = "审批人一次批准或驳回多个请假单，返回每个请假单的处理结果 (APPLIED/NOT_FOUND/FORBIDDEN/NOT_PENDING/CONFLICT)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "批量审批完成，逐条结果见 data.outcomes"),
+            @ApiResponse(responseCode = "400", description = "ID 列表为空、超过 500 个或审批结果非法")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> decideBatch(
+            @Parameter(hidden = true) User user,
+            @Parameter(description = "请假单 ID 列表、审批结果与意见", required = true) LeaveBatchDecisionRequest request);
+
+    @Operation(summary = "团队请假冲突检查",
+            description = "返回同一审批人下其他同事在指定日期范围内待审批或已批准的请假，供审批人审批时参考；审批人只能查询自己的团队，管理员可查询任意团队")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "返回重叠的请假列表 (按开始日期排序)"),
+            @ApiResponse(responseCode = "400", description = "日期格式错误或结束日期早于开始日期"),
+            @ApiResponse(responseCode = "403", description = "不是审批人或管理员，或审批人不是当前用户")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> conflicts(
+            @Parameter(hidden = true) User user,
+            @Parameter(description = "审批人 ID (即团队)", required = true) Long approverId,
+            @Parameter(description = "开始日期 (yyyy-MM-dd)", required = true) LocalDate startDate,
+            @Parameter(description = "结束日期 (yyyy-MM-dd)", required = true) LocalDate endDate);
+
+    @Operation(summary = "查询请假单详情", description = "仅申请人和审批人可查看")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "返回请假单详情"),
+            @ApiResponse(responseCode = "403", description = "无权查看"),
+            @ApiResponse(responseCode = "404", description = "请假单不存在")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> get(
+            @Parameter(hidden = true) User user,
+            @Parameter(description = "请假单 ID", required = true) Long id);
+
+    @Operation(summary = "我的请假列表", description = "按创建时间倒序的键集分页，使用 nextCursor 翻页")
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> mine(
+            @Parameter(hidden = true) User user,
+            @Parameter(description = "上一页返回的 nextCursor，第一页不传") String cursor,
+            @Parameter(description = "页大小 (默认 20，最大 100)") Integer size);
+
+    @Operation(summary = "审批人收件箱", description = "当前用户作为审批人的请假单，按状态过滤，键集分页")
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> inbox(
+            @Parameter(hidden = true) User user,
+            @Parameter(description = "请假单状态 (默认 PENDING)") LeaveStatus status,
+            @Parameter(description = "上一页返回的 nextCursor，第一页不传") String cursor,
+            @Parameter(description = "页大小 (默认 20，最大 100)") Integer size);
+
+    @Operation(summary = "撤销请假单", description = "申请人撤销待审批的请假单")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "请假单已撤销"),
+            @ApiResponse(responseCode = "400", description = "请假单不是待审批状态"),
+            @ApiResponse(responseCode = "403", description = "不是申请人")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> cancel(
+            @Parameter(hidden = true) User user,
+            @Parameter(description = "请假单 ID", required = true) Long id);
+
+    @Operation(summary = "审批请假单", description = "指定审批人批准或驳回待审批的请假单")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "审批完成"),
+            @ApiResponse(responseCode = "400", description = "审批结果非法或请假单不是待审批状态"),
+            @ApiResponse(responseCode = "403", description = "不是指定的审批人")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> decide(
+            @Parameter(hidden = true) User user,
+            @Parameter(description = "请假单 ID", required = true) Long id,
+            @Parameter(description = "审批结果与意见", required = true) LeaveDecisionRequest request);
+}
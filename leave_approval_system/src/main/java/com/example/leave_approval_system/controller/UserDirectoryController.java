@@ -0,0 +1,46 @@
+package com.example.leave_approval_system.controller;
+
+import com.example.leave_approval_system.dto.ApiResponse;
+import com.example.leave_approval_system.dto.UserSearchResult;
+import com.example.leave_approval_system.service.UserDirectoryIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController // 标记为 REST 控制器
+@RequestMapping("/api/users") // 设置基础路径为 /api/users
+@RequiredArgsConstructor // Lombok 注入 final 字段
+@Slf4j // Lombok 日志
+public class UserDirectoryController implements UserDirectoryControllerDoc {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    private final UserDirectoryIndex userDirectoryIndex; // 注入用户目录索引
+
+    /**
+     * 按用户名、邮箱或手机号前缀搜索用户 (审批人、管理员选择员工时的自动补全)
+     * 结果只返回 ID、用户名和头像，不返回邮箱、手机号
+     * @param q 查询前缀
+     * @param limit 最大返回条数 (默认 10，最大 50)
+     * @return ResponseEntity 包含匹配的用户列表
+     */
+    @PreAuthorize("hasAnyRole('APPROVER', 'ADMIN')")
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<?>> searchUsers(@RequestParam String q,
+                                                      @RequestParam(required = false) Integer limit) {
+        if (!StringUtils.hasText(q)) {
+            throw new IllegalArgumentException("搜索关键字不能为空");
+        }
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<UserSearchResult> results = userDirectoryIndex.search(q, effectiveLimit).stream()
+                .map(UserSearchResult::from)
+                .toList();
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+}
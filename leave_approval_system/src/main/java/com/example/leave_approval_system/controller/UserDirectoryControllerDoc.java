@@ -0,0 +1,27 @@
+package com.example.leave_approval_system.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 用户目录控制器接口文档
+ * 用于定义 Swagger 文档注解
+ */
+@Tag(name = "用户目录", description = "审批人、管理员选择员工时的用户搜索")
+public interface UserDirectoryControllerDoc {
+
+    @Operation(summary = "搜索用户", description = "按用户名、邮箱或手机号前缀搜索用户，只返回 ID、用户名和头像，仅限审批人和管理员")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "返回匹配的用户列表"),
+            @ApiResponse(responseCode = "400", description = "搜索关键字为空"),
+            @ApiResponse(responseCode = "401", description = "未认证或认证已过期"),
+            @ApiResponse(responseCode = "403", description = "不是审批人或管理员")
+    })
+    ResponseEntity<com.example.leave_approval_system.dto.ApiResponse<?>> searchUsers(
+            @Parameter(description = "查询前缀", required = true) String q,
+            @Parameter(description = "最大返回条数 (默认 10，最大 50)") Integer limit);
+}
@@ -0,0 +1,26 @@
+package com.example.leave_approval_system.dto;
+
+import com.example.leave_approval_system.model.LeaveType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 团队每日缺勤计数 DTO (看板)
+ * 数组下标 i 对应日期 from + i 天；只包含区间内出现过请假的假期类型
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AbsenceCountsResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private int[] approved;                 // 每天已批准请假的人数 (所有类型合计)
+    private int[] pending;                  // 每天待审批请假的人数 (所有类型合计)
+    private Map<LeaveType, int[]> approvedByType;
+    private Map<LeaveType, int[]> pendingByType;
+}
@@ -0,0 +1,33 @@
+package com.example.leave_approval_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 键集 (Seek) 分页结果
+ * 客户端把 nextCursor 原样作为下一页请求的 cursor 参数，nextCursor 为 null 表示没有更多数据
+ * @param <T> 列表项类型
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    /**
+     * 当前页数据
+     */
+    private List<T> items;
+
+    /**
+     * 下一页游标 (不透明字符串)
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private boolean hasMore;
+}
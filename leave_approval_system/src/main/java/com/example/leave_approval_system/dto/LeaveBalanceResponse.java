@@ -0,0 +1,22 @@
+package com.example.leave_approval_system.dto;
+
+import com.example.leave_approval_system.model.LeaveType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 假期余额 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor // JPQL 构造器表达式需要全参构造函数
+public class LeaveBalanceResponse {
+
+    private LeaveType leaveType;
+    private BigDecimal balance;
+    private LocalDateTime updatedAt;
+}
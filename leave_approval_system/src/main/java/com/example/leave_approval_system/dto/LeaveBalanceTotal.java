@@ -0,0 +1,21 @@
+package com.example.leave_approval_system.dto;
+
+import com.example.leave_approval_system.model.LeaveType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 按 (用户, 假期类型) 汇总的余额 (对账时分别从流水和物化余额表投影)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor // JPQL 构造器表达式需要全参构造函数
+public class LeaveBalanceTotal {
+
+    private Long userId;
+    private LeaveType leaveType;
+    private BigDecimal total;
+}
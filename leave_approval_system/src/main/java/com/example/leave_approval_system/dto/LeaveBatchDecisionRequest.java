@@ -0,0 +1,29 @@
+package com.example.leave_approval_system.dto;
+
+import com.example.leave_approval_system.model.LeaveStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量审批请假单的请求体
+ */
+@Data
+public class LeaveBatchDecisionRequest {
+
+    @NotEmpty(message = "请假单 ID 列表不能为空")
+    @Size(max = 500, message = "单次最多审批 500 个请假单")
+    private List<@NotNull(message = "请假单 ID 不能为空") Long> ids;
+
+    /**
+     * 审批结果，只能是 APPROVED 或 REJECTED
+     */
+    @NotNull(message = "审批结果不能为空")
+    private LeaveStatus decision;
+
+    @Size(max = 500, message = "审批意见不能超过 500 个字符")
+    private String comment;
+}
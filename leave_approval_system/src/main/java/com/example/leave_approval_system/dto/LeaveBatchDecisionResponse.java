@@ -0,0 +1,26 @@
+package com.example.leave_approval_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量审批结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBatchDecisionResponse {
+
+    /**
+     * 成功完成审批的数量
+     */
+    private int applied;
+
+    /**
+     * 每个请假单的处理结果 (与请求中的 ID 顺序一致，重复 ID 只出现一次)
+     */
+    private List<LeaveDecisionOutcome> outcomes;
+}
@@ -0,0 +1,34 @@
+package com.example.leave_approval_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量审批中单个请假单的处理结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveDecisionOutcome {
+
+    /**
+     * 处理结果
+     */
+    public enum Result {
+        /** 已按请求完成审批 */
+        APPLIED,
+        /** 请假单不存在 */
+        NOT_FOUND,
+        /** 当前用户不是该请假单的审批人 */
+        FORBIDDEN,
+        /** 请假单已不是待审批状态 */
+        NOT_PENDING,
+        /** 审批期间被其他操作并发修改 (乐观锁版本不一致) */
+        CONFLICT
+    }
+
+    private Long id;
+    private Result result;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.example.leave_approval_system.dto;
+
+import com.example.leave_approval_system.model.LeaveStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 审批请假单的请求体
+ */
+@Data
+public class LeaveDecisionRequest {
+
+    /**
+     * 审批结果，只能是 APPROVED 或 REJECTED
+     */
+    @NotNull(message = "审批结果不能为空")
+    private LeaveStatus decision;
+
+    @Size(max = 500, message = "审批意见不能超过 500 个字符")
+    private String comment;
+}
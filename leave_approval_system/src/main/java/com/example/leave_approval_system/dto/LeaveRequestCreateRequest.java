@@ -0,0 +1,30 @@
+package com.example.leave_approval_system.dto;
+
+import com.example.leave_approval_system.model.LeaveType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 提交请假申请的请求体
+ */
+@Data
+public class LeaveRequestCreateRequest {
+
+    @NotNull(message = "请假类型不能为空")
+    private LeaveType leaveType;
+
+    @NotNull(message = "开始日期不能为空")
+    private LocalDate startDate;
+
+    @NotNull(message = "结束日期不能为空")
+    private LocalDate endDate;
+
+    @Size(max = 2000, message = "请假事由不能超过 2000 个字符")
+    private String reason;
+
+    @NotNull(message = "审批人不能为空")
+    private Long approverId;
+}
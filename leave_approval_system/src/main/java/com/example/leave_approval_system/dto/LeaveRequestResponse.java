@@ -0,0 +1,58 @@
+package com.example.leave_approval_system.dto;
+
+import com.example.leave_approval_system.model.LeaveRequest;
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.model.LeaveType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 请假单详情响应 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestResponse {
+
+    private Long id;
+    private Long applicantId;
+    private String applicantUsername;
+    private Long approverId;
+    private String approverUsername;
+    private LeaveType leaveType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer workingDays;
+    private String reason;
+    private LeaveStatus status;
+    private String decisionComment;
+    private LocalDateTime decidedAt;
+    private LocalDateTime createdAt;
+
+    /**
+     * 由请假单实体构建响应 DTO (会访问申请人、审批人关联，需在事务内调用)
+     * @param leaveRequest 请假单实体
+     * @return 响应 DTO
+     */
+    public static LeaveRequestResponse from(LeaveRequest leaveRequest) {
+        return new LeaveRequestResponse(
+                leaveRequest.getId(),
+                leaveRequest.getApplicant().getId(),
+                leaveRequest.getApplicant().getUsername(),
+                leaveRequest.getApprover().getId(),
+                leaveRequest.getApprover().getUsername(),
+                leaveRequest.getLeaveType(),
+                leaveRequest.getStartDate(),
+                leaveRequest.getEndDate(),
+                leaveRequest.getWorkingDays(),
+                leaveRequest.getReason(),
+                leaveRequest.getStatus(),
+                leaveRequest.getDecisionComment(),
+                leaveRequest.getDecidedAt(),
+                leaveRequest.getCreatedAt());
+    }
+}
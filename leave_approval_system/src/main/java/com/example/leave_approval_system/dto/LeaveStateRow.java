@@ -0,0 +1,20 @@
+package com.example.leave_approval_system.dto;
+
+import com.example.leave_approval_system.model.LeaveStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 请假单状态投影 (批量审批前的一次性状态读取，不加载实体)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor // JPQL 构造器表达式需要全参构造函数
+public class LeaveStateRow {
+
+    private Long id;
+    private Long approverId;
+    private LeaveStatus status;
+    private Long version;
+}
@@ -0,0 +1,30 @@
+package com.example.leave_approval_system.dto;
+
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.model.LeaveType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 请假单列表项 DTO (审批人收件箱、我的请假列表)
+ * 由 JPQL 构造器表达式直接投影，不加载完整实体
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor // JPQL 构造器表达式需要全参构造函数
+public class LeaveSummary {
+
+    private Long id;
+    private Long applicantId;
+    private String applicantUsername;
+    private LeaveType leaveType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer workingDays;
+    private LeaveStatus status;
+    private LocalDateTime createdAt;
+}
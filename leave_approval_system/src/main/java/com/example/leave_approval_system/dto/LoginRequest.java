@@ -7,7 +7,7 @@ import lombok.Data;
 public class LoginRequest {
 
     @NotBlank(message = "用户名不能为空")
-    private String username;
+    private String username; // 登录名: 用户名、邮箱或手机号
 
     @NotBlank(message = "密码不能为空")
     private String password;
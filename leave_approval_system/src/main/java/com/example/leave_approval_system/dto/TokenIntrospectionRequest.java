@@ -0,0 +1,22 @@
+package com.example.leave_approval_system.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量校验 Token 的请求体
+ */
+@Data
+public class TokenIntrospectionRequest {
+
+    /**
+     * 待校验的 JWT (不含 "Bearer " 前缀)
+     */
+    @NotEmpty(message = "Token 列表不能为空")
+    @Size(max = 1000, message = "单次最多校验 1000 个 Token")
+    private List<@NotNull(message = "Token 不能为空") String> tokens;
+}
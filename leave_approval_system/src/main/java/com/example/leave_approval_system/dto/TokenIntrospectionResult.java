@@ -0,0 +1,48 @@
+package com.example.leave_approval_system.dto;
+
+import com.example.leave_approval_system.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 单个 Token 的校验结果 (与请求中的 Token 顺序一致)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIntrospectionResult {
+
+    /**
+     * 是否有效：签名正确、未过期、未注销且用户仍存在
+     */
+    private boolean active;
+
+    /**
+     * 用户名 (签名无效或格式错误时为空；已过期的 Token 仍返回)
+     */
+    private String subject;
+
+    /**
+     * 用户 ID (仅有效时返回)
+     */
+    private Long userId;
+
+    /**
+     * 用户当前的角色 (仅有效时返回，按数据库中的最新值，而不是签发时的值)
+     */
+    private List<Role> roles;
+
+    /**
+     * 过期时间
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * 无效的原因 (有效时为空)
+     */
+    private String reason;
+}
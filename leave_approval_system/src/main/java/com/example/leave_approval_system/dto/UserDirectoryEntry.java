@@ -0,0 +1,45 @@
+package com.example.leave_approval_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 用户目录条目 DTO
+ * 用户目录索引中保存的精简用户信息，不包含密码哈希等敏感字段；对外接口只返回其中的 UserSearchResult 部分
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor // JPQL 构造器表达式需要全参构造函数
+public class UserDirectoryEntry {
+
+    /**
+     * 用户 ID
+     */
+    private Long id;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 邮箱
+     */
+    private String email;
+
+    /**
+     * 手机号
+     */
+    private String phoneNumber;
+
+    /**
+     * E.164 格式手机号 (目录索引按它建立手机号前缀索引)
+     */
+    private String phoneE164;
+
+    /**
+     * 头像地址
+     */
+    private String avatarUrl;
+}
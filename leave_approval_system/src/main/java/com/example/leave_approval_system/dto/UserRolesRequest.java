@@ -0,0 +1,20 @@
+package com.example.leave_approval_system.dto;
+
+import com.example.leave_approval_system.model.Role;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * 设置用户角色的请求体
+ */
+@Data
+public class UserRolesRequest {
+
+    /**
+     * 用户的全部角色 (覆盖原有角色，USER 总是保留)
+     */
+    @NotEmpty(message = "角色不能为空")
+    private Set<Role> roles;
+}
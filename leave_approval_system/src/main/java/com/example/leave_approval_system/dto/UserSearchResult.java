@@ -0,0 +1,39 @@
+package com.example.leave_approval_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 用户搜索结果 DTO
+ * 用户搜索接口对外返回的字段，只包含选择员工所需的信息，不暴露邮箱、手机号等个人信息
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchResult {
+
+    /**
+     * 用户 ID
+     */
+    private Long id;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 头像地址
+     */
+    private String avatarUrl;
+
+    /**
+     * 从目录索引条目转换
+     * @param entry 目录索引条目
+     * @return 搜索结果
+     */
+    public static UserSearchResult from(UserDirectoryEntry entry) {
+        return new UserSearchResult(entry.getId(), entry.getUsername(), entry.getAvatarUrl());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.leave_approval_system.exception;
 
 import com.example.leave_approval_system.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException; // 引入 AccessDeniedException
@@ -42,6 +43,16 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(404, ex.getMessage())); // 返回 404 Not Found
     }
 
+    /**
+     * 处理业务资源未找到异常 (例如，头像或请假单不存在)
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiResponse<?>> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+        log.warn("资源未找到: {} (请求路径: {})", ex.getMessage(), request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(404, ex.getMessage())); // 返回 404 Not Found
+    }
+
     /**
      * 处理非法参数异常 (例如，注册时用户名或邮箱已存在)
      */
@@ -53,6 +64,16 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(400, ex.getMessage())); // 返回 400 Bad Request
     }
 
+    /**
+     * 处理唯一约束冲突 (例如，两个注册请求同时使用同一邮箱或手机号，都通过了查重)
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<?>> handleDataIntegrityViolationException(DataIntegrityViolationException ex, WebRequest request) {
+        log.warn("数据完整性冲突: {} (请求路径: {})", ex.getMostSpecificCause().getMessage(), request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(400, "提交的数据与已有记录冲突 (例如用户名、邮箱或手机号已被占用)")); // 返回 400 Bad Request
+    }
+
     /**
      * 处理访问被拒绝异常 (例如，没有足够权限访问某个资源)
      */
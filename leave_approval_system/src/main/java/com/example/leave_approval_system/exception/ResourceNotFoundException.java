@@ -0,0 +1,12 @@
+package com.example.leave_approval_system.exception;
+
+/**
+ * 资源未找到异常
+ * 由业务代码抛出，GlobalExceptionHandler 统一转换为 404 响应
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.leave_approval_system.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV 行写出器 (RFC 4180)
+ * 输出以 UTF-8 BOM 开头，Excel 可直接正确识别中文；
+ * 以 = + - @ 开头的文本前加单引号，防止在表格软件中被当作公式执行 (CSV 注入)
+ */
+final class CsvRowWriter implements ExportRowWriter {
+
+    private final Writer out;
+
+    CsvRowWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader(String[] columns) throws IOException {
+        out.write('\uFEFF');
+        writeRow(columns);
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                writeField(ExportValues.toText(values[i]), values[i] instanceof CharSequence);
+            }
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    private void writeField(String text, boolean isText) throws IOException {
+        boolean formulaLike = isText && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0;
+        boolean quote = formulaLike;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        if (formulaLike) {
+            out.write('\'');
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.leave_approval_system.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * 导出文件格式
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    JSONL("application/x-ndjson", "jsonl");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * 在输出流上创建对应格式的逐行写出器
+     * @param writer 字符输出 (调用方负责缓冲与关闭)
+     * @return 行写出器
+     * @throws IOException 创建失败时抛出
+     */
+    ExportRowWriter open(Writer writer) throws IOException {
+        return this == CSV ? new CsvRowWriter(writer) : new JsonLinesRowWriter(writer);
+    }
+
+    /**
+     * 解析请求参数中的格式 (不区分大小写)
+     * @param value 参数值，为空时默认 CSV
+     * @return 导出格式
+     * @throws IllegalArgumentException 不支持的格式
+     */
+    public static ExportFormat parse(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的导出格式: " + value + "，可选 csv 或 jsonl");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.leave_approval_system.export;
+
+import java.io.IOException;
+
+/**
+ * 逐行导出写出器
+ * 每次只持有当前一行的数据，内存占用与总行数无关
+ */
+interface ExportRowWriter {
+
+    /**
+     * 写出表头 (列名)，在第一行数据之前调用一次
+     * @param columns 列名
+     * @throws IOException 写出失败时抛出
+     */
+    void writeHeader(String[] columns) throws IOException;
+
+    /**
+     * 写出一行数据
+     * @param values 与列名一一对应的值 (可为 null)
+     * @throws IOException 写出失败时抛出
+     */
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * 写出尾部并刷新缓冲 (不关闭底层输出)
+     * @throws IOException 写出失败时抛出
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,22 @@
+package com.example.leave_approval_system.export;
+
+import java.sql.Timestamp;
+
+/**
+ * 导出值的文本化 (JDBC 类型 -> ISO-8601 文本)
+ */
+final class ExportValues {
+
+    private ExportValues() {
+    }
+
+    static String toText(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        return value.toString();
+    }
+}
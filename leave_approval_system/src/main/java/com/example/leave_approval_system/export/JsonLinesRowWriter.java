@@ -0,0 +1,62 @@
+package com.example.leave_approval_system.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * JSON Lines 行写出器 (每行一个 JSON 对象)
+ * 直接使用 Jackson 流式 JsonGenerator 写出，不为每行构建 Map 或 DTO
+ */
+final class JsonLinesRowWriter implements ExportRowWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private String[] columns;
+    private boolean empty = true;
+
+    JsonLinesRowWriter(Writer out) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void writeHeader(String[] columns) {
+        this.columns = columns.clone();
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            generator.writeFieldName(columns[i]);
+            Object value = values[i];
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                generator.writeNumber(((Number) value).longValue());
+            } else if (value instanceof java.math.BigDecimal decimal) {
+                generator.writeNumber(decimal);
+            } else if (value instanceof Boolean bool) {
+                generator.writeBoolean(bool);
+            } else {
+                generator.writeString(ExportValues.toText(value));
+            }
+        }
+        generator.writeEndObject();
+        empty = false;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (!empty) {
+            generator.writeRaw('\n'); // 根值之间已由分隔符换行，这里补上最后一行的换行
+        }
+        generator.flush();
+    }
+}
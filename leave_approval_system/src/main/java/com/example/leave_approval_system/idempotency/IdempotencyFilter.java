@@ -0,0 +1,315 @@
+package com.example.leave_approval_system.idempotency;
+
+import com.example.leave_approval_system.config.ApiResponseJsonWriter;
+import com.example.leave_approval_system.dto.ApiResponse;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.security.RouteClassifier;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key 过滤器
+ * 对携带 Idempotency-Key 请求头的 /api/** 写请求 (POST、PUT、PATCH、DELETE)：
+ * <ul>
+ *     <li>同一调用方、同一个键的请求已完成时，直接重放保存的响应 (带 Idempotent-Replayed: true)，不再执行业务逻辑；</li>
+ *     <li>同一个键的请求正在执行时，后到的重复请求等待其完成后重放结果，而不是并行执行；</li>
+ *     <li>同一个键携带不同的请求 (方法、路径或请求体不同) 时返回 422。</li>
+ * </ul>
+ * 注册在 Spring Security 过滤器链之后，键按当前用户限定作用域。
+ * 登录、注销和 Token 校验不参与幂等处理：响应携带或针对的是 Token 本身，
+ * 匿名请求只能共用匿名作用域，重放保存的登录响应会把签发给别人的 JWT 交给猜中同一个键的调用方。
+ * 注册仍然参与 (请求指纹包含完整请求体，只有提交相同内容的重试才会命中重放)。
+ * 只保存状态码小于 500 的响应，服务端错误允许客户端用同一个键重试。
+ * 等待中的重复请求只在同一节点内合并；使用 jdbc 存储时，跨节点的重复请求在前一个完成后才能命中重放。
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    /**
+     * 正在执行的请求
+     * @param fingerprint 请求指纹
+     * @param result 执行完成后的响应 (不可保存时为 null)
+     */
+    private record InFlight(String fingerprint, CompletableFuture<IdempotentResponse> result) {
+    }
+
+    private final IdempotencyStore store;
+    private final RouteClassifier routeClassifier;
+    private final ApiResponseJsonWriter apiResponseJsonWriter;
+    private final long ttlMillis;
+    private final int maxBodyBytes;
+    private final long waitTimeoutMillis;
+
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             RouteClassifier routeClassifier,
+                             ApiResponseJsonWriter apiResponseJsonWriter,
+                             @Value("${app.idempotency.ttl-ms:86400000}") long ttlMillis,
+                             @Value("${app.idempotency.max-body-bytes:2097152}") int maxBodyBytes,
+                             @Value("${app.idempotency.wait-timeout-ms:30000}") long waitTimeoutMillis) {
+        this.store = store;
+        this.routeClassifier = routeClassifier;
+        this.apiResponseJsonWriter = apiResponseJsonWriter;
+        this.ttlMillis = ttlMillis;
+        this.maxBodyBytes = maxBodyBytes;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (request.getHeader(HEADER) == null || !METHODS.contains(request.getMethod())
+                || !routeClassifier.isApiPath(request) || routeClassifier.isTokenPath(request)) {
+            return true;
+        }
+        // 表单和文件上传由容器直接解析原始输入流，无法缓冲后重放请求体，不参与幂等处理
+        String contentType = request.getContentType();
+        return contentType != null && (contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")
+                || contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST,
+                    HEADER + " 长度必须在 1 到 " + MAX_KEY_LENGTH + " 个字符之间");
+            return;
+        }
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            writeError(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "请求体过大");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            writeError(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "请求体过大");
+            return;
+        }
+        String fingerprint = fingerprint(request, body);
+        String scopedKey = scope() + ":" + key;
+
+        while (true) {
+            Optional<IdempotentResponse> stored = store.find(scopedKey);
+            if (stored.isPresent()) {
+                replay(stored.get(), fingerprint, response);
+                return;
+            }
+            InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+            InFlight running = inFlight.putIfAbsent(scopedKey, mine);
+            if (running == null) {
+                execute(scopedKey, mine, new BufferedBodyRequest(request, body), response, filterChain);
+                return;
+            }
+            if (!running.fingerprint().equals(fingerprint)) {
+                writeMismatch(response);
+                return;
+            }
+            IdempotentResponse result;
+            try {
+                result = running.result().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                writeError(response, HttpServletResponse.SC_CONFLICT, "相同 " + HEADER + " 的请求仍在处理中，请稍后重试");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeError(response, HttpServletResponse.SC_CONFLICT, "相同 " + HEADER + " 的请求仍在处理中，请稍后重试");
+                return;
+            } catch (ExecutionException e) {
+                result = null;
+            }
+            if (result != null) {
+                replay(result, fingerprint, response);
+                return;
+            }
+            // 前一个请求以服务端错误结束，结果不可重放：由当前请求重新执行
+        }
+    }
+
+    private void execute(String scopedKey, InFlight mine, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        IdempotentResponse result = null;
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            // 注册之后再查一次：前一个同键请求可能恰好在 find 与 putIfAbsent 之间完成
+            Optional<IdempotentResponse> stored = store.find(scopedKey);
+            if (stored.isPresent()) {
+                result = stored.get();
+                replay(result, mine.fingerprint(), response);
+                return;
+            }
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < 500 && !request.isAsyncStarted()) {
+                result = new IdempotentResponse(mine.fingerprint(), wrapper.getStatus(), wrapper.getContentType(),
+                        wrapper.getContentAsByteArray(), System.currentTimeMillis() + ttlMillis);
+                store.save(scopedKey, result);
+            }
+        } finally {
+            inFlight.remove(scopedKey, mine);
+            mine.result().complete(result);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse stored, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            writeMismatch(response);
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeMismatch(HttpServletResponse response) throws IOException {
+        writeError(response, 422, HEADER + " 已用于另一个不同的请求");
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        apiResponseJsonWriter.write(response.getOutputStream(), ApiResponse.error(status, message));
+    }
+
+    /**
+     * 键的作用域：已认证用户按用户 ID，匿名请求共用一个作用域
+     */
+    private static String scope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return "u" + user.getId();
+        }
+        return "anon";
+    }
+
+    /**
+     * 请求指纹：方法、路径、查询串和请求体的 SHA-256
+     */
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.US_ASCII));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(body);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JVM 不支持 SHA-256", e);
+        }
+    }
+
+    /**
+     * 请求体已被读入内存的请求，后续过滤器和 DispatcherServlet 从缓冲区读取
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("不支持异步读取");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
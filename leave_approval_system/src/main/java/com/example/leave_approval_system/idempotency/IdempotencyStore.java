@@ -0,0 +1,24 @@
+package com.example.leave_approval_system.idempotency;
+
+import java.util.Optional;
+
+/**
+ * 幂等响应存储
+ * 由 app.idempotency.store 选择实现：memory (默认，单节点) 或 jdbc (持久化，多节点共享)
+ */
+public interface IdempotencyStore {
+
+    /**
+     * 查找未过期的响应
+     * @param key 幂等键 (已按调用方限定作用域)
+     * @return 响应快照 (不存在或已过期时为空)
+     */
+    Optional<IdempotentResponse> find(String key);
+
+    /**
+     * 保存响应
+     * @param key 幂等键
+     * @param response 响应快照
+     */
+    void save(String key, IdempotentResponse response);
+}
@@ -0,0 +1,17 @@
+package com.example.leave_approval_system.idempotency;
+
+/**
+ * 已完成请求的响应快照 (用于按 Idempotency-Key 重放)
+ * @param fingerprint 原请求指纹 (方法、路径和请求体的 SHA-256)，同一个键携带不同请求时据此拒绝
+ * @param status HTTP 状态码
+ * @param contentType 响应 Content-Type
+ * @param body 响应体 (统一响应 ApiResponse 的 JSON)
+ * @param expiresAtMillis 过期时间 (毫秒时间戳)
+ */
+public record IdempotentResponse(String fingerprint, int status, String contentType, byte[] body,
+                                 long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
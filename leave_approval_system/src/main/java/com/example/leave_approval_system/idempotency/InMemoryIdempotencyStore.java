@@ -0,0 +1,55 @@
+package com.example.leave_approval_system.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 内存中的有界幂等响应存储
+ * 按插入顺序保存；所有条目的有效期相同，最早插入的条目也最早过期，
+ * 因此写入时从头部清理过期条目，超出容量时淘汰最早的条目
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, IdempotentResponse> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(@Value("${app.idempotency.max-entries:100000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public synchronized Optional<IdempotentResponse> find(String key) {
+        IdempotentResponse response = entries.get(key);
+        if (response == null) {
+            return Optional.empty();
+        }
+        if (response.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(response);
+    }
+
+    @Override
+    public synchronized void save(String key, IdempotentResponse response) {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, IdempotentResponse>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, IdempotentResponse> eldest = it.next();
+            if (!eldest.getValue().isExpired(now) && entries.size() < maxEntries) {
+                break;
+            }
+            it.remove();
+        }
+        entries.remove(key); // 重新插入到尾部，保持按插入时间排序
+        entries.put(key, response);
+    }
+}
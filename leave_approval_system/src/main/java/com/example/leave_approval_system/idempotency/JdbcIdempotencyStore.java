@@ -0,0 +1,87 @@
+package com.example.leave_approval_system.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 持久化的幂等响应存储 (表 idempotency_records)
+ * 多个节点共享已完成的响应，节点重启后仍可重放；本地再叠加一层内存存储，重复重试时不必每次查库。
+ * 过期记录由定时任务分批删除。
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "jdbc")
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String SELECT_SQL =
+            "SELECT fingerprint, status, content_type, body, expires_at FROM idempotency_records " +
+                    "WHERE idem_key = ? AND expires_at > ?";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO idempotency_records (idem_key, fingerprint, status, content_type, body, expires_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE fingerprint = VALUES(fingerprint), " +
+                    "status = VALUES(status), content_type = VALUES(content_type), body = VALUES(body), " +
+                    "expires_at = VALUES(expires_at)";
+
+    private static final String PURGE_SQL = "DELETE FROM idempotency_records WHERE expires_at <= ? LIMIT ?";
+
+    private static final int PURGE_BATCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InMemoryIdempotencyStore local;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                @Value("${app.idempotency.max-entries:100000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.local = new InMemoryIdempotencyStore(maxEntries);
+    }
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        Optional<IdempotentResponse> cached = local.find(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        List<IdempotentResponse> rows = jdbcTemplate.query(SELECT_SQL, (rs, i) -> new IdempotentResponse(
+                        rs.getString("fingerprint"),
+                        rs.getInt("status"),
+                        rs.getString("content_type"),
+                        rs.getBytes("body"),
+                        rs.getTimestamp("expires_at").getTime()),
+                key, new Timestamp(System.currentTimeMillis()));
+        rows.forEach(row -> local.save(key, row));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        jdbcTemplate.update(UPSERT_SQL, key, response.fingerprint(), response.status(), response.contentType(),
+                response.body(), new Timestamp(response.expiresAtMillis()));
+        local.save(key, response);
+    }
+
+    /**
+     * 分批删除过期记录，每批一条短语句，避免长时间持有大量行锁
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE_SQL, now, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("已清理 {} 条过期的幂等记录", total);
+        }
+    }
+}
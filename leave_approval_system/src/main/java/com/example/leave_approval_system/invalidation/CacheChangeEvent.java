@@ -0,0 +1,9 @@
+package com.example.leave_approval_system.invalidation;
+
+/**
+ * 一条缓存变更
+ * @param kind 变更类型
+ * @param key 缓存键 (用户名或 Token ID)
+ */
+public record CacheChangeEvent(ChangeKind kind, String key) {
+}
@@ -0,0 +1,38 @@
+package com.example.leave_approval_system.invalidation;
+
+import com.example.leave_approval_system.security.RevokedTokenCache;
+import com.example.leave_approval_system.service.UserDetailsCache;
+import com.example.leave_approval_system.service.UserVersionCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * 把缓存变更应用到本节点的各个缓存
+ * 只做淘汰 (或把 Token 加入注销集合)，重复应用同一变更没有副作用
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidator {
+
+    private final UserDetailsCache userDetailsCache;   // 认证用的用户缓存
+    private final UserVersionCache userVersionCache;   // 用户版本缓存 (ETag)
+    private final RevokedTokenCache revokedTokenCache; // 已注销 Token
+
+    /**
+     * 应用一批变更
+     * @param changes 变更列表
+     */
+    public void apply(Collection<CacheChangeEvent> changes) {
+        for (CacheChangeEvent change : changes) {
+            switch (change.kind()) {
+                case USER -> {
+                    userDetailsCache.evict(change.key());
+                    userVersionCache.evict(change.key());
+                }
+                case TOKEN -> revokedTokenCache.revoke(change.key());
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.leave_approval_system.invalidation;
+
+/**
+ * 缓存变更类型 (以名称写入 cache_changes.kind)
+ */
+public enum ChangeKind {
+    /** 用户信息或角色变化，键为用户名 */
+    USER,
+    /** Token 被注销，键为 Token ID (jti) */
+    TOKEN
+}
@@ -0,0 +1,79 @@
+package com.example.leave_approval_system.invalidation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 缓存变更日志写入
+ * 在业务事务提交前把本事务的全部变更批量写入 cache_changes (同一事务，回滚时不会留下变更)，
+ * 提交后立即淘汰本节点缓存；其他节点由 ChangeLogPoller 轮询得到。
+ * 在提交前才插入，使自增版本号的分配与提交尽量接近，减少轮询时遇到的版本空洞。
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeLog {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cache_changes (kind, cache_key, created_at) VALUES (?, ?, CURRENT_TIMESTAMP(3))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidator cacheInvalidator;
+
+    /**
+     * 记录一条变更：有活动事务时推迟到提交前写入，否则立即写入
+     * @param kind 变更类型
+     * @param key 缓存键
+     */
+    public void record(ChangeKind kind, String key) {
+        CacheChangeEvent change = new CacheChangeEvent(kind, key);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(change));
+            cacheInvalidator.apply(List.of(change));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<CacheChangeEvent> pending = (Set<CacheChangeEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<CacheChangeEvent> buffer = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insert(buffer);
+                }
+
+                @Override
+                public void afterCommit() {
+                    cacheInvalidator.apply(buffer);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLog.this);
+                }
+            });
+            pending = buffer;
+        }
+        pending.add(change);
+    }
+
+    private void insert(Collection<CacheChangeEvent> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<CacheChangeEvent> rows = new ArrayList<>(changes);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, change) -> {
+            ps.setString(1, change.kind().name());
+            ps.setString(2, change.key());
+        });
+    }
+}
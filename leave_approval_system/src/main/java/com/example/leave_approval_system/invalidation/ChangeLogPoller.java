@@ -0,0 +1,315 @@
+package com.example.leave_approval_system.invalidation;
+
+import com.example.leave_approval_system.model.RevokedToken;
+import com.example.leave_approval_system.repository.RevokedTokenRepository;
+import com.example.leave_approval_system.security.RevokedTokenCache;
+import com.example.leave_approval_system.service.UserDetailsCache;
+import com.example.leave_approval_system.service.UserDirectoryIndex;
+import com.example.leave_approval_system.service.UserVersionCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 缓存变更日志轮询 (每个节点一份)
+ * 定时执行 WHERE version > 游标 ORDER BY version LIMIT n (走主键)，把一批变更合并后淘汰本地缓存。
+ * 自增版本号的分配顺序与提交顺序不一定一致：读到的版本不连续时，把缺失的版本记为 "空洞"，
+ * 之后每次按主键 IN 查询补读，超过 gap-timeout 仍未出现 (事务回滚或自增跳号) 才放弃。
+ * 轮询成功后延长用户缓存和注销集合的有效期；失败超过 max-staleness 时用户缓存自动失效，
+ * 注销状态视为未知 (认证时拒绝 Token)，因此节点间的不一致最多持续 max-staleness。
+ * 传播延迟 (变更写入到本节点应用，均按数据库时钟) 记入 cache.invalidation.propagation 指标。
+ * 轮询运行在独立的单线程调度器上，不与其他定时任务 (如发送邮件) 共用 Spring 的调度线程。
+ */
+@Component
+@Slf4j
+public class ChangeLogPoller implements DisposableBean {
+
+    private static final String COLUMNS = "SELECT version, kind, cache_key, created_at, CURRENT_TIMESTAMP(3) AS db_now FROM cache_changes ";
+    private static final String SINCE_SQL = COLUMNS + "WHERE version > ? ORDER BY version LIMIT ?";
+    private static final String MAX_VERSION_SQL = "SELECT COALESCE(MAX(version), 0) FROM cache_changes";
+    private static final String PURGE_CHANGES_SQL = "DELETE FROM cache_changes WHERE created_at < ? LIMIT ?";
+    private static final String PURGE_TOKENS_SQL = "DELETE FROM revoked_tokens WHERE expires_at <= ? LIMIT ?";
+
+    // 单次轮询最多读取的批次数，积压时不长时间占用调度线程 (未追上时不延长缓存有效期)
+    private static final int MAX_BATCHES_PER_POLL = 20;
+    // 最多跟踪的空洞数 (超出时放弃最旧的)，同时是补读 IN 列表的上限
+    private static final int MAX_TRACKED_GAPS = 1000;
+    // 启动时从最大版本号往回重读的条数，覆盖启动瞬间尚未提交的变更
+    private static final int STARTUP_OVERLAP = 1000;
+    private static final int PURGE_BATCH_SIZE = 5_000;
+
+    private record ChangeRow(long version, CacheChangeEvent change, long delayMillis) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidator cacheInvalidator;
+    private final UserDetailsCache userDetailsCache;
+    private final UserVersionCache userVersionCache;
+    private final UserDirectoryIndex userDirectoryIndex;
+    private final RevokedTokenCache revokedTokenCache;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int batchSize;
+    private final long maxStalenessMillis;
+    private final long gapTimeoutMillis;
+    private final long retentionMillis;
+    private final long pollIntervalMillis;
+    private final ScheduledExecutorService executor;
+
+    private final Timer propagation;
+    private final Map<ChangeKind, Counter> applied = new EnumMap<>(ChangeKind.class);
+
+    // 以下状态只在调度线程 (synchronized 方法) 中修改
+    private long cursor = -1;                                      // 已读取的最大版本号，-1 表示尚未同步
+    private final NavigableMap<Long, Long> gaps = new TreeMap<>(); // 空洞版本号 -> 发现时间
+    private long lastPolledMillis;                                 // 最近一次无异常轮询的开始时间
+    private volatile long lastSuccessMillis;                       // 最近一次追上最新版本的轮询开始时间
+    private volatile int gapCount;                                 // 空洞数 (供指标读取)
+
+    public ChangeLogPoller(JdbcTemplate jdbcTemplate,
+                           CacheInvalidator cacheInvalidator,
+                           UserDetailsCache userDetailsCache,
+                           UserVersionCache userVersionCache,
+                           UserDirectoryIndex userDirectoryIndex,
+                           RevokedTokenCache revokedTokenCache,
+                           RevokedTokenRepository revokedTokenRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.cache-invalidation.batch-size:500}") int batchSize,
+                           @Value("${app.cache-invalidation.max-staleness-ms:5000}") long maxStalenessMillis,
+                           @Value("${app.cache-invalidation.gap-timeout-ms:30000}") long gapTimeoutMillis,
+                           @Value("${app.cache-invalidation.retention-ms:86400000}") long retentionMillis,
+                           @Value("${app.cache-invalidation.poll-interval-ms:1000}") long pollIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheInvalidator = cacheInvalidator;
+        this.userDetailsCache = userDetailsCache;
+        this.userVersionCache = userVersionCache;
+        this.userDirectoryIndex = userDirectoryIndex;
+        this.revokedTokenCache = revokedTokenCache;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.retentionMillis = retentionMillis;
+        this.pollIntervalMillis = Math.max(1, pollIntervalMillis);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-change-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.propagation = Timer.builder("cache.invalidation.propagation")
+                .description("缓存变更从写入到被本节点应用的延迟 (数据库时钟)")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        for (ChangeKind kind : ChangeKind.values()) {
+            applied.put(kind, Counter.builder("cache.invalidation.applied")
+                    .description("本节点应用的缓存变更数")
+                    .tag("kind", kind.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("cache.invalidation.staleness", this, ChangeLogPoller::stalenessMillis)
+                .description("距最近一次成功轮询的时间")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.gaps", this, poller -> poller.gapCount)
+                .description("等待补读的版本空洞数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 应用启动完成后开始定时轮询
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::poll, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 轮询变更日志 (异常在内部记录，不会取消周期任务)
+     */
+    public synchronized void poll() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            if (cursor < 0 || startedAt - lastPolledMillis > retentionMillis) {
+                // 首次启动，或失联太久以致所需的变更可能已被清理：重新全量同步
+                resync(cursor >= 0);
+            }
+            pollGaps(startedAt);
+            boolean caughtUp = false;
+            for (int i = 0; i < MAX_BATCHES_PER_POLL && !caughtUp; i++) {
+                caughtUp = pollSince() < batchSize;
+            }
+            revokedTokenCache.purgeExpired(startedAt);
+            gapCount = gaps.size();
+            lastPolledMillis = startedAt;
+            if (caughtUp) {
+                lastSuccessMillis = startedAt;
+                userDetailsCache.markFresh(startedAt + maxStalenessMillis);
+                revokedTokenCache.markFresh(startedAt, startedAt + maxStalenessMillis);
+            }
+        } catch (RuntimeException e) {
+            log.warn("轮询缓存变更日志失败 (已 {} ms 未成功): {}", startedAt - lastSuccessMillis, e.getMessage());
+        }
+    }
+
+    /**
+     * 分批删除超过保留期的变更日志和已过期的注销记录
+     */
+    @Scheduled(fixedDelayString = "${app.cache-invalidation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int changes = purge(PURGE_CHANGES_SQL, new Timestamp(now - retentionMillis));
+        int tokens = purge(PURGE_TOKENS_SQL, new Timestamp(now));
+        if (changes + tokens > 0) {
+            log.info("已清理 {} 条缓存变更日志、{} 条过期的 Token 注销记录", changes, tokens);
+        }
+    }
+
+    private int purge(String sql, Timestamp before) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, before, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        return total;
+    }
+
+    /**
+     * 全量同步：先读最大版本号再加载注销集合，其间提交的变更会被随后的轮询再应用一次 (幂等)
+     * @param rebuildDirectory 是否重建用户目录索引 (启动时索引由 UserDirectoryIndex 自行构建)
+     */
+    private void resync(boolean rebuildDirectory) {
+        Long maxVersion = jdbcTemplate.queryForObject(MAX_VERSION_SQL, Long.class);
+        long now = System.currentTimeMillis();
+        Map<String, Long> tokens = new HashMap<>();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+            tokens.put(token.getTokenId(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        revokedTokenCache.replaceAll(tokens);
+        userDetailsCache.clear();
+        userVersionCache.clear();
+        if (rebuildDirectory) {
+            userDirectoryIndex.rebuild();
+        }
+        cursor = Math.max(0, (maxVersion == null ? 0 : maxVersion) - STARTUP_OVERLAP);
+        gaps.clear();
+        lastPolledMillis = now;
+        log.info("缓存变更日志已同步: 版本 {}, 已注销 Token {} 个, 耗时 {} ms",
+                maxVersion, tokens.size(), System.currentTimeMillis() - now);
+    }
+
+    /**
+     * 读取游标之后的一批变更
+     * @return 读取的条数
+     */
+    private int pollSince() {
+        List<ChangeRow> rows = jdbcTemplate.query(SINCE_SQL, ChangeLogPoller::mapRow, cursor, batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        for (ChangeRow row : rows) {
+            // 只记录紧挨当前行之前的 MAX_TRACKED_GAPS 个版本：游标远落后于当前行时 (例如日志被清空后重新同步，
+            // 游标为 0 而自增版本号仍在继续)，更早的版本不可能再提交，不应逐个创建空洞
+            for (long missing = Math.max(cursor + 1, row.version() - MAX_TRACKED_GAPS); missing < row.version(); missing++) {
+                gaps.put(missing, now);
+            }
+            cursor = row.version();
+        }
+        while (gaps.size() > MAX_TRACKED_GAPS) {
+            gaps.pollFirstEntry();
+        }
+        apply(rows);
+        return rows.size();
+    }
+
+    /**
+     * 补读空洞中已经提交的变更，并放弃超时的空洞
+     * @param now 当前时间
+     */
+    private void pollGaps(long now) {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(gaps.size(), "?"));
+        List<ChangeRow> rows = jdbcTemplate.query(COLUMNS + "WHERE version IN (" + placeholders + ")",
+                ChangeLogPoller::mapRow, gaps.keySet().toArray());
+        rows.forEach(row -> gaps.remove(row.version()));
+        apply(rows);
+        gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutMillis);
+    }
+
+    private void apply(List<ChangeRow> rows) {
+        List<CacheChangeEvent> changes = new ArrayList<>(rows.size());
+        Set<String> usernames = new LinkedHashSet<>();
+        for (ChangeRow row : rows) {
+            if (row.change() == null) {
+                continue;
+            }
+            changes.add(row.change());
+            if (row.change().kind() == ChangeKind.USER) {
+                usernames.add(row.change().key());
+            }
+            propagation.record(Math.max(0, row.delayMillis()), TimeUnit.MILLISECONDS);
+            applied.get(row.change().kind()).increment();
+        }
+        cacheInvalidator.apply(changes);
+        if (!usernames.isEmpty()) {
+            // 其他节点注册或修改的用户，同步到本节点的目录索引 (一次 IN 查询)
+            userDirectoryIndex.refresh(usernames);
+        }
+        if (log.isDebugEnabled() && !changes.isEmpty()) {
+            log.debug("已应用 {} 条缓存变更: {}", changes.size(), changes.stream()
+                    .collect(Collectors.groupingBy(CacheChangeEvent::kind, Collectors.counting())));
+        }
+    }
+
+    private static ChangeRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        CacheChangeEvent change;
+        try {
+            change = new CacheChangeEvent(ChangeKind.valueOf(rs.getString("kind")), rs.getString("cache_key"));
+        } catch (IllegalArgumentException e) {
+            change = null; // 新版本写入的未知类型，跳过
+        }
+        long delay = rs.getTimestamp("db_now").getTime() - rs.getTimestamp("created_at").getTime();
+        return new ChangeRow(rs.getLong("version"), change, delay);
+    }
+
+    private double stalenessMillis() {
+        return lastSuccessMillis == 0 ? Double.NaN : System.currentTimeMillis() - lastSuccessMillis;
+    }
+}
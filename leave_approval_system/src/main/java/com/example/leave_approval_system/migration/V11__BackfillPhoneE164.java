@@ -0,0 +1,75 @@
+package com.example.leave_approval_system.migration;
+
+import com.example.leave_approval_system.security.LoginIdentifier;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 回填 users.phone_e164 (版本 11，由 Flyway 按类名解析)
+ * 号码规范化规则必须与登录时一致 (LoginIdentifier.normalizePhone)，SQL 难以表达，因此用 Java 迁移；
+ * 作为 Spring Bean 注册，Spring Boot 会把它交给 Flyway，并可注入默认国家码。
+ * 无法识别的号码保持为空 (只能用用户名或邮箱登录)，规范化后重复的号码只保留最早注册的用户。
+ */
+@Component
+@Slf4j
+public class V11__BackfillPhoneE164 extends BaseJavaMigration {
+
+    private static final String SELECT_SQL =
+            "SELECT id, phone_number FROM users WHERE id > ? AND phone_number IS NOT NULL ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_SQL = "UPDATE users SET phone_e164 = ? WHERE id = ?";
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final String defaultCallingCode;
+
+    public V11__BackfillPhoneE164(@Value("${app.auth.default-calling-code:86}") String defaultCallingCode) {
+        this.defaultCallingCode = defaultCallingCode;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Set<String> assigned = new HashSet<>();
+        long afterId = 0;
+        int updated = 0;
+        int skipped = 0;
+        try (PreparedStatement select = connection.prepareStatement(SELECT_SQL);
+             PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            while (true) {
+                select.setLong(1, afterId);
+                select.setInt(2, BATCH_SIZE);
+                int rows = 0;
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        rows++;
+                        afterId = rs.getLong(1);
+                        String e164 = LoginIdentifier.normalizePhone(rs.getString(2), defaultCallingCode);
+                        if (e164 == null || !assigned.add(e164)) {
+                            skipped++;
+                            continue;
+                        }
+                        update.setString(1, e164);
+                        update.setLong(2, afterId);
+                        update.addBatch();
+                        updated++;
+                    }
+                }
+                update.executeBatch();
+                if (rows < BATCH_SIZE) {
+                    break;
+                }
+            }
+        }
+        log.info("phone_e164 回填完成: {} 个号码已规范化，{} 个无法识别或重复的号码保持为空", updated, skipped);
+    }
+}
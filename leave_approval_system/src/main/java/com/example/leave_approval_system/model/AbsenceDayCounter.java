@@ -0,0 +1,46 @@
+package com.example.leave_approval_system.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * 物化的每日缺勤计数 (每个团队、每天、每种假期类型一行)
+ * 团队即审批人。请假单每次状态变化时在同一事务中对覆盖的每一天做原子增量，
+ * 看板读取一段日期只需在唯一索引 (approver_id, absence_date, leave_type) 上做一次范围扫描，
+ * 不再对请假单做 GROUP BY
+ */
+@Entity
+@Table(name = "absence_day_counters", // 明确指定表名
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_absence_counter_team_day_type",
+                        columnNames = {"approver_id", "absence_date", "leave_type"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor // Lombok: 自动生成无参构造函数
+public class AbsenceDayCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // 主键自增
+    private Long id;
+
+    @Column(name = "approver_id", nullable = false) // 团队 (审批人)
+    private Long approverId;
+
+    @Column(name = "absence_date", nullable = false)
+    private LocalDate absenceDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false, length = 20)
+    private LeaveType leaveType;
+
+    @Column(name = "pending_count", nullable = false) // 待审批的请假人数
+    private int pendingCount;
+
+    @Column(name = "approved_count", nullable = false) // 已批准的请假人数
+    private int approvedCount;
+}
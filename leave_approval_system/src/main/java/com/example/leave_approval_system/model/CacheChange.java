@@ -0,0 +1,38 @@
+package com.example.leave_approval_system.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 缓存变更日志 (表 cache_changes)
+ * 与用户修改、Token 注销在同一事务中写入，每个节点按自增版本号轮询并淘汰本地缓存，
+ * 多节点部署时不需要额外的消息中间件。读取和写入见 invalidation 包 (JdbcTemplate)，此处仅用于描述表结构。
+ */
+@Entity
+@Table(name = "cache_changes", // 明确指定表名
+        indexes = {
+                // 过期清理: WHERE created_at < ?
+                @Index(name = "idx_cache_changes_created", columnList = "created_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor // Lombok: 自动生成无参构造函数
+public class CacheChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // 自增版本号，轮询时 WHERE version > ? 走主键
+    private Long version;
+
+    @Column(nullable = false, length = 16) // 变更类型 (见 invalidation.ChangeKind)
+    private String kind;
+
+    @Column(name = "cache_key", nullable = false, length = 191) // 缓存键 (用户名或 Token ID)
+    private String cacheKey;
+
+    @Column(name = "created_at", nullable = false, columnDefinition = "DATETIME(3)") // 由数据库时钟写入，用于计算传播延迟
+    private LocalDateTime createdAt;
+}
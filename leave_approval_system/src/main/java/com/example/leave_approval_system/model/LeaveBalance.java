@@ -0,0 +1,42 @@
+package com.example.leave_approval_system.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 物化的假期余额 (每个用户每种假期类型一行)
+ * 与对应的流水在同一事务中以原子增量更新，读取余额只需一次主键/唯一索引查找，
+ * 不再随历史请假记录增长而变慢
+ */
+@Entity
+@Table(name = "leave_balances", // 明确指定表名
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_balance_user_type", columnNames = {"user_id", "leave_type"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor // Lombok: 自动生成无参构造函数
+public class LeaveBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // 主键自增
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false, length = 20)
+    private LeaveType leaveType;
+
+    @Column(nullable = false, precision = 9, scale = 2) // 当前余额 (天)
+    private BigDecimal balance;
+
+    @Column(name = "updated_at", nullable = false) // 更新时间
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,67 @@
+package com.example.leave_approval_system.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 假期余额流水 (只追加，不修改、不删除)
+ * 某用户某类假期的余额永远等于其全部流水 amount 之和，
+ * leave_balances 表是这一求和结果的物化，由对账任务定期核对
+ */
+@Entity
+@Table(name = "leave_ledger_entries", // 明确指定表名
+        indexes = {
+                // 对账时按用户分批汇总: WHERE user_id IN (...) GROUP BY user_id, leave_type
+                @Index(name = "idx_ledger_user_type", columnList = "user_id, leave_type")
+        },
+        uniqueConstraints = {
+                // 同一用户同一假期类型每个发放周期只发放一次，发放任务重跑时不会重复入账
+                @UniqueConstraint(name = "uk_ledger_accrual_period", columnNames = {"user_id", "leave_type", "accrual_period"}),
+                // 同一请假单只扣减一次
+                @UniqueConstraint(name = "uk_ledger_leave_request", columnNames = {"leave_request_id"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor // Lombok: 自动生成无参构造函数
+public class LeaveLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // 主键自增
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false, length = 20)
+    private LeaveType leaveType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private LeaveLedgerEntryType entryType;
+
+    @Column(nullable = false, precision = 7, scale = 2) // 天数，发放为正、扣减为负
+    private BigDecimal amount;
+
+    @Column(name = "leave_request_id") // 扣减对应的请假单
+    private Long leaveRequestId;
+
+    @Column(name = "accrual_period", length = 7) // 发放周期 (yyyy-MM)
+    private String accrualPeriod;
+
+    @Column(length = 255) // 备注
+    private String note;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist // 在实体持久化之前调用
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.leave_approval_system.model;
+
+/**
+ * 假期余额流水类型
+ */
+public enum LeaveLedgerEntryType {
+    /** 定期发放 (正数) */
+    ACCRUAL,
+    /** 请假审批通过后扣减 (负数) */
+    CONSUMPTION,
+    /** 人工调整 (可正可负) */
+    ADJUSTMENT
+}
@@ -0,0 +1,89 @@
+package com.example.leave_approval_system.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "leave_requests", // 明确指定表名
+        indexes = {
+                // 审批人收件箱的键集分页: WHERE approver_id = ? AND status = ? ORDER BY created_at DESC, id DESC
+                // (InnoDB 二级索引隐式包含主键 id，可直接作为排序的第二列)
+                @Index(name = "idx_leave_approver_status_created", columnList = "approver_id, status, created_at"),
+                // 申请人 "我的请假" 列表
+                @Index(name = "idx_leave_applicant_created", columnList = "applicant_id, created_at")
+        })
+@Getter // Lombok: 只生成 getter/setter，避免 @Data 的 toString/equals 触发懒加载关联
+@Setter
+@NoArgsConstructor // Lombok: 自动生成无参构造函数
+public class LeaveRequest {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // 主键自增
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false) // 申请人
+    @JoinColumn(name = "applicant_id", nullable = false)
+    private User applicant;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false) // 审批人
+    @JoinColumn(name = "approver_id", nullable = false)
+    private User approver;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false, length = 20)
+    private LeaveType leaveType;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "working_days", nullable = false) // 提交时按申请人地区的工作日日历计算的请假天数
+    private Integer workingDays;
+
+    @Column(columnDefinition = "TEXT") // 请假事由
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LeaveStatus status;
+
+    @Column(name = "decision_comment", length = 500) // 审批意见
+    private String decisionComment;
+
+    @Column(name = "decided_at") // 审批时间
+    private LocalDateTime decidedAt;
+
+    @Version // 乐观锁版本号，防止并发审批相互覆盖
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "created_at", nullable = false, updatable = false) // 创建时间不可更新
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false) // 更新时间
+    private LocalDateTime updatedAt;
+
+    // --- JPA 生命周期回调 ---
+
+    @PrePersist // 在实体持久化之前调用
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+        if (this.status == null) {
+            this.status = LeaveStatus.PENDING;
+        }
+    }
+
+    @PreUpdate // 在实体更新之前调用
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.leave_approval_system.model;
+
+/**
+ * 请假单状态
+ */
+public enum LeaveStatus {
+    /** 待审批 */
+    PENDING,
+    /** 已批准 */
+    APPROVED,
+    /** 已驳回 */
+    REJECTED,
+    /** 已撤销 (申请人主动撤回) */
+    CANCELLED
+}
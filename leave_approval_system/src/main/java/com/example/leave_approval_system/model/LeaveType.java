@@ -0,0 +1,19 @@
+package com.example.leave_approval_system.model;
+
+/**
+ * 请假类型
+ */
+public enum LeaveType {
+    /** 年假 */
+    ANNUAL,
+    /** 病假 */
+    SICK,
+    /** 事假 */
+    PERSONAL,
+    /** 婚假 */
+    MARRIAGE,
+    /** 产假 / 陪产假 */
+    MATERNITY,
+    /** 其他 */
+    OTHER
+}
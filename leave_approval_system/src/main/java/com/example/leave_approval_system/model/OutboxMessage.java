@@ -0,0 +1,69 @@
+package com.example.leave_approval_system.model;
+
+import com.example.leave_approval_system.notification.NotificationChannelType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 通知发件箱 (transactional outbox)
+ * 与触发通知的业务状态变更在同一事务中写入，提交后由后台发送器异步投递，
+ * 审批请求不再承担 SMTP 等外部服务的延迟，业务回滚时也不会发出通知
+ */
+@Entity
+@Table(name = "notification_outbox", // 明确指定表名
+        indexes = {
+                // 发送器认领: WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= ? ORDER BY next_attempt_at
+                @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+        },
+        uniqueConstraints = {
+                // 同一通知只入队一次 (业务重试、重复事件不会产生重复消息)，同时作为下游去重的消息标识
+                @UniqueConstraint(name = "uk_outbox_dedup_key", columnNames = {"dedup_key"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor // Lombok: 自动生成无参构造函数
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // 主键自增
+    private Long id;
+
+    @Column(name = "dedup_key", nullable = false, length = 191)
+    private String dedupKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationChannelType channel;
+
+    @Column(name = "recipient_user_id", nullable = false) // 收件人，发送时再解析具体地址
+    private Long recipientUserId;
+
+    @Column(nullable = false, length = 255)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(nullable = false) // 已尝试次数
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false) // 下次可认领时间 (SENDING 状态下为租约到期时间)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
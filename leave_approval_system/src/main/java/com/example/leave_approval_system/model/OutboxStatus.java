@@ -0,0 +1,17 @@
+package com.example.leave_approval_system.model;
+
+/**
+ * 通知发件箱消息状态
+ */
+public enum OutboxStatus {
+    /** 等待发送 (含等待重试) */
+    PENDING,
+    /** 已被某个发送节点认领，租约到期前其他节点不会再认领 */
+    SENDING,
+    /** 已发送 */
+    SENT,
+    /** 超过最大重试次数，放弃发送 */
+    FAILED,
+    /** 收件人没有该渠道的地址或渠道未启用，不发送 */
+    SKIPPED
+}
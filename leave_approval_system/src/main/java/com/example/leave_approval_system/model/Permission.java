@@ -0,0 +1,30 @@
+package com.example.leave_approval_system.model;
+
+/**
+ * 权限 (细粒度的 GrantedAuthority，由角色授予)
+ * 方法级安全注解中以 hasAuthority('...') 引用 authority 字符串
+ */
+public enum Permission {
+    /** 提交、撤销自己的请假单 */
+    LEAVE_SUBMIT("leave:submit"),
+    /** 审批请假单、查看审批收件箱 */
+    LEAVE_DECIDE("leave:decide"),
+    /** 查看所管理团队的看板 */
+    TEAM_DASHBOARD("team:dashboard"),
+    /** 全量数据导出 */
+    DATA_EXPORT("data:export"),
+    /** 管理用户角色 */
+    USER_ROLE_MANAGE("user:roles"),
+    /** 批量校验 Token (内部网关、批处理任务) */
+    TOKEN_INTROSPECT("token:introspect");
+
+    private final String authority;
+
+    Permission(String authority) {
+        this.authority = authority;
+    }
+
+    public String authority() {
+        return authority;
+    }
+}
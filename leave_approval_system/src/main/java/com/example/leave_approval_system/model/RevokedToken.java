@@ -0,0 +1,33 @@
+package com.example.leave_approval_system.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已注销的 JWT (按 Token ID 即 jti 记录)
+ * 节点启动时全量加载未过期的记录，之后通过缓存变更日志增量同步，认证时只查内存
+ */
+@Entity
+@Table(name = "revoked_tokens", // 明确指定表名
+        indexes = {
+                // 启动加载与过期清理: WHERE expires_at > ? / WHERE expires_at <= ?
+                @Index(name = "idx_revoked_tokens_expires", columnList = "expires_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor // Lombok: 自动生成无参构造函数
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id", length = 64) // JWT 的 jti
+    private String tokenId;
+
+    @Column(name = "expires_at", nullable = false) // Token 原本的过期时间，过期后记录即可删除
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,70 @@
+package com.example.leave_approval_system.model;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 角色
+ * 用户的角色以位掩码保存在 users.role_mask 列中 (第 ordinal 位表示拥有该角色)，
+ * 与用户同一行读取，认证时不需要关联角色表
+ */
+public enum Role {
+    /** 普通员工 */
+    USER(EnumSet.of(Permission.LEAVE_SUBMIT)),
+    /** 审批人 (团队负责人) */
+    APPROVER(EnumSet.of(Permission.LEAVE_DECIDE, Permission.TEAM_DASHBOARD)),
+    /** 管理员 (HR) */
+    ADMIN(EnumSet.of(Permission.DATA_EXPORT, Permission.USER_ROLE_MANAGE, Permission.TOKEN_INTROSPECT));
+
+    private static final Role[] ROLES = values();
+
+    /** 所有合法位掩码的上界 (不含) */
+    public static final int MASK_LIMIT = 1 << ROLES.length;
+
+    private final Set<Permission> permissions;
+
+    Role(Set<Permission> permissions) {
+        this.permissions = permissions;
+    }
+
+    public Set<Permission> permissions() {
+        return permissions;
+    }
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Spring Security 的角色 authority，例如 ROLE_ADMIN
+     */
+    public String authority() {
+        return "ROLE_" + name();
+    }
+
+    /**
+     * 角色集合转换为位掩码
+     */
+    public static int maskOf(Iterable<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= role.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * 位掩码转换为角色列表 (按声明顺序)
+     */
+    public static List<Role> fromMask(int mask) {
+        List<Role> roles = new ArrayList<>(ROLES.length);
+        for (Role role : ROLES) {
+            if ((mask & role.mask()) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
+}
@@ -1,4 +1,5 @@
 package com.example.leave_approval_system.model;
+import com.example.leave_approval_system.security.AuthoritySets;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,13 +9,19 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Collections; // 引入 Collections
 
 @Entity
 @Table(name = "users", // 明确指定表名
+        indexes = {
+                // 认证覆盖索引：按用户名认证只读索引，不回表 (见 UserRepository.findAuthByUsername)
+                @Index(name = "idx_users_auth", columnList = "username, password_hash, role_mask, updated_at, nationality")
+        },
         uniqueConstraints = { // 添加唯一约束定义
                 @UniqueConstraint(columnNames = "username", name = "uk_username"),
-                @UniqueConstraint(columnNames = "email", name = "uk_email")
+                @UniqueConstraint(columnNames = "email", name = "uk_email"),
+                // 邮箱/手机号登录的等值查找列 (见 LoginIdentifier)，唯一索引同时保证不同写法的同一邮箱或号码不能重复注册
+                @UniqueConstraint(columnNames = "email_normalized", name = "uk_email_normalized"),
+                @UniqueConstraint(columnNames = "phone_e164", name = "uk_phone_e164")
         })
 @Data // Lombok: 自动生成 getter, setter, toString, equals, hashCode
 @NoArgsConstructor // Lombok: 自动生成无参构造函数
@@ -36,6 +43,12 @@ public class User implements UserDetails { // 实现 UserDetails 接口以集成
     @Column(name = "phone_number", length = 20) // 映射到 phone_number 列
     private String phoneNumber;
 
+    @Column(name = "email_normalized", length = 100) // 小写邮箱，邮箱登录时按此列查找
+    private String emailNormalized;
+
+    @Column(name = "phone_e164", length = 16) // E.164 格式手机号 (如 +8613800000000)，手机号登录时按此列查找
+    private String phoneE164;
+
     @Column(name = "birth_date")
     @Temporal(TemporalType.DATE) // 指定日期类型映射
     private LocalDate birthDate;
@@ -55,6 +68,9 @@ public class User implements UserDetails { // 实现 UserDetails 接口以集成
     @Column(name = "social_wechat", length = 50)
     private String socialWechat;
 
+    @Column(name = "role_mask", nullable = false) // 角色位掩码 (见 Role)，与用户同一行读取，认证时无需关联角色表
+    private int roleMask = Role.USER.mask();
+
     @Column(name = "created_at", nullable = false, updatable = false) // 创建时间不可更新
     @Temporal(TemporalType.TIMESTAMP) // 指定时间戳类型映射
     private LocalDateTime createdAt;
@@ -63,6 +79,24 @@ public class User implements UserDetails { // 实现 UserDetails 接口以集成
     @Temporal(TemporalType.TIMESTAMP)
     private LocalDateTime updatedAt;
 
+    /**
+     * 认证主体构造函数 (JPQL 构造表达式使用，只包含认证和请求处理需要的列)
+     * @param id 用户 ID
+     * @param username 用户名
+     * @param password 密码哈希
+     * @param roleMask 角色位掩码
+     * @param updatedAt 更新时间 (用于 ETag)
+     * @param nationality 国籍 (用于选择工作日日历)
+     */
+    public User(Long id, String username, String password, int roleMask, LocalDateTime updatedAt, String nationality) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.roleMask = roleMask;
+        this.updatedAt = updatedAt;
+        this.nationality = nationality;
+    }
+
     // --- JPA 生命周期回调 ---
 
     @PrePersist // 在实体持久化之前调用
@@ -77,12 +111,20 @@ public class User implements UserDetails { // 实现 UserDetails 接口以集成
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * 是否拥有指定角色
+     * @param role 角色
+     * @return 拥有时返回 true
+     */
+    public boolean hasRole(Role role) {
+        return (roleMask & role.mask()) != 0;
+    }
+
     // --- UserDetails 接口实现 ---
-    // 权限集合，为简单起见，这里返回空集合。实际应用中可能需要基于角色管理权限。
+    // 权限集合：按角色位掩码取出预先计算的共享集合 (角色 ROLE_* 及其授予的权限)，不为每个用户单独创建
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // return List.of(new SimpleGrantedAuthority("ROLE_USER")); // 如果需要，可以添加默认角色
-        return Collections.emptyList();
+        return AuthoritySets.of(roleMask);
     }
 
     @Override
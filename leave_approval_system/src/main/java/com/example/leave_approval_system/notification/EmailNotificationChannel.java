@@ -0,0 +1,93 @@
+package com.example.leave_approval_system.notification;
+
+import com.example.leave_approval_system.model.OutboxMessage;
+import com.example.leave_approval_system.model.User;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 邮件通知渠道 (配置了 spring.mail.host 时启用)
+ * 邮件的 Message-ID 由发件箱去重键生成，重试发送的是同一个 Message-ID，邮件系统可据此去重。
+ * JavaMail 默认的连接、读、写超时都是无限，SMTP 服务器无响应时会永久占用发送线程，因此未配置时补上超时。
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.mail", name = "host")
+public class EmailNotificationChannel implements NotificationChannel {
+
+    static final List<String> TIMEOUT_PROPERTIES = List.of(
+            "mail.smtp.connectiontimeout", "mail.smtp.timeout", "mail.smtp.writetimeout");
+
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final String messageIdDomain;
+
+    public EmailNotificationChannel(JavaMailSender mailSender,
+                                    @Value("${app.notification.email.from:no-reply@leave-approval.local}") String from,
+                                    @Value("${app.notification.email.timeout-ms:10000}") long timeoutMs) {
+        this.mailSender = mailSender;
+        if (mailSender instanceof JavaMailSenderImpl impl) {
+            applyTimeouts(impl, timeoutMs);
+        }
+        this.from = from;
+        int at = from.indexOf('@');
+        this.messageIdDomain = at >= 0 ? from.substring(at + 1) : "leave-approval.local";
+    }
+
+    @Override
+    public NotificationChannelType type() {
+        return NotificationChannelType.EMAIL;
+    }
+
+    @Override
+    public String destinationOf(User user) {
+        return StringUtils.hasText(user.getEmail()) ? user.getEmail() : null;
+    }
+
+    @Override
+    public void send(String destination, OutboxMessage message) throws MessagingException {
+        String messageId = "<" + message.getDedupKey().replace(':', '.') + "@" + messageIdDomain + ">";
+        MimeMessage mime = new MimeMessage(session()) {
+            @Override
+            protected void updateMessageID() throws MessagingException {
+                setHeader("Message-ID", messageId); // 保持稳定的 Message-ID，而不是每次发送随机生成
+            }
+        };
+        mime.setFrom(new InternetAddress(from));
+        mime.setRecipient(MimeMessage.RecipientType.TO, new InternetAddress(destination));
+        mime.setSubject(message.getSubject(), StandardCharsets.UTF_8.name());
+        mime.setText(message.getBody(), StandardCharsets.UTF_8.name());
+        mailSender.send(mime);
+    }
+
+    /**
+     * 为 SMTP 连接设置超时 (spring.mail.properties.* 中已显式配置的值优先)
+     */
+    private static void applyTimeouts(JavaMailSenderImpl impl, long timeoutMs) {
+        Properties properties = new Properties();
+        properties.putAll(impl.getJavaMailProperties());
+        String timeout = String.valueOf(timeoutMs);
+        for (String key : TIMEOUT_PROPERTIES) {
+            properties.putIfAbsent(key, timeout);
+        }
+        impl.setJavaMailProperties(properties); // 重置已缓存的 Session，使超时生效
+    }
+
+    private Session session() {
+        if (mailSender instanceof JavaMailSenderImpl impl) {
+            return impl.getSession();
+        }
+        return Session.getInstance(new Properties());
+    }
+}
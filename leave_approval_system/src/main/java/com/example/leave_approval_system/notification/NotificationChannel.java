@@ -0,0 +1,34 @@
+package com.example.leave_approval_system.notification;
+
+import com.example.leave_approval_system.model.OutboxMessage;
+import com.example.leave_approval_system.model.User;
+
+/**
+ * 通知渠道
+ * 每个启用的渠道注册为一个 Spring Bean，入队时为每个启用的渠道各写一条发件箱消息。
+ * 新增渠道 (如微信、QQ) 只需实现本接口。
+ */
+public interface NotificationChannel {
+
+    /**
+     * @return 渠道类型
+     */
+    NotificationChannelType type();
+
+    /**
+     * 从用户资料中取出该渠道的收件地址
+     * @param user 收件人
+     * @return 收件地址，用户未填写时返回 null (该消息将被跳过)
+     */
+    String destinationOf(User user);
+
+    /**
+     * 发送一条消息
+     * 投递语义为至少一次：节点在发送成功后、标记完成前崩溃时，消息会在租约到期后被重新发送，
+     * 实现应把 {@link OutboxMessage#getDedupKey()} 作为消息标识传给下游，以便下游去重
+     * @param destination 收件地址
+     * @param message 发件箱消息
+     * @throws Exception 发送失败时抛出，消息将按退避策略重试
+     */
+    void send(String destination, OutboxMessage message) throws Exception;
+}
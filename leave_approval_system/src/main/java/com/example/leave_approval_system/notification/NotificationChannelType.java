@@ -0,0 +1,13 @@
+package com.example.leave_approval_system.notification;
+
+/**
+ * 通知渠道类型 (对应 User 中的 email、socialWechat、socialQq)
+ */
+public enum NotificationChannelType {
+    /** 邮件 */
+    EMAIL,
+    /** 微信 */
+    WECHAT,
+    /** QQ */
+    QQ
+}
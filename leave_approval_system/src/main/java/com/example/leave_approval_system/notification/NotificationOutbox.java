@@ -0,0 +1,119 @@
+package com.example.leave_approval_system.notification;
+
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.push.LeaveEvent;
+import com.example.leave_approval_system.push.LeaveEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 通知发件箱写入
+ * 同步监听请假事件 (与审批在同一线程、同一事务中)，把审批结果通知写入 notification_outbox。
+ * 一个事务内产生的全部消息先在事务资源中累积，提交前用一次 JDBC 批量插入写出，
+ * 批量审批 N 个请假单也只多一次批量写入；INSERT IGNORE 配合唯一去重键保证同一通知只入队一次。
+ */
+@Component
+@Slf4j
+public class NotificationOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO notification_outbox " +
+                    "(dedup_key, channel, recipient_user_id, subject, body, status, attempts, next_attempt_at, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<NotificationChannelType> enabledChannels;
+
+    public NotificationOutbox(JdbcTemplate jdbcTemplate, List<NotificationChannel> channels) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabledChannels = channels.stream().map(NotificationChannel::type).distinct().toList();
+        log.info("已启用的通知渠道: {}", enabledChannels);
+    }
+
+    /**
+     * 待入队的一条通知
+     */
+    record Entry(String dedupKey, NotificationChannelType channel, Long recipientUserId, String subject, String body) {
+    }
+
+    /**
+     * 审批通过或驳回时通知申请人
+     * @param event 请假事件
+     */
+    @EventListener
+    public void onLeaveEvent(LeaveEvent event) {
+        if (event.type() != LeaveEventType.STATUS_CHANGED
+                || (event.status() != LeaveStatus.APPROVED && event.status() != LeaveStatus.REJECTED)) {
+            return;
+        }
+        String result = event.status() == LeaveStatus.APPROVED ? "已批准" : "已驳回";
+        String subject = "请假审批结果: " + result;
+        String body = event.applicantUsername() + "，您好：\n\n"
+                + "您提交的请假申请 #" + event.leaveRequestId() + " (" + event.leaveType() + "，"
+                + event.startDate() + " 至 " + event.endDate() + ") " + result + "。\n";
+        List<Entry> entries = new ArrayList<>(enabledChannels.size());
+        for (NotificationChannelType channel : enabledChannels) {
+            String dedupKey = "leave-decision:" + event.leaveRequestId() + ":" + event.status() + ":" + channel;
+            entries.add(new Entry(dedupKey, channel, event.applicantId(), subject, body));
+        }
+        enqueue(entries);
+    }
+
+    /**
+     * 入队通知：有活动事务时推迟到提交前批量写入，否则立即写入
+     * @param entries 通知
+     */
+    void enqueue(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(entries);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Entry> pending = (List<Entry>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Entry> buffer = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insert(buffer);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(NotificationOutbox.this);
+                }
+            });
+            pending = buffer;
+        }
+        pending.addAll(entries);
+    }
+
+    private void insert(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, e) -> {
+            ps.setString(1, e.dedupKey());
+            ps.setString(2, e.channel().name());
+            ps.setLong(3, e.recipientUserId());
+            ps.setString(4, e.subject());
+            ps.setString(5, e.body());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.leave_approval_system.notification;
+
+import com.example.leave_approval_system.model.OutboxMessage;
+import com.example.leave_approval_system.model.OutboxStatus;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.OutboxMessageRepository;
+import com.example.leave_approval_system.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 通知发件箱发送器
+ * 定时轮询 notification_outbox：在一个短事务中用 SKIP LOCKED 锁定并认领一批到期消息 (租约)，
+ * 事务外逐条通过对应渠道发送，最后在一个事务中批量写回结果。
+ * 失败的消息按指数退避重试，超过最大次数后标记为 FAILED。
+ * 轮询运行在独立的单线程调度器上，慢速 SMTP 等外部调用不会占用 Spring 共享的定时任务线程。
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher implements DisposableBean {
+
+    // 单次轮询最多处理的批次数，避免积压时长时间占用调度线程
+    private static final int MAX_BATCHES_PER_RUN = 10;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<NotificationChannelType, NotificationChannel> channels = new EnumMap<>(NotificationChannelType.class);
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final long dispatchIntervalMs;
+    private final ScheduledExecutorService executor;
+
+    public OutboxDispatcher(OutboxMessageRepository outboxMessageRepository,
+                            UserRepository userRepository,
+                            PlatformTransactionManager transactionManager,
+                            List<NotificationChannel> channels,
+                            @Value("${app.notification.batch-size:100}") int batchSize,
+                            @Value("${app.notification.max-attempts:8}") int maxAttempts,
+                            @Value("${app.notification.lease-ms:300000}") long leaseMs,
+                            @Value("${app.notification.backoff-base-ms:30000}") long backoffBaseMs,
+                            @Value("${app.notification.backoff-max-ms:3600000}") long backoffMaxMs,
+                            @Value("${app.notification.dispatch-interval-ms:2000}") long dispatchIntervalMs) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        channels.forEach(channel -> this.channels.put(channel.type(), channel));
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.backoffBase = Duration.ofMillis(backoffBaseMs);
+        this.backoffMax = Duration.ofMillis(backoffMaxMs);
+        this.dispatchIntervalMs = Math.max(1, dispatchIntervalMs);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 应用启动完成后开始定时发送
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::dispatchSafely, dispatchIntervalMs, dispatchIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void dispatchSafely() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            // 异常会取消 ScheduledExecutorService 中的周期任务，这里只记录，下一轮继续
+            log.error("通知发送轮询失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 发送到期消息
+     */
+    public void dispatch() {
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            if (dispatchBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 认领并发送一批消息
+     * @return 本批认领的消息数
+     */
+    int dispatchBatch() {
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxMessageRepository.lockDueIds(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxMessageRepository.claim(ids, now.plus(lease));
+            return outboxMessageRepository.findAllById(ids);
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> recipientIds = batch.stream().map(OutboxMessage::getRecipientUserId).collect(Collectors.toSet());
+        Map<Long, User> recipients = userRepository.findAllById(recipientIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Long> sent = new ArrayList<>();
+        List<Long> skipped = new ArrayList<>();
+        Map<OutboxMessage, String> failed = new HashMap<>();
+        Set<NotificationChannelType> missingChannels = new HashSet<>();
+        for (OutboxMessage message : batch) {
+            NotificationChannel channel = channels.get(message.getChannel());
+            User recipient = recipients.get(message.getRecipientUserId());
+            String destination = channel == null || recipient == null ? null : channel.destinationOf(recipient);
+            if (destination == null) {
+                if (channel == null) {
+                    missingChannels.add(message.getChannel());
+                }
+                skipped.add(message.getId());
+                continue;
+            }
+            try {
+                channel.send(destination, message);
+                sent.add(message.getId());
+            } catch (Exception e) {
+                failed.put(message, e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+        if (!missingChannels.isEmpty()) {
+            log.warn("通知渠道 {} 未启用，相关消息已跳过", missingChannels);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!sent.isEmpty()) {
+                outboxMessageRepository.complete(sent, OutboxStatus.SENT, now);
+            }
+            if (!skipped.isEmpty()) {
+                outboxMessageRepository.complete(skipped, OutboxStatus.SKIPPED, now);
+            }
+            failed.forEach((message, error) -> {
+                boolean giveUp = message.getAttempts() >= maxAttempts;
+                outboxMessageRepository.fail(message.getId(),
+                        giveUp ? OutboxStatus.FAILED : OutboxStatus.PENDING,
+                        now.plus(backoff(message.getAttempts())),
+                        error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            });
+        });
+        if (!failed.isEmpty()) {
+            log.warn("通知发送: 成功 {} 条，跳过 {} 条，失败 {} 条", sent.size(), skipped.size(), failed.size());
+        } else {
+            log.debug("通知发送: 成功 {} 条，跳过 {} 条", sent.size(), skipped.size());
+        }
+        return batch.size();
+    }
+
+    /**
+     * 指数退避: base * 2^(attempts - 1)，不超过上限
+     * @param attempts 已尝试次数 (认领时已加一)
+     * @return 下次尝试前的等待时间
+     */
+    Duration backoff(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = backoffBase.multipliedBy(1L << shift);
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.leave_approval_system.push;
+
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.model.LeaveType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 请假事件
+ * 由 LeaveRequestService 在事务内发布，事务提交后推送给申请人和审批人
+ */
+public record LeaveEvent(LeaveEventType type,
+                         Long leaveRequestId,
+                         LeaveStatus status,
+                         Long applicantId,
+                         String applicantUsername,
+                         Long approverId,
+                         LeaveType leaveType,
+                         LocalDate startDate,
+                         LocalDate endDate,
+                         LocalDateTime occurredAt) {
+}
@@ -0,0 +1,44 @@
+package com.example.leave_approval_system.push;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+
+/**
+ * 在事务提交后把请假事件推送给相关用户
+ * 新的待审批请假单只推送给审批人；状态变化同时推送给申请人和审批人 (审批人的其他标签页需要同步收件箱)
+ */
+@Component
+@Slf4j
+public class LeaveEventPushListener {
+
+    private final SseConnectionRegistry registry;
+    private final ObjectWriter eventWriter;
+
+    public LeaveEventPushListener(SseConnectionRegistry registry, ObjectMapper objectMapper) {
+        this.registry = registry;
+        this.eventWriter = objectMapper.writerFor(LeaveEvent.class);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLeaveEvent(LeaveEvent event) {
+        String json;
+        try {
+            json = eventWriter.writeValueAsString(event); // 只序列化一次，所有接收方共用
+        } catch (JsonProcessingException e) {
+            log.warn("请假事件序列化失败: {}", e.getMessage());
+            return;
+        }
+        String name = event.type().name();
+        registry.send(event.approverId(), name, json);
+        if (event.type() == LeaveEventType.STATUS_CHANGED && !Objects.equals(event.applicantId(), event.approverId())) {
+            registry.send(event.applicantId(), name, json);
+        }
+    }
+}
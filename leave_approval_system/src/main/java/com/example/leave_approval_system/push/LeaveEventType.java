@@ -0,0 +1,11 @@
+package com.example.leave_approval_system.push;
+
+/**
+ * 推送给前端的请假事件类型 (同时作为 SSE 的 event 名称)
+ */
+public enum LeaveEventType {
+    /** 审批人收件箱新增待审批请假单 */
+    INBOX_ITEM_ADDED,
+    /** 请假单状态变化 (批准、驳回、撤销) */
+    STATUS_CHANGED
+}
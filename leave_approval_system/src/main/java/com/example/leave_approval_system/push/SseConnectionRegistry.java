@@ -0,0 +1,247 @@
+package com.example.leave_approval_system.push;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE 连接注册表 (按用户 ID 扇出)
+ * <p>
+ * 连接建立后请求线程立即归还给 Tomcat，空闲连接只占用一个 NIO 套接字和一个很小的对象，
+ * 因此单节点可以保持数万个空闲连接。
+ * 发布事件只是把消息放进各连接的有界队列并在需要时调度一次发送，永远不会阻塞发布方 (业务事务线程)；
+ * 实际写出由少量发送线程完成。队列溢出说明客户端读得太慢，直接关闭该连接，由客户端重连后重新拉取最新状态。
+ * 心跳定时写出 SSE 注释行，防止代理和负载均衡器因空闲而断开连接。
+ */
+@Component
+@Slf4j
+public class SseConnectionRegistry implements DisposableBean {
+
+    private final ConcurrentMap<Long, ConcurrentLinkedDeque<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final long emitterTimeoutMs;
+
+    public SseConnectionRegistry(@Value("${app.push.buffer-size:32}") int bufferSize,
+                                 @Value("${app.push.max-connections-per-user:5}") int maxConnectionsPerUser,
+                                 @Value("${app.push.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                 @Value("${app.push.dispatch-threads:4}") int dispatchThreads,
+                                 @Value("${app.push.heartbeat-interval-ms:25000}") long heartbeatIntervalMs) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxConnectionsPerUser = Math.max(1, maxConnectionsPerUser);
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, dispatchThreads), daemonThreads("sse-dispatch-"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("sse-heartbeat-"));
+        this.heartbeat.scheduleWithFixedDelay(this::sendHeartbeats,
+                heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 为用户建立一个新的 SSE 连接
+     * 同一用户的连接数超过上限时关闭最早的连接 (例如用户开了过多标签页)
+     * @param userId 用户 ID
+     * @return SseEmitter (由控制器直接返回)
+     */
+    public SseEmitter register(Long userId) {
+        SseEmitter emitter = createEmitter(emitterTimeoutMs);
+        Connection connection = new Connection(userId, emitter, bufferSize);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        // 在 compute 中加入连接，与 remove 中的 computeIfPresent 互斥，不会加到刚被移除的空队列上
+        ConcurrentLinkedDeque<Connection> userConnections = connections.compute(userId, (id, existing) -> {
+            ConcurrentLinkedDeque<Connection> deque = existing != null ? existing : new ConcurrentLinkedDeque<>();
+            deque.addLast(connection);
+            return deque;
+        });
+        connectionCount.incrementAndGet();
+        while (userConnections.size() > maxConnectionsPerUser) {
+            Connection oldest = userConnections.pollFirst();
+            if (oldest != null) {
+                connectionCount.decrementAndGet();
+                oldest.close();
+            }
+        }
+        // 立即发送一条注释，让客户端和中间代理尽快确认流已建立
+        connection.offer(Message.HEARTBEAT);
+        schedule(connection);
+        return emitter;
+    }
+
+    /**
+     * 向某个用户的全部连接推送一条事件 (非阻塞)
+     * @param userId 用户 ID
+     * @param eventName SSE event 名称
+     * @param json 已序列化的事件数据 (同一事件推送给多个用户时只序列化一次)
+     */
+    public void send(Long userId, String eventName, String json) {
+        ConcurrentLinkedDeque<Connection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        Message message = new Message(eventName, json);
+        for (Connection connection : userConnections) {
+            if (connection.offer(message)) {
+                schedule(connection);
+            } else {
+                log.debug("用户 {} 的 SSE 连接缓冲区已满，关闭连接等待客户端重连", userId);
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * 当前连接总数
+     */
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        connections.values().forEach(userConnections -> userConnections.forEach(Connection::close));
+    }
+
+    private void sendHeartbeats() {
+        try {
+            for (ConcurrentLinkedDeque<Connection> userConnections : connections.values()) {
+                for (Connection connection : userConnections) {
+                    // 心跳只在队列有空位时发送，队列中有待发事件时心跳本身没有意义
+                    if (connection.offer(Message.HEARTBEAT)) {
+                        schedule(connection);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("SSE 心跳发送异常: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 创建 SseEmitter (测试中可替换为记录发送内容的实现)
+     */
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void schedule(Connection connection) {
+        // 每个连接同一时刻最多只有一个发送任务，保证同一连接上的消息顺序
+        if (connection.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(connection));
+            } catch (RuntimeException e) {
+                connection.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            Message message;
+            while ((message = connection.queue.poll()) != null) {
+                if (connection.closed.get()) {
+                    return;
+                }
+                connection.emitter.send(message.toEvent());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开：关闭并移除连接
+            connection.close();
+        } finally {
+            connection.scheduled.set(false);
+        }
+        // 释放标记后可能又有新消息入队，此时需要重新调度
+        if (!connection.queue.isEmpty() && !connection.closed.get()) {
+            schedule(connection);
+        }
+    }
+
+    private void remove(Connection connection) {
+        connection.closed.set(true);
+        connection.queue.clear();
+        boolean[] removed = {false};
+        // 移除连接与删除空队列在同一个原子操作中完成，避免与并发的 register 交错导致新连接丢失
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            removed[0] = userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+        if (removed[0]) {
+            connectionCount.decrementAndGet();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 待发送的消息 (event 为 null 表示心跳注释)
+     */
+    private record Message(String event, String data) {
+
+        static final Message HEARTBEAT = new Message(null, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (event == null) {
+                return SseEmitter.event().comment("ping");
+            }
+            return SseEmitter.event().name(event).data(data);
+        }
+    }
+
+    /**
+     * 一个 SSE 连接及其有界发送队列
+     */
+    private static final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Message> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Connection(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean offer(Message message) {
+            return !closed.get() && queue.offer(message);
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                // complete() 会触发 onCompletion 回调，由回调从注册表中移除
+                emitter.complete();
+            }
+        }
+    }
+}
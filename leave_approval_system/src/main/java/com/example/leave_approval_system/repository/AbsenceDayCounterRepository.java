@@ -0,0 +1,28 @@
+package com.example.leave_approval_system.repository;
+
+import com.example.leave_approval_system.model.AbsenceDayCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository // 标记为 Spring 管理的 Repository Bean
+public interface AbsenceDayCounterRepository extends JpaRepository<AbsenceDayCounter, Long> {
+
+    /**
+     * 读取团队一段日期内的每日缺勤计数
+     * 命中唯一索引 (approver_id, absence_date, leave_type) 的前缀，一次范围扫描
+     * @param approverId 审批人 ID (即团队)
+     * @param from 开始日期 (含)
+     * @param to 结束日期 (含)
+     * @return 计数行 (没有请假的日期不存在对应行)
+     */
+    @Query("select c from AbsenceDayCounter c where c.approverId = :approverId " +
+            "and c.absenceDate between :from and :to")
+    List<AbsenceDayCounter> findRange(@Param("approverId") Long approverId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+}
@@ -0,0 +1,34 @@
+package com.example.leave_approval_system.repository;
+
+import com.example.leave_approval_system.dto.LeaveBalanceResponse;
+import com.example.leave_approval_system.dto.LeaveBalanceTotal;
+import com.example.leave_approval_system.model.LeaveBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository // 标记为 Spring 管理的 Repository Bean
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long> {
+
+    /**
+     * 读取用户全部假期类型的余额 (命中唯一索引 (user_id, leave_type) 的前缀，最多每种类型一行)
+     * @param userId 用户 ID
+     * @return 余额列表
+     */
+    @Query("select new com.example.leave_approval_system.dto.LeaveBalanceResponse(b.leaveType, b.balance, b.updatedAt) " +
+            "from LeaveBalance b where b.userId = :userId order by b.leaveType")
+    List<LeaveBalanceResponse> findByUserId(@Param("userId") Long userId);
+
+    /**
+     * 对账用：读取一批用户的物化余额
+     * @param userIds 用户 ID 集合
+     * @return 物化余额列表
+     */
+    @Query("select new com.example.leave_approval_system.dto.LeaveBalanceTotal(b.userId, b.leaveType, b.balance) " +
+            "from LeaveBalance b where b.userId in :userIds")
+    List<LeaveBalanceTotal> findTotalsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
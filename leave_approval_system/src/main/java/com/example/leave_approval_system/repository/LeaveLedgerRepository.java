@@ -0,0 +1,42 @@
+package com.example.leave_approval_system.repository;
+
+import com.example.leave_approval_system.dto.LeaveBalanceTotal;
+import com.example.leave_approval_system.model.LeaveLedgerEntry;
+import com.example.leave_approval_system.model.LeaveType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 假期余额流水仓库
+ * 流水只追加不修改，写入统一走 {@link com.example.leave_approval_system.service.LeaveBalanceService} 的 JDBC 批量插入
+ */
+@Repository // 标记为 Spring 管理的 Repository Bean
+public interface LeaveLedgerRepository extends JpaRepository<LeaveLedgerEntry, Long> {
+
+    /**
+     * 对账用：按 (用户, 假期类型) 汇总一批用户的流水 (命中索引 (user_id, leave_type))
+     * @param userIds 用户 ID 集合
+     * @return 汇总结果
+     */
+    @Query("select new com.example.leave_approval_system.dto.LeaveBalanceTotal(e.userId, e.leaveType, sum(e.amount)) " +
+            "from LeaveLedgerEntry e where e.userId in :userIds group by e.userId, e.leaveType")
+    List<LeaveBalanceTotal> sumByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 发放任务用：一批用户中已在指定周期发放过的用户 ID (发放任务可安全重跑)
+     * @param userIds 用户 ID 集合
+     * @param leaveType 假期类型
+     * @param accrualPeriod 发放周期 (yyyy-MM)
+     * @return 已发放的用户 ID
+     */
+    @Query("select e.userId from LeaveLedgerEntry e " +
+            "where e.userId in :userIds and e.leaveType = :leaveType and e.accrualPeriod = :accrualPeriod")
+    List<Long> findAccruedUserIds(@Param("userIds") Collection<Long> userIds,
+                                  @Param("leaveType") LeaveType leaveType,
+                                  @Param("accrualPeriod") String accrualPeriod);
+}
@@ -0,0 +1,160 @@
+package com.example.leave_approval_system.repository;
+
+import com.example.leave_approval_system.dto.LeaveStateRow;
+import com.example.leave_approval_system.dto.LeaveSummary;
+import com.example.leave_approval_system.model.LeaveRequest;
+import com.example.leave_approval_system.model.LeaveStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository // 标记为 Spring 管理的 Repository Bean
+public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
+
+    /**
+     * 根据 ID 查找请假单，同时抓取申请人和审批人
+     * @param id 请假单 ID
+     * @return 包含请假单的 Optional (可能为空)
+     */
+    @EntityGraph(attributePaths = {"applicant", "approver"})
+    Optional<LeaveRequest> findWithUsersById(Long id);
+
+    /**
+     * 审批人收件箱第一页 (键集分页)
+     * 命中索引 (approver_id, status, created_at)，Pageable 仅用于生成 LIMIT，不执行 count 查询
+     * @param approverId 审批人 ID
+     * @param status 请假单状态
+     * @param limit 只使用其 pageSize 作为 LIMIT
+     * @return 按创建时间倒序的列表项
+     */
+    @Query("select new com.example.leave_approval_system.dto.LeaveSummary(" +
+            "l.id, a.id, a.username, l.leaveType, l.startDate, l.endDate, l.workingDays, l.status, l.createdAt) " +
+            "from LeaveRequest l join l.applicant a " +
+            "where l.approver.id = :approverId and l.status = :status " +
+            "order by l.createdAt desc, l.id desc")
+    List<LeaveSummary> findInboxFirstPage(@Param("approverId") Long approverId,
+                                          @Param("status") LeaveStatus status,
+                                          Pageable limit);
+
+    /**
+     * 审批人收件箱后续页 (键集分页)
+     * 从游标 (createdAt, id) 之后继续向下扫描索引，而不是 OFFSET 跳过前面的行，
+     * 无论翻到第几页，代价都只与页大小有关
+     * @param approverId 审批人 ID
+     * @param status 请假单状态
+     * @param cursorCreatedAt 上一页最后一条的创建时间
+     * @param cursorId 上一页最后一条的 ID
+     * @param limit 只使用其 pageSize 作为 LIMIT
+     * @return 按创建时间倒序的列表项
+     */
+    @Query("select new com.example.leave_approval_system.dto.LeaveSummary(" +
+            "l.id, a.id, a.username, l.leaveType, l.startDate, l.endDate, l.workingDays, l.status, l.createdAt) " +
+            "from LeaveRequest l join l.applicant a " +
+            "where l.approver.id = :approverId and l.status = :status " +
+            "and (l.createdAt < :cursorCreatedAt or (l.createdAt = :cursorCreatedAt and l.id < :cursorId)) " +
+            "order by l.createdAt desc, l.id desc")
+    List<LeaveSummary> findInboxPageAfter(@Param("approverId") Long approverId,
+                                          @Param("status") LeaveStatus status,
+                                          @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable limit);
+
+    /**
+     * 申请人 "我的请假" 第一页 (键集分页，命中索引 (applicant_id, created_at))
+     * @param applicantId 申请人 ID
+     * @param limit 只使用其 pageSize 作为 LIMIT
+     * @return 按创建时间倒序的列表项
+     */
+    @Query("select new com.example.leave_approval_system.dto.LeaveSummary(" +
+            "l.id, a.id, a.username, l.leaveType, l.startDate, l.endDate, l.workingDays, l.status, l.createdAt) " +
+            "from LeaveRequest l join l.applicant a " +
+            "where a.id = :applicantId " +
+            "order by l.createdAt desc, l.id desc")
+    List<LeaveSummary> findByApplicantFirstPage(@Param("applicantId") Long applicantId, Pageable limit);
+
+    /**
+     * 申请人 "我的请假" 后续页 (键集分页)
+     * @param applicantId 申请人 ID
+     * @param cursorCreatedAt 上一页最后一条的创建时间
+     * @param cursorId 上一页最后一条的 ID
+     * @param limit 只使用其 pageSize 作为 LIMIT
+     * @return 按创建时间倒序的列表项
+     */
+    @Query("select new com.example.leave_approval_system.dto.LeaveSummary(" +
+            "l.id, a.id, a.username, l.leaveType, l.startDate, l.endDate, l.workingDays, l.status, l.createdAt) " +
+            "from LeaveRequest l join l.applicant a " +
+            "where a.id = :applicantId " +
+            "and (l.createdAt < :cursorCreatedAt or (l.createdAt = :cursorCreatedAt and l.id < :cursorId)) " +
+            "order by l.createdAt desc, l.id desc")
+    List<LeaveSummary> findByApplicantPageAfter(@Param("applicantId") Long applicantId,
+                                                @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable limit);
+
+    /**
+     * 读取某审批人名下指定状态、在某日及之后才结束的请假单 (团队请假冲突索引的加载，早已结束的历史请假不加载)
+     * @param approverId 审批人 ID
+     * @param statuses 请假单状态
+     * @param from 最早的结束日期 (含)
+     * @return 列表项
+     */
+    @Query("select new com.example.leave_approval_system.dto.LeaveSummary(" +
+            "l.id, a.id, a.username, l.leaveType, l.startDate, l.endDate, l.workingDays, l.status, l.createdAt) " +
+            "from LeaveRequest l join l.applicant a " +
+            "where l.approver.id = :approverId and l.status in :statuses and l.endDate >= :from")
+    List<LeaveSummary> findActiveByApproverEndingFrom(@Param("approverId") Long approverId,
+                                                      @Param("statuses") Collection<LeaveStatus> statuses,
+                                                      @Param("from") LocalDate from);
+
+    /**
+     * 一次性读取一批请假单的审批人、状态和版本号 (批量审批的前置检查)
+     * @param ids 请假单 ID 集合
+     * @return 状态投影列表 (不存在的 ID 不返回)
+     */
+    @Query("select new com.example.leave_approval_system.dto.LeaveStateRow(l.id, l.approver.id, l.status, l.version) " +
+            "from LeaveRequest l where l.id in :ids")
+    List<LeaveStateRow> findStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按 ID 批量读取请假单列表项 (批量审批通过后一次性取出扣减余额所需的申请人、类型和日期)
+     * @param ids 请假单 ID 集合
+     * @return 列表项
+     */
+    @Query("select new com.example.leave_approval_system.dto.LeaveSummary(" +
+            "l.id, a.id, a.username, l.leaveType, l.startDate, l.endDate, l.workingDays, l.status, l.createdAt) " +
+            "from LeaveRequest l join l.applicant a where l.id in :ids")
+    List<LeaveSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 集合式批量审批：一条 UPDATE 完成同一版本号下所有请假单的状态迁移
+     * WHERE 中同时校验审批人、待审批状态和乐观锁版本号，被并发修改的行不会被更新
+     * @param ids 请假单 ID 集合
+     * @param approverId 审批人 ID
+     * @param version 期望的版本号
+     * @param decision 目标状态 (APPROVED 或 REJECTED)
+     * @param comment 审批意见
+     * @param now 审批时间
+     * @return 实际更新的行数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update LeaveRequest l set l.status = :decision, l.decisionComment = :comment, " +
+            "l.decidedAt = :now, l.updatedAt = :now, l.version = l.version + 1 " +
+            "where l.id in :ids and l.approver.id = :approverId and l.version = :version " +
+            "and l.status = com.example.leave_approval_system.model.LeaveStatus.PENDING")
+    int bulkDecide(@Param("ids") Collection<Long> ids,
+                   @Param("approverId") Long approverId,
+                   @Param("version") Long version,
+                   @Param("decision") LeaveStatus decision,
+                   @Param("comment") String comment,
+                   @Param("now") LocalDateTime now);
+}
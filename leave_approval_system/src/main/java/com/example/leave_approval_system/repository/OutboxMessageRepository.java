@@ -0,0 +1,70 @@
+package com.example.leave_approval_system.repository;
+
+import com.example.leave_approval_system.model.OutboxMessage;
+import com.example.leave_approval_system.model.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository // 标记为 Spring 管理的 Repository Bean
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * 锁定一批到期的消息 (需在事务中调用)
+     * SKIP LOCKED 跳过其他发送节点正在认领的行，多个节点并发轮询时互不阻塞、也不会认领到同一行；
+     * 租约已过期的 SENDING 行 (发送节点崩溃) 同样会被重新认领
+     * @param now 当前时间
+     * @param limit 最多认领条数
+     * @return 被锁定的消息 ID
+     */
+    @Query(value = "SELECT id FROM notification_outbox " +
+            "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 认领已锁定的消息：标记为 SENDING，尝试次数加一，并把 next_attempt_at 设为租约到期时间
+     * @param ids 消息 ID
+     * @param leaseUntil 租约到期时间
+     * @return 更新的行数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update OutboxMessage m set m.status = com.example.leave_approval_system.model.OutboxStatus.SENDING, " +
+            "m.attempts = m.attempts + 1, m.nextAttemptAt = :leaseUntil where m.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 批量标记发送结果为终态 (已发送或跳过)
+     * 只更新仍处于 SENDING 的行，租约过期后被其他节点重新认领并完成的消息不会被覆盖
+     * @param ids 消息 ID
+     * @param status 终态
+     * @param now 当前时间
+     * @return 更新的行数
+     */
+    @Modifying
+    @Query("update OutboxMessage m set m.status = :status, m.sentAt = :now, m.lastError = null " +
+            "where m.id in :ids and m.status = com.example.leave_approval_system.model.OutboxStatus.SENDING")
+    int complete(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status, @Param("now") LocalDateTime now);
+
+    /**
+     * 发送失败：安排重试或放弃
+     * @param id 消息 ID
+     * @param status PENDING (重试) 或 FAILED (放弃)
+     * @param nextAttemptAt 下次尝试时间
+     * @param lastError 错误信息
+     * @return 更新的行数
+     */
+    @Modifying
+    @Query("update OutboxMessage m set m.status = :status, m.nextAttemptAt = :nextAttemptAt, m.lastError = :lastError " +
+            "where m.id = :id and m.status = com.example.leave_approval_system.model.OutboxStatus.SENDING")
+    int fail(@Param("id") Long id,
+             @Param("status") OutboxStatus status,
+             @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+             @Param("lastError") String lastError);
+}
@@ -0,0 +1,19 @@
+package com.example.leave_approval_system.repository;
+
+import com.example.leave_approval_system.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository // 标记为 Spring 管理的 Repository Bean
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * 查询尚未过期的已注销 Token (节点启动时加载到内存)
+     * @param now 当前时间
+     * @return 已注销 Token 列表
+     */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+}
@@ -3,10 +3,16 @@ package com.example.leave_approval_system.repository;
 
 
 
+import com.example.leave_approval_system.dto.UserDirectoryEntry;
 import com.example.leave_approval_system.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -20,6 +26,47 @@ public interface UserRepository extends JpaRepository<User, Long> { // 继承 Jp
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * 按用户名读取认证所需的列 (认证主体)
+     * 只选择覆盖索引 idx_users_auth 中的列，查询不回表；返回的 User 不受持久化上下文管理，其余字段为空
+     * @param username 用户名
+     * @return 包含认证主体的 Optional (可能为空)
+     */
+    @Query("select new com.example.leave_approval_system.model.User(" +
+            "u.id, u.username, u.password, u.roleMask, u.updatedAt, u.nationality) " +
+            "from User u where u.username = :username")
+    Optional<User> findAuthByUsername(@Param("username") String username);
+
+    /**
+     * 按用户名批量读取认证所需的列 (一次 IN 查询，逐个值走覆盖索引 idx_users_auth)
+     * @param usernames 用户名集合
+     * @return 认证主体列表 (不存在的用户名不返回)
+     */
+    @Query("select new com.example.leave_approval_system.model.User(" +
+            "u.id, u.username, u.password, u.roleMask, u.updatedAt, u.nationality) " +
+            "from User u where u.username in :usernames")
+    List<User> findAuthByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 按规范化邮箱读取认证所需的列 (唯一索引 uk_email_normalized 定位后按主键读取一行)
+     * @param emailNormalized 小写邮箱
+     * @return 包含认证主体的 Optional (可能为空)
+     */
+    @Query("select new com.example.leave_approval_system.model.User(" +
+            "u.id, u.username, u.password, u.roleMask, u.updatedAt, u.nationality) " +
+            "from User u where u.emailNormalized = :emailNormalized")
+    Optional<User> findAuthByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+
+    /**
+     * 按 E.164 手机号读取认证所需的列 (唯一索引 uk_phone_e164 定位后按主键读取一行)
+     * @param phoneE164 E.164 格式手机号
+     * @return 包含认证主体的 Optional (可能为空)
+     */
+    @Query("select new com.example.leave_approval_system.model.User(" +
+            "u.id, u.username, u.password, u.roleMask, u.updatedAt, u.nationality) " +
+            "from User u where u.phoneE164 = :phoneE164")
+    Optional<User> findAuthByPhoneE164(@Param("phoneE164") String phoneE164);
+
     /**
      * 检查用户名是否存在
      * @param username 用户名
@@ -34,6 +81,45 @@ public interface UserRepository extends JpaRepository<User, Long> { // 继承 Jp
      */
     boolean existsByEmail(String email);
 
+    /**
+     * 检查规范化邮箱是否已被占用 (走唯一索引 uk_email_normalized)
+     * @param emailNormalized 小写邮箱
+     * @return 如果存在返回 true, 否则返回 false
+     */
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    /**
+     * 检查 E.164 手机号是否已被占用 (走唯一索引 uk_phone_e164)
+     * @param phoneE164 E.164 格式手机号
+     * @return 如果存在返回 true, 否则返回 false
+     */
+    boolean existsByPhoneE164(String phoneE164);
+
+    /**
+     * 查询全部用户的目录信息 (仅目录所需的列，用于构建内存前缀索引)
+     * @return 用户目录条目列表
+     */
+    @Query("select new com.example.leave_approval_system.dto.UserDirectoryEntry(u.id, u.username, u.email, u.phoneNumber, u.phoneE164, u.avatarUrl) from User u")
+    List<UserDirectoryEntry> findAllDirectoryEntries();
+
+    /**
+     * 按用户名批量查询用户的目录信息 (走唯一索引 uk_username)
+     * @param usernames 用户名集合
+     * @return 用户目录条目列表 (不存在的用户名不返回)
+     */
+    @Query("select new com.example.leave_approval_system.dto.UserDirectoryEntry(u.id, u.username, u.email, u.phoneNumber, u.phoneE164, u.avatarUrl) " +
+            "from User u where u.username in :usernames")
+    List<UserDirectoryEntry> findDirectoryEntriesByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * 按主键顺序分批读取用户 ID (键集分页，供全量批处理任务使用)
+     * @param afterId 上一批最后一个用户 ID (第一批传 0)
+     * @param limit 只使用其 pageSize 作为 LIMIT
+     * @return 用户 ID 列表
+     */
+    @Query("select u.id from User u where u.id > :afterId order by u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable limit);
+
     // 可以根据需要添加其他查询方法，例如 findByEmail
     // Optional<User> findByEmail(String email);
 }
\ No newline at end of file
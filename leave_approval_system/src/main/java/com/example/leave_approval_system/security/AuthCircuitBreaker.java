@@ -0,0 +1,120 @@
+package com.example.leave_approval_system.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 认证路径数据库调用的熔断器
+ * 连续失败达到阈值后打开：之后的请求不再访问数据库 (不再各自等待连接超时)，而是立即失败或进入降级认证；
+ * 打开 open-ms 后放行一个探测请求 (半开)，探测成功即关闭，失败则继续打开。
+ * 降级认证只在首次打开后的 grace-ms 内允许，超过后一律快速失败。
+ */
+@Component
+@Slf4j
+public class AuthCircuitBreaker {
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        /** 正常访问数据库 */
+        CLOSED,
+        /** 数据库不可用，直接拒绝 */
+        OPEN,
+        /** 已放行一个探测请求，等待其结果 */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final long graceMillis;
+
+    private volatile State state = State.CLOSED;
+    private volatile int consecutiveFailures; // 连续失败次数 (在 synchronized 中修改)
+    private volatile long openedAt;           // 本次故障首次打开的时间，关闭时清零
+    private long retryAt;                     // 下一次允许探测的时间
+
+    public AuthCircuitBreaker(@Value("${app.auth.circuit.failure-threshold:5}") int failureThreshold,
+                              @Value("${app.auth.circuit.open-ms:5000}") long openMillis,
+                              @Value("${app.auth.circuit.grace-ms:900000}") long graceMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+        this.graceMillis = graceMillis;
+    }
+
+    /**
+     * 判断本次是否可以访问数据库 (关闭时只有一次 volatile 读)
+     * @return 可以访问返回 true
+     */
+    public boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && System.currentTimeMillis() >= retryAt) {
+                state = State.HALF_OPEN;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 记录一次成功的数据库调用
+     */
+    public void onSuccess() {
+        if (state == State.CLOSED && consecutiveFailures == 0) {
+            return;
+        }
+        synchronized (this) {
+            if (state != State.CLOSED) {
+                log.info("认证数据库调用恢复，熔断器关闭 (打开了 {} ms)", System.currentTimeMillis() - openedAt);
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            openedAt = 0;
+        }
+    }
+
+    /**
+     * 记录一次失败的数据库调用 (连接失败、超时等)
+     */
+    public synchronized void onFailure() {
+        long now = System.currentTimeMillis();
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            if (state == State.CLOSED) {
+                openedAt = now;
+                log.warn("认证数据库调用连续失败 {} 次，熔断器打开", consecutiveFailures);
+            }
+            state = State.OPEN;
+            retryAt = now + openMillis;
+        }
+    }
+
+    /**
+     * 是否处于允许降级认证的宽限期内 (熔断器未关闭，且首次打开不超过 grace-ms)
+     * @return 允许降级认证返回 true
+     */
+    public boolean inGracePeriod() {
+        long since = openedAt;
+        return state != State.CLOSED && since > 0 && System.currentTimeMillis() - since <= graceMillis;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public long openedAt() {
+        return openedAt;
+    }
+
+    public long graceMillis() {
+        return graceMillis;
+    }
+}
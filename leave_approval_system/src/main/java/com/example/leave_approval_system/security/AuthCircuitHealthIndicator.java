@@ -0,0 +1,42 @@
+package com.example.leave_approval_system.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * 认证熔断器健康状态 (/actuator/health 及负载均衡器健康组 /actuator/health/lb 中的 authCircuit)
+ * 关闭时 UP；打开或半开且仍在降级认证宽限期内时 DEGRADED (HTTP 200，节点仍可服务已登录用户)；
+ * 超过宽限期时 DOWN
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthCircuitHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "数据库不可用，认证以降级方式进行");
+
+    private final AuthCircuitBreaker circuitBreaker;
+
+    @Override
+    public Health health() {
+        AuthCircuitBreaker.State state = circuitBreaker.state();
+        long openedAt = circuitBreaker.openedAt();
+        if (state == AuthCircuitBreaker.State.CLOSED || openedAt == 0) {
+            return Health.up()
+                    .withDetail("state", state)
+                    .withDetail("consecutiveFailures", circuitBreaker.consecutiveFailures())
+                    .build();
+        }
+        long graceRemaining = Math.max(0, openedAt + circuitBreaker.graceMillis() - System.currentTimeMillis());
+        Health.Builder builder = circuitBreaker.inGracePeriod() ? Health.status(DEGRADED) : Health.down();
+        return builder
+                .withDetail("state", state)
+                .withDetail("openedAt", Instant.ofEpochMilli(openedAt).toString())
+                .withDetail("graceRemainingMs", graceRemaining)
+                .build();
+    }
+}
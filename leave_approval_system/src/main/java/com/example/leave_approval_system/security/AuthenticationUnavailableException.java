@@ -0,0 +1,18 @@
+package com.example.leave_approval_system.security;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * 认证所需的用户数据暂时无法读取 (数据库不可用或熔断器打开)
+ * 与 "用户名或密码错误" 区分，调用方应返回 503 而不是 401
+ */
+public class AuthenticationUnavailableException extends InternalAuthenticationServiceException {
+
+    public AuthenticationUnavailableException(String message) {
+        super(message);
+    }
+
+    public AuthenticationUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.leave_approval_system.security;
+
+import com.example.leave_approval_system.model.Permission;
+import com.example.leave_approval_system.model.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 预先计算的权限集合
+ * 启动时为每种角色组合 (位掩码) 生成一个不可变的 GrantedAuthority 集合，包含角色本身 (ROLE_*) 和其授予的全部权限；
+ * 同一个 authority 字符串在所有集合中是同一个实例。
+ * User.getAuthorities() 直接按位掩码取出共享的集合，认证时不再为每个用户、每个请求创建权限对象。
+ */
+public final class AuthoritySets {
+
+    private static final List<Set<GrantedAuthority>> SETS;
+
+    static {
+        Map<Role, GrantedAuthority> roleAuthorities = new EnumMap<>(Role.class);
+        Map<Permission, GrantedAuthority> permissionAuthorities = new EnumMap<>(Permission.class);
+        for (Role role : Role.values()) {
+            roleAuthorities.put(role, new SimpleGrantedAuthority(role.authority()));
+        }
+        for (Permission permission : Permission.values()) {
+            permissionAuthorities.put(permission, new SimpleGrantedAuthority(permission.authority()));
+        }
+        List<Set<GrantedAuthority>> sets = new ArrayList<>(Role.MASK_LIMIT);
+        for (int mask = 0; mask < Role.MASK_LIMIT; mask++) {
+            Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+            for (Role role : Role.fromMask(mask)) {
+                authorities.add(roleAuthorities.get(role));
+            }
+            for (Role role : Role.fromMask(mask)) {
+                for (Permission permission : role.permissions()) {
+                    authorities.add(permissionAuthorities.get(permission));
+                }
+            }
+            sets.add(Collections.unmodifiableSet(authorities));
+        }
+        SETS = List.copyOf(sets);
+    }
+
+    private AuthoritySets() {
+    }
+
+    /**
+     * 取出角色位掩码对应的共享权限集合
+     * @param roleMask 角色位掩码 (未知的高位被忽略)
+     * @return 不可变集合，相同掩码总是返回同一实例
+     */
+    public static Set<GrantedAuthority> of(int roleMask) {
+        return SETS.get(roleMask & (Role.MASK_LIMIT - 1));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.leave_approval_system.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 泄露密码筛查 (注册时拒绝出现在离线泄露库中的密码，不调用外部接口)
+ * 启动时把库文件 (格式见 BreachedPasswordFile) 只读映射到内存，条目不复制到堆中，
+ * 由操作系统页缓存按需加载；查找是分桶表定位加区间内二分，单次在微秒级。
+ * 单个 MappedByteBuffer 最多 2GB，条目区按 1GB 分块映射，块边界与条目对齐。
+ * 映射后只做绝对位置读取，可被多个请求线程并发使用。
+ */
+@Component
+@Slf4j
+public class BreachedPasswordChecker {
+
+    private static final int CHUNK_SHIFT = 27; // 每块 2^27 个条目 (1GB)
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final MappedByteBuffer fanout;
+    private final MappedByteBuffer[] chunks;
+    private final long count;
+
+    public BreachedPasswordChecker(@Value("${app.password-screen.file:}") String file,
+                                   @Value("${app.password-screen.required:false}") boolean required) {
+        Path path = file.isBlank() ? null : Path.of(file);
+        if (path == null || !Files.isRegularFile(path)) {
+            if (required) {
+                throw new IllegalStateException("泄露密码库文件不存在: " + file);
+            }
+            log.warn("未找到泄露密码库文件 '{}'，注册时不筛查泄露密码", file);
+            this.fanout = null;
+            this.chunks = new MappedByteBuffer[0];
+            this.count = 0;
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BreachedPasswordFile.DATA_OFFSET);
+            if (header.getInt(0) != BreachedPasswordFile.MAGIC || header.getInt(4) != BreachedPasswordFile.VERSION) {
+                throw new IllegalStateException("不是泄露密码库文件或版本不支持: " + path);
+            }
+            long entries = header.getLong(8);
+            if (channel.size() != BreachedPasswordFile.DATA_OFFSET + entries * Long.BYTES) {
+                throw new IllegalStateException("泄露密码库文件长度与条目数不符 (文件不完整?): " + path);
+            }
+            int chunkCount = (int) ((entries + CHUNK_MASK) >>> CHUNK_SHIFT);
+            MappedByteBuffer[] mapped = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long first = (long) i << CHUNK_SHIFT;
+                long size = Math.min(CHUNK_MASK + 1, entries - first) * Long.BYTES;
+                mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        BreachedPasswordFile.DATA_OFFSET + first * Long.BYTES, size);
+            }
+            header.load(); // 分桶表每次查找都会访问，预先载入 (约 512KB)
+            this.fanout = header;
+            this.chunks = mapped;
+            this.count = entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException("映射泄露密码库文件失败: " + path, e);
+        }
+        log.info("已加载泄露密码库 '{}': {} 条", path, count);
+    }
+
+    /**
+     * 是否启用了筛查 (库文件已加载)
+     */
+    public boolean isEnabled() {
+        return fanout != null;
+    }
+
+    /**
+     * 库中的条目数
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * 判断密码是否出现在泄露库中
+     * @param password 明文密码
+     * @return 出现时返回 true；未启用筛查时总是返回 false
+     */
+    public boolean isBreached(String password) {
+        return fanout != null && password != null && contains(BreachedPasswordFile.hash(password));
+    }
+
+    private boolean contains(long hash) {
+        int bucket = BreachedPasswordFile.bucketOf(hash);
+        long low = fanout.getLong(BreachedPasswordFile.HEADER_BYTES + bucket * Long.BYTES);
+        long high = fanout.getLong(BreachedPasswordFile.HEADER_BYTES + (bucket + 1) * Long.BYTES) - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int cmp = Long.compareUnsigned(entry(mid), hash);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long entry(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getLong((int) (index & CHUNK_MASK) * Long.BYTES);
+    }
+}
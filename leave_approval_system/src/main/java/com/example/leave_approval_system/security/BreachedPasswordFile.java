@@ -0,0 +1,76 @@
+package com.example.leave_approval_system.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 泄露密码库文件格式 (由 BreachedPasswordFileBuilder 生成，BreachedPasswordChecker 内存映射读取)
+ * <pre>
+ * 头部   16 字节: 魔数 "BPH1"、格式版本 (int)、条目数 (long)
+ * 分桶表 (65536 + 1) 个 long: 第 p 项为哈希最高 16 位不小于 p 的第一个条目下标，最后一项等于条目数
+ * 条目   条目数个 long: SHA-1 前 8 字节 (大端)，按无符号值升序排列且去重
+ * </pre>
+ * 查找时先用哈希最高 16 位从分桶表取出区间，再在区间内二分，数亿条目下也只需十余次比较。
+ * 截断到 64 位后，十亿条目的误判概率约为 5e-11，可以忽略。
+ */
+final class BreachedPasswordFile {
+
+    static final int MAGIC = 0x42504831; // "BPH1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int BUCKET_BITS = 16;
+    static final int BUCKETS = 1 << BUCKET_BITS;
+    static final int FANOUT_BYTES = (BUCKETS + 1) * Long.BYTES;
+    static final long DATA_OFFSET = HEADER_BYTES + FANOUT_BYTES;
+
+    private static final ThreadLocal<MessageDigest> SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JVM 不支持 SHA-1", e);
+        }
+    });
+
+    private BreachedPasswordFile() {
+    }
+
+    /**
+     * 计算明文密码的截断哈希 (SHA-1(UTF-8) 的前 8 字节)
+     * @param password 明文密码
+     * @return 64 位截断哈希
+     */
+    static long hash(String password) {
+        byte[] digest = SHA1.get().digest(password.getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(digest).getLong();
+    }
+
+    /**
+     * 从十六进制 SHA-1 (大小写均可) 解析截断哈希
+     * @param hex 至少 16 个十六进制字符
+     * @return 64 位截断哈希
+     * @throws IllegalArgumentException 如果不是十六进制哈希
+     */
+    static long parseHexHash(CharSequence hex) {
+        if (hex.length() < 16) {
+            throw new IllegalArgumentException("哈希长度不足 16 个十六进制字符: " + hex);
+        }
+        long value = 0;
+        for (int i = 0; i < 16; i++) {
+            int digit = Character.digit(hex.charAt(i), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("不是十六进制哈希: " + hex);
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * 哈希所在的分桶 (最高 16 位)
+     */
+    static int bucketOf(long hash) {
+        return (int) (hash >>> (Long.SIZE - BUCKET_BITS));
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.leave_approval_system.security;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 泄露密码库文件生成工具 (离线运行，格式见 BreachedPasswordFile)
+ * 输入每行一条：plain 格式为明文密码；sha1 格式为十六进制 SHA-1，可带 ":出现次数" 后缀 (如 HIBP 导出的哈希列表)。
+ * 数亿条输入无法一次放入内存，按 --memory-entries 分批排序写出临时有序段，再多路归并去重写入目标文件；
+ * 先写临时文件，完成后再原子替换目标文件。
+ * <pre>
+ * java -cp leave_approval_system.jar \
+ *      -Dloader.main=com.example.leave_approval_system.security.BreachedPasswordFileBuilder \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      pwned-passwords-sha1.txt ./data/breached-passwords.bin --format=sha1 [--memory-entries=67108864]
+ * </pre>
+ */
+public final class BreachedPasswordFileBuilder {
+
+    /**
+     * 输入文件格式
+     */
+    public enum Format {
+        PLAIN,
+        SHA1
+    }
+
+    private static final int DEFAULT_MEMORY_ENTRIES = 1 << 26; // 64M 条，约 512MB 堆
+    private static final int IO_BUFFER_BYTES = 1 << 20;
+
+    private BreachedPasswordFileBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法: BreachedPasswordFileBuilder <输入文件> <输出文件> [--format=plain|sha1] [--memory-entries=N]");
+            System.exit(2);
+        }
+        Format format = Format.PLAIN;
+        int memoryEntries = DEFAULT_MEMORY_ENTRIES;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("--format=")) {
+                format = Format.valueOf(args[i].substring("--format=".length()).toUpperCase());
+            } else if (args[i].startsWith("--memory-entries=")) {
+                memoryEntries = Integer.parseInt(args[i].substring("--memory-entries=".length()));
+            } else {
+                throw new IllegalArgumentException("未知参数: " + args[i]);
+            }
+        }
+        long started = System.currentTimeMillis();
+        long count = build(Path.of(args[0]), Path.of(args[1]), format, memoryEntries);
+        System.out.printf("已写入 %d 条 (去重后) 到 %s，耗时 %d ms%n", count, args[1], System.currentTimeMillis() - started);
+    }
+
+    /**
+     * 由明文或哈希列表生成库文件
+     * @param input 输入文件 (UTF-8，每行一条)
+     * @param output 输出文件
+     * @param format 输入格式
+     * @param memoryEntries 每个有序段在内存中排序的条目数
+     * @return 去重后的条目数
+     * @throws IOException 读写失败时抛出
+     * @throws IllegalArgumentException 如果 sha1 格式的某行不是十六进制哈希
+     */
+    public static long build(Path input, Path output, Format format, int memoryEntries) throws IOException {
+        Path directory = output.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path workDir = Files.createTempDirectory(directory, "breached-build-");
+        try {
+            List<Path> runs = new ArrayList<>();
+            long[] buffer = new long[Math.min(memoryEntries, 1 << 20)]; // 按需扩容到 memoryEntries
+            int size = 0;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(Files.newInputStream(input), StandardCharsets.UTF_8), IO_BUFFER_BYTES)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (format == Format.SHA1) {
+                        line = line.strip();
+                        if (line.isEmpty()) {
+                            continue;
+                        }
+                    } else if (line.isEmpty()) {
+                        continue;
+                    }
+                    buffer[size++] = format == Format.SHA1
+                            ? BreachedPasswordFile.parseHexHash(line)
+                            : BreachedPasswordFile.hash(line);
+                    if (size == buffer.length) {
+                        if (buffer.length < memoryEntries) {
+                            buffer = Arrays.copyOf(buffer, (int) Math.min(memoryEntries, buffer.length * 2L));
+                        } else {
+                            runs.add(writeRun(workDir, runs.size(), buffer, size));
+                            size = 0;
+                        }
+                    }
+                }
+            }
+            List<LongCursor> cursors = new ArrayList<>();
+            try {
+                for (Path run : runs) {
+                    cursors.add(new RunCursor(run));
+                }
+                if (size > 0) {
+                    sortUnsigned(buffer, size);
+                    cursors.add(new ArrayCursor(buffer, size));
+                }
+                Path partial = workDir.resolve("output.bin");
+                long count = merge(cursors, partial);
+                Files.move(partial, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return count;
+            } finally {
+                for (LongCursor cursor : cursors) {
+                    cursor.close();
+                }
+            }
+        } finally {
+            try (var files = Files.list(workDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(workDir);
+        }
+    }
+
+    /**
+     * 按无符号顺序排序：翻转符号位后有符号排序与无符号排序一致
+     */
+    private static void sortUnsigned(long[] values, int size) {
+        for (int i = 0; i < size; i++) {
+            values[i] ^= Long.MIN_VALUE;
+        }
+        Arrays.sort(values, 0, size);
+        for (int i = 0; i < size; i++) {
+            values[i] ^= Long.MIN_VALUE;
+        }
+    }
+
+    private static Path writeRun(Path workDir, int index, long[] buffer, int size) throws IOException {
+        sortUnsigned(buffer, size);
+        Path run = workDir.resolve("run-" + index + ".bin");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(run), IO_BUFFER_BYTES))) {
+            for (int i = 0; i < size; i++) {
+                out.writeLong(buffer[i]);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * 多路归并各有序段并去重，条目写到数据区，同时统计分桶表，最后回填头部和分桶表
+     */
+    private static long merge(List<LongCursor> cursors, Path target) throws IOException {
+        PriorityQueue<LongCursor> heap = new PriorityQueue<>(Math.max(1, cursors.size()),
+                (a, b) -> Long.compareUnsigned(a.current(), b.current()));
+        for (LongCursor cursor : cursors) {
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        long[] bucketCounts = new long[BreachedPasswordFile.BUCKETS];
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(BreachedPasswordFile.DATA_OFFSET);
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), IO_BUFFER_BYTES));
+            long previous = 0;
+            while (!heap.isEmpty()) {
+                LongCursor cursor = heap.poll();
+                long value = cursor.current();
+                if (count == 0 || value != previous) {
+                    out.writeLong(value);
+                    bucketCounts[BreachedPasswordFile.bucketOf(value)]++;
+                    previous = value;
+                    count++;
+                }
+                if (cursor.advance()) {
+                    heap.add(cursor);
+                }
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate((int) BreachedPasswordFile.DATA_OFFSET);
+            header.putInt(BreachedPasswordFile.MAGIC).putInt(BreachedPasswordFile.VERSION).putLong(count);
+            long start = 0;
+            for (long bucketCount : bucketCounts) {
+                header.putLong(start);
+                start += bucketCount;
+            }
+            header.putLong(start);
+            header.flip();
+            long position = 0;
+            while (header.hasRemaining()) {
+                position += channel.write(header, position);
+            }
+            channel.force(true);
+        }
+        return count;
+    }
+
+    /**
+     * 有序 long 序列的游标
+     */
+    private interface LongCursor extends AutoCloseable {
+
+        boolean advance() throws IOException;
+
+        long current();
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class ArrayCursor implements LongCursor {
+
+        private final long[] values;
+        private final int size;
+        private int index = -1;
+
+        ArrayCursor(long[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public boolean advance() {
+            return ++index < size;
+        }
+
+        @Override
+        public long current() {
+            return values[index];
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class RunCursor implements LongCursor {
+
+        private final DataInputStream in;
+        private long current;
+
+        RunCursor(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), IO_BUFFER_BYTES));
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            try {
+                current = in.readLong();
+                return true;
+            } catch (EOFException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public long current() {
+            return current;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.leave_approval_system.security;
+
+import com.example.leave_approval_system.model.User;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 带决策缓存的 @PreAuthorize 授权管理器
+ * 只引用权限的表达式 (hasRole、hasAuthority、isAuthenticated 及其与或非组合) 的结果只取决于主体的权限集合，
+ * 而权限集合由角色位掩码唯一确定 (见 AuthoritySets)，因此按 (方法, 角色位掩码) 缓存授权决策，
+ * 热点接口不再为每个请求创建 EvaluationContext 并执行 SpEL。
+ * 引用方法参数 (#...)、Bean (@...) 或其他函数的表达式，以及非 User 主体，仍交给 PreAuthorizeAuthorizationManager 逐次求值。
+ */
+public final class CachingPreAuthorizeAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final Pattern QUOTED = Pattern.compile("'[^']*'");
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z_0-9]*");
+    private static final Set<String> AUTHORITY_ONLY_TOKENS = Set.of(
+            "hasRole", "hasAnyRole", "hasAuthority", "hasAnyAuthority", "isAuthenticated",
+            "isFullyAuthenticated", "permitAll", "denyAll", "and", "or", "not", "true", "false");
+
+    private record DecisionKey(MethodClassKey method, int roleMask) {
+    }
+
+    private final PreAuthorizeAuthorizationManager delegate = new PreAuthorizeAuthorizationManager();
+
+    // 方法是否可缓存 (由注解表达式决定，每个方法只分析一次)
+    private final ConcurrentMap<MethodClassKey, Boolean> cacheable = new ConcurrentHashMap<>();
+    // 授权决策缓存，条目数不超过 方法数 × 角色组合数；Optional.empty() 表示方法上没有 @PreAuthorize
+    private final ConcurrentMap<DecisionKey, Optional<AuthorizationDecision>> decisions = new ConcurrentHashMap<>();
+
+    public CachingPreAuthorizeAuthorizationManager(MethodSecurityExpressionHandler expressionHandler) {
+        delegate.setExpressionHandler(expressionHandler);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+        MethodClassKey methodKey = new MethodClassKey(invocation.getMethod(), targetClass);
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated() || !(current.getPrincipal() instanceof User user)
+                || !cacheable.computeIfAbsent(methodKey, k -> isCacheable(invocation.getMethod(), targetClass))) {
+            return delegate.check(() -> current, invocation);
+        }
+        return decisions.computeIfAbsent(new DecisionKey(methodKey, user.getRoleMask()),
+                k -> Optional.ofNullable(delegate.check(() -> current, invocation))).orElse(null);
+    }
+
+    private static boolean isCacheable(Method method, Class<?> targetClass) {
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        PreAuthorize annotation = AnnotatedElementUtils.findMergedAnnotation(specific, PreAuthorize.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, PreAuthorize.class);
+        }
+        return annotation == null || isAuthorityOnly(annotation.value());
+    }
+
+    /**
+     * 表达式是否只引用主体的权限
+     * 去掉字符串字面量后，只允许白名单中的标识符以及括号、逗号、逻辑运算符和空白
+     * @param expression SpEL 表达式
+     * @return 只引用权限时返回 true
+     */
+    static boolean isAuthorityOnly(String expression) {
+        String rest = QUOTED.matcher(expression).replaceAll("");
+        Matcher identifiers = IDENTIFIER.matcher(rest);
+        while (identifiers.find()) {
+            if (!AUTHORITY_ONLY_TOKENS.contains(identifiers.group())) {
+                return false;
+            }
+        }
+        return identifiers.replaceAll("").chars().allMatch(c -> "()!,&| \t\r\n".indexOf(c) >= 0);
+    }
+}
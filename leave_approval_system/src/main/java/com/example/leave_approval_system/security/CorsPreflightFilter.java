@@ -0,0 +1,122 @@
+package com.example.leave_approval_system.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * CORS 预检请求快速应答过滤器
+ * 以最高优先级注册在 Spring Security 过滤器链之前，
+ * 对合法的预检请求直接写回启动时预先拼接好的响应头，不再进入安全链和 DispatcherServlet。
+ * 不满足配置的预检请求 (来源、方法或请求头不被允许) 继续交给 Spring 的 CorsFilter 处理并拒绝。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class CorsPreflightFilter extends OncePerRequestFilter {
+
+    private final RouteClassifier routeClassifier;
+
+    // --- 启动时预先计算的 CORS 数据 ---
+    private final Set<String> allowedOrigins;
+    private final Set<String> allowedMethods;
+    private final Set<String> allowedHeaders;
+    private final String allowMethodsValue;
+    private final String allowHeadersValue;
+    private final String maxAgeValue;
+    private final boolean allowCredentials;
+
+    public CorsPreflightFilter(RouteClassifier routeClassifier, CorsConfiguration apiCorsConfiguration) {
+        this.routeClassifier = routeClassifier;
+        this.allowedOrigins = Set.copyOf(nullToEmpty(apiCorsConfiguration.getAllowedOrigins()));
+        this.allowedMethods = nullToEmpty(apiCorsConfiguration.getAllowedMethods()).stream()
+                .map(m -> m.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.allowedHeaders = nullToEmpty(apiCorsConfiguration.getAllowedHeaders()).stream()
+                .map(h -> h.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.allowMethodsValue = String.join(",", nullToEmpty(apiCorsConfiguration.getAllowedMethods()));
+        this.allowHeadersValue = String.join(",", nullToEmpty(apiCorsConfiguration.getAllowedHeaders()));
+        this.maxAgeValue = apiCorsConfiguration.getMaxAge() != null ? apiCorsConfiguration.getMaxAge().toString() : null;
+        this.allowCredentials = Boolean.TRUE.equals(apiCorsConfiguration.getAllowCredentials());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // 只处理 /api/** 下的预检请求，其余请求零开销放行
+        return !routeClassifier.isPreflight(request) || !routeClassifier.isApiPath(request);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        String requestMethod = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+        String requestHeaders = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+        if (!allowedOrigins.contains(origin)
+                || !allowedMethods.contains(requestMethod.toUpperCase(Locale.ROOT))
+                || !headersAllowed(requestHeaders)) {
+            // 交给 Spring CorsFilter 按标准流程拒绝
+            log.debug("预检请求未命中快速通道，交由 CorsFilter 处理: origin={}, method={}", origin, requestMethod);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, allowMethodsValue);
+        if (StringUtils.hasText(requestHeaders)) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, allowHeadersValue);
+        }
+        if (allowCredentials) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+        if (maxAgeValue != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE, maxAgeValue);
+        }
+    }
+
+    /**
+     * 检查 Access-Control-Request-Headers 中的每个请求头是否都被允许
+     */
+    private boolean headersAllowed(String requestHeaders) {
+        if (!StringUtils.hasText(requestHeaders)) {
+            return true;
+        }
+        if (allowedHeaders.contains(CorsConfiguration.ALL)) {
+            return true;
+        }
+        for (String header : StringUtils.tokenizeToStringArray(requestHeaders, ",")) {
+            if (!allowedHeaders.contains(header.toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> nullToEmpty(List<String> values) {
+        return values != null ? values : List.of();
+    }
+}
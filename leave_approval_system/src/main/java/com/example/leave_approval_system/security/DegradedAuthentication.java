@@ -0,0 +1,64 @@
+package com.example.leave_approval_system.security;
+
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.service.UserDetailsCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 数据库不可用时的降级认证
+ * 仅在熔断器打开后的宽限期内生效：优先使用本节点最近一次成功加载的用户快照，
+ * 没有快照时用 Token 中签名保护的用户 ID 和角色声明构造主体 (角色以签发时为准)。
+ * 已注销的 Token 仍由内存中的注销集合拒绝；宽限期结束后一律快速失败。
+ */
+@Component
+public class DegradedAuthentication {
+
+    private final AuthCircuitBreaker circuitBreaker;
+    private final UserDetailsCache userDetailsCache;
+    private final Counter fromSnapshot;
+    private final Counter fromClaims;
+
+    public DegradedAuthentication(AuthCircuitBreaker circuitBreaker,
+                                  UserDetailsCache userDetailsCache,
+                                  MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreaker;
+        this.userDetailsCache = userDetailsCache;
+        this.fromSnapshot = Counter.builder("auth.degraded").tag("source", "snapshot")
+                .description("数据库不可用时以降级方式认证的请求数").register(meterRegistry);
+        this.fromClaims = Counter.builder("auth.degraded").tag("source", "claims")
+                .description("数据库不可用时以降级方式认证的请求数").register(meterRegistry);
+    }
+
+    /**
+     * 为已通过签名校验的 Token 构造降级主体
+     * @param username Token 中的用户名
+     * @param claims Token 声明
+     * @return 用户主体，不在宽限期内或信息不足时为空
+     */
+    public Optional<User> resolve(String username, Claims claims) {
+        if (!circuitBreaker.inGracePeriod()) {
+            return Optional.empty();
+        }
+        User snapshot = userDetailsCache.snapshot(username);
+        if (snapshot != null) {
+            fromSnapshot.increment();
+            return Optional.of(snapshot);
+        }
+        Long userId = claims.get(JwtUtil.CLAIM_USER_ID, Long.class);
+        Integer roleMask = claims.get(JwtUtil.CLAIM_ROLE_MASK, Integer.class);
+        if (userId == null || roleMask == null) {
+            return Optional.empty();
+        }
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(username);
+        user.setRoleMask(roleMask);
+        fromClaims.increment();
+        return Optional.of(user);
+    }
+}
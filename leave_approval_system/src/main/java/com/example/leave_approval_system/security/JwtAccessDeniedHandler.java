@@ -1,10 +1,11 @@
 package com.example.leave_approval_system.security;
 
+import com.example.leave_approval_system.config.ApiResponseJsonWriter;
 import com.example.leave_approval_system.dto.ApiResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
@@ -19,10 +20,12 @@ import java.io.IOException;
  * 确保返回标准的API响应格式
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtAccessDeniedHandler implements AccessDeniedHandler {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 使用全局 ObjectMapper 预先创建的写出器，与 Controller 响应的序列化配置保持一致
+    private final ApiResponseJsonWriter apiResponseJsonWriter;
 
     @Override
     public void handle(HttpServletRequest request, HttpServletResponse response,
@@ -37,6 +40,6 @@ public class JwtAccessDeniedHandler implements AccessDeniedHandler {
         ApiResponse<?> apiResponse = ApiResponse.error(403, "权限不足: 您没有权限访问此资源");
         
         // 将ApiResponse对象转换为JSON并写入响应
-        objectMapper.writeValue(response.getOutputStream(), apiResponse);
+        apiResponseJsonWriter.write(response.getOutputStream(), apiResponse);
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.example.leave_approval_system.security;
 
+import com.example.leave_approval_system.audit.AuditEventType;
+import com.example.leave_approval_system.audit.AuditLogger;
+import com.example.leave_approval_system.config.ApiResponseJsonWriter;
 import com.example.leave_approval_system.dto.ApiResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
@@ -19,14 +22,18 @@ import java.io.IOException;
  * 确保返回标准的API响应格式
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 使用全局 ObjectMapper 预先创建的写出器，与 Controller 响应的序列化配置保持一致
+    private final ApiResponseJsonWriter apiResponseJsonWriter;
+    private final AuditLogger auditLogger; // 认证审计日志
 
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response,
                          AuthenticationException authException) throws IOException, ServletException {
+        auditLogger.record(AuditEventType.UNAUTHORIZED_ACCESS, null, request.getRemoteAddr(), request.getRequestURI());
         if(false){log.warn("未授权访问: {} - {}", request.getRequestURI(), authException.getMessage());
         
         // 设置响应状态码为401
@@ -37,6 +44,6 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
         ApiResponse<?> apiResponse = ApiResponse.error(401, "访问未授权: " + authException.getMessage());
         
         // 将ApiResponse对象转换为JSON并写入响应
-        objectMapper.writeValue(response.getOutputStream(), apiResponse);
+        apiResponseJsonWriter.write(response.getOutputStream(), apiResponse);
     }
 }
\ No newline at end of file
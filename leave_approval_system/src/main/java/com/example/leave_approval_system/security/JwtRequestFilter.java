@@ -1,7 +1,13 @@
 package com.example.leave_approval_system.security;
 
+import com.example.leave_approval_system.audit.AuditEventType;
+import com.example.leave_approval_system.audit.AuditLogger;
+import com.example.leave_approval_system.config.ApiResponseJsonWriter;
 import com.example.leave_approval_system.constant.SecurityConstants;
+import com.example.leave_approval_system.dto.ApiResponse;
 import com.example.leave_approval_system.service.UserDetailsServiceImpl;
+import com.example.leave_approval_system.service.UserVersionCache;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -12,6 +18,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,6 +32,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.function.Function;
 
 @Component // 标记为 Spring Bean
 @RequiredArgsConstructor // Lombok: 自动生成构造函数注入 final 字段
@@ -31,9 +41,28 @@ public class JwtRequestFilter extends OncePerRequestFilter { // 继承 OncePerRe
 
     private final JwtUtil jwtUtil; // 注入 JWT 工具类
     private final UserDetailsServiceImpl userDetailsService; // 注入 UserDetailsService
+    private final RouteClassifier routeClassifier; // 注入路由分类器
+    private final AuditLogger auditLogger; // 注入认证审计日志
+    private final TokenRevocationChecker tokenRevocationChecker; // 注入 Token 注销状态检查 (内存查找，集合落后时查库或降级)
+    private final DegradedAuthentication degradedAuthentication; // 数据库不可用时的降级认证
+    private final ApiResponseJsonWriter apiResponseJsonWriter; // 统一响应写出器
+    private final UserVersionCache userVersionCache; // 注入用户版本缓存 (条件 GET 在加载用户前判断 304)
+
+    // 与 AuthController 的个人资料缓存策略一致
+    private static final String PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
 
     // 使用常量类中的值，避免硬编码
 
+    /**
+     * 公开路径和 CORS 预检请求不需要解析 JWT，直接跳过本过滤器
+     * @param request HTTP 请求对象
+     * @return 需要跳过时返回 true
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return routeClassifier.classify(request) != RouteClassifier.RouteType.PROTECTED;
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
@@ -42,33 +71,71 @@ public class JwtRequestFilter extends OncePerRequestFilter { // 继承 OncePerRe
 
         String jwt = extractJwtFromRequest(request); // 从请求中提取 JWT
         String username = null;
+        Claims claims = null;
+        String rejection = null; // Token 被拒绝的原因，用于审计
+        boolean unavailable = false; // 注销状态无法确认，返回 503
 
         if (jwt != null) {
             try {
-                username = jwtUtil.extractUsername(jwt); // 尝试从 JWT 中提取用户名
+                claims = jwtUtil.extractClaim(jwt, Function.identity()); // 解析一次，同时取用户名和 Token ID
+                TokenRevocationChecker.Status revocation = tokenRevocationChecker.check(claims);
+                if (revocation == TokenRevocationChecker.Status.REVOKED) {
+                    rejection = "Token 已注销";
+                } else if (revocation == TokenRevocationChecker.Status.UNKNOWN) {
+                    rejection = "Token 注销状态无法确认"; // 注销集合落后且数据库不可用，超出降级范围
+                    unavailable = true;
+                } else {
+                    username = claims.getSubject(); // 从 JWT 中提取用户名
+                }
             } catch (ExpiredJwtException e) {
+                rejection = "Token 已过期";
                 if(false){log.warn("请求 '{}' 中的 JWT Token 已过期: {}", request.getRequestURI(), e.getMessage());
             } catch (UnsupportedJwtException e) {
+                rejection = "Token 不被支持";
                 if(false){log.warn("请求 '{}' 中的 JWT Token 不被支持: {}", request.getRequestURI(), e.getMessage());
             } catch (MalformedJwtException e) {
+                rejection = "Token 格式无效";
                 if(false){log.warn("请求 '{}' 中的 JWT Token 格式无效: {}", request.getRequestURI(), e.getMessage());
             } catch (SignatureException e) {
+                rejection = "签名无效";
                 if(false){log.warn("请求 '{}' 中的 JWT 签名无效: {}", request.getRequestURI(), e.getMessage());
             } catch (IllegalArgumentException e) {
+                rejection = "Token 参数非法";
                 if(false){log.warn("请求 '{}' 中的 JWT argument 非法: {}", request.getRequestURI(), e.getMessage());
             } catch (Exception e) {
+                rejection = "解析 Token 时发生错误";
                 if(false){log.error("处理请求 '{}' 中的 JWT 时发生未知错误: {}", request.getRequestURI(), e.getMessage(), e);
             }
         } else {
             // if(false){log.trace("请求 '{}' 未携带有效的 Authorization Bearer Token.", request.getRequestURI());
         }
 
+        if (rejection != null) {
+            auditLogger.record(AuditEventType.TOKEN_REJECTED, null, request.getRemoteAddr(),
+                    rejection + ": " + request.getRequestURI());
+        }
+        if (unavailable) {
+            writeUnavailable(response);
+            return;
+        }
+
+        // 个人资料的条件 GET: Token 有效且版本缓存中的 ETag 未变化时直接返回 304，不加载用户 (不访问数据库)
+        if (username != null && routeClassifier.isConditionalProfileGet(request)) {
+            String etag = cachedMatchingETag(request, username, claims);
+            if (etag != null) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                response.setHeader(HttpHeaders.ETAG, etag);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, PROFILE_CACHE_CONTROL);
+                return;
+            }
+        }
+
         // 当 Token 中成功提取到用户名，并且当前 SecurityContext 中没有认证信息时
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = null;
             try {
-                // 根据用户名加载用户信息
-                userDetails = this.userDetailsService.loadUserByUsername(username);
+                // 根据用户名加载用户信息 (数据库不可用时在宽限期内降级认证)
+                userDetails = loadUser(username, claims);
 
                 // 验证 Token 是否有效 (用户名匹配且未过期)
                 if (jwtUtil.validateToken(jwt, userDetails)) {
@@ -83,9 +150,17 @@ public class JwtRequestFilter extends OncePerRequestFilter { // 继承 OncePerRe
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
                     if(false){log.debug("用户 '{}' 通过 JWT 认证成功，访问资源: {}", username, request.getRequestURI());
                 } else {
+                    auditLogger.record(AuditEventType.TOKEN_REJECTED, username, request.getRemoteAddr(),
+                            "Token 与用户信息不匹配: " + request.getRequestURI());
                     if(false){log.warn("JWT Token 对用户 '{}' 无效 (可能已过期或信息不匹配)", username);
                 }
+            } catch (AuthenticationUnavailableException e) {
+                // 数据库不可用且无法降级认证：立即返回 503，而不是以匿名身份继续或等待连接超时
+                writeUnavailable(response);
+                return;
             } catch (UsernameNotFoundException e) {
+                auditLogger.record(AuditEventType.TOKEN_REJECTED, username, request.getRemoteAddr(),
+                        "Token 对应的用户不存在: " + request.getRequestURI());
                 if(false){log.warn("根据 JWT Token 中的用户名 '{}' 未找到用户", username);
                 // 用户可能已被删除，但 Token 尚未过期
             } catch (Exception e) {
@@ -97,6 +172,42 @@ public class JwtRequestFilter extends OncePerRequestFilter { // 继承 OncePerRe
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 加载 Token 对应的用户；数据库不可用时改用降级主体 (用户快照或 Token 声明)
+     * @param username Token 中的用户名
+     * @param claims Token 声明
+     * @return 用户信息
+     * @throws AuthenticationUnavailableException 数据库不可用且不在降级宽限期内
+     */
+    private UserDetails loadUser(String username, Claims claims) {
+        try {
+            return userDetailsService.loadUserByUsername(username);
+        } catch (AuthenticationUnavailableException e) {
+            return degradedAuthentication.resolve(username, claims).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * 从版本缓存取当前用户的 ETag，与 If-None-Match 匹配时返回
+     * Token 携带用户 ID 时要求与缓存的 ID 一致 (同名重新注册的用户不能命中旧 Token 的版本)
+     * @return 匹配的 ETag；缓存未命中或不匹配时返回 null (照常加载用户)
+     */
+    private String cachedMatchingETag(HttpServletRequest request, String username, Claims claims) {
+        Long userId = claims.get(JwtUtil.CLAIM_USER_ID, Long.class);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return userVersionCache.get(username)
+                .filter(version -> userId == null || userId == version.id())
+                .map(UserVersionCache.UserVersion::etag)
+                .filter(etag -> UserVersionCache.matches(ifNoneMatch, etag))
+                .orElse(null);
+    }
+
+    private void writeUnavailable(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        apiResponseJsonWriter.write(response.getOutputStream(), ApiResponse.error(503, "认证服务暂时不可用，请稍后重试"));
+    }
+
     /**
      * 从 HttpServletRequest 中提取 JWT Token.
      * Token 应该在 'Authorization' 请求头中，格式为 'Bearer <token>'.
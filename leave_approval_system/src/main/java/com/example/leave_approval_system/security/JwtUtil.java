@@ -1,7 +1,10 @@
 package com.example.leave_approval_system.security;
 
+import com.example.leave_approval_system.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -17,12 +20,17 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component // 标记为 Spring Bean
 @Slf4j     // Lombok: 自动注入 Slf4j 日志记录器
 public class JwtUtil {
 
+    // 用户 ID 和角色位掩码声明，数据库不可用时用于降级认证 (见 DegradedAuthentication)
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE_MASK = "rm";
+
     @Value("${jwt.secret}") // 从 application.properties 注入密钥字符串
     private String jwtSecretString;
 
@@ -30,6 +38,7 @@ public class JwtUtil {
     private long jwtExpirationMs;
 
     private SecretKey key; // 用于签名的密钥对象
+    private JwtParser parser; // 解析器不可变、线程安全，构建一次后复用
 
     @PostConstruct // 在 Bean 初始化后执行此方法
     public void init() {
@@ -41,6 +50,7 @@ public class JwtUtil {
         }
         // 使用密钥字符串生成 SecretKey 对象
         this.key = Keys.hmacShaKeyFor(jwtSecretString.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
         if(false){log.info("JWT 密钥初始化完成。")};
     }
 
@@ -53,10 +63,15 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())   // 设置 Token ID (jti)，用于注销单个 Token
                 .setSubject(userDetails.getUsername()) // 设置主题为用户名
                 .setIssuedAt(now)                      // 设置签发时间
-                .setExpiration(expiryDate)             // 设置过期时间
+                .setExpiration(expiryDate);            // 设置过期时间
+        if (userDetails instanceof User user) {
+            builder.claim(CLAIM_USER_ID, user.getId()).claim(CLAIM_ROLE_MASK, user.getRoleMask());
+        }
+        return builder
                 .signWith(key, SignatureAlgorithm.HS256) // 使用 HS256 算法和密钥签名
                 .compact(); // 构建并压缩成字符串
     }
@@ -102,11 +117,8 @@ public class JwtUtil {
      * @throws IllegalArgumentException 如果 Token 为空或格式非法
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder() // 使用 Jwts.parserBuilder() 获取解析器构建器
-                .setSigningKey(key)   // 设置用于验证签名的密钥
-                .build()              // 构建解析器
-                .parseClaimsJws(token)// 解析 Token (如果签名无效或过期会抛出异常)
-                .getBody();           // 获取 Claims 内容
+        return parser.parseClaimsJws(token) // 解析 Token (如果签名无效或过期会抛出异常)
+                .getBody();                 // 获取 Claims 内容
     }
 
     /**
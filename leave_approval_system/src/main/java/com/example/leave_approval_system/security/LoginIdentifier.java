@@ -0,0 +1,100 @@
+package com.example.leave_approval_system.security;
+
+import java.util.Locale;
+
+/**
+ * 登录标识 (用户名、邮箱或手机号)
+ * 查询前先按格式分类并规范化，每次登录只对一个唯一索引列做一次等值查找：
+ * 含 "@" 的按邮箱 (小写，对应 users.email_normalized)，形如电话号码的按 E.164 手机号 (users.phone_e164)，
+ * 其余按用户名。为保证分类无歧义，注册时用户名不能是邮箱或手机号格式；
+ * 该规则之前注册的此类用户名，在按邮箱或手机号未找到时再按用户名查找。
+ * @param type 标识类型
+ * @param value 规范化后的值
+ */
+public record LoginIdentifier(Type type, String value) {
+
+    /**
+     * 标识类型
+     */
+    public enum Type {
+        USERNAME, EMAIL, PHONE
+    }
+
+    // 视为电话号码所需的最少数字个数 (更短的纯数字串仍按用户名处理)
+    private static final int MIN_PHONE_DIGITS = 7;
+    // E.164: 国家码 + 号码最多 15 位
+    private static final int MAX_E164_DIGITS = 15;
+
+    /**
+     * 对登录输入分类并规范化
+     * @param raw 用户输入
+     * @param defaultCallingCode 未带国家码的号码使用的默认国家码 (例如 "86")
+     * @return 登录标识
+     */
+    public static LoginIdentifier classify(String raw, String defaultCallingCode) {
+        String trimmed = raw.trim();
+        if (trimmed.indexOf('@') >= 0) {
+            return new LoginIdentifier(Type.EMAIL, normalizeEmail(trimmed));
+        }
+        String phone = normalizePhone(trimmed, defaultCallingCode);
+        if (phone != null) {
+            return new LoginIdentifier(Type.PHONE, phone);
+        }
+        return new LoginIdentifier(Type.USERNAME, trimmed);
+    }
+
+    /**
+     * 规范化邮箱：去掉首尾空白并转为小写
+     * @param email 邮箱 (可以为 null)
+     * @return 规范化后的邮箱，空白时返回 null
+     */
+    public static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 把手机号规范化为 E.164 ("+" 加最多 15 位数字)
+     * 允许空格、"-"、"."、括号作为分隔符；"+" 或 "00" 开头视为已带国家码，
+     * 否则去掉国内长途前缀 "0" 后加上默认国家码
+     * @param phone 手机号 (可以为 null)
+     * @param defaultCallingCode 默认国家码
+     * @return E.164 格式号码，不像电话号码时返回 null
+     */
+    public static String normalizePhone(String phone, String defaultCallingCode) {
+        if (phone == null) {
+            return null;
+        }
+        String trimmed = phone.trim();
+        StringBuilder digits = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (!(c == '+' && i == 0) && c != ' ' && c != '-' && c != '.' && c != '(' && c != ')') {
+                return null;
+            }
+        }
+        if (digits.length() < MIN_PHONE_DIGITS) {
+            return null;
+        }
+        String number;
+        if (trimmed.startsWith("+")) {
+            number = digits.toString();
+        } else if (trimmed.startsWith("00")) {
+            number = digits.substring(2);
+        } else {
+            int start = 0;
+            while (start < digits.length() && digits.charAt(start) == '0') {
+                start++;
+            }
+            number = defaultCallingCode + digits.substring(start);
+        }
+        if (number.isEmpty() || number.charAt(0) == '0' || number.length() > MAX_E164_DIGITS) {
+            return null;
+        }
+        return "+" + number;
+    }
+}
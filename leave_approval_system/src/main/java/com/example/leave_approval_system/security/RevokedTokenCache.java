@@ -0,0 +1,90 @@
+package com.example.leave_approval_system.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 已注销 Token 集合 (本节点)
+ * 以 jti 为键、Token 过期时间为值；认证时只查内存。
+ * 内容来自 revoked_tokens 的启动加载和缓存变更日志的增量同步，Token 过期后条目即可丢弃。
+ * 同步落后超过 max-staleness (或启动后尚未完成首次同步) 时集合不再可信，isStale() 返回 true，
+ * 此时由 TokenRevocationChecker 查库确认，数据库也不可用时只在降级宽限期内接受最近一次同步之前签发的 Token。
+ */
+@Component
+public class RevokedTokenCache {
+
+    private final ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private final long tokenLifetimeMillis;
+    // 集合可信的截止时间，由 ChangeLogPoller 在每次追上变更日志后延长
+    private volatile long freshUntilMillis;
+    // 最近一次追上变更日志的时间 (该时刻之前的注销都已同步到集合中)
+    private volatile long lastSyncedMillis;
+
+    public RevokedTokenCache(@Value("${jwt.expiration.ms}") long tokenLifetimeMillis) {
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+    }
+
+    /**
+     * 判断 Token 是否已注销
+     * @param tokenId jti (旧 Token 可能没有，返回 false)
+     * @return 已注销返回 true
+     */
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * 注销集合是否已过期 (同步落后超过 max-staleness，其他节点注销的 Token 可能尚未同步到本节点)
+     * @return 已过期返回 true
+     */
+    public boolean isStale() {
+        return System.currentTimeMillis() > freshUntilMillis;
+    }
+
+    /**
+     * 记录一次成功同步，并延长集合可信的截止时间
+     * @param syncedAtMillis 同步时间 (毫秒时间戳)
+     * @param untilMillis 截止时间 (毫秒时间戳)
+     */
+    public void markFresh(long syncedAtMillis, long untilMillis) {
+        lastSyncedMillis = syncedAtMillis;
+        freshUntilMillis = untilMillis;
+    }
+
+    /**
+     * 最近一次成功同步的时间
+     * @return 毫秒时间戳，尚未同步时为 0
+     */
+    public long lastSyncedMillis() {
+        return lastSyncedMillis;
+    }
+
+    /**
+     * 注销 Token (过期时间未知时按签发上限估计：从现在起一个完整有效期)
+     * @param tokenId jti
+     */
+    public void revoke(String tokenId) {
+        revoked.putIfAbsent(tokenId, System.currentTimeMillis() + tokenLifetimeMillis);
+    }
+
+    /**
+     * 用数据库中的全量记录替换当前集合 (节点启动或长时间失联后重新同步)
+     * @param tokens jti 到过期时间 (毫秒时间戳) 的映射
+     */
+    public void replaceAll(Map<String, Long> tokens) {
+        revoked.putAll(tokens);
+        revoked.keySet().retainAll(tokens.keySet());
+    }
+
+    /**
+     * 丢弃已过期的条目
+     * @param nowMillis 当前时间
+     */
+    public void purgeExpired(long nowMillis) {
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.leave_approval_system.security;
+
+import com.example.leave_approval_system.constant.SecurityConstants;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 请求路由分类器
+ * 在启动时预先构建公开路径表，运行时仅做一次 Set 查找和少量前缀比较，
+ * 供 JWT 过滤器、CORS 预检过滤器和 CORS 配置源共用，避免每个请求都走 AntPath 匹配。
+ */
+@Component
+public class RouteClassifier {
+
+    /**
+     * 路由类别
+     */
+    public enum RouteType {
+        /** CORS 预检请求 (OPTIONS + Origin + Access-Control-Request-Method) */
+        PREFLIGHT,
+        /** 匿名可访问的公开路径 (登录、注册、Swagger 文档) */
+        PUBLIC,
+        /** 需要 JWT 认证的路径 */
+        PROTECTED
+    }
+
+    // 精确匹配的公开路径
+    private final Set<String> publicExactPaths = Set.of(
+            SecurityConstants.LOGIN_PATH,
+            SecurityConstants.REGISTER_PATH,
+            SecurityConstants.SWAGGER_UI_PAGE);
+
+    // 签发、注销或校验 Token 的接口
+    private final Set<String> tokenPaths = Set.of(
+            SecurityConstants.LOGIN_PATH,
+            SecurityConstants.LOGOUT_PATH,
+            SecurityConstants.INTROSPECT_PATH);
+
+    // 前缀匹配的公开路径 (Swagger 静态资源与文档接口)
+    private final List<String> publicPrefixes = List.of(
+            SecurityConstants.SWAGGER_UI_PREFIX,
+            SecurityConstants.API_DOCS_PREFIX);
+
+    /**
+     * 对请求进行分类
+     * @param request HTTP 请求对象
+     * @return 路由类别
+     */
+    public RouteType classify(HttpServletRequest request) {
+        if (isPreflight(request)) {
+            return RouteType.PREFLIGHT;
+        }
+        return isPublicPath(pathWithinApplication(request)) ? RouteType.PUBLIC : RouteType.PROTECTED;
+    }
+
+    /**
+     * 判断是否为 CORS 预检请求
+     * @param request HTTP 请求对象
+     * @return 是预检请求返回 true
+     */
+    public boolean isPreflight(HttpServletRequest request) {
+        return HttpMethod.OPTIONS.matches(request.getMethod())
+                && request.getHeader(HttpHeaders.ORIGIN) != null
+                && request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD) != null;
+    }
+
+    /**
+     * 判断路径是否为公开路径
+     * @param path 应用内路径 (不含 context path)
+     * @return 是公开路径返回 true
+     */
+    public boolean isPublicPath(String path) {
+        if (publicExactPaths.contains(path)) {
+            return true;
+        }
+        for (String prefix : publicPrefixes) {
+            if (underPrefix(path, prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断路径是否属于 /api/** (需要应用 CORS 配置的范围)
+     * @param request HTTP 请求对象
+     * @return 属于 API 路径返回 true
+     */
+    public boolean isApiPath(HttpServletRequest request) {
+        return underPrefix(pathWithinApplication(request), SecurityConstants.API_PATH_PREFIX);
+    }
+
+    /**
+     * 判断是否为签发、注销或校验 Token 的接口 (登录、注销、Token 校验)
+     * @param request HTTP 请求对象
+     * @return 是返回 true
+     */
+    public boolean isTokenPath(HttpServletRequest request) {
+        return tokenPaths.contains(pathWithinApplication(request));
+    }
+
+    /**
+     * 判断是否为个人资料的条件 GET (携带 If-None-Match)，JWT 过滤器可在加载用户之前用版本缓存直接回答 304
+     * @param request HTTP 请求对象
+     * @return 是返回 true
+     */
+    public boolean isConditionalProfileGet(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod())
+                && request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && SecurityConstants.PROFILE_PATH.equals(pathWithinApplication(request));
+    }
+
+    /**
+     * 按路径段判断前缀：路径等于前缀本身或以 "前缀/" 开头 (例如 /swagger-uiX、/api/authX 不属于 /swagger-ui、/api/auth)
+     * @param path 应用内路径
+     * @param prefix 路径前缀 (可以带结尾的 "/")
+     * @return 属于该前缀返回 true
+     */
+    static boolean underPrefix(String path, String prefix) {
+        String base = prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+        if (!path.startsWith(base)) {
+            return false;
+        }
+        return path.length() == base.length() || path.charAt(base.length()) == '/';
+    }
+
+    /**
+     * 获取去掉 context path 之后的请求路径
+     */
+    private String pathWithinApplication(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            return uri.substring(contextPath.length());
+        }
+        return uri;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.leave_approval_system.security;
+
+import com.example.leave_approval_system.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * 认证时判断 Token 的注销状态
+ * 1. 注销集合可信时只查内存
+ * 2. 集合同步落后时直接查 revoked_tokens 确认 (经过认证熔断器)
+ * 3. 数据库也不可用时，熔断器宽限期内接受最近一次成功同步之前签发的 Token：
+ *    它们在同步时刻之前的注销都已在集合中，而数据库不可用期间其他节点也无法写入新的注销记录；
+ *    距最近一次同步超过 grace-ms、或 Token 签发于同步之后时注销状态无法确认
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationChecker {
+
+    /**
+     * 注销状态
+     */
+    public enum Status {
+        /** 未注销 */
+        ACTIVE,
+        /** 已注销 */
+        REVOKED,
+        /** 无法确认 (调用方应返回 503，而不是当作无效 Token) */
+        UNKNOWN
+    }
+
+    private final RevokedTokenCache revokedTokenCache;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final AuthCircuitBreaker circuitBreaker;
+
+    /**
+     * 判断已通过签名校验的 Token 是否已注销
+     * @param claims Token 声明
+     * @return 注销状态
+     */
+    public Status check(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId == null) {
+            return Status.ACTIVE; // 旧 Token 没有 jti，无法注销
+        }
+        if (revokedTokenCache.isRevoked(tokenId)) {
+            return Status.REVOKED;
+        }
+        if (!revokedTokenCache.isStale()) {
+            return Status.ACTIVE;
+        }
+        if (circuitBreaker.allowRequest()) {
+            boolean revoked;
+            try {
+                revoked = revokedTokenRepository.existsById(tokenId);
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                return acceptedWhileDegraded(claims) ? Status.ACTIVE : Status.UNKNOWN;
+            }
+            circuitBreaker.onSuccess();
+            return revoked ? Status.REVOKED : Status.ACTIVE;
+        }
+        return acceptedWhileDegraded(claims) ? Status.ACTIVE : Status.UNKNOWN;
+    }
+
+    private boolean acceptedWhileDegraded(Claims claims) {
+        long syncedAt = revokedTokenCache.lastSyncedMillis();
+        Date issuedAt = claims.getIssuedAt();
+        return circuitBreaker.inGracePeriod()
+                && syncedAt > 0
+                && issuedAt != null && issuedAt.getTime() <= syncedAt
+                && System.currentTimeMillis() - syncedAt <= circuitBreaker.graceMillis();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.LeaveSummary;
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.repository.LeaveRequestRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 团队请假冲突检测
+ * 同一审批人下的员工视为一个团队。每个团队在内存中维护一份待审批和已批准请假的区间索引，
+ * 首次查询时从数据库加载最近 lookback-days 天以来尚未结束的请假 (命中索引 (approver_id, status, created_at))，
+ * 之后随本节点请假单的每次状态变化在事务提交后增量更新，重叠查询不再访问数据库。
+ * 其他节点的变更不会推送过来，索引超过有效期后重新加载，因此节点间的差异最多持续 index-ttl-ms。
+ */
+@Service
+@Slf4j
+public class AbsenceConflictService {
+
+    // 参与冲突检测的状态 (已驳回、已撤销的请假不占用日期)
+    private static final List<LeaveStatus> ACTIVE_STATUSES = List.of(LeaveStatus.PENDING, LeaveStatus.APPROVED);
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final int lookbackDays;
+    private final long indexTtlMillis;
+
+    private final ConcurrentMap<Long, Team> teams = new ConcurrentHashMap<>();
+
+    // 已应用的增量更新次数；加载期间有更新发生时不缓存加载结果，避免覆盖掉丢失的更新
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * 已加载的团队索引
+     * @param index 区间索引
+     * @param from 索引覆盖的最早结束日期 (更早结束的请假未加载)
+     * @param loadedAtMillis 加载时间
+     */
+    private record Team(AbsenceIntervalIndex index, LocalDate from, long loadedAtMillis) {
+
+        Team with(AbsenceIntervalIndex updated) {
+            return new Team(updated, from, loadedAtMillis);
+        }
+    }
+
+    public AbsenceConflictService(LeaveRequestRepository leaveRequestRepository,
+                                  @Value("${app.leave.conflict.lookback-days:31}") int lookbackDays,
+                                  @Value("${app.leave.conflict.index-ttl-ms:60000}") long indexTtlMillis) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.lookbackDays = Math.max(0, lookbackDays);
+        this.indexTtlMillis = indexTtlMillis;
+    }
+
+    /**
+     * 查询某团队中与 [startDate, endDate] 重叠的请假
+     * @param approverId 审批人 ID (即团队)
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param excludeUserId 排除的用户 (一般为申请人本人)，可为 null
+     * @return 重叠的请假，按开始日期排序
+     */
+    public List<LeaveSummary> conflicts(Long approverId, LocalDate startDate, LocalDate endDate, Long excludeUserId) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("结束日期不能早于开始日期");
+        }
+        List<LeaveSummary> overlapping = index(approverId, startDate).overlapping(startDate, endDate);
+        if (excludeUserId == null) {
+            return overlapping;
+        }
+        return overlapping.stream().filter(s -> !Objects.equals(s.getApplicantId(), excludeUserId)).toList();
+    }
+
+    /**
+     * 请假单新增或状态变化 (提交、撤销、审批) 后调用
+     * 更新推迟到事务提交之后，回滚的变更不会进入索引；团队尚未加载时无需处理
+     * @param approverId 审批人 ID
+     * @param absence 变化后的请假单
+     */
+    public void onChanged(Long approverId, LeaveSummary absence) {
+        TransactionHooks.afterCommit(() -> {
+            changes.incrementAndGet();
+            teams.computeIfPresent(approverId, (id, team) -> team.with(ACTIVE_STATUSES.contains(absence.getStatus())
+                    ? team.index().withUpsert(absence)
+                    : team.index().without(absence.getId())));
+        });
+    }
+
+    /**
+     * 批量审批后调用：同一审批人的一批请假单变为同一状态
+     * @param approverId 审批人 ID
+     * @param leaveRequestIds 状态已变化的请假单 ID
+     * @param status 新状态
+     */
+    public void onStatusChanged(Long approverId, Collection<Long> leaveRequestIds, LeaveStatus status) {
+        if (leaveRequestIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(leaveRequestIds);
+        boolean keep = ACTIVE_STATUSES.contains(status);
+        TransactionHooks.afterCommit(() -> {
+            changes.incrementAndGet();
+            teams.computeIfPresent(approverId, (id, team) -> team.with(team.index().withStatus(ids, status, keep)));
+        });
+    }
+
+    /**
+     * 获取覆盖 startDate 的团队索引
+     * 未加载或已过期时在 Map 操作之外查询数据库 (computeIfAbsent 会在查询期间锁住哈希桶，阻塞同一桶上其他团队的读写)，
+     * 再在 compute 中检查加载期间是否有增量更新：compute 与 onChanged 的 computeIfPresent 在同一个键上串行执行，
+     * 而更新总是先递增计数再修改索引，因此检查通过时装入的索引不会错过任何已提交的更新。
+     * 查询早于索引覆盖范围时直接查库，结果不缓存。
+     */
+    private AbsenceIntervalIndex index(Long approverId, LocalDate startDate) {
+        LocalDate from = LocalDate.now().minusDays(lookbackDays);
+        if (startDate.isBefore(from)) {
+            return load(approverId, startDate);
+        }
+        long now = System.currentTimeMillis();
+        Team team = teams.get(approverId);
+        if (isFresh(team, from, now)) {
+            return team.index();
+        }
+        long seen = changes.get();
+        Team loaded = new Team(load(approverId, from), from, now);
+        Team installed = teams.compute(approverId, (id, current) -> {
+            if (isFresh(current, from, now)) {
+                return current;
+            }
+            // 加载期间有提交，结果可能已过期：不缓存，下次查询重新加载
+            return changes.get() == seen ? loaded : null;
+        });
+        return installed != null ? installed.index() : loaded.index();
+    }
+
+    private boolean isFresh(Team team, LocalDate from, long now) {
+        return team != null && !team.from().isAfter(from) && now - team.loadedAtMillis() < indexTtlMillis;
+    }
+
+    private AbsenceIntervalIndex load(Long approverId, LocalDate from) {
+        List<LeaveSummary> absences = leaveRequestRepository.findActiveByApproverEndingFrom(approverId, ACTIVE_STATUSES, from);
+        log.debug("加载审批人 {} 的团队请假区间索引 ({} 以来): {} 条", approverId, from, absences.size());
+        return AbsenceIntervalIndex.of(absences);
+    }
+}
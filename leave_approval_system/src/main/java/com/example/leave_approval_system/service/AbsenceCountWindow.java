@@ -0,0 +1,130 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.AbsenceCountsResponse;
+import com.example.leave_approval_system.model.AbsenceDayCounter;
+import com.example.leave_approval_system.model.LeaveType;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 一个团队连续若干天的每日缺勤计数 (不可变)
+ * 按 [假期类型][天] 存放在 int 数组中，读取任意子区间只做数组拷贝；
+ * 更新时复制受影响的行后返回新实例，读线程无需加锁
+ */
+final class AbsenceCountWindow {
+
+    private static final LeaveType[] TYPES = LeaveType.values();
+
+    private final LocalDate from;
+    private final int days;
+    private final int[][] approved; // [LeaveType.ordinal()][天]
+    private final int[][] pending;
+    private final long loadedAtMillis;
+
+    private AbsenceCountWindow(LocalDate from, int days, int[][] approved, int[][] pending, long loadedAtMillis) {
+        this.from = from;
+        this.days = days;
+        this.approved = approved;
+        this.pending = pending;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    /**
+     * 由数据库中的计数行构建
+     * @param from 第一天
+     * @param days 天数
+     * @param rows 计数行 (区间外的行被忽略)
+     * @param loadedAtMillis 加载时间
+     */
+    static AbsenceCountWindow of(LocalDate from, int days, Collection<AbsenceDayCounter> rows, long loadedAtMillis) {
+        int[][] approved = new int[TYPES.length][days];
+        int[][] pending = new int[TYPES.length][days];
+        for (AbsenceDayCounter row : rows) {
+            long offset = ChronoUnit.DAYS.between(from, row.getAbsenceDate());
+            if (offset >= 0 && offset < days) {
+                approved[row.getLeaveType().ordinal()][(int) offset] = row.getApprovedCount();
+                pending[row.getLeaveType().ordinal()][(int) offset] = row.getPendingCount();
+            }
+        }
+        return new AbsenceCountWindow(from, days, approved, pending, loadedAtMillis);
+    }
+
+    LocalDate from() {
+        return from;
+    }
+
+    long loadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    /**
+     * 应用一批增量，返回新实例 (只复制被修改的类型行)
+     * @param deltas 增量 (窗口外的日期被忽略)
+     */
+    AbsenceCountWindow withDeltas(Collection<AbsenceCounterService.CounterDelta> deltas) {
+        int[][] newApproved = approved.clone();
+        int[][] newPending = pending.clone();
+        boolean[] approvedCopied = new boolean[TYPES.length];
+        boolean[] pendingCopied = new boolean[TYPES.length];
+        boolean changed = false;
+        for (AbsenceCounterService.CounterDelta delta : deltas) {
+            long offset = ChronoUnit.DAYS.between(from, delta.key().day());
+            if (offset < 0 || offset >= days) {
+                continue;
+            }
+            int type = delta.key().leaveType().ordinal();
+            if (delta.approved() != 0) {
+                if (!approvedCopied[type]) {
+                    newApproved[type] = approved[type].clone();
+                    approvedCopied[type] = true;
+                }
+                newApproved[type][(int) offset] += delta.approved();
+                changed = true;
+            }
+            if (delta.pending() != 0) {
+                if (!pendingCopied[type]) {
+                    newPending[type] = pending[type].clone();
+                    pendingCopied[type] = true;
+                }
+                newPending[type][(int) offset] += delta.pending();
+                changed = true;
+            }
+        }
+        return changed ? new AbsenceCountWindow(from, days, newApproved, newPending, loadedAtMillis) : this;
+    }
+
+    /**
+     * 取出 [start, end] 的计数 (调用方保证区间落在窗口内)
+     */
+    AbsenceCountsResponse slice(LocalDate start, LocalDate end) {
+        int begin = (int) ChronoUnit.DAYS.between(from, start);
+        int length = (int) ChronoUnit.DAYS.between(start, end) + 1;
+        int[] approvedTotal = new int[length];
+        int[] pendingTotal = new int[length];
+        Map<LeaveType, int[]> approvedByType = new EnumMap<>(LeaveType.class);
+        Map<LeaveType, int[]> pendingByType = new EnumMap<>(LeaveType.class);
+        for (LeaveType type : TYPES) {
+            addSlice(approved[type.ordinal()], begin, length, approvedTotal, approvedByType, type);
+            addSlice(pending[type.ordinal()], begin, length, pendingTotal, pendingByType, type);
+        }
+        return new AbsenceCountsResponse(start, end, approvedTotal, pendingTotal, approvedByType, pendingByType);
+    }
+
+    private static void addSlice(int[] row, int begin, int length, int[] total,
+                                 Map<LeaveType, int[]> byType, LeaveType type) {
+        int[] part = Arrays.copyOfRange(row, begin, begin + length);
+        boolean any = false;
+        for (int i = 0; i < length; i++) {
+            total[i] += part[i];
+            any |= part[i] != 0;
+        }
+        if (any) {
+            byType.put(type, part);
+        }
+    }
+}
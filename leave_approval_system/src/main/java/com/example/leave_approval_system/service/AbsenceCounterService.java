@@ -0,0 +1,189 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.AbsenceCountsResponse;
+import com.example.leave_approval_system.dto.LeaveSummary;
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.model.LeaveType;
+import com.example.leave_approval_system.repository.AbsenceDayCounterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 团队每日缺勤计数 (经理看板)
+ * 请假单提交、撤销、审批时，在同一事务中对其覆盖的每一天 (自然日) 的计数行做原子增量，
+ * 看板读取只需一次索引范围扫描。最常用的 "从今天起 N 天" 窗口再缓存在内存中，
+ * 事务提交后同步应用同样的增量；窗口跨天或超过有效期后重新加载一次，以纠正并发加载造成的偏差。
+ */
+@Service
+@Slf4j
+public class AbsenceCounterService {
+
+    public static final int MAX_RANGE_DAYS = 366;
+
+    // 依赖唯一索引 uk_absence_counter_team_day_type：行不存在时插入，存在时在数据库内原子累加
+    private static final String UPSERT_SQL =
+            "INSERT INTO absence_day_counters (approver_id, absence_date, leave_type, pending_count, approved_count) " +
+                    "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                    "pending_count = pending_count + VALUES(pending_count), " +
+                    "approved_count = approved_count + VALUES(approved_count)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AbsenceDayCounterRepository absenceDayCounterRepository;
+    private final int windowDays;
+    private final long cacheTtlMillis;
+
+    private final ConcurrentMap<Long, AbsenceCountWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * 计数行的键 (日期, 假期类型)
+     * 同一团队的增量按键排序后写入，并发事务对计数行的加锁顺序一致，避免死锁
+     */
+    record CounterKey(LocalDate day, LeaveType leaveType) implements Comparable<CounterKey> {
+
+        private static final Comparator<CounterKey> ORDER =
+                Comparator.comparing(CounterKey::day).thenComparing(CounterKey::leaveType);
+
+        @Override
+        public int compareTo(CounterKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * 某一天某种假期类型的计数增量
+     */
+    record CounterDelta(CounterKey key, int pending, int approved) {
+    }
+
+    public AbsenceCounterService(JdbcTemplate jdbcTemplate,
+                                 AbsenceDayCounterRepository absenceDayCounterRepository,
+                                 @Value("${app.dashboard.absence-window-days:120}") int windowDays,
+                                 @Value("${app.dashboard.absence-cache-ttl-ms:300000}") long cacheTtlMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.absenceDayCounterRepository = absenceDayCounterRepository;
+        this.windowDays = windowDays;
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    /**
+     * 读取团队 [from, to] 的每日缺勤计数
+     * 落在内存窗口内的区间不访问数据库，其余区间执行一次索引范围扫描
+     * @param approverId 审批人 ID (即团队)
+     * @param from 开始日期 (含)
+     * @param to 结束日期 (含)
+     * @return 每日计数
+     */
+    public AbsenceCountsResponse counts(Long approverId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("结束日期不能早于开始日期");
+        }
+        long span = ChronoUnit.DAYS.between(from, to) + 1;
+        if (span > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("日期范围不能超过 " + MAX_RANGE_DAYS + " 天");
+        }
+        LocalDate today = LocalDate.now();
+        if (!from.isBefore(today) && ChronoUnit.DAYS.between(today, to) < windowDays) {
+            long now = System.currentTimeMillis();
+            AbsenceCountWindow window = windows.get(approverId);
+            if (!isCurrent(window, today, now)) {
+                // 在 Map 操作之外查询数据库 (compute 会在查询期间锁住哈希桶)，再用 merge 装入；
+                // 并发加载时保留先装入且仍有效的窗口
+                AbsenceCountWindow loaded = load(approverId, today, now);
+                window = windows.merge(approverId, loaded,
+                        (current, fresh) -> isCurrent(current, today, now) ? current : fresh);
+            }
+            return window.slice(from, to);
+        }
+        return AbsenceCountWindow.of(from, (int) span, absenceDayCounterRepository.findRange(approverId, from, to), 0)
+                .slice(from, to);
+    }
+
+    /**
+     * 请假单提交后调用 (在提交事务中)
+     * @param approverId 审批人 ID
+     * @param leave 新提交的请假单
+     */
+    public void onSubmitted(Long approverId, LeaveSummary leave) {
+        apply(approverId, List.of(leave), 1, 0);
+    }
+
+    /**
+     * 待审批的请假单被撤销后调用 (在撤销事务中)
+     * @param approverId 审批人 ID
+     * @param leave 被撤销的请假单
+     */
+    public void onCancelled(Long approverId, LeaveSummary leave) {
+        apply(approverId, List.of(leave), -1, 0);
+    }
+
+    /**
+     * 待审批的请假单被批准或驳回后调用 (在审批事务中)
+     * @param approverId 审批人 ID
+     * @param decided 状态已变化的请假单
+     * @param decision 审批结果
+     */
+    public void onDecided(Long approverId, Collection<LeaveSummary> decided, LeaveStatus decision) {
+        apply(approverId, decided, -1, decision == LeaveStatus.APPROVED ? 1 : 0);
+    }
+
+    private void apply(Long approverId, Collection<LeaveSummary> leaves, int pendingDelta, int approvedDelta) {
+        if (leaves.isEmpty()) {
+            return;
+        }
+        // 合并同一天同一类型的增量，并按键排序；每张请假单最多计入从开始日起 MAX_RANGE_DAYS 天，
+        // 写入的计数行数不随请假区间无限增长 (提交时已由 WorkingDayCalendar.checkRange 限制为同样的天数)
+        Map<CounterKey, int[]> merged = new TreeMap<>();
+        for (LeaveSummary leave : leaves) {
+            LocalDate cap = leave.getStartDate().plusDays(MAX_RANGE_DAYS - 1L);
+            LocalDate last = leave.getEndDate().isAfter(cap) ? cap : leave.getEndDate();
+            for (LocalDate day = leave.getStartDate(); !day.isAfter(last); day = day.plusDays(1)) {
+                int[] delta = merged.computeIfAbsent(new CounterKey(day, leave.getLeaveType()), k -> new int[2]);
+                delta[0] += pendingDelta;
+                delta[1] += approvedDelta;
+            }
+        }
+        List<CounterDelta> deltas = new ArrayList<>(merged.size());
+        merged.forEach((key, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                deltas.add(new CounterDelta(key, delta[0], delta[1]));
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (ps, d) -> {
+            ps.setLong(1, approverId);
+            ps.setDate(2, Date.valueOf(d.key().day()));
+            ps.setString(3, d.key().leaveType().name());
+            ps.setInt(4, d.pending());
+            ps.setInt(5, d.approved());
+        });
+        TransactionHooks.afterCommit(() -> windows.computeIfPresent(approverId, (id, window) -> window.withDeltas(deltas)));
+    }
+
+    private boolean isCurrent(AbsenceCountWindow window, LocalDate today, long now) {
+        return window != null && window.from().equals(today) && now - window.loadedAtMillis() < cacheTtlMillis;
+    }
+
+    private AbsenceCountWindow load(Long approverId, LocalDate today, long now) {
+        LocalDate last = today.plusDays(windowDays - 1L);
+        AbsenceCountWindow window = AbsenceCountWindow.of(today, windowDays,
+                absenceDayCounterRepository.findRange(approverId, today, last), now);
+        log.debug("加载审批人 {} 的每日缺勤计数窗口 {} ~ {}", approverId, today, last);
+        return window;
+    }
+}
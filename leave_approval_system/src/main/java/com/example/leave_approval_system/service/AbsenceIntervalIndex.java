@@ -0,0 +1,167 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.LeaveSummary;
+import com.example.leave_approval_system.model.LeaveStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 不可变的请假区间索引 (隐式增强区间树)
+ * 区间按开始日期排序存放在数组中，把数组的二分结构看作一棵平衡二叉搜索树：
+ * 子区间 [lo, hi) 的根为中点 mid，maxEnd[mid] 记录该子树内最大的结束日期。
+ * 查询 [from, to] 时，maxEnd 小于 from 的子树整棵跳过，开始日期大于 to 的右侧整段跳过，
+ * 代价为 O(log n + k)。
+ * 更新采用写时复制 (O(n) 重建)，读取无需加锁；一个团队的请假单数量有限，写入代价可以接受。
+ */
+final class AbsenceIntervalIndex {
+
+    static final AbsenceIntervalIndex EMPTY = new AbsenceIntervalIndex(new LeaveSummary[0]);
+
+    private static final Comparator<LeaveSummary> BY_START =
+            Comparator.comparing(LeaveSummary::getStartDate).thenComparing(LeaveSummary::getId);
+
+    private final LeaveSummary[] byStart; // 按 (开始日期, ID) 排序
+    private final long[] maxEnd;          // maxEnd[mid]: 以 mid 为根的子树中最大的结束日期 (epochDay)
+
+    private AbsenceIntervalIndex(LeaveSummary[] sorted) {
+        this.byStart = sorted;
+        this.maxEnd = new long[sorted.length];
+        build(0, sorted.length);
+    }
+
+    /**
+     * 由一组请假区间构建索引
+     * @param absences 请假区间 (同一 ID 只能出现一次)
+     * @return 索引
+     */
+    static AbsenceIntervalIndex of(Collection<LeaveSummary> absences) {
+        if (absences.isEmpty()) {
+            return EMPTY;
+        }
+        LeaveSummary[] sorted = absences.toArray(new LeaveSummary[0]);
+        Arrays.sort(sorted, BY_START);
+        return new AbsenceIntervalIndex(sorted);
+    }
+
+    /**
+     * 返回新增或替换 (按请假单 ID) 一个区间后的新索引
+     * @param absence 请假区间
+     * @return 新索引
+     */
+    AbsenceIntervalIndex withUpsert(LeaveSummary absence) {
+        List<LeaveSummary> next = new ArrayList<>(byStart.length + 1);
+        for (LeaveSummary existing : byStart) {
+            if (!Objects.equals(existing.getId(), absence.getId())) {
+                next.add(existing);
+            }
+        }
+        next.add(absence);
+        return of(next);
+    }
+
+    /**
+     * 返回移除某个请假单后的新索引
+     * @param leaveRequestId 请假单 ID
+     * @return 新索引 (不包含该请假单时返回自身)
+     */
+    AbsenceIntervalIndex without(Long leaveRequestId) {
+        LeaveSummary current = find(leaveRequestId);
+        if (current == null) {
+            return this;
+        }
+        List<LeaveSummary> next = new ArrayList<>(byStart.length - 1);
+        for (LeaveSummary existing : byStart) {
+            if (existing != current) {
+                next.add(existing);
+            }
+        }
+        return of(next);
+    }
+
+    /**
+     * 返回一批请假单变为同一状态后的新索引 (一次重建，供批量审批使用)
+     * @param leaveRequestIds 请假单 ID
+     * @param status 新状态
+     * @param keep 新状态是否仍参与冲突检测；为 false 时直接移除这些请假单
+     * @return 新索引
+     */
+    AbsenceIntervalIndex withStatus(Set<Long> leaveRequestIds, LeaveStatus status, boolean keep) {
+        List<LeaveSummary> next = new ArrayList<>(byStart.length);
+        for (LeaveSummary existing : byStart) {
+            if (!leaveRequestIds.contains(existing.getId())) {
+                next.add(existing);
+            } else if (keep) {
+                next.add(new LeaveSummary(existing.getId(), existing.getApplicantId(), existing.getApplicantUsername(),
+                        existing.getLeaveType(), existing.getStartDate(), existing.getEndDate(), existing.getWorkingDays(), status,
+                        existing.getCreatedAt()));
+            }
+        }
+        return next.size() == byStart.length && !keep ? this : of(next);
+    }
+
+    /**
+     * 按请假单 ID 查找区间 (线性扫描，仅用于更新路径)
+     * @param leaveRequestId 请假单 ID
+     * @return 区间，不存在时返回 null
+     */
+    LeaveSummary find(Long leaveRequestId) {
+        for (LeaveSummary existing : byStart) {
+            if (Objects.equals(existing.getId(), leaveRequestId)) {
+                return existing;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查询与 [from, to] (含首尾) 重叠的全部区间
+     * @param from 开始日期
+     * @param to 结束日期
+     * @return 按开始日期排序的重叠区间
+     */
+    List<LeaveSummary> overlapping(LocalDate from, LocalDate to) {
+        List<LeaveSummary> result = new ArrayList<>();
+        collect(0, byStart.length, from, from.toEpochDay(), to, result);
+        return result;
+    }
+
+    int size() {
+        return byStart.length;
+    }
+
+    private long build(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(byStart[mid].getEndDate().toEpochDay(), Math.max(build(lo, mid), build(mid + 1, hi)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    private void collect(int lo, int hi, LocalDate from, long fromDay, LocalDate to, List<LeaveSummary> out) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] < fromDay) {
+            return; // 整棵子树都在查询区间之前结束
+        }
+        collect(lo, mid, from, fromDay, to, out);
+        LeaveSummary candidate = byStart[mid];
+        if (candidate.getStartDate().isAfter(to)) {
+            return; // mid 及其右侧都在查询区间之后开始
+        }
+        if (!candidate.getEndDate().isBefore(from)) {
+            out.add(candidate);
+        }
+        collect(mid + 1, hi, from, fromDay, to, out);
+    }
+}
@@ -1,13 +1,24 @@
 package com.example.leave_approval_system.service;
 
+import com.example.leave_approval_system.audit.AuditEventType;
+import com.example.leave_approval_system.audit.AuditLogger;
 import com.example.leave_approval_system.dto.AuthResponse;
 import com.example.leave_approval_system.dto.LoginRequest;
 import com.example.leave_approval_system.dto.RegisterRequest;
+import com.example.leave_approval_system.invalidation.ChangeKind;
+import com.example.leave_approval_system.invalidation.ChangeLog;
+import com.example.leave_approval_system.model.RevokedToken;
 import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.RevokedTokenRepository;
 import com.example.leave_approval_system.repository.UserRepository;
+import com.example.leave_approval_system.security.AuthenticationUnavailableException;
+import com.example.leave_approval_system.security.BreachedPasswordChecker;
 import com.example.leave_approval_system.security.JwtUtil;
+import com.example.leave_approval_system.security.LoginIdentifier;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,6 +29,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // 引入事务注解
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.Function;
+
 @Service
 @RequiredArgsConstructor // Lombok 注入
 @Slf4j // Lombok 日志
@@ -27,14 +42,23 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;         // 密码编码器
     private final JwtUtil jwtUtil;                     // JWT 工具类
     private final AuthenticationManager authenticationManager; // 认证管理器
-    private final UserDetailsServiceImpl userDetailsService; // 用户详情服务实现
+    private final UserVersionCache userVersionCache;       // 用户版本缓存 (用于 ETag)
+    private final UserDirectoryIndex userDirectoryIndex;   // 用户目录前缀索引
+    private final AuditLogger auditLogger;                 // 认证审计日志
+    private final RevokedTokenRepository revokedTokenRepository; // 已注销 Token
+    private final ChangeLog changeLog;                     // 缓存变更日志 (通知其他节点)
+    private final BreachedPasswordChecker breachedPasswordChecker; // 泄露密码筛查
+
+    // 手机号未带国家码时使用的默认国家码
+    @Value("${app.auth.default-calling-code:86}")
+    private String defaultCallingCode;
     // --- 结束依赖注入 ---
 
     /**
      * 处理用户注册请求
      * @param request 包含注册信息的 DTO
      * @return 创建并保存的用户实体
-     * @throws IllegalArgumentException 如果用户名或邮箱已被占用
+     * @throws IllegalArgumentException 如果用户名、邮箱或手机号已被占用，或密码出现在泄露密码库中
      */
     @Transactional // 标记为事务方法
     public User register(RegisterRequest request) {
@@ -52,12 +76,35 @@ public class AuthService {
             throw new IllegalArgumentException("注册失败: 邮箱已被占用");
         }
 
+        // 用户名不能是邮箱或手机号格式，否则登录时无法区分标识类型
+        if (LoginIdentifier.classify(request.getUsername(), defaultCallingCode).type() != LoginIdentifier.Type.USERNAME) {
+            throw new IllegalArgumentException("注册失败: 用户名不能是邮箱或手机号格式");
+        }
+        String phoneE164 = LoginIdentifier.normalizePhone(request.getPhoneNumber(), defaultCallingCode);
+        if (request.getPhoneNumber() != null && !request.getPhoneNumber().isBlank() && phoneE164 == null) {
+            throw new IllegalArgumentException("注册失败: 手机号格式无效");
+        }
+        // 按规范化后的值查重 (与登录查找列一致)：大小写不同的同一邮箱、写法不同的同一手机号都视为已占用
+        String emailNormalized = LoginIdentifier.normalizeEmail(request.getEmail());
+        if (emailNormalized != null && userRepository.existsByEmailNormalized(emailNormalized)) {
+            throw new IllegalArgumentException("注册失败: 邮箱已被占用");
+        }
+        if (phoneE164 != null && userRepository.existsByPhoneE164(phoneE164)) {
+            throw new IllegalArgumentException("注册失败: 手机号已被占用");
+        }
+        // 在哈希之前筛查：泄露库查找是微秒级，BCrypt 编码要几十毫秒
+        if (breachedPasswordChecker.isBreached(request.getPassword())) {
+            throw new IllegalArgumentException("注册失败: 该密码已出现在公开泄露的密码库中，请更换密码");
+        }
+
         // 创建新的 User 实体
         User user = new User();
         user.setUsername(request.username);
         user.setPassword(passwordEncoder.encode(request.password)); // 加密密码
         user.setEmail(request.email);
         user.setPhoneNumber(request.phoneNumber);
+        user.setEmailNormalized(emailNormalized);                               // 邮箱登录的查找列
+        user.setPhoneE164(phoneE164);                                           // 手机号登录的查找列
         user.setBirthDate(request.birthDate);
         user.setAvatarUrl(request.avatarUrl);
         user.setNationality(request.nationality);
@@ -68,15 +115,20 @@ public class AuthService {
 
         // 保存用户到数据库
         User savedUser = userRepository.save(user);
+        userVersionCache.record(savedUser);
+        userDirectoryIndex.upsert(savedUser);
+        changeLog.record(ChangeKind.USER, savedUser.getUsername()); // 其他节点据此把新用户加入目录索引
+        auditLogger.record(AuditEventType.REGISTER, savedUser.getUsername(), null);
         if(false){log.info("用户 '{}' (ID: {}) 注册成功", savedUser.getUsername(), savedUser.getId());
         return savedUser;
     }
 
     /**
-     * 处理用户登录请求
+     * 处理用户登录请求 (登录名可以是用户名、邮箱或手机号)
      * @param request 包含登录凭证的 DTO
      * @return 包含 JWT Token 和用户名的 AuthResponse DTO
      * @throws BadCredentialsException 如果认证失败 (用户名或密码错误)
+     * @throws AuthenticationUnavailableException 如果数据库不可用 (熔断器打开时立即抛出)
      */
     public AuthResponse login(LoginRequest request) {
         if(false){log.info("用户 '{}' 尝试登录", request.username);
@@ -92,11 +144,12 @@ public class AuthService {
             // 2. 将认证信息设置到 SecurityContext (可选)
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            // 3. 加载 UserDetails 以生成 Token
-            UserDetails userDetails = userDetailsService.loadUserByUsername(request.username);
+            // 3. 认证结果中的主体即已加载的用户 (登录标识可能是邮箱或手机号，不能再按用户名加载)
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
             // 4. 生成 JWT Token
             final String jwt = jwtUtil.generateToken(userDetails);
+            auditLogger.record(AuditEventType.LOGIN_SUCCESS, userDetails.getUsername(), null);
             if(false){log.info("用户 '{}' 登录成功，生成 JWT Token", userDetails.getUsername());
 
             // 5. 构建并返回 AuthResponse
@@ -105,11 +158,33 @@ public class AuthService {
             // ============================================================
 
         } catch (BadCredentialsException e) {
+            auditLogger.record(AuditEventType.LOGIN_FAILURE, request.getUsername(), "错误的凭证");
             if(false){log.warn("用户 '{}' 登录失败: 错误的凭证", request.username);
             throw new BadCredentialsException("用户名或密码错误", e); // 向上抛出特定异常
+        } catch (AuthenticationUnavailableException e) {
+            throw e; // 数据库不可用，由控制器返回 503
         } catch (Exception e) {
             if(false){log.error("用户 '{}' 登录过程中发生意外错误: {}", request.username, e.getMessage(), e);
             throw new RuntimeException("登录失败，发生内部错误", e); // 向上抛出通用异常
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 注销当前 Token
+     * 记录到 revoked_tokens 并在同一事务中写入缓存变更日志，各节点在一个轮询周期内拒绝该 Token
+     * @param token JWT 字符串 (已通过认证过滤器校验)
+     * @throws IllegalArgumentException 如果 Token 没有 ID (注销功能上线前签发的 Token)
+     */
+    @Transactional
+    public void logout(String token) {
+        Claims claims = jwtUtil.extractClaim(token, Function.identity());
+        String tokenId = claims.getId();
+        if (tokenId == null) {
+            throw new IllegalArgumentException("该 Token 不支持注销，请等待其过期或重新登录");
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+        changeLog.record(ChangeKind.TOKEN, tokenId);
+        auditLogger.record(AuditEventType.LOGOUT, claims.getSubject(), null);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.exception.ResourceNotFoundException;
+import com.example.leave_approval_system.invalidation.ChangeKind;
+import com.example.leave_approval_system.invalidation.ChangeLog;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 头像存储服务
+ * 上传时以固定大小的缓冲区把请求体流式写入本地磁盘 (不在堆中缓存整个文件)，
+ * 下载时只返回文件路径，由 FileDownloadSupport 以零拷贝方式发送。
+ * 磁盘写入在事务外完成，事务只包住更新 avatarUrl 的短操作，慢速上传不会长时间占用数据库连接。
+ */
+@Service
+@Slf4j
+public class AvatarStorageService {
+
+    /**
+     * 头像访问地址前缀，保存到 User.avatarUrl
+     */
+    public static final String AVATAR_URL_PREFIX = "/api/avatars/";
+
+    // 支持的头像格式 -> 文件扩展名
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            MediaType.IMAGE_PNG_VALUE, "png",
+            MediaType.IMAGE_JPEG_VALUE, "jpg",
+            MediaType.IMAGE_GIF_VALUE, "gif");
+
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    /**
+     * 已存储的文件及其内容类型
+     * @param path 文件路径
+     * @param contentType MIME 类型
+     */
+    public record StoredFile(Path path, String contentType) {
+    }
+
+    private final UserRepository userRepository;
+    private final UserVersionCache userVersionCache;
+    private final UserDirectoryIndex userDirectoryIndex;
+    private final ChangeLog changeLog;
+    private final ThumbnailCache thumbnailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Path storageDir;
+    private final long maxBytes;
+
+    // 用户 ID -> 原始头像文件，避免每次下载都逐个扩展名探测磁盘
+    private final ConcurrentMap<Long, StoredFile> originals = new ConcurrentHashMap<>();
+
+    public AvatarStorageService(UserRepository userRepository,
+                                UserVersionCache userVersionCache,
+                                UserDirectoryIndex userDirectoryIndex,
+                                ChangeLog changeLog,
+                                ThumbnailCache thumbnailCache,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.avatar.storage-dir:./data/avatars}") String storageDir,
+                                @Value("${app.avatar.max-bytes:2097152}") long maxBytes) {
+        this.userRepository = userRepository;
+        this.userVersionCache = userVersionCache;
+        this.userDirectoryIndex = userDirectoryIndex;
+        this.changeLog = changeLog;
+        this.thumbnailCache = thumbnailCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.storageDir = Paths.get(storageDir);
+        this.maxBytes = maxBytes;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(storageDir);
+    }
+
+    /**
+     * 保存用户上传的头像，并把 User.avatarUrl 指向本系统的头像地址
+     * @param user 当前用户
+     * @param contentType 请求的 Content-Type
+     * @param in 请求体输入流
+     * @return 新的头像访问地址
+     * @throws IOException 写入磁盘失败时抛出
+     * @throws IllegalArgumentException 格式不支持或文件过大时抛出
+     */
+    public String store(User user, String contentType, InputStream in) throws IOException {
+        String mediaType = normalizeContentType(contentType);
+        String extension = EXTENSIONS.get(mediaType);
+        if (extension == null) {
+            throw new IllegalArgumentException("不支持的头像格式，仅支持 PNG、JPEG、GIF");
+        }
+
+        Long userId = user.getId();
+        Path tmp = Files.createTempFile(storageDir, userId + "-", ".upload");
+        try {
+            copyBounded(in, tmp);
+            Path target = storageDir.resolve(userId + "." + extension);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // 删除其他格式的旧头像
+            for (String other : EXTENSIONS.values()) {
+                if (!other.equals(extension)) {
+                    Files.deleteIfExists(storageDir.resolve(userId + "." + other));
+                }
+            }
+            originals.put(userId, new StoredFile(target, mediaType));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        thumbnailCache.evictUser(userId);
+
+        String avatarUrl = AVATAR_URL_PREFIX + userId;
+        transactionTemplate.executeWithoutResult(status -> {
+            User managed = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("用户不存在: " + userId));
+            managed.setAvatarUrl(avatarUrl);
+            User saved = userRepository.saveAndFlush(managed);
+            userVersionCache.record(saved);
+            userDirectoryIndex.upsert(saved);
+            changeLog.record(ChangeKind.USER, saved.getUsername());
+        });
+        log.info("用户 '{}' 上传了新头像 ({})", user.getUsername(), mediaType);
+        return avatarUrl;
+    }
+
+    /**
+     * 获取用户的原始头像
+     * @param userId 用户 ID
+     * @return 头像文件
+     * @throws ResourceNotFoundException 用户未上传头像时抛出
+     */
+    public StoredFile findOriginal(Long userId) {
+        StoredFile cached = originals.get(userId);
+        if (cached != null && Files.exists(cached.path())) {
+            return cached;
+        }
+        for (Map.Entry<String, String> entry : EXTENSIONS.entrySet()) {
+            Path candidate = storageDir.resolve(userId + "." + entry.getValue());
+            if (Files.exists(candidate)) {
+                StoredFile found = new StoredFile(candidate, entry.getKey());
+                originals.put(userId, found);
+                return found;
+            }
+        }
+        originals.remove(userId);
+        throw new ResourceNotFoundException("用户未上传头像: " + userId);
+    }
+
+    /**
+     * 获取用户头像的缩略图 (不存在时按需生成)
+     * @param userId 用户 ID
+     * @param size 缩略图边长
+     * @return 缩略图文件 (PNG)
+     * @throws IOException 生成缩略图失败时抛出
+     */
+    public StoredFile findThumbnail(Long userId, int size) throws IOException {
+        StoredFile original = findOriginal(userId);
+        return new StoredFile(thumbnailCache.getOrCreate(userId, size, original.path()), MediaType.IMAGE_PNG_VALUE);
+    }
+
+    /**
+     * 以固定缓冲区把输入流写入文件，超过大小上限立即中止
+     */
+    private void copyBounded(InputStream in, Path target) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new IllegalArgumentException("头像文件过大，最大允许 " + maxBytes + " 字节");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("头像文件不能为空");
+        }
+    }
+
+    private static String normalizeContentType(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        int semicolon = contentType.indexOf(';');
+        String mediaType = semicolon >= 0 ? contentType.substring(0, semicolon) : contentType;
+        return mediaType.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.leave_approval_system.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 键集分页游标 (createdAt, id)
+ * 对外编码为 Base64URL 字符串，客户端只需原样回传，不应解析其内容
+ * @param createdAt 上一页最后一条记录的创建时间
+ * @param id 上一页最后一条记录的 ID
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * 编码为不透明的游标字符串
+     * @return 游标字符串
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     * @param cursor 游标字符串 (可以为 null 或空，表示第一页)
+     * @return 解析后的游标，第一页返回 null
+     * @throws IllegalArgumentException 游标格式非法时抛出
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("分页游标无效");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.model.LeaveType;
+import com.example.leave_approval_system.repository.LeaveLedgerRepository;
+import com.example.leave_approval_system.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 假期定期发放
+ * 按用户主键分批 (键集分页) 处理全部用户，每批一个独立事务：
+ * 一次查询排除本周期已发放的用户，一次批量插入流水，一次批量更新余额。
+ * 同一周期重复执行只会补发遗漏的用户，不会重复入账
+ */
+@Service
+@Slf4j // Lombok 日志
+public class LeaveAccrualService {
+
+    private final UserRepository userRepository;
+    private final LeaveLedgerRepository leaveLedgerRepository;
+    private final LeaveBalanceService leaveBalanceService;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<LeaveType, BigDecimal> monthlyRates;
+    private final int chunkSize;
+
+    public LeaveAccrualService(UserRepository userRepository,
+                               LeaveLedgerRepository leaveLedgerRepository,
+                               LeaveBalanceService leaveBalanceService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.leave.accrual.monthly-rates:ANNUAL:1.25,SICK:0.5}") String monthlyRates,
+                               @Value("${app.leave.accrual.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.leaveLedgerRepository = leaveLedgerRepository;
+        this.leaveBalanceService = leaveBalanceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthlyRates = parseRates(monthlyRates);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * 每月定时发放当月额度 (cron 设为 "-" 可关闭)
+     */
+    @Scheduled(cron = "${app.leave.accrual.cron:0 0 1 1 * *}")
+    public void accrueCurrentMonth() {
+        accrue(YearMonth.now());
+    }
+
+    /**
+     * 为全部用户发放指定周期的额度
+     * @param period 发放周期
+     * @return 本次新增的流水条数
+     */
+    public int accrue(YearMonth period) {
+        if (monthlyRates.isEmpty()) {
+            return 0;
+        }
+        String periodKey = period.toString(); // yyyy-MM
+        long afterId = 0L;
+        int posted = 0;
+        while (true) {
+            List<Long> userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            Integer count = transactionTemplate.execute(status -> accrueChunk(userIds, periodKey));
+            posted += count == null ? 0 : count;
+            afterId = userIds.get(userIds.size() - 1);
+            if (userIds.size() < chunkSize) {
+                break;
+            }
+        }
+        log.info("假期发放完成: 周期 {}，新增流水 {} 条", periodKey, posted);
+        return posted;
+    }
+
+    private int accrueChunk(List<Long> userIds, String period) {
+        List<LeaveBalanceService.Posting> postings = new ArrayList<>(userIds.size() * monthlyRates.size());
+        for (Map.Entry<LeaveType, BigDecimal> rate : monthlyRates.entrySet()) {
+            Set<Long> accrued = new HashSet<>(leaveLedgerRepository.findAccruedUserIds(userIds, rate.getKey(), period));
+            for (Long userId : userIds) {
+                if (!accrued.contains(userId)) {
+                    postings.add(LeaveBalanceService.Posting.accrual(userId, rate.getKey(), rate.getValue(), period));
+                }
+            }
+        }
+        leaveBalanceService.post(postings);
+        return postings.size();
+    }
+
+    /**
+     * 解析 "ANNUAL:1.25,SICK:0.5" 形式的每月发放额度
+     */
+    static Map<LeaveType, BigDecimal> parseRates(String spec) {
+        if (!StringUtils.hasText(spec)) {
+            return Collections.emptyMap();
+        }
+        Map<LeaveType, BigDecimal> rates = new EnumMap<>(LeaveType.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("无效的假期发放额度配置: " + part);
+            }
+            rates.put(LeaveType.valueOf(kv[0].trim()), new BigDecimal(kv[1].trim()));
+        }
+        return Collections.unmodifiableMap(rates);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.LeaveBalanceTotal;
+import com.example.leave_approval_system.repository.LeaveBalanceRepository;
+import com.example.leave_approval_system.repository.LeaveLedgerRepository;
+import com.example.leave_approval_system.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 假期余额对账
+ * 按用户分批，把物化余额与流水汇总逐一比对。流水是唯一可信来源：
+ * 发现不一致时记录告警，开启修复后按差额修正物化余额 (增量修正，不会覆盖对账期间并发写入的变动)
+ */
+@Service
+@Slf4j // Lombok 日志
+public class LeaveBalanceReconciler {
+
+    private final UserRepository userRepository;
+    private final LeaveLedgerRepository leaveLedgerRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final LeaveBalanceService leaveBalanceService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final boolean repair;
+
+    public LeaveBalanceReconciler(UserRepository userRepository,
+                                  LeaveLedgerRepository leaveLedgerRepository,
+                                  LeaveBalanceRepository leaveBalanceRepository,
+                                  LeaveBalanceService leaveBalanceService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.leave.reconcile.chunk-size:500}") int chunkSize,
+                                  @Value("${app.leave.reconcile.repair:false}") boolean repair) {
+        this.userRepository = userRepository;
+        this.leaveLedgerRepository = leaveLedgerRepository;
+        this.leaveBalanceRepository = leaveBalanceRepository;
+        this.leaveBalanceService = leaveBalanceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.repair = repair;
+    }
+
+    /**
+     * 每日定时对账 (cron 设为 "-" 可关闭)
+     */
+    @Scheduled(cron = "${app.leave.reconcile.cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * 对全部用户执行一次对账
+     * @return 不一致的 (用户, 假期类型) 数量
+     */
+    public int reconcile() {
+        long afterId = 0L;
+        int mismatches = 0;
+        while (true) {
+            List<Long> userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            Integer count = transactionTemplate.execute(status -> reconcileChunk(userIds));
+            mismatches += count == null ? 0 : count;
+            afterId = userIds.get(userIds.size() - 1);
+            if (userIds.size() < chunkSize) {
+                break;
+            }
+        }
+        if (mismatches > 0) {
+            log.warn("假期余额对账发现 {} 处不一致{}", mismatches, repair ? "，已按流水修正" : "");
+        } else {
+            log.info("假期余额对账完成，未发现不一致");
+        }
+        return mismatches;
+    }
+
+    private int reconcileChunk(List<Long> userIds) {
+        Map<LeaveBalanceService.BalanceKey, BigDecimal> ledger = toMap(leaveLedgerRepository.sumByUserIdIn(userIds));
+        Map<LeaveBalanceService.BalanceKey, BigDecimal> materialized = toMap(leaveBalanceRepository.findTotalsByUserIdIn(userIds));
+
+        Set<LeaveBalanceService.BalanceKey> keys = new HashSet<>(ledger.keySet());
+        keys.addAll(materialized.keySet());
+        Map<LeaveBalanceService.BalanceKey, BigDecimal> corrections = new TreeMap<>();
+        for (LeaveBalanceService.BalanceKey key : keys) {
+            BigDecimal expected = ledger.getOrDefault(key, BigDecimal.ZERO);
+            BigDecimal actual = materialized.getOrDefault(key, BigDecimal.ZERO);
+            if (expected.compareTo(actual) != 0) {
+                log.warn("假期余额不一致: 用户 {} 类型 {}，流水合计 {}，物化余额 {}",
+                        key.userId(), key.leaveType(), expected, actual);
+                corrections.put(key, expected.subtract(actual));
+            }
+        }
+        if (repair) {
+            leaveBalanceService.applyBalanceDeltas(corrections);
+        }
+        return corrections.size();
+    }
+
+    private static Map<LeaveBalanceService.BalanceKey, BigDecimal> toMap(List<LeaveBalanceTotal> totals) {
+        Map<LeaveBalanceService.BalanceKey, BigDecimal> map = new HashMap<>(totals.size() * 2);
+        for (LeaveBalanceTotal t : totals) {
+            map.put(new LeaveBalanceService.BalanceKey(t.getUserId(), t.getLeaveType()), t.getTotal());
+        }
+        return map;
+    }
+}
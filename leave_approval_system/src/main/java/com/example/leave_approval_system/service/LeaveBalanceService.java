@@ -0,0 +1,159 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.LeaveBalanceResponse;
+import com.example.leave_approval_system.model.LeaveLedgerEntryType;
+import com.example.leave_approval_system.model.LeaveType;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.LeaveBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 假期余额服务
+ * 每次余额变动都先追加一条流水，再在同一事务中对物化余额行做原子增量 (INSERT ... ON DUPLICATE KEY UPDATE)，
+ * 读取余额只查物化余额表，代价与历史请假记录的数量无关
+ */
+@Service
+@RequiredArgsConstructor // Lombok 注入
+@Slf4j // Lombok 日志
+public class LeaveBalanceService {
+
+    private static final String INSERT_LEDGER_SQL =
+            "INSERT INTO leave_ledger_entries " +
+                    "(user_id, leave_type, entry_type, amount, leave_request_id, accrual_period, note, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 依赖唯一索引 uk_balance_user_type：行不存在时插入，存在时在数据库内原子累加，无需先读后写
+    private static final String UPSERT_BALANCE_SQL =
+            "INSERT INTO leave_balances (user_id, leave_type, balance, updated_at) VALUES (?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE balance = balance + VALUES(balance), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;                       // 流水和余额的批量写入
+    private final LeaveBalanceRepository leaveBalanceRepository;   // 余额读取
+
+    /**
+     * 物化余额行的键 (用户, 假期类型)
+     * 按 (userId, leaveType) 排序后再写入，多个事务更新同一批余额行时加锁顺序一致，避免死锁
+     */
+    public record BalanceKey(Long userId, LeaveType leaveType) implements Comparable<BalanceKey> {
+
+        private static final Comparator<BalanceKey> ORDER =
+                Comparator.comparing(BalanceKey::userId).thenComparing(BalanceKey::leaveType);
+
+        @Override
+        public int compareTo(BalanceKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * 一条待入账的余额变动
+     * @param userId 用户 ID
+     * @param leaveType 假期类型
+     * @param entryType 流水类型
+     * @param amount 变动天数 (发放为正、扣减为负)
+     * @param leaveRequestId 对应的请假单 (仅扣减)
+     * @param accrualPeriod 发放周期 yyyy-MM (仅发放)
+     * @param note 备注
+     */
+    public record Posting(Long userId, LeaveType leaveType, LeaveLedgerEntryType entryType, BigDecimal amount,
+                          Long leaveRequestId, String accrualPeriod, String note) {
+
+        public static Posting accrual(Long userId, LeaveType leaveType, BigDecimal amount, String accrualPeriod) {
+            return new Posting(userId, leaveType, LeaveLedgerEntryType.ACCRUAL, amount, null, accrualPeriod, null);
+        }
+
+        public static Posting consumption(Long leaveRequestId, Long userId, LeaveType leaveType, int workingDays) {
+            return new Posting(userId, leaveType, LeaveLedgerEntryType.CONSUMPTION,
+                    BigDecimal.valueOf(workingDays).negate(), leaveRequestId, null, null);
+        }
+
+        BalanceKey key() {
+            return new BalanceKey(userId, leaveType);
+        }
+    }
+
+    /**
+     * 读取用户的全部假期余额 (一次索引查找，不汇总流水)
+     * @param user 当前登录用户
+     * @return 每种假期类型的余额
+     */
+    @Transactional(readOnly = true)
+    public List<LeaveBalanceResponse> balancesOf(User user) {
+        return leaveBalanceRepository.findByUserId(user.getId());
+    }
+
+    /**
+     * 人工调整余额
+     * @param userId 用户 ID
+     * @param leaveType 假期类型
+     * @param amount 调整天数 (可正可负)
+     * @param note 调整原因
+     */
+    @Transactional
+    public void adjust(Long userId, LeaveType leaveType, BigDecimal amount, String note) {
+        post(List.of(new Posting(userId, leaveType, LeaveLedgerEntryType.ADJUSTMENT, amount, null, null, note)));
+        log.info("用户 {} 的 {} 余额人工调整 {} 天: {}", userId, leaveType, amount, note);
+    }
+
+    /**
+     * 批量入账：一次 JDBC 批量插入流水，再按 (用户, 假期类型) 合并后一次批量更新物化余额
+     * 必须在调用方的事务中执行，保证流水和余额同时提交或同时回滚
+     * @param postings 待入账的余额变动
+     */
+    @Transactional
+    public void post(List<Posting> postings) {
+        if (postings.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_LEDGER_SQL, postings, postings.size(), (ps, p) -> {
+            ps.setLong(1, p.userId());
+            ps.setString(2, p.leaveType().name());
+            ps.setString(3, p.entryType().name());
+            ps.setBigDecimal(4, p.amount());
+            ps.setObject(5, p.leaveRequestId());
+            ps.setString(6, p.accrualPeriod());
+            ps.setString(7, p.note());
+            ps.setTimestamp(8, now);
+        });
+
+        Map<BalanceKey, BigDecimal> deltas = new TreeMap<>();
+        for (Posting p : postings) {
+            deltas.merge(p.key(), p.amount(), BigDecimal::add);
+        }
+        applyBalanceDeltas(deltas);
+    }
+
+    /**
+     * 只调整物化余额，不写流水 (对账修复时使用：流水是准确的，修正的是物化结果)
+     * @param deltas (用户, 假期类型) -> 增量
+     */
+    @Transactional
+    public void applyBalanceDeltas(Map<BalanceKey, BigDecimal> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<BalanceKey, BigDecimal>> ordered = new ArrayList<>(new TreeMap<>(deltas).entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_BALANCE_SQL, ordered, ordered.size(), (ps, e) -> {
+            ps.setLong(1, e.getKey().userId());
+            ps.setString(2, e.getKey().leaveType().name());
+            ps.setBigDecimal(3, e.getValue());
+            ps.setTimestamp(4, now);
+        });
+    }
+
+}
@@ -0,0 +1,353 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.KeysetPage;
+import com.example.leave_approval_system.dto.LeaveBatchDecisionRequest;
+import com.example.leave_approval_system.dto.LeaveBatchDecisionResponse;
+import com.example.leave_approval_system.dto.LeaveDecisionOutcome;
+import com.example.leave_approval_system.dto.LeaveDecisionRequest;
+import com.example.leave_approval_system.dto.LeaveRequestCreateRequest;
+import com.example.leave_approval_system.dto.LeaveRequestResponse;
+import com.example.leave_approval_system.dto.LeaveStateRow;
+import com.example.leave_approval_system.dto.LeaveSummary;
+import com.example.leave_approval_system.exception.ResourceNotFoundException;
+import com.example.leave_approval_system.model.LeaveRequest;
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.push.LeaveEvent;
+import com.example.leave_approval_system.push.LeaveEventType;
+import com.example.leave_approval_system.repository.LeaveRequestRepository;
+import com.example.leave_approval_system.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor // Lombok 注入
+@Slf4j // Lombok 日志
+public class LeaveRequestService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final LeaveRequestRepository leaveRequestRepository; // 请假单数据仓库
+    private final UserRepository userRepository;                 // 用户数据仓库
+    private final LeaveBalanceService leaveBalanceService;       // 假期余额 (审批通过时在同一事务中扣减)
+    private final AbsenceConflictService absenceConflictService; // 团队请假冲突索引
+    private final AbsenceCounterService absenceCounterService;   // 团队每日缺勤计数 (同一事务中增量维护)
+    private final WorkingDayCalendar workingDayCalendar;         // 工作日日历
+    private final ApplicationEventPublisher eventPublisher;      // 请假事件 (事务提交后推送给前端)
+
+    /**
+     * 提交请假申请
+     * @param applicant 当前登录用户 (申请人)
+     * @param request 请假申请信息
+     * @return 创建的请假单
+     * @throws IllegalArgumentException 日期区间非法或审批人无效时抛出
+     */
+    @Transactional
+    public LeaveRequestResponse submit(User applicant, LeaveRequestCreateRequest request) {
+        WorkingDayCalendar.checkRange(request.getStartDate(), request.getEndDate());
+        if (Objects.equals(applicant.getId(), request.getApproverId())) {
+            throw new IllegalArgumentException("审批人不能是申请人本人");
+        }
+        int workingDays = workingDayCalendar.workingDays(applicant.getNationality(),
+                request.getStartDate(), request.getEndDate());
+        if (workingDays == 0) {
+            throw new IllegalArgumentException("请假区间内没有工作日");
+        }
+        User approver = userRepository.findById(request.getApproverId())
+                .orElseThrow(() -> new IllegalArgumentException("审批人不存在: " + request.getApproverId()));
+        if (!approver.hasRole(Role.APPROVER)) {
+            throw new IllegalArgumentException("指定的用户不是审批人: " + request.getApproverId());
+        }
+
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setApplicant(userRepository.getReferenceById(applicant.getId()));
+        leaveRequest.setApprover(approver);
+        leaveRequest.setLeaveType(request.getLeaveType());
+        leaveRequest.setStartDate(request.getStartDate());
+        leaveRequest.setEndDate(request.getEndDate());
+        leaveRequest.setWorkingDays(workingDays);
+        leaveRequest.setReason(request.getReason());
+        leaveRequest.setStatus(LeaveStatus.PENDING);
+
+        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        LeaveSummary summary = new LeaveSummary(saved.getId(), applicant.getId(),
+                applicant.getUsername(), saved.getLeaveType(), saved.getStartDate(), saved.getEndDate(),
+                saved.getWorkingDays(), saved.getStatus(), saved.getCreatedAt());
+        absenceConflictService.onChanged(approver.getId(), summary);
+        absenceCounterService.onSubmitted(approver.getId(), summary);
+        publish(LeaveEventType.INBOX_ITEM_ADDED, summary, approver.getId());
+        log.info("用户 '{}' 提交了请假单 {} ({} ~ {})，审批人 '{}'",
+                applicant.getUsername(), saved.getId(), saved.getStartDate(), saved.getEndDate(), approver.getUsername());
+        return LeaveRequestResponse.from(saved);
+    }
+
+    /**
+     * 查询请假单详情 (仅申请人和审批人可见)
+     * @param id 请假单 ID
+     * @param currentUser 当前登录用户
+     * @return 请假单详情
+     */
+    @Transactional(readOnly = true)
+    public LeaveRequestResponse get(Long id, User currentUser) {
+        LeaveRequest leaveRequest = load(id);
+        if (!isParticipant(leaveRequest, currentUser)) {
+            throw new AccessDeniedException("无权查看该请假单");
+        }
+        return LeaveRequestResponse.from(leaveRequest);
+    }
+
+    /**
+     * 申请人撤销待审批的请假单
+     * @param id 请假单 ID
+     * @param currentUser 当前登录用户
+     * @return 撤销后的请假单
+     */
+    @Transactional
+    public LeaveRequestResponse cancel(Long id, User currentUser) {
+        LeaveRequest leaveRequest = load(id);
+        if (!Objects.equals(leaveRequest.getApplicant().getId(), currentUser.getId())) {
+            throw new AccessDeniedException("只有申请人可以撤销请假单");
+        }
+        requirePending(leaveRequest);
+        leaveRequest.setStatus(LeaveStatus.CANCELLED);
+        LeaveSummary summary = toSummary(leaveRequest);
+        absenceConflictService.onChanged(leaveRequest.getApprover().getId(), summary);
+        absenceCounterService.onCancelled(leaveRequest.getApprover().getId(), summary);
+        publish(LeaveEventType.STATUS_CHANGED, summary, leaveRequest.getApprover().getId());
+        log.info("用户 '{}' 撤销了请假单 {}", currentUser.getUsername(), id);
+        return LeaveRequestResponse.from(leaveRequest);
+    }
+
+    /**
+     * 审批人批准或驳回单个请假单
+     * @param id 请假单 ID
+     * @param currentUser 当前登录用户 (必须是该请假单的审批人)
+     * @param request 审批结果与意见
+     * @return 审批后的请假单
+     */
+    @Transactional
+    public LeaveRequestResponse decide(Long id, User currentUser, LeaveDecisionRequest request) {
+        requireDecision(request.getDecision());
+        LeaveRequest leaveRequest = load(id);
+        if (!Objects.equals(leaveRequest.getApprover().getId(), currentUser.getId())) {
+            throw new AccessDeniedException("只有指定的审批人可以审批该请假单");
+        }
+        requirePending(leaveRequest);
+        leaveRequest.setStatus(request.getDecision());
+        leaveRequest.setDecisionComment(request.getComment());
+        leaveRequest.setDecidedAt(LocalDateTime.now());
+        if (request.getDecision() == LeaveStatus.APPROVED) {
+            leaveBalanceService.post(List.of(LeaveBalanceService.Posting.consumption(leaveRequest.getId(),
+                    leaveRequest.getApplicant().getId(), leaveRequest.getLeaveType(), leaveRequest.getWorkingDays())));
+        }
+        LeaveSummary summary = toSummary(leaveRequest);
+        absenceConflictService.onChanged(currentUser.getId(), summary);
+        absenceCounterService.onDecided(currentUser.getId(), List.of(summary), request.getDecision());
+        publish(LeaveEventType.STATUS_CHANGED, summary, currentUser.getId());
+        log.info("审批人 '{}' 将请假单 {} 标记为 {}", currentUser.getUsername(), id, request.getDecision());
+        return LeaveRequestResponse.from(leaveRequest);
+    }
+
+    /**
+     * 审批人批量批准或驳回请假单
+     * 不逐条加载和保存实体：先用一条查询读取所有请假单的审批人、状态和版本号，
+     * 再按版本号分组，每组执行一条带乐观锁条件的集合式 UPDATE。
+     * 只有 UPDATE 影响行数少于预期 (期间被并发修改) 时才会再读一次状态，
+     * 因此无论批量大小，一次请求只产生少量 SQL 语句 (另有一次查询读取已审批的请假单，批准时还有两次批量写入用于扣减余额)。
+     * @param currentUser 当前登录用户 (必须是各请假单的审批人)
+     * @param request 请假单 ID 列表、审批结果与意见
+     * @return 每个请假单的处理结果
+     */
+    @Transactional
+    public LeaveBatchDecisionResponse decideBatch(User currentUser, LeaveBatchDecisionRequest request) {
+        LeaveStatus decision = request.getDecision();
+        requireDecision(decision);
+        // 去重并保持请求中的顺序
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+
+        Map<Long, LeaveStateRow> states = new HashMap<>();
+        for (LeaveStateRow row : leaveRequestRepository.findStatesByIdIn(ids)) {
+            states.put(row.getId(), row);
+        }
+
+        Map<Long, LeaveDecisionOutcome> outcomes = new HashMap<>();
+        // 版本号 -> 该版本下可审批的请假单 ID
+        Map<Long, List<Long>> eligibleByVersion = new TreeMap<>();
+        for (Long id : ids) {
+            LeaveStateRow row = states.get(id);
+            if (row == null) {
+                outcomes.put(id, outcome(id, LeaveDecisionOutcome.Result.NOT_FOUND, "请假单不存在"));
+            } else if (!Objects.equals(row.getApproverId(), currentUser.getId())) {
+                outcomes.put(id, outcome(id, LeaveDecisionOutcome.Result.FORBIDDEN, "不是指定的审批人"));
+            } else if (row.getStatus() != LeaveStatus.PENDING) {
+                outcomes.put(id, outcome(id, LeaveDecisionOutcome.Result.NOT_PENDING,
+                        "请假单当前状态为 " + row.getStatus() + "，无法再变更"));
+            } else {
+                eligibleByVersion.computeIfAbsent(row.getVersion(), v -> new ArrayList<>()).add(id);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int expected = 0;
+        int updated = 0;
+        for (Map.Entry<Long, List<Long>> group : eligibleByVersion.entrySet()) {
+            expected += group.getValue().size();
+            updated += leaveRequestRepository.bulkDecide(group.getValue(), currentUser.getId(), group.getKey(),
+                    decision, request.getComment(), now);
+        }
+
+        List<Long> eligible = eligibleByVersion.values().stream().flatMap(List::stream).toList();
+        if (updated == expected) {
+            for (Long id : eligible) {
+                outcomes.put(id, outcome(id, LeaveDecisionOutcome.Result.APPLIED, null));
+            }
+        } else {
+            // 有行在读取状态后被并发修改：重新读取一次，版本号恰好 +1 且状态为目标状态的才是本次更新的
+            Map<Long, LeaveStateRow> after = new HashMap<>();
+            for (LeaveStateRow row : leaveRequestRepository.findStatesByIdIn(eligible)) {
+                after.put(row.getId(), row);
+            }
+            for (Long id : eligible) {
+                LeaveStateRow row = after.get(id);
+                boolean applied = row != null && row.getStatus() == decision
+                        && row.getVersion() == states.get(id).getVersion() + 1;
+                outcomes.put(id, applied
+                        ? outcome(id, LeaveDecisionOutcome.Result.APPLIED, null)
+                        : outcome(id, LeaveDecisionOutcome.Result.CONFLICT, "请假单已被其他操作修改，请刷新后重试"));
+            }
+        }
+
+        List<LeaveDecisionOutcome> report = ids.stream().map(outcomes::get).toList();
+        List<Long> applied = report.stream()
+                .filter(o -> o.getResult() == LeaveDecisionOutcome.Result.APPLIED)
+                .map(LeaveDecisionOutcome::getId)
+                .toList();
+        List<LeaveSummary> changed = applied.isEmpty() ? List.of() : leaveRequestRepository.findSummariesByIdIn(applied);
+        if (decision == LeaveStatus.APPROVED && !changed.isEmpty()) {
+            List<LeaveBalanceService.Posting> postings = changed.stream()
+                    .map(s -> LeaveBalanceService.Posting.consumption(s.getId(), s.getApplicantId(),
+                            s.getLeaveType(), s.getWorkingDays()))
+                    .toList();
+            leaveBalanceService.post(postings);
+        }
+        absenceConflictService.onStatusChanged(currentUser.getId(), applied, decision);
+        absenceCounterService.onDecided(currentUser.getId(), changed, decision);
+        changed.forEach(s -> publish(LeaveEventType.STATUS_CHANGED, s, currentUser.getId()));
+        log.info("审批人 '{}' 批量将 {} 个请假单标记为 {}，成功 {} 个",
+                currentUser.getUsername(), ids.size(), decision, updated);
+        return new LeaveBatchDecisionResponse(updated, report);
+    }
+
+    /**
+     * 审批人收件箱 (键集分页)
+     * @param approver 当前登录用户 (审批人)
+     * @param status 请假单状态 (默认 PENDING)
+     * @param cursor 上一页返回的 nextCursor (第一页传 null)
+     * @param size 页大小
+     * @return 一页列表项
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<LeaveSummary> inbox(User approver, LeaveStatus status, String cursor, Integer size) {
+        LeaveStatus effectiveStatus = status != null ? status : LeaveStatus.PENDING;
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = normalizePageSize(size);
+        // 多取一条用于判断是否还有下一页
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<LeaveSummary> rows = after == null
+                ? leaveRequestRepository.findInboxFirstPage(approver.getId(), effectiveStatus, limit)
+                : leaveRequestRepository.findInboxPageAfter(approver.getId(), effectiveStatus,
+                after.createdAt(), after.id(), limit);
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * 当前用户提交的请假单 (键集分页)
+     * @param applicant 当前登录用户 (申请人)
+     * @param cursor 上一页返回的 nextCursor (第一页传 null)
+     * @param size 页大小
+     * @return 一页列表项
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<LeaveSummary> mine(User applicant, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = normalizePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<LeaveSummary> rows = after == null
+                ? leaveRequestRepository.findByApplicantFirstPage(applicant.getId(), limit)
+                : leaveRequestRepository.findByApplicantPageAfter(applicant.getId(), after.createdAt(), after.id(), limit);
+        return toPage(rows, pageSize);
+    }
+
+    private LeaveRequest load(Long id) {
+        return leaveRequestRepository.findWithUsersById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("请假单不存在: " + id));
+    }
+
+    private void publish(LeaveEventType type, LeaveSummary summary, Long approverId) {
+        eventPublisher.publishEvent(new LeaveEvent(type, summary.getId(), summary.getStatus(),
+                summary.getApplicantId(), summary.getApplicantUsername(), approverId, summary.getLeaveType(),
+                summary.getStartDate(), summary.getEndDate(), LocalDateTime.now()));
+    }
+
+    private static LeaveSummary toSummary(LeaveRequest leaveRequest) {
+        return new LeaveSummary(leaveRequest.getId(), leaveRequest.getApplicant().getId(),
+                leaveRequest.getApplicant().getUsername(), leaveRequest.getLeaveType(), leaveRequest.getStartDate(),
+                leaveRequest.getEndDate(), leaveRequest.getWorkingDays(), leaveRequest.getStatus(),
+                leaveRequest.getCreatedAt());
+    }
+
+    private static boolean isParticipant(LeaveRequest leaveRequest, User user) {
+        return Objects.equals(leaveRequest.getApplicant().getId(), user.getId())
+                || Objects.equals(leaveRequest.getApprover().getId(), user.getId());
+    }
+
+    private static void requirePending(LeaveRequest leaveRequest) {
+        if (leaveRequest.getStatus() != LeaveStatus.PENDING) {
+            throw new IllegalArgumentException("请假单当前状态为 " + leaveRequest.getStatus() + "，无法再变更");
+        }
+    }
+
+    static void requireDecision(LeaveStatus decision) {
+        if (decision != LeaveStatus.APPROVED && decision != LeaveStatus.REJECTED) {
+            throw new IllegalArgumentException("审批结果只能是 APPROVED 或 REJECTED");
+        }
+    }
+
+    private static LeaveDecisionOutcome outcome(Long id, LeaveDecisionOutcome.Result result, String message) {
+        return new LeaveDecisionOutcome(id, result, message);
+    }
+
+    private static int normalizePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static KeysetPage<LeaveSummary> toPage(List<LeaveSummary> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<LeaveSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            LeaveSummary last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new KeysetPage<>(List.copyOf(items), nextCursor, hasMore);
+    }
+}
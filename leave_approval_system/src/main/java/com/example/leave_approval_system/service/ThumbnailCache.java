@@ -0,0 +1,199 @@
+package com.example.leave_approval_system.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 头像缩略图磁盘缓存
+ * 首次请求某个尺寸时按需生成 PNG 缩略图并写入磁盘，之后直接复用文件。
+ * 内存中只维护 "文件路径 -> 字节数" 的访问顺序索引，总大小超过上限时按最近最少使用淘汰。
+ */
+@Component
+@Slf4j
+public class ThumbnailCache {
+
+    /**
+     * 支持的缩略图边长 (像素)
+     */
+    public static final List<Integer> SIZES = List.of(64, 128, 256);
+
+    private final Path thumbnailDir;
+    private final long maxBytes;
+    private final long maxPixels;
+
+    // accessOrder = true：get 操作会把条目移到末尾，头部即最久未使用
+    private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    public ThumbnailCache(@Value("${app.avatar.storage-dir:./data/avatars}") String storageDir,
+                          @Value("${app.avatar.thumbnail-cache-max-bytes:268435456}") long maxBytes,
+                          @Value("${app.avatar.max-pixels:16777216}") long maxPixels) {
+        this.thumbnailDir = Paths.get(storageDir, "thumbnails");
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * 启动时扫描已有缩略图，按修改时间重建 LRU 索引
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(thumbnailDir);
+        try (Stream<Path> files = Files.list(thumbnailDir)) {
+            files.filter(p -> p.getFileName().toString().endsWith(".png"))
+                    .sorted(Comparator.comparingLong(ThumbnailCache::lastModifiedMillis))
+                    .forEach(p -> {
+                        try {
+                            register(p, Files.size(p));
+                        } catch (IOException e) {
+                            log.warn("读取缩略图 {} 失败: {}", p, e.getMessage());
+                        }
+                    });
+        }
+        log.info("缩略图缓存加载完成: {} 个文件, {} 字节", entries.size(), totalBytes);
+    }
+
+    /**
+     * 获取 (必要时生成) 指定用户、指定尺寸的缩略图
+     * @param userId 用户 ID
+     * @param size 缩略图边长，必须是 SIZES 之一
+     * @param original 原始头像文件
+     * @return 缩略图文件路径
+     * @throws IOException 读取原图或写入缩略图失败时抛出
+     */
+    public Path getOrCreate(long userId, int size, Path original) throws IOException {
+        if (!SIZES.contains(size)) {
+            throw new IllegalArgumentException("不支持的缩略图尺寸: " + size + "，可选值: " + SIZES);
+        }
+        Path thumbnail = thumbnailDir.resolve(userId + "-" + size + ".png");
+        synchronized (this) {
+            if (entries.get(thumbnail) != null) {
+                return thumbnail;
+            }
+        }
+        // 在锁外生成，避免一次慢速缩放阻塞其他缩略图的命中
+        long bytes = generate(original, thumbnail, size);
+        synchronized (this) {
+            register(thumbnail, bytes);
+        }
+        return thumbnail;
+    }
+
+    /**
+     * 删除某个用户的全部缩略图 (重新上传头像后调用)
+     * @param userId 用户 ID
+     */
+    public synchronized void evictUser(long userId) {
+        for (Integer size : SIZES) {
+            Path thumbnail = thumbnailDir.resolve(userId + "-" + size + ".png");
+            Long bytes = entries.remove(thumbnail);
+            if (bytes != null) {
+                totalBytes -= bytes;
+            }
+            deleteQuietly(thumbnail);
+        }
+    }
+
+    private synchronized void register(Path thumbnail, long bytes) {
+        Long previous = entries.put(thumbnail, bytes);
+        totalBytes += bytes - (previous != null ? previous : 0L);
+        Iterator<Map.Entry<Path, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Path, Long> eldest = it.next();
+            if (eldest.getKey().equals(thumbnail)) {
+                continue; // 不淘汰刚写入的文件
+            }
+            it.remove();
+            totalBytes -= eldest.getValue();
+            deleteQuietly(eldest.getKey());
+        }
+    }
+
+    private long generate(Path original, Path thumbnail, int size) throws IOException {
+        BufferedImage source = decode(original);
+        double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+
+        // 先写临时文件再原子替换，并发生成同一缩略图时读者不会看到半个文件
+        Path tmp = Files.createTempFile(thumbnailDir, thumbnail.getFileName().toString(), ".tmp");
+        try {
+            ImageIO.write(target, "png", tmp.toFile());
+            Files.move(tmp, thumbnail, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            deleteQuietly(tmp);
+        }
+        return Files.size(thumbnail);
+    }
+
+    /**
+     * 解码原图：先只读取图片头中的宽高，像素总数超过上限时拒绝解码
+     * (几 KB 的压缩文件可能声明上万像素边长，直接 ImageIO.read 会分配数 GB 内存)
+     */
+    private BufferedImage decode(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("头像文件无法解码为图片");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long width = reader.getWidth(0);
+                long height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || width * height > maxPixels) {
+                    throw new IllegalArgumentException("头像尺寸过大: " + width + "x" + height
+                            + "，最多允许 " + maxPixels + " 像素");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除文件 {} 失败: {}", path, e.getMessage());
+        }
+    }
+
+    private static long lastModifiedMillis(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
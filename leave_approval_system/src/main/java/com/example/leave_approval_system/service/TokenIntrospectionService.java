@@ -0,0 +1,131 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.TokenIntrospectionResult;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.security.AuthenticationUnavailableException;
+import com.example.leave_approval_system.security.JwtUtil;
+import com.example.leave_approval_system.security.TokenRevocationChecker;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * 批量校验 Token (内部网关、批处理任务)
+ * 1. 逐个验签、检查过期和注销；批量较大时并行验签 (HMAC 计算是纯 CPU 工作)
+ * 2. 所有有效 Token 的用户名合并为一次加载：先查本节点缓存，未命中的一次 IN 查询
+ * 3. 按请求顺序返回每个 Token 的结果
+ */
+@Service
+public class TokenIntrospectionService {
+
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationChecker tokenRevocationChecker;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final int parallelThreshold;
+
+    public TokenIntrospectionService(JwtUtil jwtUtil,
+                                     TokenRevocationChecker tokenRevocationChecker,
+                                     UserDetailsServiceImpl userDetailsService,
+                                     @Value("${app.auth.introspection.parallel-threshold:64}") int parallelThreshold) {
+        this.jwtUtil = jwtUtil;
+        this.tokenRevocationChecker = tokenRevocationChecker;
+        this.userDetailsService = userDetailsService;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * 校验一批 Token
+     * @param tokens JWT 列表
+     * @return 与输入顺序一致的校验结果
+     * @throws AuthenticationUnavailableException 如果需要查询用户但数据库不可用，或 Token 的注销状态无法确认
+     */
+    public List<TokenIntrospectionResult> introspect(List<String> tokens) {
+        Verified[] verified = new Verified[tokens.size()];
+        IntStream indexes = IntStream.range(0, tokens.size());
+        (tokens.size() >= parallelThreshold ? indexes.parallel() : indexes)
+                .forEach(i -> verified[i] = verify(tokens.get(i)));
+
+        Set<String> usernames = new HashSet<>();
+        for (Verified v : verified) {
+            if (v.reason() == null) {
+                usernames.add(v.claims().getSubject());
+            }
+        }
+        Map<String, User> users = usernames.isEmpty() ? Map.of() : userDetailsService.loadUsersByUsernames(usernames);
+
+        List<TokenIntrospectionResult> results = new ArrayList<>(verified.length);
+        for (Verified v : verified) {
+            results.add(toResult(v, users));
+        }
+        return results;
+    }
+
+    private Verified verify(String token) {
+        try {
+            Claims claims = jwtUtil.extractClaim(token, Function.identity());
+            if (claims.getSubject() == null) {
+                return new Verified(claims, "Token 缺少用户名");
+            }
+            TokenRevocationChecker.Status revocation = tokenRevocationChecker.check(claims);
+            if (revocation == TokenRevocationChecker.Status.REVOKED) {
+                return new Verified(claims, "Token 已注销");
+            }
+            if (revocation == TokenRevocationChecker.Status.UNKNOWN) {
+                // 注销集合落后且数据库不可用：整批返回 503，而不是把有效 Token 报告为无效
+                throw new AuthenticationUnavailableException("Token 注销状态无法确认");
+            }
+            return new Verified(claims, null);
+        } catch (ExpiredJwtException e) {
+            return new Verified(e.getClaims(), "Token 已过期"); // 签名已验证，声明可信
+        } catch (SignatureException e) {
+            return new Verified(null, "签名无效");
+        } catch (MalformedJwtException | UnsupportedJwtException e) {
+            return new Verified(null, "Token 格式无效");
+        } catch (JwtException e) {
+            return new Verified(null, "Token 无效");
+        } catch (IllegalArgumentException e) {
+            return new Verified(null, "Token 为空");
+        }
+    }
+
+    private static TokenIntrospectionResult toResult(Verified v, Map<String, User> users) {
+        Claims claims = v.claims();
+        String subject = claims == null ? null : claims.getSubject();
+        LocalDateTime expiresAt = claims == null || claims.getExpiration() == null ? null
+                : LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        if (v.reason() != null) {
+            return new TokenIntrospectionResult(false, subject, null, null, expiresAt, v.reason());
+        }
+        User user = users.get(subject);
+        // 同名用户被删除后重新注册时，旧 Token 中的用户 ID 与当前用户不一致
+        Number tokenUserId = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        if (user == null || (tokenUserId != null && !Objects.equals(tokenUserId.longValue(), user.getId()))) {
+            return new TokenIntrospectionResult(false, subject, null, null, expiresAt, "Token 对应的用户不存在");
+        }
+        return new TokenIntrospectionResult(true, subject, user.getId(), Role.fromMask(user.getRoleMask()),
+                expiresAt, null);
+    }
+
+    /**
+     * 验签结果：claims 在签名无效时为空，reason 为空表示通过
+     */
+    private record Verified(Claims claims, String reason) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 认证用户缓存 (本节点)
+ * 每个携带 JWT 的请求都要按用户名加载用户，缓存命中时不访问数据库。
+ * 一致性由缓存变更日志保证：用户被修改后各节点在一个轮询周期内淘汰对应条目；
+ * 轮询连续失败超过 app.cache-invalidation.max-staleness-ms 时缓存自动失效 (全部回源)，
+ * 因此任何节点读到的用户信息最多落后这么久。
+ */
+@Component
+@Slf4j
+public class UserDetailsCache {
+
+    private record Entry(User user, long loadedAtMillis) {
+    }
+
+    private final ConcurrentMap<String, Entry> users = new ConcurrentHashMap<>();
+    // 每次淘汰递增；加载前记下，写入时若已变化说明加载期间发生过淘汰，放弃写入以免缓存旧数据
+    private final AtomicLong generation = new AtomicLong();
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // 在此时间之前缓存可用，由 ChangeLogPoller 每次成功轮询后延长
+    private volatile long freshUntilMillis;
+
+    public UserDetailsCache(@Value("${app.user-cache.max-entries:100000}") int maxEntries,
+                            @Value("${app.user-cache.ttl-ms:300000}") long ttlMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 读取缓存的用户
+     * @param username 用户名
+     * @return 用户实体，未命中或缓存已失效时返回 null
+     */
+    public User get(String username) {
+        long now = System.currentTimeMillis();
+        if (now > freshUntilMillis) {
+            return null;
+        }
+        Entry entry = users.get(username);
+        if (entry == null || now - entry.loadedAtMillis() > ttlMillis) {
+            return null;
+        }
+        return entry.user();
+    }
+
+    /**
+     * 读取最近一次成功加载的用户快照，不检查有效期 (仅供数据库不可用时的降级认证使用)
+     * 被缓存变更日志淘汰过的用户不会再返回
+     * @param username 用户名
+     * @return 用户实体，没有快照时返回 null
+     */
+    public User snapshot(String username) {
+        Entry entry = users.get(username);
+        return entry == null ? null : entry.user();
+    }
+
+    /**
+     * 当前淘汰代数 (从数据库加载用户之前读取)
+     * @return 代数
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 缓存从数据库加载的用户
+     * @param user 用户实体
+     * @param loadedGeneration 加载前读取的 generation()
+     */
+    public void put(User user, long loadedGeneration) {
+        if (users.size() >= maxEntries && !users.containsKey(user.getUsername())) {
+            // 超出容量时整体清空，缓存未命中只会退化为一次数据库查询
+            log.debug("认证用户缓存达到上限 {}，清空缓存", maxEntries);
+            users.clear();
+        }
+        users.put(user.getUsername(), new Entry(user, System.currentTimeMillis()));
+        if (generation.get() != loadedGeneration) {
+            users.remove(user.getUsername());
+        }
+    }
+
+    /**
+     * 淘汰某个用户
+     * @param username 用户名
+     */
+    public void evict(String username) {
+        generation.incrementAndGet();
+        users.remove(username);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        users.clear();
+    }
+
+    /**
+     * 标记缓存在指定时间之前可用 (变更日志轮询成功后调用)
+     * @param untilMillis 截止时间 (毫秒时间戳)
+     */
+    public void markFresh(long untilMillis) {
+        freshUntilMillis = untilMillis;
+    }
+}
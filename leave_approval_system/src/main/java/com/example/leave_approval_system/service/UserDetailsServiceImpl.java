@@ -3,32 +3,139 @@ package com.example.leave_approval_system.service;
 
 import com.example.leave_approval_system.model.User;
 import com.example.leave_approval_system.repository.UserRepository;
+import com.example.leave_approval_system.security.AuthCircuitBreaker;
+import com.example.leave_approval_system.security.AuthenticationUnavailableException;
+import com.example.leave_approval_system.security.LoginIdentifier;
+import org.springframework.beans.factory.annotation.Value;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional; // 引入事务注解
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service // 标记为 Spring 服务 Bean
 @RequiredArgsConstructor // Lombok: 自动生成包含 final 字段的构造函数，实现依赖注入
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository; // 注入 UserRepository
+    private final UserVersionCache userVersionCache; // 注入用户版本缓存 (用于 ETag)
+    private final UserDetailsCache userDetailsCache; // 注入认证用户缓存 (跨节点由缓存变更日志淘汰)
+    private final AuthCircuitBreaker circuitBreaker; // 注入认证熔断器 (数据库不可用时快速失败)
+
+    // 手机号未带国家码时使用的默认国家码
+    @Value("${app.auth.default-calling-code:86}")
+    private String defaultCallingCode;
 
     /**
      * 根据用户名加载用户信息 (Spring Security 调用此方法进行认证)
+     * 先查本节点缓存；不在方法上开启事务，缓存命中时完全不占用数据库连接。
+     * 数据库调用经过熔断器：连续失败后不再访问数据库，直接抛出 AuthenticationUnavailableException
      * @param username 用户名
-     * @return UserDetails 对象 (这里直接返回 User 实体，因为它实现了 UserDetails)
+     * @return UserDetails 对象 (只含认证所需列的 User，由覆盖索引 idx_users_auth 直接返回)
      * @throws UsernameNotFoundException 如果用户不存在
+     * @throws AuthenticationUnavailableException 如果数据库不可用或熔断器打开
      */
     @Override
-    @Transactional(readOnly = true) // 数据库读取操作，设置为只读事务可以优化性能
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // 从数据库查找用户
-        User user = userRepository.findByUsername(username)
-                // 如果找不到用户，抛出 Spring Security 的 UsernameNotFoundException
-                .orElseThrow(() -> new UsernameNotFoundException("用户未找到，用户名: " + username));
+        User cached = userDetailsCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        return load(() -> userRepository.findAuthByUsername(username), username);
+    }
+
+    /**
+     * 按登录标识加载用户 (登录时由 DaoAuthenticationProvider 调用)
+     * 先分类再查询：用户名走缓存和 uk_username，邮箱走 uk_email_normalized，手机号走 uk_phone_e164。
+     * 按邮箱或手机号未找到时再按用户名查找一次：限制用户名格式之前注册的用户名可能含 "@" 或是一串数字
+     * @param identifier 用户名、邮箱或手机号
+     * @return 用户信息
+     * @throws UsernameNotFoundException 如果用户不存在
+     * @throws AuthenticationUnavailableException 如果数据库不可用或熔断器打开
+     */
+    public UserDetails loadUserByLoginIdentifier(String identifier) throws UsernameNotFoundException {
+        LoginIdentifier login = LoginIdentifier.classify(identifier, defaultCallingCode);
+        if (login.type() == LoginIdentifier.Type.USERNAME) {
+            return loadUserByUsername(login.value());
+        }
+        try {
+            return login.type() == LoginIdentifier.Type.EMAIL
+                    ? load(() -> userRepository.findAuthByEmailNormalized(login.value()), identifier)
+                    : load(() -> userRepository.findAuthByPhoneE164(login.value()), identifier);
+        } catch (UsernameNotFoundException e) {
+            return loadUserByUsername(identifier.trim());
+        }
+    }
+
+    /**
+     * 批量加载用户 (Token 批量校验使用)
+     * 先查本节点缓存，未命中的用户名合并为一次 IN 查询，而不是逐个 findByUsername
+     * @param usernames 用户名集合
+     * @return 用户名 -> 用户 (不存在的用户名不包含在内)
+     * @throws AuthenticationUnavailableException 如果数据库不可用或熔断器打开
+     */
+    public Map<String, User> loadUsersByUsernames(Collection<String> usernames) {
+        Map<String, User> found = new HashMap<>(usernames.size() * 2);
+        List<String> misses = new ArrayList<>();
+        for (String username : usernames) {
+            User cached = userDetailsCache.get(username);
+            if (cached != null) {
+                found.put(username, cached);
+            } else {
+                misses.add(username);
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+        long generation = userDetailsCache.generation();
+        if (!circuitBreaker.allowRequest()) {
+            throw new AuthenticationUnavailableException("认证数据源暂时不可用");
+        }
+        List<User> loaded;
+        try {
+            loaded = userRepository.findAuthByUsernameIn(misses);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw new AuthenticationUnavailableException("读取用户信息失败", e);
+        }
+        circuitBreaker.onSuccess();
+        for (User user : loaded) {
+            userVersionCache.record(user);
+            userDetailsCache.put(user, generation);
+            found.put(user.getUsername(), user);
+        }
+        return found;
+    }
+
+    private User load(Supplier<Optional<User>> query, String identifier) {
+        long generation = userDetailsCache.generation();
+        if (!circuitBreaker.allowRequest()) {
+            throw new AuthenticationUnavailableException("认证数据源暂时不可用");
+        }
+        Optional<User> found;
+        try {
+            // 从数据库查找用户 (Repository 方法自带只读事务)
+            found = query.get();
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw new AuthenticationUnavailableException("读取用户信息失败", e);
+        }
+        circuitBreaker.onSuccess();
+        // 如果找不到用户，抛出 Spring Security 的 UsernameNotFoundException
+        User user = found.orElseThrow(() -> new UsernameNotFoundException("用户未找到: " + identifier));
+
+        // 顺带刷新版本缓存，后续条件 GET 可直接据此判断是否返回 304
+        userVersionCache.record(user);
+        userDetailsCache.put(user, generation);
 
         // User 实体类已经实现了 UserDetails 接口，直接返回即可
         return user;
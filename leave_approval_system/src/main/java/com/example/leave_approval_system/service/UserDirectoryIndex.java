@@ -0,0 +1,213 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.UserDirectoryEntry;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.UserRepository;
+import com.example.leave_approval_system.security.LoginIdentifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 用户目录前缀索引
+ * 在内存中为用户名、邮箱、E.164 手机号分别维护一个有序跳表 (键为 "规范化值 + \0 + 用户ID")，
+ * 前缀查询即一次 O(log n) 定位加顺序扫描，避免数据库 LIKE '%x%' 全表扫描。
+ * 启动后全量构建，注册等写操作时增量更新。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserDirectoryIndex {
+
+    // 单次查询最多扫描的索引键数量，保证延迟有上界
+    private static final int MAX_SCANNED_KEYS = 1000;
+    private static final char KEY_SEPARATOR = '\0';
+
+    private final UserRepository userRepository;
+
+    private final NavigableMap<String, UserDirectoryEntry> byUsername = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, UserDirectoryEntry> byEmail = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, UserDirectoryEntry> byPhone = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<Long, UserDirectoryEntry> byId = new ConcurrentHashMap<>();
+
+    // 手机号未带国家码时使用的默认国家码 (与登录、注册的规范化规则一致)
+    @Value("${app.auth.default-calling-code:86}")
+    private String defaultCallingCode;
+
+    /**
+     * 应用启动完成后全量构建索引 (只查询目录所需的列，不加载完整实体)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long begin = System.nanoTime();
+        List<UserDirectoryEntry> entries = userRepository.findAllDirectoryEntries();
+        entries.forEach(this::put);
+        log.info("用户目录索引构建完成: {} 个用户, 耗时 {} ms", entries.size(), (System.nanoTime() - begin) / 1_000_000);
+    }
+
+    /**
+     * 新增或更新某个用户的索引条目
+     * 有活动事务时推迟到提交后更新，事务回滚时不会在索引中留下不存在的用户
+     * @param user 已保存的用户实体
+     */
+    public void upsert(User user) {
+        UserDirectoryEntry entry = new UserDirectoryEntry(user.getId(), user.getUsername(), user.getEmail(),
+                user.getPhoneNumber(), user.getPhoneE164(), user.getAvatarUrl());
+        TransactionHooks.afterCommit(() -> put(entry));
+    }
+
+    /**
+     * 按用户名从数据库重新读取并更新索引条目 (其他节点注册或修改的用户，由缓存变更日志触发)
+     * @param usernames 用户名集合
+     */
+    public void refresh(Collection<String> usernames) {
+        userRepository.findDirectoryEntriesByUsernameIn(usernames).forEach(this::put);
+    }
+
+    /**
+     * 从索引中删除某个用户
+     * @param userId 用户 ID
+     */
+    public void remove(Long userId) {
+        UserDirectoryEntry previous = byId.remove(userId);
+        if (previous != null) {
+            removeKeys(previous);
+        }
+    }
+
+    /**
+     * 前缀搜索用户
+     * 依次匹配用户名、邮箱、手机号 (仅当查询串像电话号码时)，按用户去重，最多返回 limit 条
+     * @param query 查询串 (用户名/邮箱/手机号的前缀)
+     * @param limit 最大返回条数
+     * @return 匹配的用户列表
+     */
+    public List<UserDirectoryEntry> search(String query, int limit) {
+        String text = normalizeText(query);
+        Map<Long, UserDirectoryEntry> results = new LinkedHashMap<>();
+        int[] scanned = {0};
+        if (!text.isEmpty()) {
+            collect(byUsername, text, limit, results, scanned);
+            collect(byEmail, text, limit, results, scanned);
+        }
+        if (looksLikePhone(query)) {
+            String digits = phoneQueryPrefix(query.trim());
+            if (!digits.isEmpty()) {
+                collect(byPhone, digits, limit, results, scanned);
+            }
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    private void collect(NavigableMap<String, UserDirectoryEntry> index, String prefix, int limit,
+                         Map<Long, UserDirectoryEntry> results, int[] scanned) {
+        for (UserDirectoryEntry entry : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (results.size() >= limit || scanned[0]++ >= MAX_SCANNED_KEYS) {
+                return;
+            }
+            results.putIfAbsent(entry.getId(), entry);
+        }
+    }
+
+    private void put(UserDirectoryEntry entry) {
+        UserDirectoryEntry previous = byId.put(entry.getId(), entry);
+        if (previous != null) {
+            removeKeys(previous);
+        }
+        putKey(byUsername, normalizeText(entry.getUsername()), entry);
+        putKey(byEmail, normalizeText(entry.getEmail()), entry);
+        putKey(byPhone, phoneKey(entry), entry);
+    }
+
+    private void removeKeys(UserDirectoryEntry entry) {
+        byUsername.remove(key(normalizeText(entry.getUsername()), entry.getId()));
+        byEmail.remove(key(normalizeText(entry.getEmail()), entry.getId()));
+        byPhone.remove(key(phoneKey(entry), entry.getId()));
+    }
+
+    private static void putKey(NavigableMap<String, UserDirectoryEntry> index, String value, UserDirectoryEntry entry) {
+        if (!value.isEmpty()) {
+            index.put(key(value, entry.getId()), entry);
+        }
+    }
+
+    private static String key(String value, Long id) {
+        return value + KEY_SEPARATOR + id;
+    }
+
+    private static String normalizeText(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 手机号索引键: E.164 号码去掉 "+" 后的数字 (旧数据缺少 phone_e164 时按同一规则现场规范化)
+     */
+    private String phoneKey(UserDirectoryEntry entry) {
+        String e164 = entry.getPhoneE164() != null
+                ? entry.getPhoneE164()
+                : LoginIdentifier.normalizePhone(entry.getPhoneNumber(), defaultCallingCode);
+        return e164 == null ? "" : e164.substring(1);
+    }
+
+    /**
+     * 把手机号查询串转成 E.164 数字前缀，与索引键使用同一套规则：
+     * 完整号码直接按 LoginIdentifier.normalizePhone 规范化；
+     * 位数不足的部分号码，"+" 或 "00" 开头视为已带国家码，否则去掉长途前缀 "0" 后补上默认国家码
+     */
+    private String phoneQueryPrefix(String query) {
+        String e164 = LoginIdentifier.normalizePhone(query, defaultCallingCode);
+        if (e164 != null) {
+            return e164.substring(1);
+        }
+        String digits = digitsOf(query);
+        if (query.startsWith("+")) {
+            return digits;
+        }
+        if (query.startsWith("00")) {
+            return digits.substring(2);
+        }
+        int start = 0;
+        while (start < digits.length() && digits.charAt(start) == '0') {
+            start++;
+        }
+        return start == digits.length() ? "" : defaultCallingCode + digits.substring(start);
+    }
+
+    private static String digitsOf(String value) {
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static boolean looksLikePhone(String query) {
+        if (query == null) {
+            return false;
+        }
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (!(c >= '0' && c <= '9') && c != '+' && c != '-' && c != ' ' && c != '(' && c != ')') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.exception.ResourceNotFoundException;
+import com.example.leave_approval_system.invalidation.ChangeKind;
+import com.example.leave_approval_system.invalidation.ChangeLog;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 用户角色管理
+ * 角色以位掩码保存在用户行上；修改时在同一事务中写入缓存变更日志，
+ * 各节点在一个轮询周期内淘汰该用户的缓存，之后的请求即按新角色授权
+ */
+@Service
+@RequiredArgsConstructor // Lombok 注入
+@Slf4j // Lombok 日志
+public class UserRoleService {
+
+    private final UserRepository userRepository;     // 用户数据仓库
+    private final UserVersionCache userVersionCache; // 用户版本缓存 (角色变化后个人信息的 ETag 随之失效)
+    private final ChangeLog changeLog;               // 缓存变更日志 (通知所有节点淘汰该用户的缓存)
+
+    // 启动时授予管理员角色的用户名 (逗号分隔)，用于初始化第一个管理员
+    @Value("${app.security.bootstrap-admins:}")
+    private List<String> bootstrapAdmins;
+
+    /**
+     * 设置用户的角色 (覆盖原有角色，USER 总是保留)
+     * @param userId 用户 ID
+     * @param roles 新角色
+     * @param currentUser 当前登录用户 (管理员)
+     * @return 设置后的角色
+     * @throws IllegalArgumentException 管理员试图移除自己的管理员角色时抛出
+     */
+    @Transactional
+    public List<Role> assignRoles(Long userId, Set<Role> roles, User currentUser) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("用户不存在: " + userId));
+        if (Objects.equals(user.getId(), currentUser.getId()) && !roles.contains(Role.ADMIN)) {
+            throw new IllegalArgumentException("不能移除自己的管理员角色");
+        }
+        user.setRoleMask(Role.maskOf(roles) | Role.USER.mask());
+        userRepository.save(user);
+        userVersionCache.evict(user.getUsername());
+        changeLog.record(ChangeKind.USER, user.getUsername());
+        List<Role> assigned = Role.fromMask(user.getRoleMask());
+        log.info("管理员 '{}' 将用户 '{}' 的角色设置为 {}", currentUser.getUsername(), user.getUsername(), assigned);
+        return assigned;
+    }
+
+    /**
+     * 启动完成后为 app.security.bootstrap-admins 中的用户授予管理员角色
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void grantBootstrapAdmins() {
+        for (String username : bootstrapAdmins) {
+            if (username.isBlank()) {
+                continue;
+            }
+            userRepository.findByUsername(username.trim()).ifPresentOrElse(user -> {
+                if (!user.hasRole(Role.ADMIN)) {
+                    user.setRoleMask(user.getRoleMask() | Role.ADMIN.mask());
+                    userVersionCache.evict(user.getUsername());
+                    changeLog.record(ChangeKind.USER, user.getUsername());
+                    log.info("已为用户 '{}' 授予管理员角色 (app.security.bootstrap-admins)", user.getUsername());
+                }
+            }, () -> log.warn("app.security.bootstrap-admins 中的用户 '{}' 不存在", username.trim()));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 用户版本缓存
+ * 以用户名为键，仅保存 (id, updatedAt 毫秒) 两个 long，用于生成强 ETag，
+ * 使条件 GET 在返回 304 时无需访问数据库或序列化响应体。
+ */
+@Component
+@Slf4j
+public class UserVersionCache {
+
+    /**
+     * 用户版本信息
+     * @param id 用户 ID
+     * @param version 版本号 (updatedAt 的 UTC 毫秒数)
+     */
+    public record UserVersion(long id, long version) {
+
+        /**
+         * 生成强 ETag，例如 "u42-lq3k9x0"
+         * @return 带双引号的 ETag 字符串
+         */
+        public String etag() {
+            return "\"u" + id + "-" + Long.toString(version, 36) + "\"";
+        }
+    }
+
+    @Value("${app.user-version-cache.max-entries:100000}")
+    private int maxEntries;
+
+    private final ConcurrentMap<String, UserVersion> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 记录用户当前版本 (在加载或保存用户之后调用)
+     * @param user 用户实体
+     * @return 记录的版本信息
+     */
+    public UserVersion record(User user) {
+        UserVersion version = new UserVersion(user.getId(), toVersion(user.getUpdatedAt()));
+        if (versions.size() >= maxEntries && !versions.containsKey(user.getUsername())) {
+            // 超出容量时整体清空，缓存未命中只会退化为一次普通计算
+            log.debug("用户版本缓存达到上限 {}，清空缓存", maxEntries);
+            versions.clear();
+        }
+        versions.put(user.getUsername(), version);
+        return version;
+    }
+
+    /**
+     * 获取缓存中的用户版本
+     * @param username 用户名
+     * @return 版本信息 (可能为空)
+     */
+    public Optional<UserVersion> get(String username) {
+        return Optional.ofNullable(versions.get(username));
+    }
+
+    /**
+     * 移除用户版本 (用户被修改或删除时调用)
+     * @param username 用户名
+     */
+    public void evict(String username) {
+        versions.remove(username);
+    }
+
+    /**
+     * 清空缓存 (与其他节点重新同步时调用)
+     */
+    public void clear() {
+        versions.clear();
+    }
+
+    /**
+     * 判断 If-None-Match 请求头是否与 ETag 匹配
+     * 按 RFC 9110 对 If-None-Match 使用弱比较，支持 "*" 和逗号分隔的多个 ETag
+     * @param ifNoneMatch If-None-Match 请求头的值 (可以为 null)
+     * @param etag 当前资源的 ETag
+     * @return 匹配时返回 true (应返回 304)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toVersion(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return 0L;
+        }
+        return updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.leave_approval_system.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 工作日日历
+ * 按地区 (对应 User.nationality) 和年份预先计算工作日位图及其前缀和数组，
+ * 任意两个日期之间的工作日数只需每个跨越的年份做一次数组相减，与区间长度无关。
+ * <p>
+ * 节假日定义从 app.calendar.holiday-dir 目录下的 {地区}.txt 文件加载，每行一项：
+ * <pre>
+ * # 注释
+ * aliases=中国,China,CHN      地区别名 (与 nationality 匹配，不区分大小写)
+ * 2026-10-01                 法定节假日 (不上班)
+ * 2026-09-27 work            调休上班日 (周末也算工作日)
+ * </pre>
+ * 文件变化会被定时检测并整体重新加载；没有对应文件的地区只排除周末。
+ * 对外接口的日期区间上限为 MAX_RANGE_DAYS 天，每个地区最多缓存 MAX_CACHED_YEARS 个年度位图。
+ */
+@Component
+@Slf4j
+public class WorkingDayCalendar {
+
+    private static final String FILE_SUFFIX = ".txt";
+    private static final String ALIASES_PREFIX = "aliases=";
+    private static final String WORK_MARKER = "work";
+
+    /**
+     * 单次查询允许的最大区间天数 (含首尾)
+     */
+    public static final int MAX_RANGE_DAYS = 366;
+
+    // 每个地区缓存的年度位图上限，超出后按需计算不再缓存，任意年份的请求不会让缓存无限增长
+    static final int MAX_CACHED_YEARS = 16;
+
+    private final Path holidayDir;
+    private final String defaultRegion;
+
+    // 当前生效的日历快照 (重新加载时整体替换)
+    private volatile Snapshot snapshot;
+
+    public WorkingDayCalendar(@Value("${app.calendar.holiday-dir:./config/holidays}") String holidayDir,
+                              @Value("${app.calendar.default-region:CN}") String defaultRegion) {
+        this.holidayDir = Paths.get(holidayDir);
+        this.defaultRegion = defaultRegion.trim().toUpperCase(Locale.ROOT);
+        this.snapshot = load();
+    }
+
+    /**
+     * 计算 [startDate, endDate] (含首尾) 内的工作日天数
+     * @param nationality 用户国籍/地区 (为空或未配置时使用默认地区)
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return 工作日天数，结束日期早于开始日期时为 0
+     */
+    public int workingDays(String nationality, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return 0;
+        }
+        RegionCalendar region = snapshot.resolve(nationality, defaultRegion);
+        int total = 0;
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            YearCalendar calendar = region.year(year);
+            int from = year == startDate.getYear() ? startDate.getDayOfYear() - 1 : 0;
+            int to = year == endDate.getYear() ? endDate.getDayOfYear() - 1 : calendar.length() - 1;
+            total += calendar.count(from, to);
+        }
+        return total;
+    }
+
+    /**
+     * 校验日期区间：结束日期不能早于开始日期，区间不能超过 MAX_RANGE_DAYS 天
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @throws IllegalArgumentException 区间非法时抛出
+     */
+    public static void checkRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("结束日期不能早于开始日期");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("日期区间不能超过 " + MAX_RANGE_DAYS + " 天");
+        }
+    }
+
+    /**
+     * 判断某天是否为工作日
+     * @param nationality 用户国籍/地区
+     * @param date 日期
+     * @return 是否为工作日
+     */
+    public boolean isWorkingDay(String nationality, LocalDate date) {
+        return snapshot.resolve(nationality, defaultRegion).year(date.getYear()).isWorkingDay(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * 定时检测节假日文件，有新增、修改或删除时重新加载
+     */
+    @Scheduled(fixedDelayString = "${app.calendar.reload-interval-ms:60000}")
+    public void reloadIfChanged() {
+        Map<Path, String> current = fingerprint();
+        if (!current.equals(snapshot.fingerprint)) {
+            snapshot = load();
+        }
+    }
+
+    private Snapshot load() {
+        Map<Path, String> fingerprint = fingerprint();
+        Map<String, RegionCalendar> regions = new HashMap<>();
+        for (Path file : fingerprint.keySet()) {
+            String fileName = file.getFileName().toString();
+            String region = fileName.substring(0, fileName.length() - FILE_SUFFIX.length()).toUpperCase(Locale.ROOT);
+            try {
+                RegionCalendar calendar = parse(file);
+                regions.put(region, calendar);
+                for (String alias : calendar.aliases) {
+                    regions.putIfAbsent(alias, calendar);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                log.error("节假日文件 {} 加载失败，该地区暂按仅排除周末处理: {}", file, e.getMessage());
+            }
+        }
+        log.info("工作日日历已加载: {} 个地区 (目录 {})", fingerprint.size(), holidayDir.toAbsolutePath());
+        return new Snapshot(regions, fingerprint);
+    }
+
+    private Map<Path, String> fingerprint() {
+        if (!Files.isDirectory(holidayDir)) {
+            return Collections.emptyMap();
+        }
+        Map<Path, String> result = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(holidayDir, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                result.put(file, attrs.lastModifiedTime().toMillis() + ":" + attrs.size());
+            }
+        } catch (IOException e) {
+            log.warn("无法读取节假日目录 {}: {}", holidayDir, e.getMessage());
+        }
+        return result;
+    }
+
+    static RegionCalendar parse(Path file) throws IOException {
+        return parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    static RegionCalendar parse(List<String> lines) {
+        Set<LocalDate> holidays = new HashSet<>();
+        Set<LocalDate> workdays = new HashSet<>();
+        Set<String> aliases = new HashSet<>();
+        for (String raw : lines) {
+            String line = raw.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith(ALIASES_PREFIX)) {
+                for (String alias : line.substring(ALIASES_PREFIX.length()).split(",")) {
+                    if (StringUtils.hasText(alias)) {
+                        aliases.add(alias.trim().toUpperCase(Locale.ROOT));
+                    }
+                }
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            try {
+                LocalDate date = LocalDate.parse(parts[0]);
+                if (parts.length > 1 && WORK_MARKER.equalsIgnoreCase(parts[1])) {
+                    workdays.add(date);
+                } else {
+                    holidays.add(date);
+                }
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("无效的日期行: " + line);
+            }
+        }
+        return new RegionCalendar(holidays, workdays, aliases);
+    }
+
+    /**
+     * 某一时刻的全部地区日历
+     */
+    private record Snapshot(Map<String, RegionCalendar> regions, Map<Path, String> fingerprint) {
+
+        private static final RegionCalendar WEEKENDS_ONLY = new RegionCalendar(Set.of(), Set.of(), Set.of());
+
+        RegionCalendar resolve(String nationality, String defaultRegion) {
+            if (StringUtils.hasText(nationality)) {
+                RegionCalendar calendar = regions.get(nationality.trim().toUpperCase(Locale.ROOT));
+                if (calendar != null) {
+                    return calendar;
+                }
+            }
+            return regions.getOrDefault(defaultRegion, WEEKENDS_ONLY);
+        }
+    }
+
+    /**
+     * 一个地区的节假日定义，年度位图按需计算并缓存
+     */
+    static final class RegionCalendar {
+
+        private final Set<LocalDate> holidays;
+        private final Set<LocalDate> workdays;
+        private final Set<String> aliases;
+        private final ConcurrentMap<Integer, YearCalendar> years = new ConcurrentHashMap<>();
+
+        RegionCalendar(Set<LocalDate> holidays, Set<LocalDate> workdays, Set<String> aliases) {
+            this.holidays = holidays;
+            this.workdays = workdays;
+            this.aliases = aliases;
+        }
+
+        YearCalendar year(int year) {
+            YearCalendar calendar = years.get(year);
+            if (calendar != null) {
+                return calendar;
+            }
+            calendar = build(year);
+            if (years.size() < MAX_CACHED_YEARS) {
+                YearCalendar existing = years.putIfAbsent(year, calendar);
+                return existing != null ? existing : calendar;
+            }
+            return calendar;
+        }
+
+        private YearCalendar build(int year) {
+            LocalDate first = LocalDate.of(year, 1, 1);
+            int length = first.lengthOfYear();
+            BitSet working = new BitSet(length);
+            LocalDate date = first;
+            for (int i = 0; i < length; i++, date = date.plusDays(1)) {
+                boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+                if (workdays.contains(date) || (!weekend && !holidays.contains(date))) {
+                    working.set(i);
+                }
+            }
+            return new YearCalendar(working, length);
+        }
+    }
+
+    /**
+     * 一年的工作日位图 (下标为 dayOfYear - 1) 及其前缀和
+     */
+    static final class YearCalendar {
+
+        private final BitSet working;
+        private final int[] prefix; // prefix[i] = 第 0..i-1 天中的工作日数
+
+        YearCalendar(BitSet working, int length) {
+            this.working = working;
+            this.prefix = new int[length + 1];
+            for (int i = 0; i < length; i++) {
+                prefix[i + 1] = prefix[i] + (working.get(i) ? 1 : 0);
+            }
+        }
+
+        int length() {
+            return prefix.length - 1;
+        }
+
+        boolean isWorkingDay(int dayIndex) {
+            return working.get(dayIndex);
+        }
+
+        /**
+         * 第 from..to 天 (含首尾) 中的工作日数，O(1)
+         */
+        int count(int from, int to) {
+            return prefix[to + 1] - prefix[from];
+        }
+    }
+}
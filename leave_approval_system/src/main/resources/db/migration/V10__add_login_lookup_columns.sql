@@ -0,0 +1,16 @@
+-- 邮箱 / 手机号登录的规范化查找列
+ALTER TABLE users
+    ADD COLUMN email_normalized VARCHAR(100),
+    ADD COLUMN phone_e164 VARCHAR(16);
+
+-- 邮箱规范化为去空白的小写形式；规范化后重复的邮箱只保留最早注册的用户可用于邮箱登录
+UPDATE users u
+JOIN (SELECT MIN(id) AS id
+      FROM users
+      WHERE email IS NOT NULL AND TRIM(email) <> ''
+      GROUP BY LOWER(TRIM(email))) first_owner ON first_owner.id = u.id
+SET u.email_normalized = LOWER(TRIM(u.email));
+
+ALTER TABLE users ADD CONSTRAINT uk_email_normalized UNIQUE (email_normalized);
+
+-- phone_e164 由 V11 (Java 迁移，复用登录时的号码规范化规则) 回填，V12 再建唯一索引
@@ -0,0 +1 @@
+ALTER TABLE users ADD CONSTRAINT uk_phone_e164 UNIQUE (phone_e164);
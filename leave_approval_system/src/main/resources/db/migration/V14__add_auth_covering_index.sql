@@ -0,0 +1,5 @@
+-- 认证覆盖索引：按用户名认证时读取的列 (id 由 InnoDB 二级索引隐含) 全部在索引中，
+-- 查询只访问索引，不回表读取包含 TEXT 列的整行 (见 UserRepository.findAuthByUsername)
+-- 约 1.6KB 的索引键，低于 InnoDB DYNAMIC 行格式 3072 字节的上限
+-- (曾作为 V13 发布后撤回；已执行过 V13 的库先 flyway repair，并删除旧索引后再迁移)
+CREATE INDEX idx_users_auth ON users (username, password_hash, role_mask, updated_at, nationality);
@@ -0,0 +1,19 @@
+-- 用户表 (迁移引入前即已存在的初始结构；已有库通过 baseline-on-migrate 记为版本 1，不会重复执行)
+CREATE TABLE IF NOT EXISTS users (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    username       VARCHAR(50)  NOT NULL,
+    password_hash  VARCHAR(255) NOT NULL,
+    email          VARCHAR(100),
+    phone_number   VARCHAR(20),
+    birth_date     DATE,
+    avatar_url     VARCHAR(255),
+    nationality    VARCHAR(100),
+    address        TEXT,
+    social_qq      VARCHAR(50),
+    social_wechat  VARCHAR(50),
+    created_at     DATETIME(6)  NOT NULL,
+    updated_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_username UNIQUE (username),
+    CONSTRAINT uk_email UNIQUE (email)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,25 @@
+-- 请假单
+-- idx_leave_approver_status_created: 审批人收件箱 (approver_id = ? AND status = ? ORDER BY created_at DESC, id DESC) 的键集分页，
+--   InnoDB 二级索引隐含主键 id，游标条件 (created_at, id) 直接在索引上定位
+-- idx_leave_applicant_created: "我的请假" 的键集分页
+-- 两个索引的首列同时满足外键 applicant_id / approver_id 的索引要求
+CREATE TABLE IF NOT EXISTS leave_requests (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    applicant_id     BIGINT       NOT NULL,
+    approver_id      BIGINT       NOT NULL,
+    leave_type       VARCHAR(20)  NOT NULL,
+    start_date       DATE         NOT NULL,
+    end_date         DATE         NOT NULL,
+    reason           TEXT,
+    status           VARCHAR(20)  NOT NULL,
+    decision_comment VARCHAR(500),
+    decided_at       DATETIME(6),
+    version          BIGINT       NOT NULL,
+    created_at       DATETIME(6)  NOT NULL,
+    updated_at       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_leave_approver_status_created (approver_id, status, created_at),
+    INDEX idx_leave_applicant_created (applicant_id, created_at),
+    CONSTRAINT fk_leave_applicant FOREIGN KEY (applicant_id) REFERENCES users (id),
+    CONSTRAINT fk_leave_approver FOREIGN KEY (approver_id) REFERENCES users (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
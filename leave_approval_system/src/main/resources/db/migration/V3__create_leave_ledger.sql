@@ -0,0 +1,27 @@
+-- 假期余额流水 (只追加) 与按类型物化的余额
+-- uk_ledger_accrual_period 保证同一周期只发放一次 (重复执行发放任务时插入失败即跳过)，uk_ledger_leave_request 保证每张请假单只扣减一次
+CREATE TABLE IF NOT EXISTS leave_ledger_entries (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id          BIGINT       NOT NULL,
+    leave_type       VARCHAR(20)  NOT NULL,
+    entry_type       VARCHAR(20)  NOT NULL,
+    amount           DECIMAL(7,2) NOT NULL,
+    leave_request_id BIGINT,
+    accrual_period   VARCHAR(7),
+    note             VARCHAR(255),
+    created_at       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_ledger_user_type (user_id, leave_type),
+    CONSTRAINT uk_ledger_accrual_period UNIQUE (user_id, leave_type, accrual_period),
+    CONSTRAINT uk_ledger_leave_request UNIQUE (leave_request_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS leave_balances (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id    BIGINT       NOT NULL,
+    leave_type VARCHAR(20)  NOT NULL,
+    balance    DECIMAL(9,2) NOT NULL,
+    updated_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_balance_user_type UNIQUE (user_id, leave_type)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,7 @@
+-- 请假单提交时按申请人地区的工作日日历计算的请假天数
+ALTER TABLE leave_requests ADD COLUMN working_days INT NULL AFTER end_date;
+
+-- 日历上线前提交的请假单没有工作日数据，按自然日天数 (含首尾) 回填，与此前的扣减口径一致
+UPDATE leave_requests SET working_days = DATEDIFF(end_date, start_date) + 1;
+
+ALTER TABLE leave_requests MODIFY COLUMN working_days INT NOT NULL;
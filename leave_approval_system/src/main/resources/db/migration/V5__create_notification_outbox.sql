@@ -0,0 +1,19 @@
+-- 通知发件箱 (与业务变更同一事务写入，由调度器分批认领发送)
+-- idx_outbox_status_next_attempt: 认领查询 status IN (...) AND next_attempt_at <= ? ORDER BY next_attempt_at
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    dedup_key         VARCHAR(191) NOT NULL,
+    channel           VARCHAR(20)  NOT NULL,
+    recipient_user_id BIGINT       NOT NULL,
+    subject           VARCHAR(255) NOT NULL,
+    body              TEXT         NOT NULL,
+    status            VARCHAR(20)  NOT NULL,
+    attempts          INT          NOT NULL,
+    next_attempt_at   DATETIME(6)  NOT NULL,
+    last_error        VARCHAR(500),
+    created_at        DATETIME(6)  NOT NULL,
+    sent_at           DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_outbox_status_next_attempt (status, next_attempt_at),
+    CONSTRAINT uk_outbox_dedup_key UNIQUE (dedup_key)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,31 @@
+-- 经理看板的每日缺勤计数 (团队即审批人，按自然日、假期类型计数)
+CREATE TABLE IF NOT EXISTS absence_day_counters (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    approver_id    BIGINT      NOT NULL,
+    absence_date   DATE        NOT NULL,
+    leave_type     VARCHAR(20) NOT NULL,
+    pending_count  INT         NOT NULL,
+    approved_count INT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_absence_counter_team_day_type UNIQUE (approver_id, absence_date, leave_type)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 按已有请假单回填：请假区间内的每个自然日，待审批计入 pending_count，已批准计入 approved_count
+-- (计数表为空时才回填，表已由手工创建并维护的库不受影响；递归深度即最长请假的天数)
+SET SESSION cte_max_recursion_depth = 100000;
+
+INSERT INTO absence_day_counters (approver_id, absence_date, leave_type, pending_count, approved_count)
+WITH RECURSIVE leave_days (approver_id, leave_type, status, absence_date, end_date) AS (
+    SELECT approver_id, leave_type, status, start_date, end_date
+    FROM leave_requests
+    WHERE status IN ('PENDING', 'APPROVED')
+    UNION ALL
+    SELECT approver_id, leave_type, status, absence_date + INTERVAL 1 DAY, end_date
+    FROM leave_days
+    WHERE absence_date < end_date
+)
+SELECT approver_id, absence_date, leave_type,
+       SUM(status = 'PENDING'), SUM(status = 'APPROVED')
+FROM leave_days
+WHERE NOT EXISTS (SELECT 1 FROM absence_day_counters)
+GROUP BY approver_id, absence_date, leave_type;
@@ -0,0 +1,7 @@
+-- 角色位掩码 (见 Role：USER = 1, APPROVER = 2, ADMIN = 4)，与用户同一行读取
+ALTER TABLE users ADD COLUMN role_mask INT NOT NULL DEFAULT 1;
+
+-- 已被指定为审批人的用户授予 APPROVER，保证已有请假单仍可被审批
+UPDATE users
+SET role_mask = role_mask | 2
+WHERE id IN (SELECT approver_id FROM leave_requests);
@@ -0,0 +1,12 @@
+-- 幂等键响应存储 (app.idempotency.store=jdbc 时使用)
+-- idx_idempotency_expires: 过期记录按 expires_at 分批删除
+CREATE TABLE IF NOT EXISTS idempotency_records (
+    idem_key     VARCHAR(191) NOT NULL,
+    fingerprint  VARCHAR(64)  NOT NULL,
+    status       INT          NOT NULL,
+    content_type VARCHAR(255),
+    body         MEDIUMBLOB,
+    expires_at   DATETIME(3)  NOT NULL,
+    PRIMARY KEY (idem_key),
+    INDEX idx_idempotency_expires (expires_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
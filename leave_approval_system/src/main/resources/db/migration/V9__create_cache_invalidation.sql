@@ -0,0 +1,17 @@
+-- 跨节点缓存变更日志：自增 version 作为轮询游标 (WHERE version > ? 走主键)，created_at 由数据库时钟写入
+CREATE TABLE IF NOT EXISTS cache_changes (
+    version    BIGINT       NOT NULL AUTO_INCREMENT,
+    kind       VARCHAR(16)  NOT NULL,
+    cache_key  VARCHAR(191) NOT NULL,
+    created_at DATETIME(3)  NOT NULL,
+    PRIMARY KEY (version),
+    INDEX idx_cache_changes_created (created_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 已注销的 Token (jti)，原过期时间之后即可删除
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id   VARCHAR(64) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (token_id),
+    INDEX idx_revoked_tokens_expires (expires_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,144 @@
+package com.example.leave_approval_reactive.handler;
+
+import com.example.leave_approval_reactive.service.ReactiveAuthService;
+import com.example.leave_approval_system.dto.AuthResponse;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.security.AuthenticationUnavailableException;
+import com.example.leave_approval_system.service.UserVersionCache;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthHandlerTests {
+
+	private final User alice = new User(1L, "alice", "hash", Role.USER.mask(), LocalDateTime.of(2026, 1, 1, 8, 0), null);
+
+	private ReactiveAuthService authService;
+	private UserVersionCache userVersionCache;
+	private AuthHandler handler;
+	private WebTestClient client;
+
+	@BeforeEach
+	void setUp() {
+		authService = mock(ReactiveAuthService.class);
+		userVersionCache = new UserVersionCache();
+		ReflectionTestUtils.setField(userVersionCache, "maxEntries", 100);
+		handler = new AuthHandler(authService, userVersionCache, Validation.buildDefaultValidatorFactory().getValidator());
+		client = WebTestClient.bindToRouterFunction(new AuthRouter().authRoutes(handler)).build();
+	}
+
+	@Test
+	void registerReturnsCreated() {
+		when(authService.register(any())).thenReturn(Mono.just(alice));
+
+		post("/api/auth/register", Map.of("username", "alice", "password", "s3cret-pass"))
+				.expectStatus().isCreated()
+				.expectBody().jsonPath("$.code").isEqualTo(200).jsonPath("$.message").isEqualTo("用户注册成功！");
+	}
+
+	@Test
+	void registerReportsFieldErrorsWithoutCallingTheService() {
+		post("/api/auth/register", Map.of("username", "al", "password", "123"))
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.message").isEqualTo("输入数据校验失败")
+				.jsonPath("$.data.username").isEqualTo("用户名长度必须在 3 到 50 个字符之间")
+				.jsonPath("$.data.password").isEqualTo("密码长度至少需要 6 个字符");
+		verify(authService, never()).register(any());
+	}
+
+	@Test
+	void registerMapsRuleViolationsAndSaturationToStatusCodes() {
+		when(authService.register(any())).thenReturn(Mono.error(new IllegalArgumentException("注册失败: 用户名、邮箱或手机号已被占用")));
+		post("/api/auth/register", Map.of("username", "alice", "password", "s3cret-pass"))
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.message").isEqualTo("注册失败: 用户名、邮箱或手机号已被占用");
+
+		when(authService.register(any())).thenReturn(Mono.error(new RejectedExecutionException("queue full")));
+		post("/api/auth/register", Map.of("username", "alice", "password", "s3cret-pass"))
+				.expectStatus().isEqualTo(503);
+	}
+
+	@Test
+	void rejectsMissingBody() {
+		client.post().uri("/api/auth/login").contentType(MediaType.APPLICATION_JSON).exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.message").isEqualTo("请求体不能为空");
+	}
+
+	@Test
+	void loginReturnsTokenOrMapsFailures() {
+		when(authService.login(any())).thenReturn(Mono.just(new AuthResponse("jwt", "alice", "Bearer")));
+		post("/api/auth/login", Map.of("username", "alice", "password", "s3cret-pass"))
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.data.token").isEqualTo("jwt").jsonPath("$.data.username").isEqualTo("alice");
+
+		when(authService.login(any())).thenReturn(Mono.error(new BadCredentialsException("Invalid Credentials")));
+		post("/api/auth/login", Map.of("username", "alice", "password", "wrong-pass"))
+				.expectStatus().isUnauthorized()
+				.expectBody().jsonPath("$.message").isEqualTo("用户名或密码错误");
+
+		when(authService.login(any())).thenReturn(Mono.error(new AuthenticationUnavailableException("认证数据库不可用")));
+		post("/api/auth/login", Map.of("username", "alice", "password", "s3cret-pass"))
+				.expectStatus().isEqualTo(503)
+				.expectBody().jsonPath("$.code").isEqualTo(503);
+	}
+
+	@Test
+	void profileSupportsConditionalGet() {
+		WebTestClient authenticated = WebTestClient.bindToRouterFunction(new AuthRouter().authRoutes(handler))
+				.webFilter(authenticatedAs(alice))
+				.build();
+		String etag = userVersionCache.record(alice).etag();
+
+		authenticated.get().uri("/api/auth/profile").exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+				.expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
+				.expectBody().jsonPath("$.data.username").isEqualTo("alice").jsonPath("$.data.roles[0]").isEqualTo("USER");
+
+		authenticated.get().uri("/api/auth/profile").header(HttpHeaders.IF_NONE_MATCH, etag).exchange()
+				.expectStatus().isNotModified()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+				.expectBody().isEmpty();
+	}
+
+	@Test
+	void profileRequiresAPrincipal() {
+		client.get().uri("/api/auth/profile").exchange()
+				.expectStatus().isUnauthorized()
+				.expectBody().jsonPath("$.code").isEqualTo(401);
+	}
+
+	private WebTestClient.ResponseSpec post(String uri, Map<String, String> body) {
+		return client.post().uri(uri).contentType(MediaType.APPLICATION_JSON).bodyValue(body).exchange();
+	}
+
+	/**
+	 * 模拟安全过滤链已完成 JWT 认证 (过滤链本身见 JwtReactiveAuthenticationManagerTests)
+	 */
+	private static WebFilter authenticatedAs(User user) {
+		UsernamePasswordAuthenticationToken authentication =
+				UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+		return (exchange, chain) -> chain.filter(exchange.mutate().principal(Mono.just(authentication)).build());
+	}
+}
@@ -0,0 +1,143 @@
+package com.example.leave_approval_reactive.repository;
+
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.security.AuthCircuitBreaker;
+import com.example.leave_approval_system.security.AuthenticationUnavailableException;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveUserRepositoryTests {
+
+	// cache_key 故意比用户名短，用来让变更日志写入失败，验证用户插入随之回滚
+	private static final List<String> SCHEMA = List.of(
+			"CREATE TABLE users (id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50) NOT NULL, "
+					+ "password_hash VARCHAR(255) NOT NULL, email VARCHAR(100), phone_number VARCHAR(20), "
+					+ "email_normalized VARCHAR(100), phone_e164 VARCHAR(16), birth_date DATE, avatar_url VARCHAR(255), "
+					+ "nationality VARCHAR(100), address TEXT, social_qq VARCHAR(50), social_wechat VARCHAR(50), "
+					+ "role_mask INT NOT NULL, created_at TIMESTAMP(6) NOT NULL, updated_at TIMESTAMP(6) NOT NULL, "
+					+ "CONSTRAINT uk_username UNIQUE (username), CONSTRAINT uk_email_normalized UNIQUE (email_normalized), "
+					+ "CONSTRAINT uk_phone_e164 UNIQUE (phone_e164))",
+			"CREATE TABLE revoked_tokens (token_id VARCHAR(64) NOT NULL PRIMARY KEY, expires_at TIMESTAMP(6) NOT NULL)",
+			"CREATE TABLE cache_changes (version BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, kind VARCHAR(16) NOT NULL, "
+					+ "cache_key VARCHAR(12) NOT NULL, created_at TIMESTAMP(3) NOT NULL)");
+
+	private DatabaseClient databaseClient;
+	private AuthCircuitBreaker circuitBreaker;
+	private ReactiveUserRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///users-" + UUID.randomUUID()
+				+ "?options=DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+		databaseClient = DatabaseClient.create(connectionFactory);
+		SCHEMA.forEach(ddl -> databaseClient.sql(ddl).then().block());
+		circuitBreaker = new AuthCircuitBreaker(1, 60_000, 900_000);
+		repository = new ReactiveUserRepository(databaseClient,
+				TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)), circuitBreaker);
+	}
+
+	@Test
+	void insertWritesTheUserAndItsCacheChangeTogether() {
+		StepVerifier.create(repository.insert(newUser("alice", "alice@example.com", "+8613800138000")))
+				.assertNext(user -> assertThat(user.getId()).isNotNull())
+				.verifyComplete();
+
+		assertThat(count("users")).isEqualTo(1);
+		assertThat(databaseClient.sql("SELECT kind, cache_key FROM cache_changes").fetch().all().collectList().block())
+				.containsExactly(Map.of("kind", "USER", "cache_key", "alice"));
+	}
+
+	@Test
+	void insertRollsBackTheUserWhenTheChangeCannotBeRecorded() {
+		StepVerifier.create(repository.insert(newUser("a-long-username", null, null)))
+				.expectError()
+				.verify();
+
+		assertThat(count("users")).isZero();
+		assertThat(count("cache_changes")).isZero();
+	}
+
+	@Test
+	void duplicateNormalizedEmailIsAnIntegrityViolation() {
+		repository.insert(newUser("alice", "alice@example.com", null)).block();
+
+		StepVerifier.create(repository.insert(newUser("bob", "alice@example.com", null)))
+				.expectError(DataIntegrityViolationException.class)
+				.verify();
+		assertThat(count("cache_changes")).isEqualTo(1);
+	}
+
+	@Test
+	void tokenLookupExcludesRevokedTokensInTheSameQuery() {
+		User alice = repository.insert(newUser("alice", "alice@example.com", "+8613800138000")).block();
+		databaseClient.sql("INSERT INTO revoked_tokens (token_id, expires_at) VALUES ('revoked-jti', CURRENT_TIMESTAMP(6))")
+				.then().block();
+
+		StepVerifier.create(repository.findAuthByUsernameForToken("alice", "live-jti"))
+				.assertNext(user -> {
+					assertThat(user.getId()).isEqualTo(alice.getId());
+					assertThat(user.getRoleMask()).isEqualTo(alice.getRoleMask());
+				})
+				.verifyComplete();
+		StepVerifier.create(repository.findAuthByUsernameForToken("alice", "revoked-jti")).verifyComplete();
+		// 注销功能上线前签发的 Token 没有 jti，不做注销检查
+		StepVerifier.create(repository.findAuthByUsernameForToken("alice", null)).expectNextCount(1).verifyComplete();
+		StepVerifier.create(repository.findAuthByUsernameForToken("bob", "live-jti")).verifyComplete();
+	}
+
+	@Test
+	void loginLookupsUseTheNormalizedColumns() {
+		repository.insert(newUser("alice", "Alice@Example.com", "+8613800138000")).block();
+
+		StepVerifier.create(repository.findAuthByEmailNormalized("alice@example.com"))
+				.assertNext(user -> assertThat(user.getUsername()).isEqualTo("alice"))
+				.verifyComplete();
+		StepVerifier.create(repository.findAuthByPhoneE164("+8613800138000"))
+				.assertNext(user -> assertThat(user.getUsername()).isEqualTo("alice"))
+				.verifyComplete();
+		StepVerifier.create(repository.findAuthByEmailNormalized("Alice@Example.com")).verifyComplete();
+	}
+
+	@Test
+	void databaseFailureOpensTheCircuitAndLaterLookupsFailFast() {
+		databaseClient.sql("DROP TABLE users").then().block();
+
+		StepVerifier.create(repository.findAuthByUsername("alice"))
+				.expectError(AuthenticationUnavailableException.class)
+				.verify();
+		assertThat(circuitBreaker.state()).isEqualTo(AuthCircuitBreaker.State.OPEN);
+		StepVerifier.create(repository.findAuthByUsername("alice"))
+				.expectErrorMessage("认证数据库不可用 (熔断器打开)")
+				.verify();
+	}
+
+	private long count(String table) {
+		return databaseClient.sql("SELECT COUNT(*) AS n FROM " + table)
+				.map(row -> row.get("n", Long.class))
+				.one()
+				.block();
+	}
+
+	private static User newUser(String username, String email, String phoneE164) {
+		User user = new User();
+		user.setUsername(username);
+		user.setPassword("hash");
+		user.setEmail(email);
+		user.setEmailNormalized(email == null ? null : email.toLowerCase());
+		user.setPhoneE164(phoneE164);
+		return user;
+	}
+}
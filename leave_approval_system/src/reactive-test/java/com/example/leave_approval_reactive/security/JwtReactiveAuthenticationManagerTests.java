@@ -0,0 +1,130 @@
+package com.example.leave_approval_reactive.security;
+
+import com.example.leave_approval_reactive.repository.ReactiveUserRepository;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.security.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtReactiveAuthenticationManagerTests {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+	private final User alice = new User(1L, "alice", "hash", Role.USER.mask(), LocalDateTime.of(2026, 1, 1, 8, 0), null);
+
+	private JwtUtil jwtUtil;
+	private ReactiveUserRepository userRepository;
+	private JwtReactiveAuthenticationManager manager;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = jwtUtil(3_600_000L, SECRET);
+		userRepository = mock(ReactiveUserRepository.class);
+		when(userRepository.findAuthByUsernameForToken(anyString(), anyString())).thenReturn(Mono.empty());
+		manager = new JwtReactiveAuthenticationManager(jwtUtil, userRepository);
+	}
+
+	@Test
+	void authenticatesValidTokenWithOneUserQuery() {
+		String token = jwtUtil.generateToken(alice);
+		String tokenId = jwtUtil.extractClaim(token, c -> c.getId());
+		when(userRepository.findAuthByUsernameForToken("alice", tokenId)).thenReturn(Mono.just(alice));
+
+		StepVerifier.create(manager.authenticate(new JwtReactiveAuthenticationManager.BearerToken(token)))
+				.assertNext(authentication -> {
+					assertThat(authentication.isAuthenticated()).isTrue();
+					assertThat(authentication.getPrincipal()).isSameAs(alice);
+					assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+							.contains("ROLE_USER");
+				})
+				.verifyComplete();
+	}
+
+	@Test
+	void rejectsRevokedTokenOrMissingUser() {
+		StepVerifier.create(manager.authenticate(new JwtReactiveAuthenticationManager.BearerToken(jwtUtil.generateToken(alice))))
+				.expectErrorSatisfies(e -> assertThat(e).isInstanceOf(BadCredentialsException.class)
+						.hasMessage("Token 已注销或用户不存在"))
+				.verify();
+	}
+
+	@Test
+	void rejectsTokenOfARecreatedUser() {
+		String oldToken = jwtUtil.generateToken(new User(99L, "alice", "hash", Role.USER.mask(), LocalDateTime.now(), null));
+		when(userRepository.findAuthByUsernameForToken(eq("alice"), anyString())).thenReturn(Mono.just(alice));
+
+		StepVerifier.create(manager.authenticate(new JwtReactiveAuthenticationManager.BearerToken(oldToken)))
+				.expectError(BadCredentialsException.class)
+				.verify();
+	}
+
+	@Test
+	void rejectsUnparseableTokensWithoutQueryingTheDatabase() {
+		assertRejected(jwtUtil(-60_000L, SECRET).generateToken(alice), "Token 已过期");
+		assertRejected(jwtUtil(3_600_000L, SECRET.toUpperCase()).generateToken(alice), "签名无效"); // 用其他密钥签名
+		assertRejected("not-a-jwt", "Token 格式无效");
+		assertRejected(notYetValidToken(), "Token 无效"); // 其他 JwtException (尚未生效) 同样返回 401
+		verify(userRepository, never()).findAuthByUsernameForToken(anyString(), anyString());
+	}
+
+	@Test
+	void bearerConverterIgnoresRequestsWithoutBearerToken() {
+		MockServerWebExchange anonymous = MockServerWebExchange.from(MockServerHttpRequest.get("/api/auth/profile"));
+		MockServerWebExchange basic = MockServerWebExchange.from(MockServerHttpRequest.get("/api/auth/profile")
+				.header(HttpHeaders.AUTHORIZATION, "Basic YWxpY2U6c2VjcmV0"));
+		MockServerWebExchange bearer = MockServerWebExchange.from(MockServerHttpRequest.get("/api/auth/profile")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer abc.def.ghi"));
+
+		StepVerifier.create(JwtReactiveAuthenticationManager.BEARER_CONVERTER.convert(anonymous)).verifyComplete();
+		StepVerifier.create(JwtReactiveAuthenticationManager.BEARER_CONVERTER.convert(basic)).verifyComplete();
+		StepVerifier.create(JwtReactiveAuthenticationManager.BEARER_CONVERTER.convert(bearer))
+				.assertNext(authentication -> assertThat(authentication.getCredentials()).isEqualTo("abc.def.ghi"))
+				.verifyComplete();
+	}
+
+	private void assertRejected(String token, String reason) {
+		StepVerifier.create(manager.authenticate(new JwtReactiveAuthenticationManager.BearerToken(token)))
+				.expectErrorSatisfies(e -> assertThat(e).isInstanceOf(BadCredentialsException.class).hasMessage(reason))
+				.verify();
+	}
+
+	private static JwtUtil jwtUtil(long expirationMs, String secret) {
+		JwtUtil util = new JwtUtil();
+		ReflectionTestUtils.setField(util, "jwtSecretString", secret);
+		ReflectionTestUtils.setField(util, "jwtExpirationMs", expirationMs);
+		util.init();
+		return util;
+	}
+
+	private static String notYetValidToken() {
+		return Jwts.builder()
+				.setSubject("alice")
+				.setNotBefore(new Date(System.currentTimeMillis() + 3_600_000L))
+				.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+				.compact();
+	}
+}
@@ -0,0 +1,179 @@
+package com.example.leave_approval_reactive.service;
+
+import com.example.leave_approval_reactive.repository.ReactiveUserRepository;
+import com.example.leave_approval_reactive.security.LoginIdentifierUserDetailsService;
+import com.example.leave_approval_system.dto.LoginRequest;
+import com.example.leave_approval_system.dto.RegisterRequest;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.security.BreachedPasswordChecker;
+import com.example.leave_approval_system.security.JwtUtil;
+import com.example.leave_approval_system.service.UserVersionCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveAuthServiceTests {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+	private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+	private ReactiveUserRepository userRepository;
+	private BreachedPasswordChecker breachedPasswordChecker;
+	private UserVersionCache userVersionCache;
+	private JwtUtil jwtUtil;
+	private ReactiveAuthService authService;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(ReactiveUserRepository.class);
+		when(userRepository.findAuthByUsername(anyString())).thenReturn(Mono.empty());
+		when(userRepository.findAuthByEmailNormalized(anyString())).thenReturn(Mono.empty());
+		when(userRepository.findAuthByPhoneE164(anyString())).thenReturn(Mono.empty());
+		when(userRepository.insert(any(User.class))).thenAnswer(invocation -> {
+			User user = invocation.getArgument(0);
+			user.setId(42L);
+			return Mono.just(user);
+		});
+		breachedPasswordChecker = mock(BreachedPasswordChecker.class);
+		userVersionCache = new UserVersionCache();
+		ReflectionTestUtils.setField(userVersionCache, "maxEntries", 100);
+		jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "jwtSecretString", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 3_600_000L);
+		jwtUtil.init();
+
+		LoginIdentifierUserDetailsService userDetailsService = new LoginIdentifierUserDetailsService(userRepository);
+		ReflectionTestUtils.setField(userDetailsService, "defaultCallingCode", "86");
+		UserDetailsRepositoryReactiveAuthenticationManager loginManager =
+				new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+		loginManager.setPasswordEncoder(passwordEncoder);
+		loginManager.setScheduler(Schedulers.immediate());
+
+		authService = new ReactiveAuthService(userRepository, loginManager, passwordEncoder, Schedulers.immediate(),
+				jwtUtil, breachedPasswordChecker, userVersionCache);
+		ReflectionTestUtils.setField(authService, "defaultCallingCode", "86");
+	}
+
+	@Test
+	void registerNormalizesLookupColumnsAndHashesThePassword() {
+		StepVerifier.create(authService.register(registerRequest("alice", "Alice@Example.COM", "138 0013 8000")))
+				.assertNext(user -> assertThat(user.getId()).isEqualTo(42L))
+				.verifyComplete();
+
+		ArgumentCaptor<User> inserted = ArgumentCaptor.forClass(User.class);
+		verify(userRepository).insert(inserted.capture());
+		assertThat(inserted.getValue().getEmailNormalized()).isEqualTo("alice@example.com");
+		assertThat(inserted.getValue().getPhoneE164()).isEqualTo("+8613800138000");
+		assertThat(passwordEncoder.matches("s3cret-pass", inserted.getValue().getPassword())).isTrue();
+		assertThat(userVersionCache.get("alice")).isPresent();
+	}
+
+	@Test
+	void registerRejectsInvalidInputBeforeHashing() {
+		StepVerifier.create(authService.register(registerRequest("bob@example.com", null, null)))
+				.expectErrorMessage("注册失败: 用户名不能是邮箱或手机号格式")
+				.verify();
+		StepVerifier.create(authService.register(registerRequest("bob", null, "call-me")))
+				.expectErrorMessage("注册失败: 手机号格式无效")
+				.verify();
+		verify(userRepository, never()).insert(any(User.class));
+	}
+
+	@Test
+	void registerRejectsBreachedPassword() {
+		when(breachedPasswordChecker.isBreached("s3cret-pass")).thenReturn(true);
+
+		StepVerifier.create(authService.register(registerRequest("alice", null, null)))
+				.expectError(IllegalArgumentException.class)
+				.verify();
+		verify(userRepository, never()).insert(any(User.class));
+	}
+
+	@Test
+	void registerReportsUniqueConflictsAsIllegalArgument() {
+		when(userRepository.insert(any(User.class))).thenReturn(Mono.error(new DataIntegrityViolationException("uk_email_normalized")));
+
+		StepVerifier.create(authService.register(registerRequest("alice", "alice@example.com", null)))
+				.expectErrorSatisfies(e -> assertThat(e).isInstanceOf(IllegalArgumentException.class)
+						.hasMessage("注册失败: 用户名、邮箱或手机号已被占用"))
+				.verify();
+	}
+
+	@Test
+	void loginByEmailIssuesTokenForTheUsername() {
+		User alice = user("alice", "s3cret-pass");
+		when(userRepository.findAuthByEmailNormalized("alice@example.com")).thenReturn(Mono.just(alice));
+
+		StepVerifier.create(authService.login(loginRequest(" ALICE@example.com", "s3cret-pass")))
+				.assertNext(response -> {
+					assertThat(response.getUsername()).isEqualTo("alice");
+					assertThat(jwtUtil.extractUsername(response.getToken())).isEqualTo("alice");
+				})
+				.verifyComplete();
+		verify(userRepository, never()).findAuthByUsername(anyString());
+	}
+
+	@Test
+	void loginFallsBackToUsernameForLegacyPhoneShapedUsernames() {
+		User legacy = user("13800138000", "s3cret-pass");
+		when(userRepository.findAuthByUsername("13800138000")).thenReturn(Mono.just(legacy));
+
+		StepVerifier.create(authService.login(loginRequest("13800138000", "s3cret-pass")))
+				.assertNext(response -> assertThat(response.getUsername()).isEqualTo("13800138000"))
+				.verifyComplete();
+		verify(userRepository).findAuthByPhoneE164("+8613800138000");
+	}
+
+	@Test
+	void loginRejectsWrongPasswordAndUnknownUser() {
+		when(userRepository.findAuthByUsername("alice")).thenReturn(Mono.just(user("alice", "s3cret-pass")));
+
+		StepVerifier.create(authService.login(loginRequest("alice", "wrong-pass")))
+				.expectError(BadCredentialsException.class)
+				.verify();
+		StepVerifier.create(authService.login(loginRequest("nobody", "s3cret-pass")))
+				.expectError(BadCredentialsException.class)
+				.verify();
+	}
+
+	private User user(String username, String password) {
+		return new User(1L, username, passwordEncoder.encode(password), Role.USER.mask(), LocalDateTime.now(), null);
+	}
+
+	private static RegisterRequest registerRequest(String username, String email, String phoneNumber) {
+		RegisterRequest request = new RegisterRequest();
+		request.setUsername(username);
+		request.setPassword("s3cret-pass");
+		request.setEmail(email);
+		request.setPhoneNumber(phoneNumber);
+		return request;
+	}
+
+	private static LoginRequest loginRequest(String username, String password) {
+		LoginRequest request = new LoginRequest();
+		request.setUsername(username);
+		request.setPassword(password);
+		return request;
+	}
+}
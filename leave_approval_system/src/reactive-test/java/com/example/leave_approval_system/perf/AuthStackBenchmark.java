@@ -0,0 +1,101 @@
+package com.example.leave_approval_system.perf;
+
+import com.example.leave_approval_reactive.ReactiveAuthApplication;
+import com.example.leave_approval_system.LeaveApprovalSystemApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Servlet (Spring MVC + JPA) 与响应式 (WebFlux + R2DBC) 两种认证部署的性能对比
+ * 在同一 JVM 中启动两个应用，共用同一个嵌入式 H2 库 (MySQL 模式) 和同一批生成的用户，
+ * 依次对两者执行完全相同的混合负载 (见 AuthWorkloadDriver)，生成两张吞吐量/延迟表。
+ * 运行方式: mvn test -Preactive,perf [-Dperf.users=200000 -Dperf.duration-seconds=60 -Dperf.concurrency=64
+ *          -Dperf.mix=profile:60,login:20,preflight:15,register:5]
+ * 报告写入 target/perf/auth-stack-comparison.txt
+ */
+@Tag("perf")
+class AuthStackBenchmark {
+
+	private static final Logger log = LoggerFactory.getLogger(AuthStackBenchmark.class);
+
+	private static final int USERS = Integer.getInteger("perf.users", 200_000);
+	private static final int HASH_POOL = Integer.getInteger("perf.hash-pool", 256);
+	private static final int CONCURRENCY = Integer.getInteger("perf.concurrency", 64);
+	private static final long WARMUP_SECONDS = Long.getLong("perf.warmup-seconds", 15);
+	private static final long DURATION_SECONDS = Long.getLong("perf.duration-seconds", 60);
+	private static final String MIX = System.getProperty("perf.mix", "profile:60,login:20,preflight:15,register:5");
+	private static final double MAX_ERROR_RATIO = 0.01;
+
+	// 与 application-perf.properties 中的 JDBC URL 指向同一个内存库 (同一 JVM 内按库名共享)
+	private static final String R2DBC_URL =
+			"r2dbc:h2:mem:///perf?options=DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,DAY";
+
+	@Test
+	void compareServletAndReactiveStacks() throws Exception {
+		try (ConfigurableApplicationContext servlet = new SpringApplicationBuilder(LeaveApprovalSystemApplication.class)
+				.web(WebApplicationType.SERVLET)
+				.profiles("perf")
+				.run("--server.port=0")) {
+			UserDatasetGenerator generator = new UserDatasetGenerator(servlet.getBean(JdbcTemplate.class),
+					servlet.getBean(PasswordEncoder.class), HASH_POOL);
+			long seedStart = System.nanoTime();
+			generator.generate(USERS);
+			String seeding = String.format("已生成 %,d 个用户 (%d 个不同的 BCrypt 哈希)，耗时 %.1f s",
+					USERS, HASH_POOL, (System.nanoTime() - seedStart) / 1e9);
+			log.info(seeding);
+
+			try (ConfigurableApplicationContext reactive = ReactiveAuthApplication.builder().run(
+					"--server.port=0",
+					"--spring.r2dbc.url=" + R2DBC_URL,
+					"--spring.r2dbc.username=sa",
+					"--spring.r2dbc.password=",
+					"--spring.r2dbc.pool.max-size=64",
+					"--logging.level.root=WARN",
+					"--logging.level.com.example=WARN")) {
+				ObjectMapper objectMapper = servlet.getBean(ObjectMapper.class);
+				String runId = Long.toString(System.currentTimeMillis(), 36);
+
+				StringBuilder report = new StringBuilder(seeding).append(System.lineSeparator());
+				report.append(String.format(
+						"认证部署对比: %,d 用户, 并发 %d, 计量 %d s, 比例 %s, CPU %d 核%n%n",
+						USERS, CONCURRENCY, DURATION_SECONDS, MIX, Runtime.getRuntime().availableProcessors()));
+				report.append(measure("Servlet (Tomcat + Spring MVC + JPA/JDBC)", servlet, generator, objectMapper, runId + "s"));
+				report.append(System.lineSeparator());
+				report.append(measure("Reactive (Netty + WebFlux + R2DBC)", reactive, generator, objectMapper, runId + "r"));
+
+				Path reportFile = Path.of("target", "perf", "auth-stack-comparison.txt");
+				Files.createDirectories(reportFile.getParent());
+				Files.writeString(reportFile, report);
+				log.info("认证部署对比报告已写入 {}", reportFile.toAbsolutePath());
+			}
+		}
+	}
+
+	private static String measure(String title, ConfigurableApplicationContext context, UserDatasetGenerator generator,
+			ObjectMapper objectMapper, String runId) throws Exception {
+		String port = context.getEnvironment().getRequiredProperty("local.server.port");
+		try (AuthWorkloadDriver driver = new AuthWorkloadDriver("http://127.0.0.1:" + port,
+				generator, USERS, CONCURRENCY, MIX, objectMapper, runId)) {
+			driver.prepareTokens();
+			driver.run(WARMUP_SECONDS);
+			AuthWorkloadDriver.Stats total = driver.run(DURATION_SECONDS);
+
+			assertThat(total.requests()).as(title).isPositive();
+			assertThat((double) total.failed() / total.requests()).as(title).isLessThan(MAX_ERROR_RATIO);
+			return AuthWorkloadDriver.report(title, total, DURATION_SECONDS);
+		}
+	}
+}
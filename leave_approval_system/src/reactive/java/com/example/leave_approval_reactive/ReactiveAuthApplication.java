@@ -0,0 +1,37 @@
+package com.example.leave_approval_reactive;
+
+import com.example.leave_approval_system.config.JacksonConfig;
+import com.example.leave_approval_system.security.AuthCircuitBreaker;
+import com.example.leave_approval_system.security.BreachedPasswordChecker;
+import com.example.leave_approval_system.security.JwtUtil;
+import com.example.leave_approval_system.service.UserVersionCache;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 认证接口的响应式部署 (WebFlux + R2DBC)
+ * 只包含注册、登录和个人资料三个接口，与 Servlet 部署共用 DTO、JWT 签发/解析、泄露密码筛查、
+ * 用户版本缓存和同一个 MySQL 库；包名不在 LeaveApprovalSystemApplication 的扫描范围内，两者互不加载。
+ * 构建方式: mvn package -Preactive (生成 *-reactive.jar)，配置见 application-reactive.properties
+ */
+@SpringBootApplication
+@Import({JwtUtil.class, UserVersionCache.class, BreachedPasswordChecker.class, AuthCircuitBreaker.class, JacksonConfig.class})
+public class ReactiveAuthApplication {
+
+    public static void main(String[] args) {
+        builder().run(args);
+    }
+
+    /**
+     * 创建启动器 (main 与性能对比测试共用)
+     * 固定为 REACTIVE 应用类型 (类路径上同时有 Spring MVC)，并启用 reactive 配置
+     * @return SpringApplicationBuilder
+     */
+    public static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(ReactiveAuthApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive");
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.leave_approval_reactive.config;
+
+import com.example.leave_approval_reactive.repository.ReactiveUserRepository;
+import com.example.leave_approval_reactive.security.JsonErrorWriter;
+import com.example.leave_approval_reactive.security.JwtReactiveAuthenticationManager;
+import com.example.leave_approval_reactive.security.LoginIdentifierUserDetailsService;
+import com.example.leave_approval_system.config.SecurityConfig;
+import com.example.leave_approval_system.constant.SecurityConstants;
+import com.example.leave_approval_system.security.AuthenticationUnavailableException;
+import com.example.leave_approval_system.security.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.NegatedServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 响应式部署的安全配置 (对应 Servlet 部署的 SecurityConfig)
+ * 无状态 JWT 认证、相同的 CORS 规则和放行路径；BCrypt 校验与编码在专用的有界线程池上执行，不占用事件循环线程。
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    /**
+     * BCrypt 专用线程池
+     * 线程数默认等于 CPU 核数 (BCrypt 是纯计算)；排队任务超过 queue-size 时立即拒绝，登录/注册返回 503
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler bcryptScheduler(@Value("${app.reactive.bcrypt.threads:0}") int threads,
+                                     @Value("${app.reactive.bcrypt.queue-size:1024}") int queueSize) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newBoundedElastic(poolSize, queueSize, "bcrypt");
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    /**
+     * 登录用的认证管理器: 按登录标识加载用户，在 BCrypt 线程池上比对密码
+     */
+    @Bean
+    public UserDetailsRepositoryReactiveAuthenticationManager loginAuthenticationManager(
+            LoginIdentifierUserDetailsService userDetailsService, PasswordEncoder passwordEncoder, Scheduler bcryptScheduler) {
+        UserDetailsRepositoryReactiveAuthenticationManager manager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        manager.setPasswordEncoder(passwordEncoder);
+        manager.setScheduler(bcryptScheduler);
+        return manager;
+    }
+
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", SecurityConfig.defaultApiCorsConfiguration());
+        return source;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         JwtUtil jwtUtil,
+                                                         ReactiveUserRepository userRepository,
+                                                         JsonErrorWriter errorWriter) {
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(new JwtReactiveAuthenticationManager(jwtUtil, userRepository));
+        jwtFilter.setServerAuthenticationConverter(JwtReactiveAuthenticationManager.BEARER_CONVERTER);
+        jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        jwtFilter.setRequiresAuthenticationMatcher(new NegatedServerWebExchangeMatcher(
+                ServerWebExchangeMatchers.pathMatchers(SecurityConstants.REGISTER_PATH, SecurityConstants.LOGIN_PATH)));
+        jwtFilter.setAuthenticationFailureHandler((webFilterExchange, exception) ->
+                exception instanceof AuthenticationUnavailableException
+                        ? errorWriter.write(webFilterExchange.getExchange(), HttpStatus.SERVICE_UNAVAILABLE, "认证服务暂时不可用，请稍后重试")
+                        : errorWriter.write(webFilterExchange.getExchange(), HttpStatus.UNAUTHORIZED, "访问未授权: " + exception.getMessage()));
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance()) // 无状态，不创建会话
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint((exchange, e) ->
+                                errorWriter.write(exchange, HttpStatus.UNAUTHORIZED, "访问未授权: " + e.getMessage()))
+                        .accessDeniedHandler((exchange, e) ->
+                                errorWriter.write(exchange, HttpStatus.FORBIDDEN, "权限不足: 您没有权限访问此资源")))
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .pathMatchers(SecurityConstants.REGISTER_PATH, SecurityConstants.LOGIN_PATH).permitAll()
+                        .pathMatchers(SecurityConstants.HEALTH_PATH).permitAll()
+                        .anyExchange().authenticated())
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
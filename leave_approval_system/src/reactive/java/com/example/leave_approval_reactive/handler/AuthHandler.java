@@ -0,0 +1,163 @@
+package com.example.leave_approval_reactive.handler;
+
+import com.example.leave_approval_reactive.service.ReactiveAuthService;
+import com.example.leave_approval_system.dto.ApiResponse;
+import com.example.leave_approval_system.dto.LoginRequest;
+import com.example.leave_approval_system.dto.RegisterRequest;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.security.AuthenticationUnavailableException;
+import com.example.leave_approval_system.service.UserVersionCache;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 认证接口的函数式处理器 (对应 Servlet 部署的 AuthController 的 register/login/profile)
+ * 状态码、消息和响应体格式与 AuthController、GlobalExceptionHandler 保持一致，前端无需区分部署方式。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthHandler {
+
+    // 个人资料只允许客户端私有缓存，且每次使用前必须用 ETag 重新验证
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final ReactiveAuthService authService;
+    private final UserVersionCache userVersionCache;
+    private final Validator validator;
+
+    /**
+     * POST /api/auth/register
+     */
+    public Mono<ServerResponse> register(ServerRequest request) {
+        return request.bodyToMono(RegisterRequest.class)
+                .flatMap(body -> {
+                    Map<String, String> errors = validate(body);
+                    if (!errors.isEmpty()) {
+                        return badRequest(errors);
+                    }
+                    return authService.register(body)
+                            .then(ServerResponse.status(HttpStatus.CREATED)
+                                    .bodyValue(ApiResponse.success("用户注册成功！", null)))
+                            .onErrorResume(this::registerFailed);
+                })
+                .switchIfEmpty(missingBody());
+    }
+
+    /**
+     * POST /api/auth/login
+     */
+    public Mono<ServerResponse> login(ServerRequest request) {
+        return request.bodyToMono(LoginRequest.class)
+                .flatMap(body -> {
+                    Map<String, String> errors = validate(body);
+                    if (!errors.isEmpty()) {
+                        return badRequest(errors);
+                    }
+                    return authService.login(body)
+                            .flatMap(authResponse -> ServerResponse.ok().bodyValue(ApiResponse.success("登录成功", authResponse)))
+                            .onErrorResume(this::loginFailed);
+                })
+                .switchIfEmpty(missingBody());
+    }
+
+    /**
+     * GET /api/auth/profile (需要有效 JWT)
+     * 支持基于 ETag 的条件 GET：If-None-Match 命中时直接返回 304，不构建响应体
+     */
+    public Mono<ServerResponse> profile(ServerRequest request) {
+        return request.principal()
+                .cast(Authentication.class)
+                .map(Authentication::getPrincipal)
+                .cast(User.class)
+                .flatMap(user -> {
+                    String etag = userVersionCache.get(user.getUsername())
+                            .orElseGet(() -> userVersionCache.record(user))
+                            .etag();
+                    if (UserVersionCache.matches(request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag)
+                                .cacheControl(PROFILE_CACHE_CONTROL)
+                                .build();
+                    }
+                    Map<String, Object> userInfo = new HashMap<>();
+                    userInfo.put("username", user.getUsername());
+                    userInfo.put("roles", Role.fromMask(user.getRoleMask()));
+                    return ServerResponse.ok()
+                            .eTag(etag)
+                            .cacheControl(PROFILE_CACHE_CONTROL)
+                            .bodyValue(ApiResponse.success("成功访问受保护的资源", userInfo));
+                })
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                        .bodyValue(ApiResponse.error(401, "需要认证"))));
+    }
+
+    private Mono<ServerResponse> registerFailed(Throwable e) {
+        if (e instanceof IllegalArgumentException) {
+            // 用户名格式、手机号格式、泄露密码、唯一约束冲突
+            log.warn("注册失败: {}", e.getMessage());
+            return ServerResponse.badRequest().bodyValue(ApiResponse.error(400, e.getMessage()));
+        }
+        if (e instanceof RejectedExecutionException) {
+            return busy();
+        }
+        log.error("注册过程中发生未知错误: {}", e.getMessage(), e);
+        return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .bodyValue(ApiResponse.error("注册失败，发生内部错误，请稍后重试。"));
+    }
+
+    private Mono<ServerResponse> loginFailed(Throwable e) {
+        if (e instanceof BadCredentialsException) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).bodyValue(ApiResponse.error(401, "用户名或密码错误"));
+        }
+        if (e instanceof AuthenticationUnavailableException || e instanceof RejectedExecutionException) {
+            return busy();
+        }
+        log.error("登录过程中发生未知错误: {}", e.getMessage(), e);
+        return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .bodyValue(ApiResponse.error("登录失败，发生内部错误，请稍后重试。"));
+    }
+
+    /**
+     * 按字段收集 Bean Validation 错误 (与 GlobalExceptionHandler 的 MethodArgumentNotValidException 处理格式相同)
+     */
+    private <T> Map<String, String> validate(T body) {
+        Set<ConstraintViolation<T>> violations = validator.validate(body);
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<T> violation : violations) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    private static Mono<ServerResponse> badRequest(Map<String, String> errors) {
+        return ServerResponse.badRequest().bodyValue(ApiResponse.error(400, "输入数据校验失败", errors));
+    }
+
+    private static Mono<ServerResponse> missingBody() {
+        return Mono.defer(() -> ServerResponse.badRequest().bodyValue(ApiResponse.error(400, "请求体不能为空")));
+    }
+
+    // 数据库不可用或 BCrypt 线程池排队已满: 快速返回 503，客户端稍后重试
+    private static Mono<ServerResponse> busy() {
+        return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .bodyValue(ApiResponse.error(503, "认证服务暂时不可用，请稍后重试"));
+    }
+}
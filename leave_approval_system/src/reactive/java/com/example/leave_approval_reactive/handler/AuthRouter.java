@@ -0,0 +1,25 @@
+package com.example.leave_approval_reactive.handler;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * 认证接口路由 (路径与 Servlet 部署的 AuthController 相同)
+ */
+@Configuration
+public class AuthRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> authRoutes(AuthHandler authHandler) {
+        return route()
+                .path("/api/auth", builder -> builder
+                        .POST("/register", authHandler::register)
+                        .POST("/login", authHandler::login)
+                        .GET("/profile", authHandler::profile))
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.leave_approval_reactive.repository;
+
+import com.example.leave_approval_system.invalidation.ChangeKind;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.security.AuthCircuitBreaker;
+import com.example.leave_approval_system.security.AuthenticationUnavailableException;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 用户表的 R2DBC 访问 (响应式认证部署使用)
+ * 认证查询与 Servlet 部署的 UserRepository.findAuthBy* 读取相同的列，按用户名查询由覆盖索引 idx_users_auth 满足；
+ * 认证路径上的查询经过 AuthCircuitBreaker，熔断器打开时立即失败，不占用连接池。
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    private static final String AUTH_COLUMNS =
+            "SELECT u.id, u.username, u.password_hash, u.role_mask, u.updated_at, u.nationality FROM users u ";
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (username, password_hash, email, phone_number, email_normalized, phone_e164, birth_date, "
+                    + "avatar_url, nationality, address, social_qq, social_wechat, role_mask, created_at, updated_at) "
+                    + "VALUES (:username, :password, :email, :phoneNumber, :emailNormalized, :phoneE164, :birthDate, "
+                    + ":avatarUrl, :nationality, :address, :socialQq, :socialWechat, :roleMask, :createdAt, :updatedAt)";
+
+    private static final String INSERT_CHANGE_SQL =
+            "INSERT INTO cache_changes (kind, cache_key, created_at) VALUES (:kind, :cacheKey, CURRENT_TIMESTAMP(3))";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final AuthCircuitBreaker circuitBreaker;
+
+    /**
+     * 按用户名加载认证主体
+     * @param username 用户名
+     * @return 用户 (只含认证列)，不存在时为空
+     */
+    public Mono<User> findAuthByUsername(String username) {
+        return findAuth("u.username = :value", username);
+    }
+
+    /**
+     * 按规范化邮箱加载认证主体
+     * @param emailNormalized 小写邮箱 (见 LoginIdentifier.normalizeEmail)
+     * @return 用户 (只含认证列)，不存在时为空
+     */
+    public Mono<User> findAuthByEmailNormalized(String emailNormalized) {
+        return findAuth("u.email_normalized = :value", emailNormalized);
+    }
+
+    /**
+     * 按 E.164 手机号加载认证主体
+     * @param phoneE164 E.164 格式手机号 (见 LoginIdentifier.normalizePhone)
+     * @return 用户 (只含认证列)，不存在时为空
+     */
+    public Mono<User> findAuthByPhoneE164(String phoneE164) {
+        return findAuth("u.phone_e164 = :value", phoneE164);
+    }
+
+    /**
+     * 按 Token 的主题加载认证主体，同一条查询排除已注销的 Token
+     * 响应式部署不运行缓存变更轮询，没有内存中的注销集合，注销检查随用户查询一起走 revoked_tokens 主键
+     * @param username Token 主题 (用户名)
+     * @param tokenId Token ID (jti)，注销功能上线前签发的 Token 没有，此时不做注销检查
+     * @return 用户 (只含认证列)，用户不存在或 Token 已注销时为空
+     */
+    public Mono<User> findAuthByUsernameForToken(String username, String tokenId) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(AUTH_COLUMNS + "WHERE u.username = :username "
+                        + "AND NOT EXISTS (SELECT 1 FROM revoked_tokens r WHERE r.token_id = :tokenId)")
+                .bind("username", username);
+        spec = tokenId != null ? spec.bind("tokenId", tokenId) : spec.bindNull("tokenId", String.class);
+        return guard(spec.map(ReactiveUserRepository::toAuthUser).one());
+    }
+
+    /**
+     * 插入新用户并在同一事务中写入缓存变更日志 (Servlet 部署的各节点据此把新用户加入目录索引)
+     * @param user 待插入的用户 (id 为空)
+     * @return 带有生成 ID 的同一用户对象
+     * @throws DataIntegrityViolationException 用户名、邮箱或手机号唯一约束冲突时
+     */
+    public Mono<User> insert(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_USER_SQL)
+                .bind("username", user.getUsername())
+                .bind("password", user.getPassword())
+                .bind("roleMask", user.getRoleMask())
+                .bind("createdAt", now)
+                .bind("updatedAt", now);
+        spec = bindNullable(spec, "email", user.getEmail(), String.class);
+        spec = bindNullable(spec, "phoneNumber", user.getPhoneNumber(), String.class);
+        spec = bindNullable(spec, "emailNormalized", user.getEmailNormalized(), String.class);
+        spec = bindNullable(spec, "phoneE164", user.getPhoneE164(), String.class);
+        spec = bindNullable(spec, "birthDate", user.getBirthDate(), LocalDate.class);
+        spec = bindNullable(spec, "avatarUrl", user.getAvatarUrl(), String.class);
+        spec = bindNullable(spec, "nationality", user.getNationality(), String.class);
+        spec = bindNullable(spec, "address", user.getAddress(), String.class);
+        spec = bindNullable(spec, "socialQq", user.getSocialQq(), String.class);
+        spec = bindNullable(spec, "socialWechat", user.getSocialWechat(), String.class);
+
+        Mono<User> insert = spec.filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(id -> {
+                    user.setId(id);
+                    return databaseClient.sql(INSERT_CHANGE_SQL)
+                            .bind("kind", ChangeKind.USER.name())
+                            .bind("cacheKey", user.getUsername())
+                            .fetch()
+                            .rowsUpdated()
+                            .thenReturn(user);
+                });
+        return transactionalOperator.transactional(insert);
+    }
+
+    private Mono<User> findAuth(String condition, String value) {
+        return guard(databaseClient.sql(AUTH_COLUMNS + "WHERE " + condition)
+                .bind("value", value)
+                .map(ReactiveUserRepository::toAuthUser)
+                .one());
+    }
+
+    /**
+     * 让认证查询经过熔断器: 打开时不访问数据库，直接以 AuthenticationUnavailableException 失败；
+     * 数据访问异常计入失败次数后同样转为 AuthenticationUnavailableException (由调用方返回 503)
+     */
+    private Mono<User> guard(Mono<User> query) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.allowRequest()) {
+                return Mono.error(new AuthenticationUnavailableException("认证数据库不可用 (熔断器打开)"));
+            }
+            return query
+                    .doOnSuccess(user -> circuitBreaker.onSuccess())
+                    .onErrorMap(DataAccessException.class, e -> {
+                        circuitBreaker.onFailure();
+                        return new AuthenticationUnavailableException("认证数据库不可用", e);
+                    });
+        });
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                      String name, T value, Class<T> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static User toAuthUser(Readable row) {
+        Integer roleMask = row.get("role_mask", Integer.class);
+        return new User(row.get("id", Long.class), row.get("username", String.class), row.get("password_hash", String.class),
+                roleMask != null ? roleMask : 0, row.get("updated_at", LocalDateTime.class), row.get("nationality", String.class));
+    }
+}
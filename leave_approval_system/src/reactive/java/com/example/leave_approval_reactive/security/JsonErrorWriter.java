@@ -0,0 +1,45 @@
+package com.example.leave_approval_reactive.security;
+
+import com.example.leave_approval_system.dto.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 在安全过滤链中直接写出 ApiResponse 格式的错误响应 (对应 Servlet 部署的 JwtAuthenticationEntryPoint/JwtAccessDeniedHandler)
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonErrorWriter {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 写出错误响应
+     * @param exchange 当前请求
+     * @param status HTTP 状态码 (同时作为 ApiResponse.code)
+     * @param message 错误信息
+     * @return 写出完成信号
+     */
+    public Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(ApiResponse.error(status.value(), message));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.leave_approval_reactive.security;
+
+import com.example.leave_approval_reactive.repository.ReactiveUserRepository;
+import com.example.leave_approval_system.constant.SecurityConstants;
+import com.example.leave_approval_system.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * 响应式部署的 JWT 认证 (对应 Servlet 部署的 JwtRequestFilter)
+ * 验签和过期检查在内存中完成，之后一条查询同时加载用户并排除已注销的 Token；
+ * Token 携带用户 ID 声明时，还要求与当前同名用户的 ID 一致 (用户删除后同名重新注册的账号不能沿用旧 Token)。
+ * 不注册为 Bean: 容器中唯一的 ReactiveAuthenticationManager 是登录用的那个 (见 ReactiveSecurityConfig)
+ */
+@RequiredArgsConstructor
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtUtil jwtUtil;
+    private final ReactiveUserRepository userRepository;
+
+    /**
+     * 从 Authorization 请求头提取 Bearer Token 的转换器，没有 Token 时为空 (请求按匿名继续，由授权规则返回 401)
+     */
+    public static final ServerAuthenticationConverter BEARER_CONVERTER = exchange -> {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(SecurityConstants.TOKEN_PREFIX)) {
+            return Mono.empty();
+        }
+        return Mono.just(new BearerToken(header.substring(SecurityConstants.TOKEN_PREFIX.length())));
+    };
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String token = (String) authentication.getCredentials();
+        Claims claims;
+        Long userId;
+        try {
+            claims = jwtUtil.extractClaim(token, Function.identity());
+            userId = claims.get(JwtUtil.CLAIM_USER_ID, Long.class);
+        } catch (ExpiredJwtException e) {
+            return Mono.error(new BadCredentialsException("Token 已过期"));
+        } catch (UnsupportedJwtException e) {
+            return Mono.error(new BadCredentialsException("Token 不被支持"));
+        } catch (MalformedJwtException e) {
+            return Mono.error(new BadCredentialsException("Token 格式无效"));
+        } catch (SignatureException e) {
+            return Mono.error(new BadCredentialsException("签名无效"));
+        } catch (JwtException e) {
+            // 其他解析失败 (例如 Token 尚未生效、用户 ID 声明类型不符)：同样按 401 处理，而不是作为未处理异常返回 500
+            return Mono.error(new BadCredentialsException("Token 无效"));
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new BadCredentialsException("Token 参数非法"));
+        }
+
+        return userRepository.findAuthByUsernameForToken(claims.getSubject(), claims.getId())
+                .filter(user -> userId == null || userId.equals(user.getId()))
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Token 已注销或用户不存在")))
+                .map(user -> UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    }
+
+    /**
+     * 尚未验证的 Bearer Token
+     */
+    static final class BearerToken extends AbstractAuthenticationToken {
+
+        private final String token;
+
+        BearerToken(String token) {
+            super(AuthorityUtils.NO_AUTHORITIES);
+            this.token = token;
+        }
+
+        @Override
+        public Object getCredentials() {
+            return token;
+        }
+
+        @Override
+        public Object getPrincipal() {
+            return token;
+        }
+    }
+}
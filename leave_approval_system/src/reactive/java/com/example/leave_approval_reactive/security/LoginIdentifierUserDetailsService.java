@@ -0,0 +1,38 @@
+package com.example.leave_approval_reactive.security;
+
+import com.example.leave_approval_reactive.repository.ReactiveUserRepository;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.security.LoginIdentifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * 登录用的响应式用户加载 (登录名可以是用户名、邮箱或手机号，与 UserDetailsServiceImpl.loadUserByLoginIdentifier 一致)
+ * 用户不存在时返回空，由 UserDetailsRepositoryReactiveAuthenticationManager 转为 BadCredentialsException
+ */
+@Service
+@RequiredArgsConstructor
+public class LoginIdentifierUserDetailsService implements ReactiveUserDetailsService {
+
+    private final ReactiveUserRepository userRepository;
+
+    @Value("${app.auth.default-calling-code:86}")
+    private String defaultCallingCode;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String login) {
+        LoginIdentifier identifier = LoginIdentifier.classify(login, defaultCallingCode);
+        Mono<User> user = switch (identifier.type()) {
+            case EMAIL -> userRepository.findAuthByEmailNormalized(identifier.value());
+            case PHONE -> userRepository.findAuthByPhoneE164(identifier.value());
+            case USERNAME -> Mono.empty();
+        };
+        // 用户名直接查；按邮箱或手机号未找到时也再按用户名查一次 (限制用户名格式之前注册的用户名可能含 "@" 或是一串数字)
+        return user.switchIfEmpty(Mono.defer(() -> userRepository.findAuthByUsername(login.trim())))
+                .cast(UserDetails.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.leave_approval_reactive.service;
+
+import com.example.leave_approval_reactive.repository.ReactiveUserRepository;
+import com.example.leave_approval_system.dto.AuthResponse;
+import com.example.leave_approval_system.dto.LoginRequest;
+import com.example.leave_approval_system.dto.RegisterRequest;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.security.BreachedPasswordChecker;
+import com.example.leave_approval_system.security.JwtUtil;
+import com.example.leave_approval_system.security.LoginIdentifier;
+import com.example.leave_approval_system.service.UserVersionCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * 响应式部署的注册与登录 (规则与 Servlet 部署的 AuthService 一致)
+ * 数据库访问全部非阻塞；BCrypt 编码与比对在 bcryptScheduler 上执行。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAuthService {
+
+    private final ReactiveUserRepository userRepository;
+    private final UserDetailsRepositoryReactiveAuthenticationManager loginAuthenticationManager;
+    private final PasswordEncoder passwordEncoder;
+    private final Scheduler bcryptScheduler;
+    private final JwtUtil jwtUtil;
+    private final BreachedPasswordChecker breachedPasswordChecker;
+    private final UserVersionCache userVersionCache;
+
+    @Value("${app.auth.default-calling-code:86}")
+    private String defaultCallingCode;
+
+    /**
+     * 注册新用户
+     * @param request 已通过 Bean Validation 校验的注册信息
+     * @return 保存后的用户
+     * 失败信号: IllegalArgumentException (用户名格式、手机号格式、泄露密码、用户名/邮箱/手机号已被占用)；
+     * 线程池排队已满时为 RejectedExecutionException
+     */
+    public Mono<User> register(RegisterRequest request) {
+        return Mono.fromCallable(() -> toUser(request))
+                .publishOn(bcryptScheduler)
+                .map(user -> {
+                    user.setPassword(passwordEncoder.encode(request.getPassword()));
+                    return user;
+                })
+                .flatMap(userRepository::insert)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new IllegalArgumentException("注册失败: 用户名、邮箱或手机号已被占用", e))
+                .doOnNext(user -> {
+                    userVersionCache.record(user);
+                    log.info("用户 '{}' (ID: {}) 注册成功", user.getUsername(), user.getId());
+                });
+    }
+
+    /**
+     * 登录 (登录名可以是用户名、邮箱或手机号)
+     * @param request 登录凭证
+     * @return 包含 JWT Token 和用户名的 AuthResponse
+     * 失败信号: BadCredentialsException (用户名或密码错误)、AuthenticationUnavailableException (数据库不可用)；
+     * 线程池排队已满时为 RejectedExecutionException
+     */
+    public Mono<AuthResponse> login(LoginRequest request) {
+        return loginAuthenticationManager
+                .authenticate(UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()))
+                .map(authentication -> {
+                    UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+                    return new AuthResponse(jwtUtil.generateToken(userDetails), userDetails.getUsername(), "Bearer");
+                });
+    }
+
+    /**
+     * 校验注册规则并创建待保存的用户 (密码尚未编码)
+     */
+    private User toUser(RegisterRequest request) {
+        // 用户名不能是邮箱或手机号格式，否则登录时无法区分标识类型
+        if (LoginIdentifier.classify(request.getUsername(), defaultCallingCode).type() != LoginIdentifier.Type.USERNAME) {
+            throw new IllegalArgumentException("注册失败: 用户名不能是邮箱或手机号格式");
+        }
+        String phoneE164 = LoginIdentifier.normalizePhone(request.getPhoneNumber(), defaultCallingCode);
+        if (request.getPhoneNumber() != null && !request.getPhoneNumber().isBlank() && phoneE164 == null) {
+            throw new IllegalArgumentException("注册失败: 手机号格式无效");
+        }
+        // 在哈希之前筛查：泄露库查找是微秒级，BCrypt 编码要几十毫秒
+        if (breachedPasswordChecker.isBreached(request.getPassword())) {
+            throw new IllegalArgumentException("注册失败: 该密码已出现在公开泄露的密码库中，请更换密码");
+        }
+
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setEmail(request.getEmail());
+        user.setPhoneNumber(request.getPhoneNumber());
+        user.setEmailNormalized(LoginIdentifier.normalizeEmail(request.getEmail()));
+        user.setPhoneE164(phoneE164);
+        user.setBirthDate(request.getBirthDate());
+        user.setAvatarUrl(request.getAvatarUrl());
+        user.setNationality(request.getNationality());
+        user.setAddress(request.getAddress());
+        user.setSocialQq(request.getSocialQq());
+        user.setSocialWechat(request.getSocialWechat());
+        return user;
+    }
+}
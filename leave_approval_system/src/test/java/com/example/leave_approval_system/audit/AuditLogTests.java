@@ -0,0 +1,67 @@
+package com.example.leave_approval_system.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void writtenEventsReplayInOrderAcrossSegments() throws Exception {
+		List<AuditEvent> written = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			written.add(new AuditEvent(i, AuditEventType.values()[i % AuditEventType.values().length],
+					"user" + i, "127.0.0.1", i % 2 == 0 ? null : "x".repeat(1000) + i));
+		}
+		// 段大小只够容纳少量帧，强制发生轮转
+		try (AuditSegmentWriter writer = new AuditSegmentWriter(directory, AuditEventCodec.MAX_FRAME_BYTES * 4)) {
+			writer.append(written);
+			writer.flush();
+		}
+
+		List<AuditEvent> replayed = new ArrayList<>();
+		AuditLogReader.replay(directory, replayed::add);
+
+		assertThat(AuditLogReader.listSegments(directory)).hasSizeGreaterThan(1);
+		assertThat(replayed).containsExactlyElementsOf(written);
+	}
+
+	@Test
+	void reopenedWriterAppendsAfterExistingFrames() throws Exception {
+		AuditEvent first = new AuditEvent(1L, AuditEventType.LOGIN_SUCCESS, "alice", null, null);
+		AuditEvent second = new AuditEvent(2L, AuditEventType.LOGIN_FAILURE, "bob", null, "错误的凭证");
+		try (AuditSegmentWriter writer = new AuditSegmentWriter(directory, 1 << 20)) {
+			writer.append(List.of(first));
+		}
+		try (AuditSegmentWriter writer = new AuditSegmentWriter(directory, 1 << 20)) {
+			writer.append(List.of(second));
+		}
+
+		List<AuditEvent> replayed = new ArrayList<>();
+		AuditLogReader.replay(directory, replayed::add);
+
+		assertThat(replayed).containsExactly(first, second);
+	}
+
+	@Test
+	void ringBufferRejectsWhenFullAndDrainsInOrder() {
+		AuditRingBuffer buffer = new AuditRingBuffer(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(buffer.offer(new AuditEvent(i, AuditEventType.REGISTER, null, null, null))).isTrue();
+		}
+		assertThat(buffer.offer(new AuditEvent(4, AuditEventType.REGISTER, null, null, null))).isFalse();
+
+		List<AuditEvent> drained = new ArrayList<>();
+		assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+		assertThat(drained).extracting(AuditEvent::timestamp).containsExactly(0L, 1L, 2L, 3L);
+		assertThat(buffer.isEmpty()).isTrue();
+	}
+}
@@ -0,0 +1,138 @@
+package com.example.leave_approval_system.idempotency;
+
+import com.example.leave_approval_system.config.ApiResponseJsonWriter;
+import com.example.leave_approval_system.security.RouteClassifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTests {
+
+	private final AtomicInteger executions = new AtomicInteger();
+
+	private final IdempotencyFilter filter = new IdempotencyFilter(new InMemoryIdempotencyStore(100),
+			new RouteClassifier(), new ApiResponseJsonWriter(new ObjectMapper().findAndRegisterModules()),
+			60_000, 1024, 5_000);
+
+	@Test
+	void replaysCompletedResponseWithoutExecutingAgain() throws Exception {
+		FilterChain chain = created();
+
+		MockHttpServletResponse first = send("key-1", "{\"username\":\"alice\"}", chain);
+		MockHttpServletResponse second = send("key-1", "{\"username\":\"alice\"}", chain);
+
+		assertThat(executions).hasValue(1);
+		assertThat(second.getStatus()).isEqualTo(201);
+		assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+		assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+		assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+	}
+
+	@Test
+	void rejectsKeyReusedForDifferentRequest() throws Exception {
+		FilterChain chain = created();
+
+		send("key-2", "{\"username\":\"alice\"}", chain);
+		MockHttpServletResponse reused = send("key-2", "{\"username\":\"bob\"}", chain);
+
+		assertThat(executions).hasValue(1);
+		assertThat(reused.getStatus()).isEqualTo(422);
+	}
+
+	@Test
+	void doesNotRememberServerErrors() throws Exception {
+		FilterChain failing = (req, res) -> {
+			executions.incrementAndGet();
+			((HttpServletResponse) res).setStatus(503);
+		};
+
+		send("key-3", "{}", failing);
+		send("key-3", "{}", failing);
+
+		assertThat(executions).hasValue(2);
+	}
+
+	@Test
+	void concurrentDuplicateWaitsForInFlightExecution() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		FilterChain slow = (req, res) -> {
+			entered.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			created().doFilter(req, res);
+		};
+
+		CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> sendUnchecked(slow));
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(() -> sendUnchecked(slow));
+		Thread.sleep(100);
+		release.countDown();
+
+		assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+		assertThat(duplicate.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+		assertThat(executions).hasValue(1);
+	}
+
+	@Test
+	void doesNotApplyToTokenEndpoints() throws Exception {
+		FilterChain chain = created();
+
+		for (String path : new String[] {"/api/auth/login", "/api/auth/logout", "/api/auth/introspect"}) {
+			executions.set(0);
+			send(path, "key-5", "{\"username\":\"alice\"}", chain);
+			MockHttpServletResponse second = send(path, "key-5", "{\"username\":\"alice\"}", chain);
+
+			assertThat(executions).hasValue(2);
+			assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+		}
+	}
+
+	private FilterChain created() {
+		return (req, res) -> {
+			executions.incrementAndGet();
+			byte[] body = req.getInputStream().readAllBytes();
+			HttpServletResponse http = (HttpServletResponse) res;
+			http.setStatus(201);
+			http.setContentType("application/json");
+			http.getOutputStream().write(("{\"code\":201,\"echo\":" + new String(body, StandardCharsets.UTF_8) + "}")
+					.getBytes(StandardCharsets.UTF_8));
+		};
+	}
+
+	private MockHttpServletResponse sendUnchecked(FilterChain chain) {
+		try {
+			return send("key-4", "{}", chain);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+		return send("/api/auth/register", key, body, chain);
+	}
+
+	private MockHttpServletResponse send(String path, String key, String body, FilterChain chain) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+		request.addHeader(IdempotencyFilter.HEADER, key);
+		request.setContentType("application/json");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+}
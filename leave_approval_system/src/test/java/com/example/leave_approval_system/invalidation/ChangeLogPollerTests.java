@@ -0,0 +1,140 @@
+package com.example.leave_approval_system.invalidation;
+
+import com.example.leave_approval_system.model.RevokedToken;
+import com.example.leave_approval_system.repository.RevokedTokenRepository;
+import com.example.leave_approval_system.security.RevokedTokenCache;
+import com.example.leave_approval_system.service.UserDetailsCache;
+import com.example.leave_approval_system.service.UserDirectoryIndex;
+import com.example.leave_approval_system.service.UserVersionCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeLogPollerTests {
+
+	private JdbcTemplate jdbcTemplate;
+	private CacheInvalidator cacheInvalidator;
+	private RevokedTokenCache revokedTokenCache;
+	private RevokedTokenRepository revokedTokenRepository;
+	private SimpleMeterRegistry meterRegistry;
+	private final List<CacheChangeEvent> applied = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:changes-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE cache_changes (version BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+				+ "kind VARCHAR(16) NOT NULL, cache_key VARCHAR(191) NOT NULL, created_at TIMESTAMP(3) NOT NULL)");
+		cacheInvalidator = mock(CacheInvalidator.class);
+		doAnswer(invocation -> {
+			Collection<CacheChangeEvent> changes = invocation.getArgument(0);
+			applied.addAll(changes);
+			return null;
+		}).when(cacheInvalidator).apply(any());
+		revokedTokenCache = new RevokedTokenCache(3_600_000L);
+		revokedTokenRepository = mock(RevokedTokenRepository.class);
+		when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+	}
+
+	@Test
+	void appliesVersionsThatCommitLateOnceTheGapIsFilled() {
+		ChangeLogPoller poller = poller(5_000);
+		poller.poll();
+		insert(1, ChangeKind.USER, "alice");
+		insert(2, ChangeKind.TOKEN, "t1");
+		insert(5, ChangeKind.USER, "bob");
+
+		poller.poll();
+
+		assertThat(applied).containsExactly(user("alice"), token("t1"), user("bob"));
+		assertThat(gaps()).isEqualTo(2);
+
+		applied.clear();
+		insert(3, ChangeKind.TOKEN, "t3");
+		poller.poll();
+
+		assertThat(applied).containsExactly(token("t3"));
+		assertThat(gaps()).isEqualTo(1);
+	}
+
+	@Test
+	void tracksOnlyTheVersionsJustBeforeARowFarAheadOfTheCursor() {
+		ChangeLogPoller poller = poller(5_000);
+		poller.poll(); // 日志为空，游标同步为 0
+		insert(5_000_000, ChangeKind.USER, "alice");
+
+		poller.poll();
+
+		assertThat(applied).containsExactly(user("alice"));
+		assertThat(gaps()).isEqualTo(1000);
+	}
+
+	@Test
+	void resyncReplacesTheRevokedTokenSet() {
+		revokedTokenCache.revoke("purged");
+		when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class)))
+				.thenReturn(List.of(new RevokedToken("t9", LocalDateTime.now().plusHours(1))));
+
+		poller(5_000).poll();
+
+		assertThat(revokedTokenCache.isRevoked("t9")).isTrue();
+		assertThat(revokedTokenCache.isRevoked("purged")).isFalse();
+	}
+
+	@Test
+	void revocationsBecomeStaleWhenPollingFailsPastMaxStaleness() throws Exception {
+		ChangeLogPoller poller = poller(50);
+		assertThat(revokedTokenCache.isStale()).isTrue(); // 首次轮询前不信任注销集合
+
+		poller.poll();
+		assertThat(revokedTokenCache.isStale()).isFalse();
+		long syncedAt = revokedTokenCache.lastSyncedMillis();
+		assertThat(syncedAt).isPositive();
+
+		jdbcTemplate.execute("DROP TABLE cache_changes");
+		Thread.sleep(100);
+		poller.poll();
+
+		assertThat(revokedTokenCache.isStale()).isTrue();
+		assertThat(revokedTokenCache.lastSyncedMillis()).isEqualTo(syncedAt); // 失败的轮询不推进同步时间
+	}
+
+	private ChangeLogPoller poller(long maxStalenessMillis) {
+		meterRegistry = new SimpleMeterRegistry();
+		return new ChangeLogPoller(jdbcTemplate, cacheInvalidator, mock(UserDetailsCache.class),
+				mock(UserVersionCache.class), mock(UserDirectoryIndex.class), revokedTokenCache, revokedTokenRepository,
+				meterRegistry, 500, maxStalenessMillis, 30_000, 86_400_000, 1_000);
+	}
+
+	private void insert(long version, ChangeKind kind, String key) {
+		jdbcTemplate.update("INSERT INTO cache_changes (version, kind, cache_key, created_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP(3))",
+				version, kind.name(), key);
+	}
+
+	private double gaps() {
+		return meterRegistry.get("cache.invalidation.gaps").gauge().value();
+	}
+
+	private static CacheChangeEvent user(String username) {
+		return new CacheChangeEvent(ChangeKind.USER, username);
+	}
+
+	private static CacheChangeEvent token(String tokenId) {
+		return new CacheChangeEvent(ChangeKind.TOKEN, tokenId);
+	}
+}
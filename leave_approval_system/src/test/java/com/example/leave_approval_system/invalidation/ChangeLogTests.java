@@ -0,0 +1,85 @@
+package com.example.leave_approval_system.invalidation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ChangeLogTests {
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final CacheInvalidator cacheInvalidator = mock(CacheInvalidator.class);
+	private final ChangeLog changeLog = new ChangeLog(jdbcTemplate, cacheInvalidator);
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void writesAndAppliesImmediatelyWithoutATransaction() {
+		changeLog.record(ChangeKind.USER, "alice");
+
+		assertThat(insertedRows(1)).containsExactly(new CacheChangeEvent(ChangeKind.USER, "alice"));
+		verify(cacheInvalidator).apply(List.of(new CacheChangeEvent(ChangeKind.USER, "alice")));
+	}
+
+	@Test
+	void insertsBeforeCommitAndEvictsAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		changeLog.record(ChangeKind.USER, "alice");
+		changeLog.record(ChangeKind.USER, "alice");
+		changeLog.record(ChangeKind.TOKEN, "t1");
+		verifyNoInteractions(jdbcTemplate, cacheInvalidator);
+
+		TransactionSynchronizationUtils.triggerBeforeCommit(false);
+		assertThat(insertedRows(2)).containsExactly(
+				new CacheChangeEvent(ChangeKind.USER, "alice"), new CacheChangeEvent(ChangeKind.TOKEN, "t1"));
+		verifyNoInteractions(cacheInvalidator);
+
+		TransactionSynchronizationUtils.triggerAfterCommit();
+		TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Collection<CacheChangeEvent>> applied = ArgumentCaptor.forClass(Collection.class);
+		verify(cacheInvalidator).apply(applied.capture());
+		assertThat(applied.getValue()).containsExactly(
+				new CacheChangeEvent(ChangeKind.USER, "alice"), new CacheChangeEvent(ChangeKind.TOKEN, "t1"));
+		assertThat(TransactionSynchronizationManager.getResource(changeLog)).isNull();
+	}
+
+	@Test
+	void rollbackLeavesNoChangesAndEvictsNothing() {
+		TransactionSynchronizationManager.initSynchronization();
+		changeLog.record(ChangeKind.TOKEN, "t1");
+
+		TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		verifyNoInteractions(jdbcTemplate, cacheInvalidator);
+		assertThat(TransactionSynchronizationManager.getResource(changeLog)).isNull();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Collection<CacheChangeEvent> insertedRows(int batchSize) {
+		ArgumentCaptor<Collection<CacheChangeEvent>> rows = ArgumentCaptor.forClass(Collection.class);
+		verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), eq(batchSize), any(ParameterizedPreparedStatementSetter.class));
+		return rows.getValue();
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.leave_approval_system.notification;
+
+import com.example.leave_approval_system.model.OutboxMessage;
+import com.example.leave_approval_system.model.User;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailNotificationChannelTests {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	private EmailNotificationChannel channel;
+
+	@BeforeEach
+	void setUp() {
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("127.0.0.1");
+		mailSender.setPort(ServerSetupTest.SMTP.getPort());
+		channel = new EmailNotificationChannel(mailSender, "no-reply@leave.test", 5000);
+	}
+
+	@Test
+	void setsSmtpTimeoutsWithoutOverridingExplicitValues() {
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.getJavaMailProperties().setProperty("mail.smtp.timeout", "1000");
+
+		new EmailNotificationChannel(mailSender, "no-reply@leave.test", 5000);
+
+		assertThat(mailSender.getJavaMailProperties())
+				.containsEntry("mail.smtp.connectiontimeout", "5000")
+				.containsEntry("mail.smtp.timeout", "1000")
+				.containsEntry("mail.smtp.writetimeout", "5000");
+	}
+
+	@Test
+	void resolvesDestinationFromUserEmail() {
+		User user = new User();
+		assertThat(channel.destinationOf(user)).isNull();
+		user.setEmail("alice@example.com");
+		assertThat(channel.destinationOf(user)).isEqualTo("alice@example.com");
+	}
+
+	@Test
+	void sendsUtf8MailWithStableMessageId() throws Exception {
+		OutboxMessage message = message("leave-decision:42:APPROVED:EMAIL");
+
+		channel.send("alice@example.com", message);
+		channel.send("alice@example.com", message); // 模拟租约过期后的重发
+
+		MimeMessage[] received = greenMail.getReceivedMessages();
+		assertThat(received).hasSize(2);
+		assertThat(received[0].getSubject()).isEqualTo("请假审批结果: 已批准");
+		assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("alice@example.com");
+		assertThat(GreenMailUtil.getBody(received[0])).isNotBlank();
+		assertThat(received[0].getMessageID()).isEqualTo("<leave-decision.42.APPROVED.EMAIL@leave.test>");
+		assertThat(received[1].getMessageID()).isEqualTo(received[0].getMessageID());
+	}
+
+	private static OutboxMessage message(String dedupKey) {
+		OutboxMessage message = new OutboxMessage();
+		message.setDedupKey(dedupKey);
+		message.setChannel(NotificationChannelType.EMAIL);
+		message.setRecipientUserId(1L);
+		message.setSubject("请假审批结果: 已批准");
+		message.setBody("alice，您好：\n\n您提交的请假申请 #42 已批准。\n");
+		message.setAttempts(1);
+		return message;
+	}
+}
@@ -0,0 +1,157 @@
+package com.example.leave_approval_system.notification;
+
+import com.example.leave_approval_system.model.OutboxMessage;
+import com.example.leave_approval_system.model.OutboxStatus;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.OutboxMessageRepository;
+import com.example.leave_approval_system.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTests {
+
+	private OutboxMessageRepository outboxMessageRepository;
+	private UserRepository userRepository;
+	private RecordingChannel channel;
+	private OutboxDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		outboxMessageRepository = mock(OutboxMessageRepository.class);
+		userRepository = mock(UserRepository.class);
+		channel = new RecordingChannel();
+		dispatcher = new OutboxDispatcher(outboxMessageRepository, userRepository,
+				mock(PlatformTransactionManager.class), List.of(channel),
+				10, 3, 300_000, 1_000, 8_000, 2_000);
+
+		User alice = new User();
+		alice.setId(1L);
+		alice.setEmail("alice@example.com");
+		User bob = new User();
+		bob.setId(2L);
+		when(userRepository.findAllById(any())).thenReturn(List.of(alice, bob));
+	}
+
+	@Test
+	void backoffDoublesPerAttemptUpToTheCap() {
+		assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+		assertThat(dispatcher.backoff(2)).isEqualTo(Duration.ofSeconds(2));
+		assertThat(dispatcher.backoff(3)).isEqualTo(Duration.ofSeconds(4));
+		assertThat(dispatcher.backoff(10)).isEqualTo(Duration.ofSeconds(8));
+		assertThat(dispatcher.backoff(Integer.MAX_VALUE)).isEqualTo(Duration.ofSeconds(8));
+	}
+
+	@Test
+	void marksDeliveredMessagesSentAndMessagesWithoutDestinationSkipped() {
+		claim(message(10L, 1L, 1), message(11L, 2L, 1));
+
+		assertThat(dispatcher.dispatchBatch()).isEqualTo(2);
+
+		assertThat(channel.sentTo).containsExactly("alice@example.com");
+		verify(outboxMessageRepository).claim(eq(List.of(10L, 11L)), any(LocalDateTime.class));
+		verify(outboxMessageRepository).complete(eq(List.of(10L)), eq(OutboxStatus.SENT), any(LocalDateTime.class));
+		verify(outboxMessageRepository).complete(eq(List.of(11L)), eq(OutboxStatus.SKIPPED), any(LocalDateTime.class));
+		verify(outboxMessageRepository, never()).fail(any(), any(), any(), anyString());
+	}
+
+	@Test
+	void failedSendIsRescheduledWithBackoff() {
+		channel.failing = true;
+		claim(message(10L, 1L, 2));
+		LocalDateTime before = LocalDateTime.now();
+
+		dispatcher.dispatchBatch();
+
+		verify(outboxMessageRepository).fail(eq(10L), eq(OutboxStatus.PENDING),
+				argThat(next -> !next.isBefore(before.plusSeconds(2))),
+				eq("IllegalStateException: smtp down"));
+		verify(outboxMessageRepository, never()).complete(anyCollection(), eq(OutboxStatus.SENT), any());
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() {
+		channel.failing = true;
+		claim(message(10L, 1L, 3));
+
+		dispatcher.dispatchBatch();
+
+		verify(outboxMessageRepository).fail(eq(10L), eq(OutboxStatus.FAILED), any(LocalDateTime.class), anyString());
+	}
+
+	@Test
+	void dispatchStopsWhenBatchIsNotFull() {
+		when(outboxMessageRepository.lockDueIds(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+		dispatcher.dispatch();
+
+		verify(outboxMessageRepository).lockDueIds(any(LocalDateTime.class), eq(10));
+		verify(outboxMessageRepository, never()).claim(any(), any());
+	}
+
+	private void claim(OutboxMessage... messages) {
+		List<Long> ids = new ArrayList<>();
+		for (OutboxMessage message : messages) {
+			ids.add(message.getId());
+		}
+		when(outboxMessageRepository.lockDueIds(any(LocalDateTime.class), anyInt())).thenReturn(ids);
+		when(outboxMessageRepository.findAllById(ids)).thenReturn(List.of(messages));
+	}
+
+	private static OutboxMessage message(Long id, Long recipientUserId, int attempts) {
+		OutboxMessage message = new OutboxMessage();
+		message.setId(id);
+		message.setDedupKey("leave:" + id);
+		message.setChannel(NotificationChannelType.EMAIL);
+		message.setRecipientUserId(recipientUserId);
+		message.setSubject("请假审批通知");
+		message.setBody("您的请假已批准");
+		message.setStatus(OutboxStatus.SENDING);
+		message.setAttempts(attempts);
+		return message;
+	}
+
+	/**
+	 * 记录收件地址的邮件渠道，failing 为 true 时每次发送都抛出异常
+	 */
+	private static final class RecordingChannel implements NotificationChannel {
+
+		private final List<String> sentTo = new ArrayList<>();
+		private boolean failing;
+
+		@Override
+		public NotificationChannelType type() {
+			return NotificationChannelType.EMAIL;
+		}
+
+		@Override
+		public String destinationOf(User user) {
+			return user.getEmail();
+		}
+
+		@Override
+		public void send(String destination, OutboxMessage message) {
+			if (failing) {
+				throw new IllegalStateException("smtp down");
+			}
+			sentTo.add(destination);
+		}
+	}
+}
@@ -0,0 +1,250 @@
+package com.example.leave_approval_system.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 认证接口负载驱动 (只依赖 HTTP，Servlet 与 WebFlux 部署使用同一份负载)
+ * 以 concurrency 个线程按比例混合执行登录、携带 JWT 访问个人信息、注册和 CORS 预检，
+ * 每个线程单独记录延迟直方图，结束后合并。
+ */
+final class AuthWorkloadDriver implements AutoCloseable {
+
+	private static final String ORIGIN = "http://localhost:5173";
+
+	enum Scenario {
+		LOGIN, PROFILE, REGISTER, PREFLIGHT
+	}
+
+	/**
+	 * 一次计量的结果
+	 */
+	static final class Stats {
+		final Map<Scenario, LatencyHistogram> latencies = new EnumMap<>(Scenario.class);
+		final Map<Scenario, long[]> errors = new EnumMap<>(Scenario.class);
+
+		Stats() {
+			for (Scenario scenario : Scenario.values()) {
+				latencies.put(scenario, new LatencyHistogram());
+				errors.put(scenario, new long[1]);
+			}
+		}
+
+		void add(Stats other) {
+			for (Scenario scenario : Scenario.values()) {
+				latencies.get(scenario).add(other.latencies.get(scenario));
+				errors.get(scenario)[0] += other.errors.get(scenario)[0];
+			}
+		}
+
+		long requests() {
+			long requests = 0;
+			for (LatencyHistogram histogram : latencies.values()) {
+				requests += histogram.count();
+			}
+			return requests;
+		}
+
+		long failed() {
+			long failed = 0;
+			for (long[] count : errors.values()) {
+				failed += count[0];
+			}
+			return failed;
+		}
+	}
+
+	private final String baseUrl;
+	private final UserDatasetGenerator generator;
+	private final int users;
+	private final int concurrency;
+	private final Scenario[] mix;
+	private final ObjectMapper objectMapper;
+	private final String runId;
+	private final AtomicLong registrations = new AtomicLong();
+	private final ExecutorService workers;
+	private final HttpClient client;
+	private final List<String> tokens = new ArrayList<>();
+
+	/**
+	 * @param baseUrl 被测服务地址，如 http://127.0.0.1:8080
+	 * @param generator 已生成用户的数据集 (用于计算登录密码)
+	 * @param users 已生成的用户数
+	 * @param concurrency 并发线程数
+	 * @param mix "profile:60,login:20" 形式的场景比例
+	 * @param runId 注册用户名的前缀，多次运行之间不能重复
+	 */
+	AuthWorkloadDriver(String baseUrl, UserDatasetGenerator generator, int users, int concurrency,
+					   String mix, ObjectMapper objectMapper, String runId) {
+		this.baseUrl = baseUrl;
+		this.generator = generator;
+		this.users = users;
+		this.concurrency = concurrency;
+		this.mix = parseMix(mix);
+		this.objectMapper = objectMapper;
+		this.runId = runId;
+		this.workers = Executors.newFixedThreadPool(concurrency);
+		this.client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+	}
+
+	/**
+	 * 预先登录一组用户，PROFILE 场景从中随机取 Token
+	 */
+	void prepareTokens() throws IOException, InterruptedException {
+		for (int i = 0; i < concurrency * 4; i++) {
+			int index = ThreadLocalRandom.current().nextInt(users);
+			HttpResponse<String> response = send(post("/api/auth/login", loginBody(index)));
+			if (response.statusCode() != 200) {
+				throw new IllegalStateException("登录 " + UserDatasetGenerator.usernameOf(index) + " 失败: "
+						+ response.statusCode() + " " + response.body());
+			}
+			JsonNode json = objectMapper.readTree(response.body());
+			tokens.add(json.path("data").path("token").asText());
+		}
+	}
+
+	/**
+	 * 运行指定时长并返回计量结果 (预热时丢弃结果即可)
+	 */
+	Stats run(long seconds) throws Exception {
+		long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+		List<Future<Stats>> futures = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			futures.add(workers.submit(() -> {
+				Stats stats = new Stats();
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				while (System.nanoTime() < deadline) {
+					Scenario scenario = mix[random.nextInt(mix.length)];
+					long start = System.nanoTime();
+					boolean ok;
+					try {
+						ok = execute(scenario, random);
+					} catch (IOException e) {
+						ok = false;
+					}
+					stats.latencies.get(scenario).recordNanos(System.nanoTime() - start);
+					if (!ok) {
+						stats.errors.get(scenario)[0]++;
+					}
+				}
+				return stats;
+			}));
+		}
+		Stats total = new Stats();
+		for (Future<Stats> future : futures) {
+			total.add(future.get());
+		}
+		return total;
+	}
+
+	@Override
+	public void close() {
+		workers.shutdownNow();
+	}
+
+	private boolean execute(Scenario scenario, ThreadLocalRandom random) throws IOException, InterruptedException {
+		return switch (scenario) {
+			case LOGIN -> send(post("/api/auth/login", loginBody(random.nextInt(users)))).statusCode() == 200;
+			case PROFILE -> send(HttpRequest.newBuilder(uri("/api/auth/profile"))
+					.header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())))
+					.GET()
+					.build()).statusCode() == 200;
+			case REGISTER -> {
+				String username = "perf_reg_" + runId + "_" + registrations.incrementAndGet();
+				String body = "{\"username\":\"" + username + "\",\"password\":\"Register-123\"," +
+						"\"email\":\"" + username + "@perf.example.com\",\"nationality\":\"CN\"}";
+				yield send(post("/api/auth/register", body)).statusCode() == 201;
+			}
+			case PREFLIGHT -> send(HttpRequest.newBuilder(uri("/api/auth/profile"))
+					.header("Origin", ORIGIN)
+					.header("Access-Control-Request-Method", "GET")
+					.header("Access-Control-Request-Headers", "authorization")
+					.method("OPTIONS", HttpRequest.BodyPublishers.noBody())
+					.build()).statusCode() == 200;
+		};
+	}
+
+	private String loginBody(int index) {
+		return "{\"username\":\"" + UserDatasetGenerator.usernameOf(index) + "\",\"password\":\""
+				+ generator.passwordOf(index) + "\"}";
+	}
+
+	private HttpRequest post(String path, String json) {
+		return HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.build();
+	}
+
+	private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private URI uri(String path) {
+		return URI.create(baseUrl + path);
+	}
+
+	/**
+	 * 解析 "profile:60,login:20" 形式的比例，展开为按权重重复的场景数组，随机取下标即按比例抽样
+	 */
+	private static Scenario[] parseMix(String mix) {
+		List<Scenario> weighted = new ArrayList<>();
+		for (String part : mix.split(",")) {
+			String[] pair = part.trim().split(":");
+			Scenario scenario = Scenario.valueOf(pair[0].trim().toUpperCase());
+			int weight = Integer.parseInt(pair[1].trim());
+			for (int i = 0; i < weight; i++) {
+				weighted.add(scenario);
+			}
+		}
+		return weighted.toArray(Scenario[]::new);
+	}
+
+	/**
+	 * 按场景输出吞吐量和延迟百分位表
+	 * @param title 表头说明
+	 */
+	static String report(String title, Stats total, long seconds) {
+		StringBuilder out = new StringBuilder();
+		out.append(title).append(System.lineSeparator());
+		out.append(String.format("%-10s %10s %8s %10s %9s %9s %9s %9s %9s %9s%n",
+				"scenario", "requests", "errors", "req/s", "mean(ms)", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+		LatencyHistogram all = new LatencyHistogram();
+		long allErrors = 0;
+		for (Scenario scenario : Scenario.values()) {
+			LatencyHistogram histogram = total.latencies.get(scenario);
+			long errors = total.errors.get(scenario)[0];
+			all.add(histogram);
+			allErrors += errors;
+			appendRow(out, scenario.name().toLowerCase(), histogram, errors, seconds);
+		}
+		appendRow(out, "total", all, allErrors, seconds);
+		return out.toString();
+	}
+
+	private static void appendRow(StringBuilder out, String name, LatencyHistogram h, long errors, long seconds) {
+		out.append(String.format("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+				name, h.count(), errors, (double) h.count() / seconds, h.meanMicros() / 1000.0,
+				h.percentileMicros(50) / 1000.0, h.percentileMicros(90) / 1000.0,
+				h.percentileMicros(99) / 1000.0, h.percentileMicros(99.9) / 1000.0, h.maxMicros() / 1000.0));
+	}
+}
@@ -0,0 +1,83 @@
+package com.example.leave_approval_system.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 认证接口端到端负载测试
+ * 在嵌入式 H2 (MySQL 模式) 上生成 perf.users 个用户后，以 perf.concurrency 个线程按比例混合执行
+ * 登录、携带 JWT 访问个人信息、注册和 CORS 预检 (见 AuthWorkloadDriver)，先预热再计量，
+ * 输出每个场景的吞吐量和延迟百分位。只访问本机端口，不需要 MySQL 或外部网络。
+ * 运行方式: mvn test -Pperf [-Dperf.users=1000000 -Dperf.duration-seconds=60 -Dperf.concurrency=32
+ *          -Dperf.mix=profile:60,login:20,preflight:15,register:5]
+ * 报告写入 target/perf/auth-workload-report.txt
+ */
+@Tag("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("perf")
+class AuthWorkloadLoadTest {
+
+	private static final Logger log = LoggerFactory.getLogger(AuthWorkloadLoadTest.class);
+
+	private static final int USERS = Integer.getInteger("perf.users", 1_000_000);
+	private static final int HASH_POOL = Integer.getInteger("perf.hash-pool", 256);
+	private static final int CONCURRENCY = Integer.getInteger("perf.concurrency", 32);
+	private static final long WARMUP_SECONDS = Long.getLong("perf.warmup-seconds", 15);
+	private static final long DURATION_SECONDS = Long.getLong("perf.duration-seconds", 60);
+	private static final String MIX = System.getProperty("perf.mix", "profile:60,login:20,preflight:15,register:5");
+	private static final double MAX_ERROR_RATIO = 0.01;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void mixedAuthWorkload() throws Exception {
+		UserDatasetGenerator generator = new UserDatasetGenerator(jdbcTemplate, passwordEncoder, HASH_POOL);
+		long seedStart = System.nanoTime();
+		generator.generate(USERS);
+		String seeding = String.format("已生成 %,d 个用户 (%d 个不同的 BCrypt 哈希)，耗时 %.1f s",
+				USERS, HASH_POOL, (System.nanoTime() - seedStart) / 1e9);
+		log.info(seeding);
+
+		String runId = Long.toString(System.currentTimeMillis(), 36);
+		try (AuthWorkloadDriver driver = new AuthWorkloadDriver("http://127.0.0.1:" + port,
+				generator, USERS, CONCURRENCY, MIX, objectMapper, runId)) {
+			driver.prepareTokens();
+			driver.run(WARMUP_SECONDS);
+			AuthWorkloadDriver.Stats total = driver.run(DURATION_SECONDS);
+
+			String report = AuthWorkloadDriver.report(String.format("认证混合负载: %,d 用户, 并发 %d, 计量 %d s, 比例 %s",
+					USERS, CONCURRENCY, DURATION_SECONDS, MIX), total, DURATION_SECONDS);
+			Path reportFile = Path.of("target", "perf", "auth-workload-report.txt");
+			Files.createDirectories(reportFile.getParent());
+			Files.writeString(reportFile, seeding + System.lineSeparator() + report);
+			log.info("负载测试报告已写入 {}", reportFile.toAbsolutePath());
+
+			assertThat(total.requests()).isPositive();
+			assertThat((double) total.failed() / total.requests()).isLessThan(MAX_ERROR_RATIO);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.example.leave_approval_system.perf;
+
+/**
+ * 延迟直方图 (对数-线性分桶，单位微秒)
+ * 每个 2 的幂区间再均分为 128 个桶，相对误差小于 1%；内存固定，记录操作为 O(1)。
+ * 不是线程安全的：每个压测线程持有自己的实例，结束后再合并。
+ */
+final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = SUB_BUCKETS * (64 - SUB_BUCKET_BITS + 1);
+
+	private final long[] counts = new long[BUCKETS];
+	private long count;
+	private long sumMicros;
+	private long maxMicros;
+
+	/**
+	 * 记录一次耗时
+	 * @param nanos 耗时 (纳秒)
+	 */
+	void recordNanos(long nanos) {
+		long micros = Math.max(0, nanos / 1_000);
+		counts[indexOf(micros)]++;
+		count++;
+		sumMicros += micros;
+		maxMicros = Math.max(maxMicros, micros);
+	}
+
+	/**
+	 * 合并另一个直方图
+	 */
+	void add(LatencyHistogram other) {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] += other.counts[i];
+		}
+		count += other.count;
+		sumMicros += other.sumMicros;
+		maxMicros = Math.max(maxMicros, other.maxMicros);
+	}
+
+	long count() {
+		return count;
+	}
+
+	long maxMicros() {
+		return maxMicros;
+	}
+
+	double meanMicros() {
+		return count == 0 ? 0 : (double) sumMicros / count;
+	}
+
+	/**
+	 * 百分位数 (返回所在桶的上界，不超过最大值)
+	 * @param percentile 0 ~ 100
+	 * @return 延迟 (微秒)
+	 */
+	long percentileMicros(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= target) {
+				return Math.min(upperBoundOf(i), maxMicros);
+			}
+		}
+		return maxMicros;
+	}
+
+	static int indexOf(long micros) {
+		if (micros < SUB_BUCKETS) {
+			return (int) micros;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		int shift = exponent - SUB_BUCKET_BITS;
+		int sub = (int) ((micros >>> shift) & (SUB_BUCKETS - 1));
+		return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+	}
+
+	static long upperBoundOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+		int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+		return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,44 @@
+package com.example.leave_approval_system.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTests {
+
+	@Test
+	void bucketsCoverEveryValueWithSmallRelativeError() {
+		Random random = new Random(7);
+		for (int i = 0; i < 100_000; i++) {
+			long micros = (long) Math.exp(random.nextDouble() * 22);
+			long upper = LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(micros));
+			assertThat(upper).isGreaterThanOrEqualTo(micros);
+			assertThat((double) (upper - micros)).isLessThanOrEqualTo(Math.max(1, micros / 128.0));
+		}
+	}
+
+	@Test
+	void percentilesMatchSortedSamples() {
+		Random random = new Random(11);
+		long[] samples = new long[50_000];
+		LatencyHistogram left = new LatencyHistogram();
+		LatencyHistogram right = new LatencyHistogram();
+		for (int i = 0; i < samples.length; i++) {
+			samples[i] = 200 + (long) (random.nextGaussian() * 50 + 1_000) * (random.nextInt(100) == 0 ? 20 : 1);
+			(i % 2 == 0 ? left : right).recordNanos(samples[i] * 1_000);
+		}
+		left.add(right);
+		Arrays.sort(samples);
+
+		assertThat(left.count()).isEqualTo(samples.length);
+		assertThat(left.maxMicros()).isEqualTo(samples[samples.length - 1]);
+		for (double p : new double[]{50, 90, 99, 99.9}) {
+			long expected = samples[(int) Math.ceil(p / 100 * samples.length) - 1];
+			assertThat((double) left.percentileMicros(p)).isCloseTo(expected, within(expected / 100.0 + 1));
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.example.leave_approval_system.perf;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * 负载测试用户数据生成器
+ * 用应用自己的 PasswordEncoder (BCrypt，与生产相同的强度) 为一组密码计算真实的哈希，
+ * 第 i 个用户使用第 (i % hashPool) 个密码：登录时 BCrypt 校验的代价与真实用户一致，
+ * 又不必为一百万个用户逐个计算哈希 (单线程约需数小时)。
+ * 用户行通过 JDBC 批量插入，多个批次并行写入。
+ */
+final class UserDatasetGenerator {
+
+	private static final String INSERT_SQL =
+			"INSERT INTO users (username, password_hash, email, phone_number, birth_date, nationality, " +
+					"role_mask, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String[] NATIONALITIES = {"CN", "CN", "CN", "CN", "HK", "TW", "SG", "US", "JP", "DE"};
+	private static final int BATCH_SIZE = 5_000;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final PasswordEncoder passwordEncoder;
+	private final int hashPool;
+
+	UserDatasetGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, int hashPool) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.passwordEncoder = passwordEncoder;
+		this.hashPool = hashPool;
+	}
+
+	static String usernameOf(int index) {
+		return "perf_user_" + index;
+	}
+
+	String passwordOf(int index) {
+		return "Perf-" + Integer.toString((index % hashPool) * 7919 + 104729, 36) + "!";
+	}
+
+	/**
+	 * 生成 count 个用户 (用户名 perf_user_0 ~ perf_user_{count-1})
+	 * @param count 用户数
+	 */
+	void generate(int count) {
+		String[] hashes = IntStream.range(0, hashPool).parallel()
+				.mapToObj(i -> passwordEncoder.encode(passwordOf(i)))
+				.toArray(String[]::new);
+		LocalDateTime now = LocalDateTime.now();
+		int batches = (count + BATCH_SIZE - 1) / BATCH_SIZE;
+		IntStream.range(0, batches).parallel().forEach(batch -> {
+			SplittableRandom random = new SplittableRandom(batch);
+			int from = batch * BATCH_SIZE;
+			int to = Math.min(count, from + BATCH_SIZE);
+			List<Object[]> rows = new ArrayList<>(to - from);
+			for (int i = from; i < to; i++) {
+				LocalDateTime createdAt = now.minusMinutes(random.nextLong(60L * 24 * 365 * 5));
+				rows.add(new Object[]{
+						usernameOf(i),
+						hashes[i % hashPool],
+						usernameOf(i) + "@perf.example.com",
+						"1" + (30 + random.nextInt(60)) + String.format("%08d", random.nextInt(100_000_000)),
+						Date.valueOf(LocalDate.of(1960 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28))),
+						NATIONALITIES[random.nextInt(NATIONALITIES.length)],
+						1,
+						Timestamp.valueOf(createdAt),
+						Timestamp.valueOf(createdAt)});
+			}
+			jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+		});
+	}
+}
@@ -0,0 +1,182 @@
+package com.example.leave_approval_system.push;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseConnectionRegistryTests {
+
+	private RecordingRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		registry = new RecordingRegistry(2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		registry.destroy();
+	}
+
+	@Test
+	void registerSendsInitialHeartbeatAndEvictsOldestConnectionOverLimit() throws Exception {
+		registry.register(1L);
+		registry.register(1L);
+		assertThat(registry.connectionCount()).isEqualTo(2);
+		assertThat(registry.emitter(0).await("ping")).isTrue();
+
+		registry.register(1L);
+
+		assertThat(registry.connectionCount()).isEqualTo(2);
+		assertThat(registry.emitter(0).completed).isTrue();
+		assertThat(registry.emitter(1).completed).isFalse();
+	}
+
+	@Test
+	void completionRemovesConnectionAndAllowsReconnect() throws Exception {
+		registry.register(1L);
+
+		registry.emitter(0).complete();
+		assertThat(registry.connectionCount()).isZero();
+		registry.emitter(0).complete();
+		assertThat(registry.connectionCount()).isZero();
+
+		registry.register(1L);
+		registry.send(1L, "leave-approved", "{\"id\":1}");
+		assertThat(registry.emitter(1).await("{\"id\":1}")).isTrue();
+	}
+
+	@Test
+	void sendFansOutToEveryConnectionOfTheUserOnly() throws Exception {
+		registry.register(1L);
+		registry.register(1L);
+		registry.register(2L);
+
+		registry.send(1L, "leave-approved", "{\"id\":7}");
+		registry.send(3L, "leave-approved", "{\"id\":8}");
+
+		assertThat(registry.emitter(0).await("{\"id\":7}")).isTrue();
+		assertThat(registry.emitter(1).await("{\"id\":7}")).isTrue();
+		assertThat(registry.emitter(2).await("{\"id\":7}")).isFalse();
+	}
+
+	@Test
+	void concurrentRegisterAndRemoveKeepsUserReachable() throws Exception {
+		RecordingRegistry wide = new RecordingRegistry(1000);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new CopyOnWriteArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(pool.submit(() -> {
+					for (int i = 0; i < 500; i++) {
+						wide.register(1L);
+					}
+				}));
+			}
+			for (int t = 0; t < 8; t++) {
+				futures.add(pool.submit(() -> {
+					for (int i = 0; i < 500; i++) {
+						wide.completeAny();
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+			wide.emitters.forEach(RecordingEmitter::complete);
+			assertThat(wide.connectionCount()).isZero();
+
+			wide.register(1L);
+			wide.send(1L, "leave-approved", "{\"id\":9}");
+			assertThat(wide.emitter(wide.emitters.size() - 1).await("{\"id\":9}")).isTrue();
+		} finally {
+			pool.shutdownNow();
+			wide.destroy();
+		}
+	}
+
+	/**
+	 * 记录创建出的 emitter，便于断言发送内容和触发完成回调
+	 */
+	private static final class RecordingRegistry extends SseConnectionRegistry {
+
+		private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+
+		RecordingRegistry(int maxConnectionsPerUser) {
+			super(32, maxConnectionsPerUser, 60_000L, 2, 60_000L);
+		}
+
+		@Override
+		SseEmitter createEmitter(long timeoutMs) {
+			RecordingEmitter emitter = new RecordingEmitter(timeoutMs);
+			emitters.add(emitter);
+			return emitter;
+		}
+
+		RecordingEmitter emitter(int index) {
+			return emitters.get(index);
+		}
+
+		void completeAny() {
+			if (!emitters.isEmpty()) {
+				emitters.get(emitters.size() - 1).complete();
+			}
+		}
+	}
+
+	/**
+	 * 不依赖 Servlet 容器的 SseEmitter：记录发送的事件，complete() 时直接触发完成回调
+	 */
+	private static final class RecordingEmitter extends SseEmitter {
+
+		private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+		private final List<Runnable> completionCallbacks = new CopyOnWriteArrayList<>();
+		private volatile boolean completed;
+
+		RecordingEmitter(long timeoutMs) {
+			super(timeoutMs);
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			sent.add(builder.build().stream()
+					.map(data -> String.valueOf(data.getData()))
+					.collect(Collectors.joining()));
+		}
+
+		@Override
+		public void onCompletion(Runnable callback) {
+			completionCallbacks.add(callback);
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+			completionCallbacks.forEach(Runnable::run);
+		}
+
+		boolean await(String fragment) throws InterruptedException {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+			String event;
+			while ((event = sent.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) != null) {
+				if (event.contains(fragment)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package com.example.leave_approval_system.repository;
+
+import com.example.leave_approval_system.dto.LeaveStateRow;
+import com.example.leave_approval_system.dto.LeaveSummary;
+import com.example.leave_approval_system.model.LeaveRequest;
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.model.LeaveType;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("jpa")
+class LeaveRequestRepositoryTests {
+
+	private static final LocalDateTime T = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private LeaveRequestRepository leaveRequestRepository;
+
+	private User applicant;
+	private User approver;
+
+	@BeforeEach
+	void setUp() {
+		applicant = user("applicant", Role.USER);
+		approver = user("approver", Role.APPROVER);
+	}
+
+	@Test
+	void inboxPagesBreakCreatedAtTiesById() {
+		LeaveRequest older = request(approver, LeaveStatus.PENDING, T.minusHours(1));
+		LeaveRequest tie1 = request(approver, LeaveStatus.PENDING, T);
+		LeaveRequest tie2 = request(approver, LeaveStatus.PENDING, T);
+		LeaveRequest tie3 = request(approver, LeaveStatus.PENDING, T);
+		LeaveRequest newer = request(approver, LeaveStatus.PENDING, T.plusHours(1));
+		request(approver, LeaveStatus.APPROVED, T);
+		request(user("other-approver", Role.APPROVER), LeaveStatus.PENDING, T);
+
+		List<LeaveSummary> first = leaveRequestRepository.findInboxFirstPage(approver.getId(), LeaveStatus.PENDING,
+				PageRequest.of(0, 2));
+		LeaveSummary last = first.get(first.size() - 1);
+		List<LeaveSummary> second = leaveRequestRepository.findInboxPageAfter(approver.getId(), LeaveStatus.PENDING,
+				last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+		last = second.get(second.size() - 1);
+		List<LeaveSummary> third = leaveRequestRepository.findInboxPageAfter(approver.getId(), LeaveStatus.PENDING,
+				last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+
+		assertThat(first).extracting(LeaveSummary::getId).containsExactly(newer.getId(), tie3.getId());
+		assertThat(second).extracting(LeaveSummary::getId).containsExactly(tie2.getId(), tie1.getId());
+		assertThat(third).extracting(LeaveSummary::getId).containsExactly(older.getId());
+	}
+
+	@Test
+	void applicantPagesBreakCreatedAtTiesById() {
+		LeaveRequest tie1 = request(approver, LeaveStatus.PENDING, T);
+		LeaveRequest tie2 = request(approver, LeaveStatus.CANCELLED, T);
+		LeaveRequest older = request(approver, LeaveStatus.APPROVED, T.minusDays(1));
+
+		List<LeaveSummary> first = leaveRequestRepository.findByApplicantFirstPage(applicant.getId(), PageRequest.of(0, 1));
+		List<LeaveSummary> rest = leaveRequestRepository.findByApplicantPageAfter(applicant.getId(),
+				first.get(0).getCreatedAt(), first.get(0).getId(), PageRequest.of(0, 10));
+
+		assertThat(first).extracting(LeaveSummary::getId).containsExactly(tie2.getId());
+		assertThat(rest).extracting(LeaveSummary::getId).containsExactly(tie1.getId(), older.getId());
+	}
+
+	@Test
+	void bulkDecideOnlyUpdatesPendingRowsOfTheApproverAtTheExpectedVersion() {
+		LeaveRequest fresh = request(approver, LeaveStatus.PENDING, T);
+		LeaveRequest stale = request(approver, LeaveStatus.PENDING, T);
+		LeaveRequest decided = request(approver, LeaveStatus.APPROVED, T);
+		LeaveRequest foreign = request(user("other-approver", Role.APPROVER), LeaveStatus.PENDING, T);
+		// 读取状态后被并发修改，版本号变为 1
+		stale.setReason("edited");
+		entityManager.flush();
+		List<Long> ids = List.of(fresh.getId(), stale.getId(), decided.getId(), foreign.getId());
+
+		int updated = leaveRequestRepository.bulkDecide(ids, approver.getId(), 0L, LeaveStatus.REJECTED, "no",
+				LocalDateTime.now());
+
+		assertThat(updated).isEqualTo(1);
+		assertThat(leaveRequestRepository.findStatesByIdIn(ids))
+				.extracting(LeaveStateRow::getId, LeaveStateRow::getStatus, LeaveStateRow::getVersion)
+				.containsExactlyInAnyOrder(
+						tuple(fresh.getId(), LeaveStatus.REJECTED, 1L),
+						tuple(stale.getId(), LeaveStatus.PENDING, 1L),
+						tuple(decided.getId(), LeaveStatus.APPROVED, 0L),
+						tuple(foreign.getId(), LeaveStatus.PENDING, 0L));
+		assertThat(leaveRequestRepository.findById(fresh.getId())).get()
+				.satisfies(l -> assertThat(l.getDecisionComment()).isEqualTo("no"));
+	}
+
+	@Test
+	void bulkDecideGroupedByVersionAppliesEachGroup() {
+		LeaveRequest v0 = request(approver, LeaveStatus.PENDING, T);
+		LeaveRequest v1 = request(approver, LeaveStatus.PENDING, T);
+		v1.setReason("edited");
+		entityManager.flush();
+
+		int updated = leaveRequestRepository.bulkDecide(List.of(v0.getId()), approver.getId(), 0L,
+				LeaveStatus.APPROVED, null, LocalDateTime.now())
+				+ leaveRequestRepository.bulkDecide(List.of(v1.getId()), approver.getId(), 1L,
+				LeaveStatus.APPROVED, null, LocalDateTime.now());
+
+		assertThat(updated).isEqualTo(2);
+		assertThat(leaveRequestRepository.findStatesByIdIn(List.of(v0.getId(), v1.getId())))
+				.extracting(LeaveStateRow::getStatus).containsOnly(LeaveStatus.APPROVED);
+	}
+
+	private User user(String username, Role role) {
+		User user = new User();
+		user.setUsername(username);
+		user.setPassword("hash");
+		user.setRoleMask(role.mask());
+		return entityManager.persistAndFlush(user);
+	}
+
+	private LeaveRequest request(User approver, LeaveStatus status, LocalDateTime createdAt) {
+		LeaveRequest leaveRequest = new LeaveRequest();
+		leaveRequest.setApplicant(applicant);
+		leaveRequest.setApprover(approver);
+		leaveRequest.setLeaveType(LeaveType.ANNUAL);
+		leaveRequest.setStartDate(LocalDate.of(2024, 4, 1));
+		leaveRequest.setEndDate(LocalDate.of(2024, 4, 2));
+		leaveRequest.setWorkingDays(2);
+		leaveRequest.setStatus(status);
+		entityManager.persistAndFlush(leaveRequest);
+		// created_at 由 @PrePersist 填写且不可更新，直接改库构造相同创建时间的行
+		entityManager.getEntityManager()
+				.createNativeQuery("update leave_requests set created_at = ?1 where id = ?2")
+				.setParameter(1, createdAt)
+				.setParameter(2, leaveRequest.getId())
+				.executeUpdate();
+		return leaveRequest;
+	}
+}
@@ -0,0 +1,70 @@
+package com.example.leave_approval_system.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthCircuitBreakerTests {
+
+	@Test
+	void opensAfterConsecutiveFailuresAndAllowsGracePeriod() {
+		AuthCircuitBreaker breaker = new AuthCircuitBreaker(3, 60_000, 60_000);
+
+		breaker.onFailure();
+		breaker.onFailure();
+		assertThat(breaker.state()).isEqualTo(AuthCircuitBreaker.State.CLOSED);
+		assertThat(breaker.inGracePeriod()).isFalse();
+
+		breaker.onFailure();
+		assertThat(breaker.state()).isEqualTo(AuthCircuitBreaker.State.OPEN);
+		assertThat(breaker.allowRequest()).isFalse();
+		assertThat(breaker.inGracePeriod()).isTrue();
+	}
+
+	@Test
+	void successResetsFailureCount() {
+		AuthCircuitBreaker breaker = new AuthCircuitBreaker(2, 60_000, 60_000);
+
+		breaker.onFailure();
+		breaker.onSuccess();
+		breaker.onFailure();
+
+		assertThat(breaker.state()).isEqualTo(AuthCircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void halfOpenLetsOneProbeThroughAndClosesOnSuccess() {
+		AuthCircuitBreaker breaker = new AuthCircuitBreaker(1, 0, 60_000);
+		breaker.onFailure();
+
+		assertThat(breaker.allowRequest()).isTrue();
+		assertThat(breaker.state()).isEqualTo(AuthCircuitBreaker.State.HALF_OPEN);
+		assertThat(breaker.allowRequest()).isFalse();
+
+		breaker.onSuccess();
+		assertThat(breaker.state()).isEqualTo(AuthCircuitBreaker.State.CLOSED);
+		assertThat(breaker.inGracePeriod()).isFalse();
+	}
+
+	@Test
+	void failedProbeReopensWithoutRestartingGracePeriod() {
+		AuthCircuitBreaker breaker = new AuthCircuitBreaker(1, 0, 60_000);
+		breaker.onFailure();
+		long openedAt = breaker.openedAt();
+
+		assertThat(breaker.allowRequest()).isTrue();
+		breaker.onFailure();
+
+		assertThat(breaker.state()).isEqualTo(AuthCircuitBreaker.State.OPEN);
+		assertThat(breaker.openedAt()).isEqualTo(openedAt);
+	}
+
+	@Test
+	void gracePeriodExpires() {
+		AuthCircuitBreaker breaker = new AuthCircuitBreaker(1, 60_000, -1);
+		breaker.onFailure();
+
+		assertThat(breaker.state()).isEqualTo(AuthCircuitBreaker.State.OPEN);
+		assertThat(breaker.inGracePeriod()).isFalse();
+	}
+}
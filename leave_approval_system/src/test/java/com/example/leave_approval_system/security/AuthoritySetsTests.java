@@ -0,0 +1,56 @@
+package com.example.leave_approval_system.security;
+
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthoritySetsTests {
+
+	@Test
+	void usersWithSameRolesShareOneImmutableSet() {
+		User alice = new User();
+		User bob = new User();
+		alice.setRoleMask(Role.maskOf(List.of(Role.USER, Role.APPROVER)));
+		bob.setRoleMask(Role.maskOf(List.of(Role.APPROVER, Role.USER)));
+
+		assertThat(alice.getAuthorities()).isSameAs(bob.getAuthorities());
+		assertThatThrownBy(() -> AuthoritySets.of(alice.getRoleMask()).clear())
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void setsContainRolesAndGrantedPermissions() {
+		Set<GrantedAuthority> admin = AuthoritySets.of(Role.maskOf(List.of(Role.USER, Role.ADMIN)));
+
+		assertThat(admin).extracting(GrantedAuthority::getAuthority)
+				.containsExactly("ROLE_USER", "ROLE_ADMIN", "leave:submit", "data:export", "user:roles", "token:introspect");
+		assertThat(AuthoritySets.of(0)).isEmpty();
+		assertThat(new User().getAuthorities()).extracting(GrantedAuthority::getAuthority)
+				.containsExactly("ROLE_USER", "leave:submit");
+	}
+
+	@Test
+	void authorityInstancesAreSharedAcrossSets() {
+		GrantedAuthority fromUser = AuthoritySets.of(Role.USER.mask()).iterator().next();
+		GrantedAuthority fromAll = AuthoritySets.of(Role.MASK_LIMIT - 1).iterator().next();
+
+		assertThat(fromAll).isSameAs(fromUser);
+	}
+
+	@Test
+	void recognisesAuthorityOnlyExpressions() {
+		assertThat(CachingPreAuthorizeAuthorizationManager.isAuthorityOnly("hasAuthority('leave:decide')")).isTrue();
+		assertThat(CachingPreAuthorizeAuthorizationManager.isAuthorityOnly(
+				"hasRole('ADMIN') or (hasAnyAuthority('a:b', 'c') and !hasRole('X'))")).isTrue();
+		assertThat(CachingPreAuthorizeAuthorizationManager.isAuthorityOnly("#id == principal.id")).isFalse();
+		assertThat(CachingPreAuthorizeAuthorizationManager.isAuthorityOnly("@guard.check(authentication)")).isFalse();
+		assertThat(CachingPreAuthorizeAuthorizationManager.isAuthorityOnly("hasPermission(#id, 'read')")).isFalse();
+	}
+}
@@ -0,0 +1,83 @@
+package com.example.leave_approval_system.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BreachedPasswordCheckerTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void findsPasswordsFromPlaintextList() throws IOException {
+		Path input = Files.write(dir.resolve("plain.txt"), List.of("123456", "password", "qwerty", "", "123456"));
+		Path output = dir.resolve("breached.bin");
+
+		long count = BreachedPasswordFileBuilder.build(input, output, BreachedPasswordFileBuilder.Format.PLAIN, 1024);
+		BreachedPasswordChecker checker = new BreachedPasswordChecker(output.toString(), true);
+
+		assertThat(count).isEqualTo(3);
+		assertThat(checker.size()).isEqualTo(3);
+		assertThat(checker.isBreached("password")).isTrue();
+		assertThat(checker.isBreached("qwerty")).isTrue();
+		assertThat(checker.isBreached("Password")).isFalse();
+		assertThat(checker.isBreached("correct horse battery staple")).isFalse();
+	}
+
+	@Test
+	void acceptsSha1DumpWithCounts() throws IOException {
+		// SHA-1("password") 与 SHA-1("123456")，大小写混合并带出现次数后缀
+		Path input = Files.write(dir.resolve("sha1.txt"), List.of(
+				"5BAA61E4C9B93F3F0682250B6CF8331B7EE68FD8:9545824",
+				"7c4a8d09ca3762af61e59520943dc26494f8941b:37359195"));
+		Path output = dir.resolve("breached.bin");
+
+		BreachedPasswordFileBuilder.build(input, output, BreachedPasswordFileBuilder.Format.SHA1, 1024);
+		BreachedPasswordChecker checker = new BreachedPasswordChecker(output.toString(), true);
+
+		assertThat(checker.isBreached("password")).isTrue();
+		assertThat(checker.isBreached("123456")).isTrue();
+		assertThat(checker.isBreached("qwerty")).isFalse();
+	}
+
+	@Test
+	void mergesSortedRunsAndDropsDuplicates() throws IOException {
+		List<String> passwords = new java.util.ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			passwords.add("pass" + (i % 2500));
+		}
+		Path input = Files.write(dir.resolve("plain.txt"), passwords);
+		Path output = dir.resolve("breached.bin");
+
+		// 每段 100 条，强制写出多个有序段后归并
+		long count = BreachedPasswordFileBuilder.build(input, output, BreachedPasswordFileBuilder.Format.PLAIN, 100);
+		BreachedPasswordChecker checker = new BreachedPasswordChecker(output.toString(), true);
+
+		assertThat(count).isEqualTo(2500);
+		for (int i = 0; i < 2500; i++) {
+			assertThat(checker.isBreached("pass" + i)).isTrue();
+		}
+		assertThat(checker.isBreached("pass2500")).isFalse();
+		try (var files = Files.list(dir)) {
+			assertThat(files.map(p -> p.getFileName().toString())).containsExactlyInAnyOrder("plain.txt", "breached.bin");
+		}
+	}
+
+	@Test
+	void disablesScreeningWhenFileIsMissingUnlessRequired() {
+		BreachedPasswordChecker checker = new BreachedPasswordChecker(dir.resolve("missing.bin").toString(), false);
+
+		assertThat(checker.isEnabled()).isFalse();
+		assertThat(checker.isBreached("password")).isFalse();
+		assertThatThrownBy(() -> new BreachedPasswordChecker(dir.resolve("missing.bin").toString(), true))
+				.isInstanceOf(IllegalStateException.class);
+	}
+}
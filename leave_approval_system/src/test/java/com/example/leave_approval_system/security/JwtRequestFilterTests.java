@@ -0,0 +1,204 @@
+package com.example.leave_approval_system.security;
+
+import com.example.leave_approval_system.audit.AuditLogger;
+import com.example.leave_approval_system.config.ApiResponseJsonWriter;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.RevokedTokenRepository;
+import com.example.leave_approval_system.service.UserDetailsServiceImpl;
+import com.example.leave_approval_system.service.UserVersionCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtRequestFilterTests {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+	private final User alice = new User(1L, "alice", "hash", Role.USER.mask(), LocalDateTime.of(2026, 1, 1, 8, 0), null);
+
+	private JwtUtil jwtUtil;
+	private UserDetailsServiceImpl userDetailsService;
+	private UserVersionCache userVersionCache;
+	private RevokedTokenCache revokedTokenCache;
+	private RevokedTokenRepository revokedTokenRepository;
+	private AuthCircuitBreaker circuitBreaker;
+	private DegradedAuthentication degradedAuthentication;
+	private JwtRequestFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "jwtSecretString", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 3_600_000L);
+		jwtUtil.init();
+		userDetailsService = mock(UserDetailsServiceImpl.class);
+		when(userDetailsService.loadUserByUsername(anyString())).thenReturn(alice);
+		userVersionCache = new UserVersionCache();
+		ReflectionTestUtils.setField(userVersionCache, "maxEntries", 100);
+		revokedTokenCache = new RevokedTokenCache(3_600_000L);
+		revokedTokenCache.markFresh(System.currentTimeMillis(), Long.MAX_VALUE);
+		revokedTokenRepository = mock(RevokedTokenRepository.class);
+		circuitBreaker = new AuthCircuitBreaker(1, 60_000L, 900_000L);
+		degradedAuthentication = mock(DegradedAuthentication.class);
+		filter = new JwtRequestFilter(jwtUtil, userDetailsService, new RouteClassifier(), mock(AuditLogger.class),
+				new TokenRevocationChecker(revokedTokenCache, revokedTokenRepository, circuitBreaker),
+				degradedAuthentication, mock(ApiResponseJsonWriter.class), userVersionCache);
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void answersMatchingConditionalProfileGetWithoutLoadingTheUser() throws Exception {
+		String etag = userVersionCache.record(alice).etag();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(profileRequest(jwtUtil.generateToken(alice), etag), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+		assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache, private");
+		assertThat(chain.getRequest()).isNull();
+		verify(userDetailsService, never()).loadUserByUsername(anyString());
+	}
+
+	@Test
+	void loadsTheUserWhenTheVersionIsUnknownOrChanged() throws Exception {
+		String staleETag = "\"u1-0\"";
+		userVersionCache.record(alice);
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(profileRequest(jwtUtil.generateToken(alice), staleETag), new MockHttpServletResponse(), chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+		verify(userDetailsService).loadUserByUsername("alice");
+	}
+
+	@Test
+	void ignoresCachedVersionOfARecreatedUser() throws Exception {
+		String oldToken = jwtUtil.generateToken(new User(99L, "alice", "hash", Role.USER.mask(), LocalDateTime.now(), null));
+		String etag = userVersionCache.record(alice).etag();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(profileRequest(oldToken, etag), new MockHttpServletResponse(), chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+		verify(userDetailsService).loadUserByUsername("alice");
+	}
+
+	@Test
+	void rejectsRevokedToken() throws Exception {
+		String token = jwtUtil.generateToken(alice);
+		revokedTokenCache.revoke(jwtUtil.extractClaim(token, c -> c.getId()));
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(profileRequest(token, "\"u1-0\""), new MockHttpServletResponse(), chain);
+
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+		verify(userDetailsService, never()).loadUserByUsername(anyString());
+	}
+
+	@Test
+	void checksTheDatabaseWhileRevocationsAreStale() throws Exception {
+		revokedTokenCache.markFresh(System.currentTimeMillis() - 10_000, System.currentTimeMillis() - 5_000);
+		String revoked = jwtUtil.generateToken(alice);
+		String active = jwtUtil.generateToken(alice);
+		when(revokedTokenRepository.existsById(anyString())).thenReturn(false);
+		when(revokedTokenRepository.existsById(jwtUtil.extractClaim(revoked, c -> c.getId()))).thenReturn(true);
+
+		filter.doFilter(profileRequest(revoked, "\"u1-0\""), new MockHttpServletResponse(), new MockFilterChain());
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(profileRequest(active, "\"u1-0\""), new MockHttpServletResponse(), chain);
+		assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(alice);
+		assertThat(chain.getRequest()).isNotNull();
+	}
+
+	@Test
+	void servesTokensIssuedBeforeTheLastSyncWhileTheDatabaseIsDown() throws Exception {
+		long now = System.currentTimeMillis();
+		String token = tokenIssuedAt(now - 6_000);
+		revokedTokenCache.markFresh(now - 5_500, now - 500); // 数据库已不可用超过 5 秒，注销集合落后
+		circuitBreaker.onFailure();
+		when(userDetailsService.loadUserByUsername(anyString())).thenThrow(new AuthenticationUnavailableException("down"));
+		when(degradedAuthentication.resolve(eq("alice"), any())).thenReturn(Optional.of(alice));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(profileRequest(token, "\"u1-0\""), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(chain.getRequest()).isNotNull();
+		assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(alice);
+		verify(revokedTokenRepository, never()).existsById(anyString());
+	}
+
+	@Test
+	void answersUnavailableWhenTheRevocationStateCannotBeConfirmed() throws Exception {
+		long now = System.currentTimeMillis();
+		revokedTokenCache.markFresh(now - 5_500, now - 500);
+		when(revokedTokenRepository.existsById(anyString())).thenThrow(new IllegalStateException("down"));
+
+		// 熔断器首次失败后打开，但 Token 签发于最近一次同步之后
+		MockHttpServletResponse afterSync = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(profileRequest(jwtUtil.generateToken(alice), "\"u1-0\""), afterSync, chain);
+		assertThat(afterSync.getStatus()).isEqualTo(503);
+		assertThat(chain.getRequest()).isNull();
+
+		// 距最近一次同步已超过宽限期
+		revokedTokenCache.markFresh(now - 1_000_000, now - 995_000);
+		MockHttpServletResponse beyondGrace = new MockHttpServletResponse();
+		filter.doFilter(profileRequest(tokenIssuedAt(now - 1_100_000), "\"u1-0\""), beyondGrace, new MockFilterChain());
+		assertThat(beyondGrace.getStatus()).isEqualTo(503);
+
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+		verify(userDetailsService, never()).loadUserByUsername(anyString());
+	}
+
+	private static String tokenIssuedAt(long issuedAtMillis) {
+		return Jwts.builder()
+				.setId(UUID.randomUUID().toString())
+				.setSubject("alice")
+				.setIssuedAt(new Date(issuedAtMillis))
+				.setExpiration(new Date(issuedAtMillis + 3_600_000L))
+				.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+				.compact();
+	}
+
+	private static MockHttpServletRequest profileRequest(String token, String ifNoneMatch) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/profile");
+		request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		return request;
+	}
+}
@@ -0,0 +1,37 @@
+package com.example.leave_approval_system.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginIdentifierTests {
+
+	@Test
+	void classifiesEmailAndLowerCasesIt() {
+		assertThat(LoginIdentifier.classify("  Alice@Example.COM ", "86"))
+				.isEqualTo(new LoginIdentifier(LoginIdentifier.Type.EMAIL, "alice@example.com"));
+	}
+
+	@Test
+	void normalizesPhoneNumbersToE164() {
+		assertThat(LoginIdentifier.classify("138 0000 0001", "86"))
+				.isEqualTo(new LoginIdentifier(LoginIdentifier.Type.PHONE, "+8613800000001"));
+		assertThat(LoginIdentifier.classify("+86 138-0000-0001", "86").value()).isEqualTo("+8613800000001");
+		assertThat(LoginIdentifier.classify("0086 13800000001", "86").value()).isEqualTo("+8613800000001");
+		assertThat(LoginIdentifier.classify("(010) 6552-9988", "86").value()).isEqualTo("+861065529988");
+	}
+
+	@Test
+	void treatsEverythingElseAsUsername() {
+		assertThat(LoginIdentifier.classify("alice", "86").type()).isEqualTo(LoginIdentifier.Type.USERNAME);
+		assertThat(LoginIdentifier.classify("agent007", "86").type()).isEqualTo(LoginIdentifier.Type.USERNAME);
+		assertThat(LoginIdentifier.classify("12345", "86").type()).isEqualTo(LoginIdentifier.Type.USERNAME);
+		assertThat(LoginIdentifier.classify("1+2345678", "86").type()).isEqualTo(LoginIdentifier.Type.USERNAME);
+	}
+
+	@Test
+	void rejectsNumbersLongerThanE164() {
+		assertThat(LoginIdentifier.normalizePhone("+1234567890123456", "86")).isNull();
+		assertThat(LoginIdentifier.normalizeEmail("  ")).isNull();
+	}
+}
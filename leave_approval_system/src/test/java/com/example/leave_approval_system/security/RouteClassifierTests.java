@@ -0,0 +1,86 @@
+package com.example.leave_approval_system.security;
+
+import com.example.leave_approval_system.security.RouteClassifier.RouteType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteClassifierTests {
+
+	private final RouteClassifier classifier = new RouteClassifier();
+
+	@Test
+	void loginRegisterAndSwaggerArePublic() {
+		assertThat(classifier.classify(request("POST", "/api/auth/login"))).isEqualTo(RouteType.PUBLIC);
+		assertThat(classifier.classify(request("POST", "/api/auth/register"))).isEqualTo(RouteType.PUBLIC);
+		assertThat(classifier.classify(request("GET", "/swagger-ui.html"))).isEqualTo(RouteType.PUBLIC);
+		assertThat(classifier.classify(request("GET", "/swagger-ui/index.html"))).isEqualTo(RouteType.PUBLIC);
+		assertThat(classifier.classify(request("GET", "/v3/api-docs"))).isEqualTo(RouteType.PUBLIC);
+		assertThat(classifier.classify(request("GET", "/v3/api-docs/swagger-config"))).isEqualTo(RouteType.PUBLIC);
+	}
+
+	@Test
+	void everythingElseIsProtected() {
+		assertThat(classifier.classify(request("GET", "/api/auth/profile"))).isEqualTo(RouteType.PROTECTED);
+		assertThat(classifier.classify(request("POST", "/api/leave-requests"))).isEqualTo(RouteType.PROTECTED);
+		assertThat(classifier.classify(request("OPTIONS", "/api/leave-requests"))).isEqualTo(RouteType.PROTECTED); // 缺少预检请求头
+	}
+
+	@Test
+	void prefixesMatchWholePathSegmentsOnly() {
+		assertThat(classifier.classify(request("POST", "/api/auth/registerX"))).isEqualTo(RouteType.PROTECTED);
+		assertThat(classifier.classify(request("POST", "/api/auth/login/"))).isEqualTo(RouteType.PROTECTED);
+		assertThat(classifier.classify(request("GET", "/swagger-uiX/index.html"))).isEqualTo(RouteType.PROTECTED);
+		assertThat(classifier.classify(request("GET", "/v3/api-docsfoo"))).isEqualTo(RouteType.PROTECTED);
+
+		assertThat(classifier.isApiPath(request("GET", "/api/users/search"))).isTrue();
+		assertThat(classifier.isApiPath(request("GET", "/apifoo"))).isFalse();
+		assertThat(classifier.isApiPath(request("GET", "/actuator/health"))).isFalse();
+	}
+
+	@Test
+	void tokenPathsAreLoginLogoutAndIntrospectOnly() {
+		assertThat(classifier.isTokenPath(request("POST", "/api/auth/login"))).isTrue();
+		assertThat(classifier.isTokenPath(request("POST", "/api/auth/logout"))).isTrue();
+		assertThat(classifier.isTokenPath(request("POST", "/api/auth/introspect"))).isTrue();
+		assertThat(classifier.isTokenPath(request("POST", "/api/auth/register"))).isFalse();
+		assertThat(classifier.isTokenPath(request("GET", "/api/auth/profile"))).isFalse();
+		assertThat(classifier.isTokenPath(request("POST", "/api/auth/login/x"))).isFalse();
+	}
+
+	@Test
+	void preflightNeedsOriginAndRequestMethod() {
+		MockHttpServletRequest preflight = request("OPTIONS", "/api/leave-requests");
+		preflight.addHeader(HttpHeaders.ORIGIN, "https://app.example.com");
+		preflight.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST");
+		MockHttpServletRequest withoutMethod = request("OPTIONS", "/api/leave-requests");
+		withoutMethod.addHeader(HttpHeaders.ORIGIN, "https://app.example.com");
+
+		assertThat(classifier.classify(preflight)).isEqualTo(RouteType.PREFLIGHT);
+		assertThat(classifier.isPreflight(withoutMethod)).isFalse();
+	}
+
+	@Test
+	void contextPathIsStripped() {
+		MockHttpServletRequest request = request("POST", "/leave/api/auth/login");
+		request.setContextPath("/leave");
+
+		assertThat(classifier.classify(request)).isEqualTo(RouteType.PUBLIC);
+		assertThat(classifier.isTokenPath(request)).isTrue();
+	}
+
+	@Test
+	void detectsConditionalProfileGet() {
+		MockHttpServletRequest conditional = request("GET", "/api/auth/profile");
+		conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "\"u1-3\"");
+
+		assertThat(classifier.isConditionalProfileGet(conditional)).isTrue();
+		assertThat(classifier.isConditionalProfileGet(request("GET", "/api/auth/profile"))).isFalse();
+	}
+
+	private static MockHttpServletRequest request(String method, String uri) {
+		return new MockHttpServletRequest(method, uri);
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.LeaveSummary;
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.model.LeaveType;
+import com.example.leave_approval_system.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AbsenceConflictServiceTests {
+
+	private static final int LOOKBACK_DAYS = 31;
+
+	private final LocalDate today = LocalDate.now();
+
+	private LeaveRequestRepository leaveRequestRepository;
+
+	@BeforeEach
+	void setUp() {
+		leaveRequestRepository = mock(LeaveRequestRepository.class);
+		when(leaveRequestRepository.findActiveByApproverEndingFrom(eq(10L), anyList(), any()))
+				.thenReturn(List.of(absence(1L, 2L, 0, 2)));
+	}
+
+	@Test
+	void loadsOnlyAbsencesEndingWithinLookbackAndCachesThem() {
+		AbsenceConflictService service = new AbsenceConflictService(leaveRequestRepository, LOOKBACK_DAYS, 60_000);
+
+		assertThat(service.conflicts(10L, today, today.plusDays(1), null)).extracting(LeaveSummary::getId).containsExactly(1L);
+		assertThat(service.conflicts(10L, today.plusDays(1), today.plusDays(5), 2L)).isEmpty();
+
+		verify(leaveRequestRepository).findActiveByApproverEndingFrom(10L,
+				List.of(LeaveStatus.PENDING, LeaveStatus.APPROVED), today.minusDays(LOOKBACK_DAYS));
+	}
+
+	@Test
+	void appliesLocalChangesToLoadedIndex() {
+		AbsenceConflictService service = new AbsenceConflictService(leaveRequestRepository, LOOKBACK_DAYS, 60_000);
+		service.conflicts(10L, today, today, null);
+
+		service.onChanged(10L, absence(3L, 4L, 1, 1));
+		service.onStatusChanged(10L, List.of(1L), LeaveStatus.REJECTED);
+
+		assertThat(service.conflicts(10L, today, today.plusDays(1), null)).extracting(LeaveSummary::getId).containsExactly(3L);
+		verify(leaveRequestRepository, times(1)).findActiveByApproverEndingFrom(eq(10L), anyList(), any());
+	}
+
+	@Test
+	void reloadsAfterTtlSoOtherNodesChangesBecomeVisible() {
+		AbsenceConflictService service = new AbsenceConflictService(leaveRequestRepository, LOOKBACK_DAYS, 0);
+
+		service.conflicts(10L, today, today, null);
+		service.conflicts(10L, today, today, null);
+
+		verify(leaveRequestRepository, times(2)).findActiveByApproverEndingFrom(eq(10L), anyList(), any());
+	}
+
+	@Test
+	void doesNotCacheIndexLoadedWhileAChangeCommitted() {
+		AbsenceConflictService service = new AbsenceConflictService(leaveRequestRepository, LOOKBACK_DAYS, 60_000);
+		when(leaveRequestRepository.findActiveByApproverEndingFrom(eq(10L), anyList(), any())).thenAnswer(invocation -> {
+			// 加载期间另一个事务提交了变更 (此时团队尚未装入，增量更新无处可应用)
+			service.onChanged(10L, absence(3L, 4L, 0, 0));
+			return List.of(absence(1L, 2L, 0, 2));
+		}).thenReturn(List.of(absence(1L, 2L, 0, 2), absence(3L, 4L, 0, 0)));
+
+		service.conflicts(10L, today, today, null);
+
+		assertThat(service.conflicts(10L, today, today, null)).extracting(LeaveSummary::getId).containsExactlyInAnyOrder(1L, 3L);
+		verify(leaveRequestRepository, times(2)).findActiveByApproverEndingFrom(eq(10L), anyList(), any());
+	}
+
+	@Test
+	void queriesBeforeLookbackGoToDatabaseUncached() {
+		AbsenceConflictService service = new AbsenceConflictService(leaveRequestRepository, LOOKBACK_DAYS, 60_000);
+		LocalDate old = today.minusDays(LOOKBACK_DAYS + 10);
+
+		service.conflicts(10L, old, old.plusDays(3), null);
+		service.conflicts(10L, old, old.plusDays(3), null);
+
+		verify(leaveRequestRepository, times(2)).findActiveByApproverEndingFrom(eq(10L), anyList(), eq(old));
+	}
+
+	private LeaveSummary absence(Long id, Long applicantId, int startOffset, int endOffset) {
+		return new LeaveSummary(id, applicantId, "user" + applicantId, LeaveType.ANNUAL, today.plusDays(startOffset),
+				today.plusDays(endOffset), endOffset - startOffset + 1, LeaveStatus.PENDING, LocalDateTime.now());
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.AbsenceCountsResponse;
+import com.example.leave_approval_system.model.AbsenceDayCounter;
+import com.example.leave_approval_system.model.LeaveType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AbsenceCountWindowTests {
+
+	private static final LocalDate BASE = LocalDate.of(2026, 3, 1);
+
+	@Test
+	void slicesTotalsAndPerTypeArrays() {
+		AbsenceCountWindow window = AbsenceCountWindow.of(BASE, 10, List.of(
+				counter(1, LeaveType.ANNUAL, 0, 2),
+				counter(1, LeaveType.SICK, 1, 1),
+				counter(3, LeaveType.ANNUAL, 0, 1),
+				counter(42, LeaveType.ANNUAL, 0, 9)), 0);
+
+		AbsenceCountsResponse counts = window.slice(BASE, BASE.plusDays(3));
+
+		assertThat(counts.getApproved()).containsExactly(0, 3, 0, 1);
+		assertThat(counts.getPending()).containsExactly(0, 1, 0, 0);
+		assertThat(counts.getApprovedByType()).containsOnlyKeys(LeaveType.ANNUAL, LeaveType.SICK);
+		assertThat(counts.getApprovedByType().get(LeaveType.ANNUAL)).containsExactly(0, 2, 0, 1);
+		assertThat(counts.getPendingByType()).containsOnlyKeys(LeaveType.SICK);
+	}
+
+	@Test
+	void deltasProduceNewWindowAndIgnoreDaysOutside() {
+		AbsenceCountWindow window = AbsenceCountWindow.of(BASE, 5, List.of(), 0);
+
+		AbsenceCountWindow updated = window.withDeltas(List.of(
+				delta(0, LeaveType.ANNUAL, -1, 1),
+				delta(4, LeaveType.ANNUAL, 1, 0),
+				delta(5, LeaveType.ANNUAL, 1, 1),
+				delta(-1, LeaveType.ANNUAL, 1, 1)));
+
+		assertThat(updated.slice(BASE, BASE.plusDays(4)).getApproved()).containsExactly(1, 0, 0, 0, 0);
+		assertThat(updated.slice(BASE, BASE.plusDays(4)).getPending()).containsExactly(-1, 0, 0, 0, 1);
+		assertThat(window.slice(BASE, BASE.plusDays(4)).getApproved()).containsOnly(0);
+		assertThat(window.withDeltas(List.of(delta(9, LeaveType.SICK, 1, 1)))).isSameAs(window);
+	}
+
+	private static AbsenceDayCounter counter(int offset, LeaveType type, int pending, int approved) {
+		AbsenceDayCounter counter = new AbsenceDayCounter();
+		counter.setApproverId(1L);
+		counter.setAbsenceDate(BASE.plusDays(offset));
+		counter.setLeaveType(type);
+		counter.setPendingCount(pending);
+		counter.setApprovedCount(approved);
+		return counter;
+	}
+
+	private static AbsenceCounterService.CounterDelta delta(int offset, LeaveType type, int pending, int approved) {
+		return new AbsenceCounterService.CounterDelta(
+				new AbsenceCounterService.CounterKey(BASE.plusDays(offset), type), pending, approved);
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.LeaveSummary;
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.model.LeaveType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AbsenceIntervalIndexTests {
+
+	private static final LocalDate BASE = LocalDate.of(2026, 1, 1);
+
+	@Test
+	void findsOverlapsIncludingTouchingEndpoints() {
+		AbsenceIntervalIndex index = AbsenceIntervalIndex.of(List.of(
+				absence(1L, 0, 4),
+				absence(2L, 5, 9),
+				absence(3L, 20, 30)));
+
+		assertThat(index.overlapping(BASE.plusDays(4), BASE.plusDays(5)))
+				.extracting(LeaveSummary::getId).containsExactly(1L, 2L);
+		assertThat(index.overlapping(BASE.plusDays(10), BASE.plusDays(19))).isEmpty();
+		assertThat(index.overlapping(BASE.plusDays(25), BASE.plusDays(25)))
+				.extracting(LeaveSummary::getId).containsExactly(3L);
+	}
+
+	@Test
+	void matchesBruteForceOnRandomIntervals() {
+		Random random = new Random(42);
+		List<LeaveSummary> all = new ArrayList<>();
+		for (long id = 1; id <= 300; id++) {
+			int start = random.nextInt(365);
+			all.add(absence(id, start, start + random.nextInt(15)));
+		}
+		AbsenceIntervalIndex index = AbsenceIntervalIndex.of(all);
+
+		for (int i = 0; i < 200; i++) {
+			LocalDate from = BASE.plusDays(random.nextInt(380) - 10);
+			LocalDate to = from.plusDays(random.nextInt(20));
+			List<Long> expected = all.stream()
+					.filter(a -> !a.getStartDate().isAfter(to) && !a.getEndDate().isBefore(from))
+					.map(LeaveSummary::getId)
+					.toList();
+			assertThat(index.overlapping(from, to)).extracting(LeaveSummary::getId)
+					.containsExactlyInAnyOrderElementsOf(expected);
+		}
+	}
+
+	@Test
+	void upsertRemoveAndStatusChangeReturnNewIndex() {
+		AbsenceIntervalIndex index = AbsenceIntervalIndex.of(List.of(absence(1L, 0, 4), absence(2L, 2, 6)));
+
+		AbsenceIntervalIndex moved = index.withUpsert(absence(1L, 10, 12));
+		assertThat(moved.size()).isEqualTo(2);
+		assertThat(moved.overlapping(BASE, BASE.plusDays(1))).isEmpty();
+		assertThat(index.overlapping(BASE, BASE.plusDays(1))).extracting(LeaveSummary::getId).containsExactly(1L);
+
+		assertThat(index.without(2L).size()).isEqualTo(1);
+		assertThat(index.without(99L)).isSameAs(index);
+
+		AbsenceIntervalIndex approved = index.withStatus(Set.of(2L), LeaveStatus.APPROVED, true);
+		assertThat(approved.find(2L).getStatus()).isEqualTo(LeaveStatus.APPROVED);
+		assertThat(index.withStatus(Set.of(1L, 2L), LeaveStatus.REJECTED, false).size()).isZero();
+	}
+
+	private static LeaveSummary absence(Long id, int startOffset, int endOffset) {
+		return new LeaveSummary(id, id, "user" + id, LeaveType.ANNUAL, BASE.plusDays(startOffset),
+				BASE.plusDays(endOffset), endOffset - startOffset + 1, LeaveStatus.PENDING, null);
+	}
+}
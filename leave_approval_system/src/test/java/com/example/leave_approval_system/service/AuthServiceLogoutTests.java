@@ -0,0 +1,96 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.audit.AuditLogger;
+import com.example.leave_approval_system.invalidation.CacheInvalidator;
+import com.example.leave_approval_system.invalidation.ChangeLog;
+import com.example.leave_approval_system.model.RevokedToken;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.RevokedTokenRepository;
+import com.example.leave_approval_system.repository.UserRepository;
+import com.example.leave_approval_system.security.BreachedPasswordChecker;
+import com.example.leave_approval_system.security.JwtUtil;
+import com.example.leave_approval_system.security.RevokedTokenCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class AuthServiceLogoutTests {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+	private final User alice = new User(1L, "alice", "hash", Role.USER.mask(), LocalDateTime.now(), null);
+
+	private JwtUtil jwtUtil;
+	private RevokedTokenRepository revokedTokenRepository;
+	private RevokedTokenCache revokedTokenCache;
+	private AuthService authService;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "jwtSecretString", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 3_600_000L);
+		jwtUtil.init();
+		revokedTokenRepository = mock(RevokedTokenRepository.class);
+		revokedTokenCache = new RevokedTokenCache(3_600_000L);
+		CacheInvalidator cacheInvalidator = new CacheInvalidator(mock(UserDetailsCache.class),
+				mock(UserVersionCache.class), revokedTokenCache);
+		authService = new AuthService(mock(UserRepository.class), mock(PasswordEncoder.class), jwtUtil,
+				mock(AuthenticationManager.class), mock(UserVersionCache.class), mock(UserDirectoryIndex.class),
+				mock(AuditLogger.class), revokedTokenRepository, new ChangeLog(mock(JdbcTemplate.class), cacheInvalidator),
+				mock(BreachedPasswordChecker.class));
+	}
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void logoutPersistsTheTokenAndRevokesItLocallyOnCommit() {
+		String token = jwtUtil.generateToken(alice);
+		String tokenId = jwtUtil.extractClaim(token, c -> c.getId());
+		TransactionSynchronizationManager.initSynchronization();
+
+		authService.logout(token);
+		assertThat(revokedTokenCache.isRevoked(tokenId)).isFalse(); // 提交前不生效
+
+		TransactionSynchronizationUtils.triggerBeforeCommit(false);
+		TransactionSynchronizationUtils.triggerAfterCommit();
+		TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+		ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+		verify(revokedTokenRepository).save(saved.capture());
+		assertThat(saved.getValue().getTokenId()).isEqualTo(tokenId);
+		assertThat(saved.getValue().getExpiresAt()).isAfter(LocalDateTime.now());
+		assertThat(revokedTokenCache.isRevoked(tokenId)).isTrue();
+	}
+
+	@Test
+	void rolledBackLogoutDoesNotRevokeTheToken() {
+		String token = jwtUtil.generateToken(alice);
+		TransactionSynchronizationManager.initSynchronization();
+
+		authService.logout(token);
+		TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		assertThat(revokedTokenCache.isRevoked(jwtUtil.extractClaim(token, c -> c.getId()))).isFalse();
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.leave_approval_system.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTests {
+
+	@Test
+	void roundTripsThroughOpaqueString() {
+		KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_000_000), 42L);
+
+		String encoded = cursor.encode();
+
+		assertThat(encoded).doesNotContain("|", "=", "+", "/");
+		assertThat(KeysetCursor.decode(encoded)).isEqualTo(cursor);
+	}
+
+	@Test
+	void blankCursorMeansFirstPage() {
+		assertThat(KeysetCursor.decode(null)).isNull();
+		assertThat(KeysetCursor.decode("  ")).isNull();
+	}
+
+	@Test
+	void rejectsGarbage() {
+		assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("分页游标无效");
+	}
+
+	@Test
+	void rejectsTamperedCursors() {
+		assertThatThrownBy(() -> KeysetCursor.decode(encodeRaw("2024-03-01T09:30|abc")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("分页游标无效");
+		assertThatThrownBy(() -> KeysetCursor.decode(encodeRaw("2024-13-01T09:30|42")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("分页游标无效");
+		assertThatThrownBy(() -> KeysetCursor.decode(encodeRaw("2024-03-01T09:30")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("分页游标无效");
+	}
+
+	private static String encodeRaw(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
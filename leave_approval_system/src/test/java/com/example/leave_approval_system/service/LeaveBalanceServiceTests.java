@@ -0,0 +1,145 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.LeaveBalanceResponse;
+import com.example.leave_approval_system.model.LeaveType;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.LeaveBalanceRepository;
+import com.example.leave_approval_system.repository.LeaveLedgerRepository;
+import com.example.leave_approval_system.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 假期余额流水、物化余额 upsert、按周期发放与对账 (H2 MySQL 兼容模式)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("jpa")
+class LeaveBalanceServiceTests {
+
+	// 小于用户数，覆盖多批键集分页
+	private static final int CHUNK_SIZE = 2;
+	private static final YearMonth MARCH = YearMonth.of(2024, 3);
+
+	@Autowired
+	private TestEntityManager entityManager;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private LeaveLedgerRepository leaveLedgerRepository;
+	@Autowired
+	private LeaveBalanceRepository leaveBalanceRepository;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private LeaveBalanceService leaveBalanceService;
+	private LeaveAccrualService leaveAccrualService;
+	private List<Long> userIds;
+
+	@BeforeEach
+	void setUp() {
+		leaveBalanceService = new LeaveBalanceService(jdbcTemplate, leaveBalanceRepository);
+		leaveAccrualService = new LeaveAccrualService(userRepository, leaveLedgerRepository, leaveBalanceService,
+				transactionManager, "ANNUAL:1.25,SICK:0.5", CHUNK_SIZE);
+		userIds = List.of(user("u1"), user("u2"), user("u3"));
+	}
+
+	@Test
+	void postAppendsLedgerAndUpsertsOneBalanceRowPerType() {
+		Long userId = userIds.get(0);
+		leaveBalanceService.post(List.of(
+				LeaveBalanceService.Posting.accrual(userId, LeaveType.ANNUAL, new BigDecimal("10"), "2024-01"),
+				LeaveBalanceService.Posting.consumption(100L, userId, LeaveType.ANNUAL, 3)));
+		leaveBalanceService.post(List.of(LeaveBalanceService.Posting.consumption(101L, userId, LeaveType.ANNUAL, 2)));
+
+		assertThat(leaveLedgerRepository.count()).isEqualTo(3);
+		assertThat(balance(userId, LeaveType.ANNUAL)).isEqualByComparingTo("5");
+		assertThat(leaveBalanceRepository.findByUserId(userId)).hasSize(1);
+	}
+
+	@Test
+	void accrualRunTwiceForSamePeriodLeavesBalancesUnchanged() {
+		assertThat(leaveAccrualService.accrue(MARCH)).isEqualTo(userIds.size() * 2);
+		assertThat(leaveAccrualService.accrue(MARCH)).isZero();
+
+		for (Long userId : userIds) {
+			assertThat(balance(userId, LeaveType.ANNUAL)).isEqualByComparingTo("1.25");
+			assertThat(balance(userId, LeaveType.SICK)).isEqualByComparingTo("0.5");
+		}
+		assertThat(leaveLedgerRepository.count()).isEqualTo(userIds.size() * 2);
+
+		assertThat(leaveAccrualService.accrue(MARCH.plusMonths(1))).isEqualTo(userIds.size() * 2);
+		assertThat(balance(userIds.get(2), LeaveType.ANNUAL)).isEqualByComparingTo("2.5");
+	}
+
+	@Test
+	void accrualCompletesAPartiallyAccruedPeriod() {
+		leaveBalanceService.post(List.of(
+				LeaveBalanceService.Posting.accrual(userIds.get(1), LeaveType.ANNUAL, new BigDecimal("1.25"), MARCH.toString())));
+
+		assertThat(leaveAccrualService.accrue(MARCH)).isEqualTo(userIds.size() * 2 - 1);
+		assertThat(balance(userIds.get(1), LeaveType.ANNUAL)).isEqualByComparingTo("1.25");
+	}
+
+	@Test
+	void reconcilerDetectsAndRepairsLedgerBalanceMismatch() {
+		leaveAccrualService.accrue(MARCH);
+		jdbcTemplate.update("UPDATE leave_balances SET balance = 9 WHERE user_id = ? AND leave_type = 'ANNUAL'", userIds.get(0));
+		jdbcTemplate.update("DELETE FROM leave_balances WHERE user_id = ? AND leave_type = 'SICK'", userIds.get(2));
+
+		assertThat(reconciler(false).reconcile()).isEqualTo(2);
+		assertThat(balance(userIds.get(0), LeaveType.ANNUAL)).isEqualByComparingTo("9");
+
+		assertThat(reconciler(true).reconcile()).isEqualTo(2);
+		assertThat(balance(userIds.get(0), LeaveType.ANNUAL)).isEqualByComparingTo("1.25");
+		assertThat(balance(userIds.get(2), LeaveType.SICK)).isEqualByComparingTo("0.5");
+		assertThat(reconciler(true).reconcile()).isZero();
+	}
+
+	@Test
+	void reconcilerRemovesBalanceWithoutLedger() {
+		leaveBalanceService.applyBalanceDeltas(Map.of(
+				new LeaveBalanceService.BalanceKey(userIds.get(1), LeaveType.PERSONAL), new BigDecimal("3")));
+
+		assertThat(reconciler(true).reconcile()).isEqualTo(1);
+		assertThat(balance(userIds.get(1), LeaveType.PERSONAL)).isEqualByComparingTo("0");
+	}
+
+	private LeaveBalanceReconciler reconciler(boolean repair) {
+		return new LeaveBalanceReconciler(userRepository, leaveLedgerRepository, leaveBalanceRepository,
+				leaveBalanceService, transactionManager, CHUNK_SIZE, repair);
+	}
+
+	private BigDecimal balance(Long userId, LeaveType leaveType) {
+		return leaveBalanceRepository.findByUserId(userId).stream()
+				.filter(b -> b.getLeaveType() == leaveType)
+				.map(LeaveBalanceResponse::getBalance)
+				.findFirst()
+				.orElse(BigDecimal.ZERO);
+	}
+
+	private Long user(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setPassword("hash");
+		user.setRoleMask(Role.USER.mask());
+		return entityManager.persistAndFlush(user).getId();
+	}
+}
@@ -0,0 +1,175 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.KeysetPage;
+import com.example.leave_approval_system.dto.LeaveBatchDecisionRequest;
+import com.example.leave_approval_system.dto.LeaveBatchDecisionResponse;
+import com.example.leave_approval_system.dto.LeaveDecisionOutcome;
+import com.example.leave_approval_system.dto.LeaveStateRow;
+import com.example.leave_approval_system.dto.LeaveSummary;
+import com.example.leave_approval_system.model.LeaveStatus;
+import com.example.leave_approval_system.model.LeaveType;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.LeaveRequestRepository;
+import com.example.leave_approval_system.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class LeaveRequestServiceTests {
+
+	private static final LocalDateTime T = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+	private final User approver = new User(10L, "approver", "hash", Role.APPROVER.mask(), T, null);
+
+	private LeaveRequestRepository leaveRequestRepository;
+	private LeaveBalanceService leaveBalanceService;
+	private AbsenceConflictService absenceConflictService;
+	private LeaveRequestService service;
+
+	@BeforeEach
+	void setUp() {
+		leaveRequestRepository = mock(LeaveRequestRepository.class);
+		leaveBalanceService = mock(LeaveBalanceService.class);
+		absenceConflictService = mock(AbsenceConflictService.class);
+		service = new LeaveRequestService(leaveRequestRepository, mock(UserRepository.class),
+				leaveBalanceService, absenceConflictService, mock(AbsenceCounterService.class),
+				mock(WorkingDayCalendar.class), mock(ApplicationEventPublisher.class));
+	}
+
+	@Test
+	void fullPageReturnsCursorOfItsLastItem() {
+		when(leaveRequestRepository.findInboxFirstPage(10L, LeaveStatus.PENDING, PageRequest.of(0, 3)))
+				.thenReturn(List.of(summary(5L, T), summary(4L, T), summary(3L, T), summary(2L, T.minusHours(1))));
+
+		KeysetPage<LeaveSummary> page = service.inbox(approver, null, null, 2);
+
+		assertThat(page.getItems()).extracting(LeaveSummary::getId).containsExactly(5L, 4L);
+		assertThat(page.isHasMore()).isTrue();
+		assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(new KeysetCursor(T, 4L));
+	}
+
+	@Test
+	void nextPageStartsAfterTheCursor() {
+		String cursor = new KeysetCursor(T, 4L).encode();
+		when(leaveRequestRepository.findInboxPageAfter(10L, LeaveStatus.PENDING, T, 4L, PageRequest.of(0, 3)))
+				.thenReturn(List.of(summary(3L, T), summary(2L, T.minusHours(1))));
+
+		KeysetPage<LeaveSummary> page = service.inbox(approver, LeaveStatus.PENDING, cursor, 2);
+
+		assertThat(page.getItems()).extracting(LeaveSummary::getId).containsExactly(3L, 2L);
+		assertThat(page.isHasMore()).isFalse();
+		assertThat(page.getNextCursor()).isNull();
+	}
+
+	@Test
+	void emptyLastPageHasNoCursor() {
+		when(leaveRequestRepository.findByApplicantPageAfter(any(), any(), any(), any())).thenReturn(List.of());
+
+		KeysetPage<LeaveSummary> page = service.mine(approver, new KeysetCursor(T, 1L).encode(), 20);
+
+		assertThat(page.getItems()).isEmpty();
+		assertThat(page.isHasMore()).isFalse();
+		assertThat(page.getNextCursor()).isNull();
+		verify(leaveRequestRepository).findByApplicantPageAfter(10L, T, 1L, PageRequest.of(0, 21));
+	}
+
+	@Test
+	void rejectsInvalidCursorBeforeQuerying() {
+		assertThatThrownBy(() -> service.inbox(approver, null, "garbage", 20))
+				.isInstanceOf(IllegalArgumentException.class);
+		verifyNoInteractions(leaveRequestRepository);
+	}
+
+	@Test
+	void batchReportsEachRequestAndOnlyPostsAppliedOnes() {
+		when(leaveRequestRepository.findStatesByIdIn(List.of(1L, 2L, 3L, 4L, 5L, 6L))).thenReturn(List.of(
+				new LeaveStateRow(1L, 10L, LeaveStatus.PENDING, 0L),
+				new LeaveStateRow(2L, 10L, LeaveStatus.PENDING, 1L),
+				new LeaveStateRow(3L, 20L, LeaveStatus.PENDING, 0L),
+				new LeaveStateRow(4L, 10L, LeaveStatus.APPROVED, 1L),
+				new LeaveStateRow(6L, 10L, LeaveStatus.PENDING, 0L)));
+		// 6 在读取状态后被另一次审批驳回：版本号 0 的那组只更新了 1 行
+		when(leaveRequestRepository.bulkDecide(eq(List.of(1L, 6L)), eq(10L), eq(0L), eq(LeaveStatus.APPROVED),
+				eq("ok"), any(LocalDateTime.class))).thenReturn(1);
+		when(leaveRequestRepository.bulkDecide(eq(List.of(2L)), eq(10L), eq(1L), eq(LeaveStatus.APPROVED),
+				eq("ok"), any(LocalDateTime.class))).thenReturn(1);
+		when(leaveRequestRepository.findStatesByIdIn(List.of(1L, 6L, 2L))).thenReturn(List.of(
+				new LeaveStateRow(1L, 10L, LeaveStatus.APPROVED, 1L),
+				new LeaveStateRow(2L, 10L, LeaveStatus.APPROVED, 2L),
+				new LeaveStateRow(6L, 10L, LeaveStatus.REJECTED, 1L)));
+		when(leaveRequestRepository.findSummariesByIdIn(List.of(1L, 2L)))
+				.thenReturn(List.of(summary(1L, T), summary(2L, T)));
+
+		LeaveBatchDecisionResponse response = service.decideBatch(approver,
+				batch(LeaveStatus.APPROVED, 1L, 2L, 3L, 4L, 5L, 6L, 1L));
+
+		assertThat(response.getApplied()).isEqualTo(2);
+		assertThat(response.getOutcomes()).extracting(LeaveDecisionOutcome::getId, LeaveDecisionOutcome::getResult)
+				.containsExactly(
+						tuple(1L, LeaveDecisionOutcome.Result.APPLIED),
+						tuple(2L, LeaveDecisionOutcome.Result.APPLIED),
+						tuple(3L, LeaveDecisionOutcome.Result.FORBIDDEN),
+						tuple(4L, LeaveDecisionOutcome.Result.NOT_PENDING),
+						tuple(5L, LeaveDecisionOutcome.Result.NOT_FOUND),
+						tuple(6L, LeaveDecisionOutcome.Result.CONFLICT));
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<LeaveBalanceService.Posting>> postings = ArgumentCaptor.forClass(List.class);
+		verify(leaveBalanceService).post(postings.capture());
+		assertThat(postings.getValue()).extracting(LeaveBalanceService.Posting::leaveRequestId).containsExactly(1L, 2L);
+		verify(absenceConflictService).onStatusChanged(10L, List.of(1L, 2L), LeaveStatus.APPROVED);
+	}
+
+	@Test
+	void batchOfForeignAndDecidedRequestsUpdatesNothing() {
+		when(leaveRequestRepository.findStatesByIdIn(List.of(3L, 4L))).thenReturn(List.of(
+				new LeaveStateRow(3L, 20L, LeaveStatus.PENDING, 0L),
+				new LeaveStateRow(4L, 10L, LeaveStatus.REJECTED, 1L)));
+
+		LeaveBatchDecisionResponse response = service.decideBatch(approver, batch(LeaveStatus.APPROVED, 3L, 4L));
+
+		assertThat(response.getApplied()).isZero();
+		assertThat(response.getOutcomes()).extracting(LeaveDecisionOutcome::getResult)
+				.containsExactly(LeaveDecisionOutcome.Result.FORBIDDEN, LeaveDecisionOutcome.Result.NOT_PENDING);
+		verify(leaveRequestRepository, never()).bulkDecide(anyList(), any(), any(), any(), any(), any());
+		verify(leaveBalanceService, never()).post(anyList());
+	}
+
+	@Test
+	void batchRejectsNonFinalDecision() {
+		assertThatThrownBy(() -> service.decideBatch(approver, batch(LeaveStatus.CANCELLED, 1L)))
+				.isInstanceOf(IllegalArgumentException.class);
+		verifyNoInteractions(leaveRequestRepository);
+	}
+
+	private static LeaveBatchDecisionRequest batch(LeaveStatus decision, Long... ids) {
+		LeaveBatchDecisionRequest request = new LeaveBatchDecisionRequest();
+		request.setIds(List.of(ids));
+		request.setDecision(decision);
+		request.setComment("ok");
+		return request;
+	}
+
+	private static LeaveSummary summary(Long id, LocalDateTime createdAt) {
+		return new LeaveSummary(id, 1L, "applicant", LeaveType.ANNUAL, LocalDate.of(2024, 4, 1),
+				LocalDate.of(2024, 4, 2), 2, LeaveStatus.PENDING, createdAt);
+	}
+}
@@ -0,0 +1,146 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.TokenIntrospectionResult;
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.RevokedTokenRepository;
+import com.example.leave_approval_system.security.AuthCircuitBreaker;
+import com.example.leave_approval_system.security.AuthenticationUnavailableException;
+import com.example.leave_approval_system.security.JwtUtil;
+import com.example.leave_approval_system.security.RevokedTokenCache;
+import com.example.leave_approval_system.security.TokenRevocationChecker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenIntrospectionServiceTests {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+	private final User alice = new User(1L, "alice", "hash", Role.USER.mask(), LocalDateTime.now(), null);
+	private final User bob = new User(2L, "bob", "hash", Role.maskOf(List.of(Role.USER, Role.APPROVER)), LocalDateTime.now(), null);
+
+	private JwtUtil jwtUtil;
+	private RevokedTokenCache revokedTokenCache;
+	private RevokedTokenRepository revokedTokenRepository;
+	private AuthCircuitBreaker circuitBreaker;
+	private UserDetailsServiceImpl userDetailsService;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = jwtUtil(3_600_000L);
+		revokedTokenCache = new RevokedTokenCache(3_600_000L);
+		revokedTokenCache.markFresh(System.currentTimeMillis(), Long.MAX_VALUE);
+		revokedTokenRepository = mock(RevokedTokenRepository.class);
+		circuitBreaker = new AuthCircuitBreaker(1, 60_000L, 900_000L);
+		userDetailsService = mock(UserDetailsServiceImpl.class);
+		when(userDetailsService.loadUsersByUsernames(any())).thenReturn(Map.of("alice", alice, "bob", bob));
+	}
+
+	@Test
+	void loadsAllUsersWithOneBatchAndKeepsRequestOrder() {
+		String aliceToken = jwtUtil.generateToken(alice);
+		String bobToken = jwtUtil.generateToken(bob);
+
+		List<TokenIntrospectionResult> results = service(64).introspect(List.of(bobToken, aliceToken, bobToken));
+
+		assertThat(results).extracting(TokenIntrospectionResult::getSubject).containsExactly("bob", "alice", "bob");
+		assertThat(results).allMatch(TokenIntrospectionResult::isActive);
+		assertThat(results.get(0).getRoles()).containsExactly(Role.USER, Role.APPROVER);
+		assertThat(results.get(1).getUserId()).isEqualTo(1L);
+		assertThat(results.get(1).getExpiresAt()).isAfter(LocalDateTime.now());
+		verify(userDetailsService).loadUsersByUsernames(Set.of("alice", "bob"));
+	}
+
+	@Test
+	void reportsWhyTokensAreRejectedWithoutLoadingUsers() {
+		String expired = jwtUtil(-60_000L).generateToken(alice);
+		String revoked = jwtUtil.generateToken(bob);
+		revokedTokenCache.revoke(jwtUtil.extractClaim(revoked, c -> c.getId()));
+		String tampered = jwtUtil(3_600_000L, SECRET.toUpperCase()).generateToken(alice); // 用其他密钥签名
+
+		List<TokenIntrospectionResult> results = service(64).introspect(List.of(expired, revoked, tampered, "not-a-jwt"));
+
+		assertThat(results).noneMatch(TokenIntrospectionResult::isActive);
+		assertThat(results).extracting(TokenIntrospectionResult::getReason)
+				.containsExactly("Token 已过期", "Token 已注销", "签名无效", "Token 格式无效");
+		assertThat(results.get(0).getSubject()).isEqualTo("alice");
+		assertThat(results.get(2).getSubject()).isNull();
+		verify(userDetailsService, never()).loadUsersByUsernames(any());
+	}
+
+	@Test
+	void checksTheDatabaseWhileRevocationsAreStale() {
+		revokedTokenCache.markFresh(System.currentTimeMillis() - 10_000, System.currentTimeMillis() - 5_000);
+		String revoked = jwtUtil.generateToken(bob);
+		when(revokedTokenRepository.existsById(anyString())).thenReturn(false);
+		when(revokedTokenRepository.existsById(jwtUtil.extractClaim(revoked, c -> c.getId()))).thenReturn(true);
+
+		List<TokenIntrospectionResult> results = service(64).introspect(List.of(jwtUtil.generateToken(alice), revoked));
+
+		assertThat(results).extracting(TokenIntrospectionResult::isActive).containsExactly(true, false);
+		assertThat(results.get(1).getReason()).isEqualTo("Token 已注销");
+	}
+
+	@Test
+	void failsTheBatchWhenTheRevocationStateCannotBeConfirmed() {
+		long now = System.currentTimeMillis();
+		revokedTokenCache.markFresh(now - 5_500, now - 500); // 数据库已不可用超过 5 秒
+		when(revokedTokenRepository.existsById(anyString())).thenThrow(new IllegalStateException("down"));
+
+		// Token 签发于最近一次同步之后，熔断器打开后也无法确认
+		assertThatThrownBy(() -> service(64).introspect(List.of(jwtUtil.generateToken(alice))))
+				.isInstanceOf(AuthenticationUnavailableException.class);
+		verify(userDetailsService, never()).loadUsersByUsernames(any());
+	}
+
+	@Test
+	void rejectsTokensOfMissingOrRecreatedUsers() {
+		String carol = jwtUtil.generateToken(new User(3L, "carol", "hash", Role.USER.mask(), LocalDateTime.now(), null));
+		String oldAlice = jwtUtil.generateToken(new User(99L, "alice", "hash", Role.USER.mask(), LocalDateTime.now(), null));
+
+		List<TokenIntrospectionResult> results = service(64).introspect(List.of(carol, oldAlice));
+
+		assertThat(results).noneMatch(TokenIntrospectionResult::isActive);
+		assertThat(results).extracting(TokenIntrospectionResult::getReason).containsOnly("Token 对应的用户不存在");
+	}
+
+	@Test
+	void parallelVerificationGivesTheSameResults() {
+		List<String> tokens = List.of(jwtUtil.generateToken(alice), "not-a-jwt", jwtUtil.generateToken(bob));
+
+		assertThat(service(1).introspect(tokens)).isEqualTo(service(64).introspect(tokens));
+	}
+
+	private TokenIntrospectionService service(int parallelThreshold) {
+		return new TokenIntrospectionService(jwtUtil,
+				new TokenRevocationChecker(revokedTokenCache, revokedTokenRepository, circuitBreaker),
+				userDetailsService, parallelThreshold);
+	}
+
+	private static JwtUtil jwtUtil(long expirationMs) {
+		return jwtUtil(expirationMs, SECRET);
+	}
+
+	private static JwtUtil jwtUtil(long expirationMs, String secret) {
+		JwtUtil util = new JwtUtil();
+		ReflectionTestUtils.setField(util, "jwtSecretString", secret);
+		ReflectionTestUtils.setField(util, "jwtExpirationMs", expirationMs);
+		util.init();
+		return util;
+	}
+}
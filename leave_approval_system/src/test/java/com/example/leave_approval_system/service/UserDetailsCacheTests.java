@@ -0,0 +1,55 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDetailsCacheTests {
+
+	private UserDetailsCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new UserDetailsCache(100, 60_000);
+		cache.markFresh(System.currentTimeMillis() + 60_000);
+	}
+
+	@Test
+	void returnsCachedUserUntilEvicted() {
+		User alice = user("alice");
+		cache.put(alice, cache.generation());
+
+		assertThat(cache.get("alice")).isSameAs(alice);
+
+		cache.evict("alice");
+
+		assertThat(cache.get("alice")).isNull();
+	}
+
+	@Test
+	void dropsLoadThatRacedWithEviction() {
+		long generation = cache.generation();
+		// 加载期间其他节点修改了用户，淘汰先于写入到达
+		cache.evict("alice");
+		cache.put(user("alice"), generation);
+
+		assertThat(cache.get("alice")).isNull();
+	}
+
+	@Test
+	void bypassesCacheWhenChangeLogIsStale() {
+		cache.put(user("alice"), cache.generation());
+		cache.markFresh(System.currentTimeMillis() - 1);
+
+		assertThat(cache.get("alice")).isNull();
+	}
+
+	private static User user(String username) {
+		User user = new User();
+		user.setId(1L);
+		user.setUsername(username);
+		return user;
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.model.Role;
+import com.example.leave_approval_system.model.User;
+import com.example.leave_approval_system.repository.UserRepository;
+import com.example.leave_approval_system.security.AuthCircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserDetailsServiceImplTests {
+
+	private UserRepository userRepository;
+	private UserDetailsServiceImpl userDetailsService;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		when(userRepository.findAuthByUsername(anyString())).thenReturn(Optional.empty());
+		when(userRepository.findAuthByEmailNormalized(anyString())).thenReturn(Optional.empty());
+		when(userRepository.findAuthByPhoneE164(anyString())).thenReturn(Optional.empty());
+		UserVersionCache userVersionCache = new UserVersionCache();
+		ReflectionTestUtils.setField(userVersionCache, "maxEntries", 100);
+		userDetailsService = new UserDetailsServiceImpl(userRepository, userVersionCache,
+				new UserDetailsCache(100, 60_000), new AuthCircuitBreaker(5, 5_000, 900_000));
+		ReflectionTestUtils.setField(userDetailsService, "defaultCallingCode", "86");
+	}
+
+	@Test
+	void emailLookupDoesNotTouchTheUsernameWhenFound() {
+		User alice = user("alice");
+		when(userRepository.findAuthByEmailNormalized("alice@example.com")).thenReturn(Optional.of(alice));
+
+		assertThat(userDetailsService.loadUserByLoginIdentifier(" Alice@Example.com ")).isSameAs(alice);
+		verify(userRepository, never()).findAuthByUsername(anyString());
+	}
+
+	@Test
+	void fallsBackToUsernameForLegacyEmailOrPhoneShapedUsernames() {
+		User legacyEmail = user("ops@team");
+		User legacyPhone = user("13800138000");
+		when(userRepository.findAuthByUsername("ops@team")).thenReturn(Optional.of(legacyEmail));
+		when(userRepository.findAuthByUsername("13800138000")).thenReturn(Optional.of(legacyPhone));
+
+		assertThat(userDetailsService.loadUserByLoginIdentifier("ops@team")).isSameAs(legacyEmail);
+		assertThat(userDetailsService.loadUserByLoginIdentifier(" 13800138000")).isSameAs(legacyPhone);
+		verify(userRepository).findAuthByPhoneE164("+8613800138000");
+	}
+
+	@Test
+	void reportsMissingUserWhenNoLookupMatches() {
+		assertThatThrownBy(() -> userDetailsService.loadUserByLoginIdentifier("nobody@example.com"))
+				.isInstanceOf(UsernameNotFoundException.class);
+	}
+
+	private static User user(String username) {
+		return new User(1L, username, "hash", Role.USER.mask(), LocalDateTime.now(), null);
+	}
+}
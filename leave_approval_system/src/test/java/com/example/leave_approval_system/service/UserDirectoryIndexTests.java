@@ -0,0 +1,74 @@
+package com.example.leave_approval_system.service;
+
+import com.example.leave_approval_system.dto.UserDirectoryEntry;
+import com.example.leave_approval_system.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserDirectoryIndexTests {
+
+	private UserDirectoryIndex index;
+
+	@BeforeEach
+	void setUp() {
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.findAllDirectoryEntries()).thenReturn(List.of(
+				new UserDirectoryEntry(1L, "Alice", "alice@example.com", "+86 138-0000-0001", "+8613800000001", null),
+				// 迁移前的旧数据没有 phone_e164，按同一规则现场规范化
+				new UserDirectoryEntry(2L, "alan", "boss@example.com", "013800000002", null, null),
+				new UserDirectoryEntry(3L, "bob", "al.bob@example.com", null, null, null),
+				new UserDirectoryEntry(4L, "carol", "carol@example.com", "+1 (415) 555-0100", "+14155550100", null)));
+		index = new UserDirectoryIndex(userRepository);
+		ReflectionTestUtils.setField(index, "defaultCallingCode", "86");
+		index.rebuild();
+	}
+
+	@Test
+	void matchesUsernameBeforeEmailAndDeduplicates() {
+		List<UserDirectoryEntry> results = index.search("AL", 10);
+
+		assertThat(results).extracting(UserDirectoryEntry::getId).containsExactly(2L, 1L, 3L);
+	}
+
+	@Test
+	void matchesPhoneDigitsIgnoringFormatting() {
+		assertThat(index.search("+8613800", 10)).extracting(UserDirectoryEntry::getId).containsExactly(1L, 2L);
+		assertThat(index.search("138 0000 0002", 10)).extracting(UserDirectoryEntry::getId).containsExactly(2L);
+	}
+
+	@Test
+	void matchesSameNumberInEveryNotation() {
+		assertThat(index.search("+86 138 0000 0001", 10)).extracting(UserDirectoryEntry::getId).containsExactly(1L);
+		assertThat(index.search("0086 13800000001", 10)).extracting(UserDirectoryEntry::getId).containsExactly(1L);
+		assertThat(index.search("138-0000-0001", 10)).extracting(UserDirectoryEntry::getId).containsExactly(1L);
+		assertThat(index.search("013800000001", 10)).extracting(UserDirectoryEntry::getId).containsExactly(1L);
+	}
+
+	@Test
+	void prefixesWithoutCountryCodeUseDefaultCallingCode() {
+		assertThat(index.search("138", 10)).extracting(UserDirectoryEntry::getId).containsExactly(1L, 2L);
+		assertThat(index.search("415", 10)).isEmpty();
+		assertThat(index.search("+1 415", 10)).extracting(UserDirectoryEntry::getId).containsExactly(4L);
+		assertThat(index.search("001415", 10)).extracting(UserDirectoryEntry::getId).containsExactly(4L);
+	}
+
+	@Test
+	void respectsLimit() {
+		assertThat(index.search("a", 1)).hasSize(1);
+	}
+
+	@Test
+	void removeDropsAllKeys() {
+		index.remove(1L);
+
+		assertThat(index.search("alice", 10)).isEmpty();
+		assertThat(index.search("+86138", 10)).extracting(UserDirectoryEntry::getId).containsExactly(2L);
+	}
+}
@@ -0,0 +1,92 @@
+package com.example.leave_approval_system.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkingDayCalendarTests {
+
+	@TempDir
+	Path holidayDir;
+
+	@Test
+	void excludesWeekendsWhenNoHolidayFile() {
+		WorkingDayCalendar calendar = new WorkingDayCalendar(holidayDir.toString(), "CN");
+
+		// 2026-10-05 是周一，当周五个工作日
+		assertThat(calendar.workingDays("CN", LocalDate.of(2026, 10, 5), LocalDate.of(2026, 10, 11))).isEqualTo(5);
+		assertThat(calendar.workingDays("CN", LocalDate.of(2026, 10, 10), LocalDate.of(2026, 10, 11))).isZero();
+	}
+
+	@Test
+	void appliesHolidaysMakeUpDaysAndAliases() throws Exception {
+		Files.write(holidayDir.resolve("CN.txt"), List.of(
+				"# 示例",
+				"aliases=中国,China",
+				"2026-10-01",
+				"2026-10-02",
+				"2026-10-10 work"));
+		WorkingDayCalendar calendar = new WorkingDayCalendar(holidayDir.toString(), "US");
+
+		// 10-01 ~ 10-10: 工作日 10-05..10-09 (5 天) + 调休 10-10，节假日 10-01、10-02 不计
+		assertThat(calendar.workingDays("china", LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 10))).isEqualTo(6);
+		assertThat(calendar.isWorkingDay("中国", LocalDate.of(2026, 10, 10))).isTrue();
+		// 未配置的地区回退到默认地区 (US 无文件，仅排除周末)
+		assertThat(calendar.workingDays("FR", LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 2))).isEqualTo(2);
+	}
+
+	@Test
+	void countsAcrossYearBoundaries() {
+		WorkingDayCalendar calendar = new WorkingDayCalendar(holidayDir.toString(), "CN");
+
+		// 2026-12-28 (周一) ~ 2027-01-08 (周五): 两个完整工作周
+		assertThat(calendar.workingDays(null, LocalDate.of(2026, 12, 28), LocalDate.of(2027, 1, 8))).isEqualTo(10);
+		assertThat(calendar.workingDays(null, LocalDate.of(2027, 1, 8), LocalDate.of(2026, 12, 28))).isZero();
+	}
+
+	@Test
+	void rejectsReversedAndOverlongRanges() {
+		LocalDate start = LocalDate.of(2026, 1, 1);
+
+		WorkingDayCalendar.checkRange(start, start.plusDays(WorkingDayCalendar.MAX_RANGE_DAYS - 1));
+		assertThatThrownBy(() -> WorkingDayCalendar.checkRange(start, start.plusDays(WorkingDayCalendar.MAX_RANGE_DAYS)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> WorkingDayCalendar.checkRange(start, start.minusDays(1)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void computesUncachedYearsOnceTheCacheIsFull() {
+		WorkingDayCalendar calendar = new WorkingDayCalendar(holidayDir.toString(), "CN");
+
+		for (int year = 3000; year < 3000 + WorkingDayCalendar.MAX_CACHED_YEARS * 2; year++) {
+			calendar.isWorkingDay("CN", LocalDate.of(year, 6, 1));
+		}
+
+		// 2026-10-05 是周一，超出缓存上限后仍能正确计算
+		assertThat(calendar.workingDays("CN", LocalDate.of(2026, 10, 5), LocalDate.of(2026, 10, 11))).isEqualTo(5);
+	}
+
+	@Test
+	void reloadsChangedFiles() throws Exception {
+		Path file = holidayDir.resolve("CN.txt");
+		Files.write(file, List.of("2026-10-01"));
+		WorkingDayCalendar calendar = new WorkingDayCalendar(holidayDir.toString(), "CN");
+		assertThat(calendar.isWorkingDay("CN", LocalDate.of(2026, 10, 1))).isFalse();
+
+		Files.write(file, List.of("2026-10-02"));
+		Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+		calendar.reloadIfChanged();
+
+		assertThat(calendar.isWorkingDay("CN", LocalDate.of(2026, 10, 1))).isTrue();
+		assertThat(calendar.isWorkingDay("CN", LocalDate.of(2026, 10, 2))).isFalse();
+	}
+}
@@ -127,6 +127,84 @@ export default {
         return apiClient.get('/auth/profile');
     },
 
+    /**
+     * 订阅当前用户的请假事件流 (Server-Sent Events)，代替轮询
+     * 原生 EventSource 无法携带 Authorization 头，因此用 fetch 读取 text/event-stream 并自行解析。
+     * 连接断开后按指数退避自动重连；重连后调用方应重新拉取列表，以补上断开期间的变化。
+     * @param {(event: {type: string, data: object}) => void} onEvent 收到事件时的回调 (type 为 INBOX_ITEM_ADDED 或 STATUS_CHANGED)
+     * @param {{onOpen?: () => void}} [options] onOpen 在每次 (重新) 建立连接后调用
+     * @returns {() => void} 取消订阅函数
+     */
+    subscribeEvents(onEvent, options = {}) {
+        const url = `${apiClient.defaults.baseURL}/events/stream`;
+        const controller = new AbortController();
+        let retryDelay = 1000;
+
+        const connect = async () => {
+            const token = localStorage.getItem('authToken');
+            if (!token || controller.signal.aborted) {
+                return;
+            }
+            try {
+                const response = await fetch(url, {
+                    headers: { 'Authorization': `Bearer ${token}`, 'Accept': 'text/event-stream' },
+                    signal: controller.signal,
+                });
+                if (response.status === 401) {
+                    // 令牌失效：不再重连，由普通请求的 401 处理逻辑负责跳转登录页
+                    console.warn('[SSE] 认证失败，停止订阅');
+                    return;
+                }
+                if (!response.ok || !response.body) {
+                    throw new Error(`HTTP ${response.status}`);
+                }
+                retryDelay = 1000;
+                options.onOpen?.();
+
+                const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+                let buffer = '';
+                for (;;) {
+                    const { value, done } = await reader.read();
+                    if (done) {
+                        break;
+                    }
+                    buffer += value;
+                    // 事件之间以空行分隔
+                    let boundary;
+                    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+                        const block = buffer.slice(0, boundary);
+                        buffer = buffer.slice(boundary + 2);
+                        let type = 'message';
+                        const dataLines = [];
+                        for (const line of block.split('\n')) {
+                            if (line.startsWith('event:')) {
+                                type = line.slice(6).trim();
+                            } else if (line.startsWith('data:')) {
+                                dataLines.push(line.slice(5).trimStart());
+                            }
+                            // 以 ':' 开头的是服务端心跳注释，忽略
+                        }
+                        if (dataLines.length > 0) {
+                            onEvent({ type, data: JSON.parse(dataLines.join('\n')) });
+                        }
+                    }
+                }
+            } catch (error) {
+                if (controller.signal.aborted) {
+                    return;
+                }
+                console.warn('[SSE] 连接中断:', error.message);
+            }
+            if (!controller.signal.aborted) {
+                setTimeout(connect, retryDelay);
+                retryDelay = Math.min(retryDelay * 2, 30000);
+            }
+        };
+
+        connect();
+        return () => controller.abort();
+    },
+
     // --- 未来可以添加更多 API 函数 ---
     // updateUserProfile(profileData) {
     //     return apiClient.put('/user/profile', profileData);